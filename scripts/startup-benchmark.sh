@@ -0,0 +1,132 @@
+#!/usr/bin/env bash
+#
+# Startup benchmark: time-to-first-request and resident memory for each build variant.
+#
+#   scripts/startup-benchmark.sh [--build] [jvm] [aot-cds] [native]
+#
+# Variants (default: all whose artifacts exist):
+#   jvm      plain executable jar               ./mvnw -DskipTests package
+#   aot-cds  Spring AOT + AppCDS archive        ./mvnw -Paot-cds -DskipTests package
+#   native   GraalVM native image               ./mvnw -Pnative -DskipTests native:compile
+# With --build, each selected variant is built first.
+#
+# Each variant is started RUNS times (default 5) against the database configured in
+# application.properties. "First request" is the first 200 from /actuator/health; RSS is read at
+# that moment. Reported values are medians.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${RUNS:-5}"
+PORT="${PORT:-18080}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-120}"
+JAR="target/PersonalFinanceManager-0.0.1-SNAPSHOT.jar"
+CDS_DIR="target/cds"
+NATIVE_BINARY="target/PersonalFinanceManager"
+
+build=false
+variants=()
+for arg in "$@"; do
+    case "$arg" in
+        --build) build=true ;;
+        jvm|aot-cds|native) variants+=("$arg") ;;
+        *) echo "Unknown argument: $arg" >&2; exit 2 ;;
+    esac
+done
+if [ ${#variants[@]} -eq 0 ]; then
+    variants=(jvm aot-cds native)
+fi
+
+build_variant() {
+    case "$1" in
+        jvm)     ./mvnw -q -DskipTests package ;;
+        aot-cds) ./mvnw -q -Paot-cds -DskipTests package ;;
+        native)  ./mvnw -q -Pnative -DskipTests native:compile ;;
+    esac
+}
+
+# Prints the command line for a variant, or nothing if it hasn't been built
+command_for() {
+    case "$1" in
+        jvm)
+            [ -f "$JAR" ] && echo "java -jar $JAR" ;;
+        aot-cds)
+            [ -f "$CDS_DIR/application.jsa" ] && \
+                echo "java -XX:SharedArchiveFile=$CDS_DIR/application.jsa -Dspring.aot.enabled=true -jar $CDS_DIR/$(basename "$JAR")" ;;
+        native)
+            [ -x "$NATIVE_BINARY" ] && echo "$NATIVE_BINARY" ;;
+    esac
+}
+
+now_ms() {
+    date +%s%3N
+}
+
+rss_kb() {
+    if [ -r "/proc/$1/status" ]; then
+        awk '/^VmRSS:/ { print $2 }' "/proc/$1/status"
+    else
+        ps -o rss= -p "$1" | tr -d ' '
+    fi
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+# Starts the variant once and prints "<ms to first request> <rss kB>"
+measure_once() {
+    local cmd="$1"
+    local start pid deadline elapsed rss
+    start=$(now_ms)
+    $cmd --server.port="$PORT" --logging.level.root=WARN > /dev/null 2>&1 &
+    pid=$!
+    deadline=$(( start + TIMEOUT_SECONDS * 1000 ))
+    until curl -fs -o /dev/null "http://localhost:$PORT/actuator/health"; do
+        if ! kill -0 "$pid" 2> /dev/null || [ "$(now_ms)" -gt "$deadline" ]; then
+            kill "$pid" 2> /dev/null || true
+            wait "$pid" 2> /dev/null || true
+            echo "failed"
+            return
+        fi
+        sleep 0.01
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss=$(rss_kb "$pid")
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$elapsed $rss"
+}
+
+printf '%-8s %5s %22s %14s\n' "variant" "runs" "first request (ms)" "RSS (MB)"
+for variant in "${variants[@]}"; do
+    if $build; then
+        build_variant "$variant"
+    fi
+    cmd=$(command_for "$variant" || true)
+    if [ -z "$cmd" ]; then
+        printf '%-8s %5s %22s %14s\n' "$variant" "-" "not built" "-"
+        continue
+    fi
+
+    times=()
+    rss=()
+    for ((i = 0; i < RUNS; i++)); do
+        result=$(measure_once "$cmd")
+        if [ "$result" = "failed" ]; then
+            echo "$variant: did not answer within ${TIMEOUT_SECONDS}s" >&2
+            continue
+        fi
+        times+=("${result% *}")
+        rss+=("${result#* }")
+    done
+    if [ ${#times[@]} -eq 0 ]; then
+        printf '%-8s %5s %22s %14s\n' "$variant" "0" "failed" "-"
+        continue
+    fi
+
+    median_ms=$(printf '%s\n' "${times[@]}" | median)
+    median_rss_kb=$(printf '%s\n' "${rss[@]}" | median)
+    printf '%-8s %5d %22d %14d\n' "$variant" "${#times[@]}" "$median_ms" "$(( median_rss_kb / 1024 ))"
+done
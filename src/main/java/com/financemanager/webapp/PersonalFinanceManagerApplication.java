@@ -1,9 +1,12 @@
 package com.financemanager.webapp;
 
+import com.financemanager.webapp.config.ApplicationRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(ApplicationRuntimeHints.class) // Native image hints (see the "native" Maven profile)
 public class PersonalFinanceManagerApplication {
 
 	public static void main(String[] args) {
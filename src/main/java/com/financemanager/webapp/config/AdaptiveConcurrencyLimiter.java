@@ -0,0 +1,102 @@
+package com.financemanager.webapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Global limit on in-flight API requests that adapts to observed latency (AIMD).
+ *
+ * <p>The limiter keeps a short-term and a long-term moving average of request latency. While the
+ * short-term average stays within {@code tolerance} times the long-term one and the limit is actually
+ * being used, the limit grows by roughly one per window of requests; once it rises above, the limit is
+ * cut multiplicatively, at most once per window. Comparing the two averages (rather than individual
+ * requests against the fastest one) keeps slow-by-design endpoints like reports from looking like
+ * overload. Queueing in the DB pool shows up as latency long before it shows up as errors, so excess
+ * load is shed at the door instead of piling up on connections.</p>
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Guarded by this
+    private double shortLatencyNanos = Double.NaN;
+    private double longLatencyNanos = Double.NaN;
+    private int samplesSinceBackoff;
+
+    public AdaptiveConcurrencyLimiter(@Value("${app.concurrency.initial-limit:20}") int initialLimit,
+                                      @Value("${app.concurrency.min-limit:4}") int minLimit,
+                                      @Value("${app.concurrency.max-limit:200}") int maxLimit,
+                                      @Value("${app.concurrency.latency-tolerance:2.0}") double tolerance,
+                                      @Value("${app.concurrency.backoff-ratio:0.9}") double backoffRatio) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * Reserves a slot for a request. Every successful call must be paired with {@link #release}.
+     *
+     * @return true if the request may proceed, false if it should be shed.
+     */
+    public boolean tryAcquire() {
+        int current = inFlight.incrementAndGet();
+        if (current > (int) limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Frees a slot and feeds the request's latency into the limit.
+     *
+     * @param latencyNanos How long the request took.
+     * @param dropped      True if the request failed on the server; treated as an overload signal.
+     */
+    public void release(long latencyNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (Double.isNaN(longLatencyNanos)) {
+                shortLatencyNanos = latencyNanos;
+                longLatencyNanos = latencyNanos;
+            } else {
+                shortLatencyNanos += (latencyNanos - shortLatencyNanos) * 0.1;
+                longLatencyNanos += (latencyNanos - longLatencyNanos) * 0.005;
+            }
+            samplesSinceBackoff++;
+
+            double newLimit = limit;
+            boolean congested = dropped || shortLatencyNanos > longLatencyNanos * tolerance;
+            if (congested) {
+                // Back off once per window, so one burst of slow requests doesn't collapse the limit
+                if (samplesSinceBackoff >= limit) {
+                    newLimit = limit * backoffRatio;
+                    samplesSinceBackoff = 0;
+                }
+            } else if (current * 2 >= limit) {
+                // Only grow when the limit is actually being used; idle traffic says nothing about capacity
+                newLimit = limit + 1.0 / limit;
+            }
+            limit = Math.min(maxLimit, Math.max(minLimit, newLimit));
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,33 @@
+package com.financemanager.webapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class AnalyticsConfig {
+
+    // Small read-only pool for the admin analytics scans, next to (not instead of) the auto-configured one:
+    // scans never wait for or hold the interactive pool's connections, and the URL can point at a replica.
+    // Not a default candidate, so everything that injects a plain DataSource still gets the primary.
+    @Bean(name = "analyticsDataSource", defaultCandidate = false)
+    public DataSource analyticsDataSource(
+            @Value("${app.analytics.datasource.url:${spring.datasource.url}}") String url,
+            @Value("${app.analytics.datasource.username:${spring.datasource.username}}") String username,
+            @Value("${app.analytics.datasource.password:${spring.datasource.password}}") String password,
+            @Value("${app.analytics.parallelism:2}") int parallelism) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("analytics");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setReadOnly(true); // The server rejects any write on these connections
+        dataSource.setMaximumPoolSize(parallelism); // One connection per partition scan thread
+        dataSource.setMinimumIdle(0); // Nothing is held between refreshes
+        dataSource.setIdleTimeout(60_000);
+        return dataSource;
+    }
+}
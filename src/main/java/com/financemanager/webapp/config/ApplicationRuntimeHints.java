@@ -0,0 +1,75 @@
+package com.financemanager.webapp.config;
+
+import com.financemanager.webapp.dto.AnalyticsStatusDTO;
+import com.financemanager.webapp.dto.BatchOperationDTO;
+import com.financemanager.webapp.dto.BatchOperationResultDTO;
+import com.financemanager.webapp.dto.BatchRequest;
+import com.financemanager.webapp.dto.BatchResultDTO;
+import com.financemanager.webapp.dto.BudgetAlertDTO;
+import com.financemanager.webapp.dto.BudgetDTO;
+import com.financemanager.webapp.dto.BudgetStatusDTO;
+import com.financemanager.webapp.dto.CategoryDTO;
+import com.financemanager.webapp.dto.CategorySpendDistributionDTO;
+import com.financemanager.webapp.dto.CategoryVolumeDTO;
+import com.financemanager.webapp.dto.ChartDataDTO;
+import com.financemanager.webapp.dto.DailySpendHeatmapDTO;
+import com.financemanager.webapp.dto.DailyTotalDTO;
+import com.financemanager.webapp.dto.DashboardDTO;
+import com.financemanager.webapp.dto.ImportResultDTO;
+import com.financemanager.webapp.dto.LoginRequest;
+import com.financemanager.webapp.dto.MerchantTotalDTO;
+import com.financemanager.webapp.dto.MonthlyActivityDTO;
+import com.financemanager.webapp.dto.RecurringTransactionDTO;
+import com.financemanager.webapp.dto.RegistrationRequest;
+import com.financemanager.webapp.dto.ReportJobDTO;
+import com.financemanager.webapp.dto.ReportJobRequest;
+import com.financemanager.webapp.dto.SearchDocumentDTO;
+import com.financemanager.webapp.dto.SpendDistributionDTO;
+import com.financemanager.webapp.dto.SummaryDTO;
+import com.financemanager.webapp.dto.TimeSeriesDTO;
+import com.financemanager.webapp.dto.TimeSeriesPointDTO;
+import com.financemanager.webapp.dto.TopMerchantsDTO;
+import com.financemanager.webapp.dto.TransactionDTO;
+import com.financemanager.webapp.dto.UserDTO;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the native image that Spring's AOT engine can't infer on its own.
+ * Entities are covered by Boot's JPA AOT support; controller request/response types are covered too,
+ * but not DTOs that are only reached through {@code ResponseEntity<?>}, nested in other DTOs via
+ * generics, serialized directly with an ObjectMapper (report job results), or instantiated by
+ * Hibernate from JPQL {@code SELECT NEW} expressions.
+ */
+public class ApplicationRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> DTO_TYPES = List.of(
+            AnalyticsStatusDTO.class, BatchOperationDTO.class, BatchOperationResultDTO.class, BatchRequest.class,
+            BatchResultDTO.class, BudgetAlertDTO.class, BudgetDTO.class, BudgetStatusDTO.class, CategoryDTO.class,
+            CategorySpendDistributionDTO.class, CategoryVolumeDTO.class, ChartDataDTO.class, DailySpendHeatmapDTO.class,
+            DailyTotalDTO.class, DashboardDTO.class, ImportResultDTO.class, LoginRequest.class,
+            MerchantTotalDTO.class, MonthlyActivityDTO.class, RecurringTransactionDTO.class, RegistrationRequest.class,
+            ReportJobDTO.class, ReportJobRequest.class, SearchDocumentDTO.class, SpendDistributionDTO.class,
+            SummaryDTO.class, TimeSeriesDTO.class, TimeSeriesPointDTO.class, TopMerchantsDTO.class,
+            TransactionDTO.class, UserDTO.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Jackson (JSON and CBOR) binding, including field types such as enums and nested DTOs
+        BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+        for (Class<?> type : DTO_TYPES) {
+            bindings.registerReflectionHints(hints.reflection(), type);
+        }
+
+        // JPQL constructor expressions (SELECT NEW ...) in TransactionRepositoryImpl
+        hints.reflection().registerType(DailyTotalDTO.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(SearchDocumentDTO.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // Loaded by FxRateTable from the classpath
+        hints.resources().registerPattern("fx-rates.csv");
+    }
+}
@@ -0,0 +1,80 @@
+package com.financemanager.webapp.config;
+
+import com.financemanager.webapp.profiling.SqlStatistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    // Dedicated, bounded pool for long-running report jobs.
+    // Kept small on purpose so heavy reports can't take over the shared DB connection pool
+    // and starve the interactive endpoints.
+    @Bean(name = "reportJobExecutor")
+    public ThreadPoolTaskExecutor reportJobExecutor(
+            @Value("${app.reports.jobs.worker-threads:2}") int workerThreads,
+            @Value("${app.reports.jobs.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false); // Unfinished jobs are resumed on next startup
+        executor.initialize();
+        return executor;
+    }
+
+    // Single thread with a bounded queue for budget threshold checks. One thread keeps alert
+    // inserts ordered and race-free; when the queue is full checks are dropped rather than
+    // pushed back onto the request thread.
+    @Bean(name = "budgetAlertExecutor")
+    public ThreadPoolTaskExecutor budgetAlertExecutor(
+            @Value("${app.budgets.alerts.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("budget-alert-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Computes the independent parts of the dashboard bootstrap in parallel. Bounded so a burst
+    // of page loads can't claim more DB connections than this; when the queue is full the
+    // request thread computes the part itself, which degrades to the sequential cost.
+    @Bean(name = "dashboardExecutor")
+    public ThreadPoolTaskExecutor dashboardExecutor(
+            @Value("${app.dashboard.worker-threads:4}") int workerThreads,
+            @Value("${app.dashboard.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        // Parts run in the request's trace and their SQL counts towards the request
+        TaskDecorator contextPropagation = new ContextPropagatingTaskDecorator();
+        executor.setTaskDecorator(task -> contextPropagation.decorate(SqlStatistics.propagate(task)));
+        executor.initialize();
+        return executor;
+    }
+
+    // Partition scans of the admin analytics refresh, each on its own connection of the analytics pool.
+    // A refresh queues all its partitions at once; they run a few at a time, in user-ID order.
+    @Bean(name = "analyticsExecutor")
+    public ThreadPoolTaskExecutor analyticsExecutor(@Value("${app.analytics.parallelism:2}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("analytics-");
+        executor.setWaitForTasksToCompleteOnShutdown(false); // An interrupted refresh leaves the watermark where it was
+        executor.initialize();
+        return executor;
+    }
+}
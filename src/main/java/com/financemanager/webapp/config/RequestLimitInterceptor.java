@@ -0,0 +1,139 @@
+package com.financemanager.webapp.config;
+
+import com.financemanager.webapp.exception.ServiceUnavailableException;
+import com.financemanager.webapp.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the /api/users/{userId} endpoints, applied before any controller
+ * (and therefore any repository) work starts:
+ * <ul>
+ *     <li>each user gets a token bucket, so one user scripting the API gets 429s instead of the pool;</li>
+ *     <li>all requests share an adaptive concurrency limit, and requests above it get a 503.</li>
+ * </ul>
+ * Limits and rejections are published as Micrometer metrics (see /actuator/metrics).
+ */
+@Component
+public class RequestLimitInterceptor implements AsyncHandlerInterceptor {
+
+    // Request attribute holding System.nanoTime() when a concurrency slot was taken
+    private static final String SLOT_ACQUIRED_AT = RequestLimitInterceptor.class.getName() + ".slotAcquiredAt";
+
+    @Autowired
+    private UserRateLimiter userRateLimiter;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.ratelimit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${app.concurrency.enabled:true}")
+    private boolean concurrencyLimitEnabled;
+
+    private Counter rateLimitedCounter;
+    private Counter overloadedCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        rateLimitedCounter = Counter.builder("api.requests.rejected")
+                .description("Requests rejected before reaching a controller")
+                .tag("reason", "rate_limited")
+                .register(meterRegistry);
+        overloadedCounter = Counter.builder("api.requests.rejected")
+                .description("Requests rejected before reaching a controller")
+                .tag("reason", "overloaded")
+                .register(meterRegistry);
+        Gauge.builder("api.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on in-flight API requests")
+                .register(meterRegistry);
+        Gauge.builder("api.concurrency.in_flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("API requests currently being processed")
+                .register(meterRegistry);
+        Gauge.builder("api.ratelimit.active_buckets", userRateLimiter, UserRateLimiter::size)
+                .description("Users with a partially drained rate limit bucket")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async redispatches were admitted on the original request; CORS preflights carry no work
+        if (request.getDispatcherType() == DispatcherType.ASYNC || "OPTIONS".equals(request.getMethod())) {
+            return true;
+        }
+
+        Long userId = userIdOf(request);
+        if (rateLimitEnabled && userId != null) {
+            long waitNanos = userRateLimiter.tryAcquire(userId);
+            if (waitNanos > 0) {
+                rateLimitedCounter.increment();
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(waitNanos)));
+                throw new TooManyRequestsException("Too many requests. Please slow down and try again shortly.");
+            }
+        }
+
+        if (concurrencyLimitEnabled) {
+            if (!concurrencyLimiter.tryAcquire()) {
+                overloadedCounter.increment();
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                throw new ServiceUnavailableException("The server is busy. Please try again shortly.");
+            }
+            request.setAttribute(SLOT_ACQUIRED_AT, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object acquiredAt = request.getAttribute(SLOT_ACQUIRED_AT);
+        if (acquiredAt == null) {
+            return;
+        }
+        request.removeAttribute(SLOT_ACQUIRED_AT);
+        boolean failed = ex != null || response.getStatus() >= 500;
+        concurrencyLimiter.release(System.nanoTime() - (Long) acquiredAt, failed);
+    }
+
+    // afterConcurrentHandlingStarted is left as a no-op: an async request keeps its slot until
+    // afterCompletion runs on the async dispatch
+
+    // --- Helpers ---
+
+    private Long userIdOf(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (!(variables instanceof Map<?, ?> map)) {
+            return null;
+        }
+        Object userId = map.get("userId");
+        if (userId == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(userId.toString());
+        } catch (NumberFormatException e) {
+            return null; // Let the controller report the bad path variable
+        }
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
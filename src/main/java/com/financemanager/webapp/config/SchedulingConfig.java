@@ -0,0 +1,9 @@
+package com.financemanager.webapp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling // Background jobs such as recurring transaction materialization
+public class SchedulingConfig {
+}
@@ -0,0 +1,69 @@
+package com.financemanager.webapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user token buckets for the /api/users/{userId} endpoints.
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding the bucket's "theoretical arrival time"
+ * (the generic cell rate form of a token bucket): a request is allowed while that time is at most
+ * {@code burst} intervals ahead of now, and taking a token pushes it one interval further. That
+ * makes acquiring a token one CAS with no locks and no background refill, and a bucket whose time
+ * has fallen behind the clock is simply full, so idle buckets can be dropped without losing anything.</p>
+ */
+@Component
+public class UserRateLimiter {
+
+    private final long intervalNanos;   // Time it takes to refill one token
+    private final long burstNanos;      // How far ahead of the clock a bucket may run
+
+    private final ConcurrentHashMap<Long, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public UserRateLimiter(@Value("${app.ratelimit.requests-per-second:20}") double requestsPerSecond,
+                           @Value("${app.ratelimit.burst:40}") int burst) {
+        this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+    }
+
+    /**
+     * Takes one token from the user's bucket.
+     *
+     * @return 0 if the request may proceed, otherwise how many nanoseconds until a token is available.
+     */
+    public long tryAcquire(Long userId) {
+        AtomicLong bucket = buckets.computeIfAbsent(userId, id -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = bucket.get();
+            long start = (arrival == Long.MIN_VALUE || arrival - now < 0) ? now : arrival;
+            long next = start + intervalNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    // Full buckets carry no state; dropping them keeps the map bounded by the number of active users
+    @Scheduled(fixedDelayString = "${app.ratelimit.cleanup-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.entrySet().removeIf(e -> {
+            long arrival = e.getValue().get();
+            return arrival == Long.MIN_VALUE || arrival - now < 0;
+        });
+    }
+}
@@ -1,12 +1,20 @@
 package com.financemanager.webapp.config;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig {
 
+    @Autowired
+    private RequestLimitInterceptor requestLimitInterceptor;
+
     @Bean
     public WebMvcConfigurer corsConfigurer() {
         return new WebMvcConfigurer() {
@@ -24,6 +32,20 @@ public class WebConfig {
                         .allowCredentials(false) // Set to true if you need cookies/auth headers (requires specific origins, not '*')
                         .maxAge(3600); // Cache preflight response for 1 hour
             }
+
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(requestLimitInterceptor)
+                        .addPathPatterns("/api/users/**"); // Per-user rate limits and global load shedding
+            }
         };
     }
-}
\ No newline at end of file
+
+    // Binary alternative to JSON for large payloads (transaction lists, reports): clients that send
+    // "Accept: application/cbor" get CBOR, everyone else keeps getting JSON. Built from Boot's
+    // ObjectMapper builder so dates and other settings match the JSON output.
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.createXmlMapper(false).factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,66 @@
+package com.financemanager.webapp.controller;
+
+import com.financemanager.webapp.dto.AnalyticsStatusDTO;
+import com.financemanager.webapp.exception.BadRequestException;
+import com.financemanager.webapp.service.AdminAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Cross-user statistics for operators, at {@code /actuator/analytics}. Served as an actuator endpoint
+ * rather than under {@code /api}, so it is only reachable on the internal management port:
+ * <ul>
+ *   <li>{@code GET} reports the refresh state,</li>
+ *   <li>{@code GET /monthly?from=yyyy-MM&to=yyyy-MM} returns active and new users, volume and growth per month,</li>
+ *   <li>{@code GET /categories?month=yyyy-MM&limit=20} returns the month's largest category volumes,</li>
+ *   <li>{@code POST /refresh} (optionally {@code {"full": true}}), {@code /pause} and {@code /resume} control the refresh.</li>
+ * </ul>
+ */
+@Component
+@WebEndpoint(id = "analytics")
+public class AdminAnalyticsEndpoint {
+
+    @Autowired
+    private AdminAnalyticsService adminAnalyticsService;
+
+    @ReadOperation
+    public AnalyticsStatusDTO status() {
+        return adminAnalyticsService.getStatus();
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<Object> report(@Selector String report, @Nullable String from, @Nullable String to,
+                                              @Nullable String month, @Nullable Integer limit) {
+        try {
+            YearMonth now = YearMonth.now();
+            return switch (report) {
+                case "monthly" -> new WebEndpointResponse<>(adminAnalyticsService.getMonthlyActivity(
+                        from != null ? YearMonth.parse(from) : now.minusMonths(11), to != null ? YearMonth.parse(to) : now));
+                case "categories" -> new WebEndpointResponse<>(adminAnalyticsService.getCategoryVolumes(
+                        month != null ? YearMonth.parse(month) : now, limit != null ? limit : 20));
+                default -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            };
+        } catch (BadRequestException | DateTimeParseException e) {
+            return new WebEndpointResponse<>(e.getMessage(), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> control(@Selector String action, @Nullable Boolean full) {
+        return switch (action) {
+            case "refresh" -> new WebEndpointResponse<>(adminAnalyticsService.refresh(Boolean.TRUE.equals(full)));
+            case "pause" -> new WebEndpointResponse<>(adminAnalyticsService.pause());
+            case "resume" -> new WebEndpointResponse<>(adminAnalyticsService.resume());
+            default -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package com.financemanager.webapp.controller;
+
+import com.financemanager.webapp.dto.BudgetAlertDTO;
+import com.financemanager.webapp.dto.BudgetDTO;
+import com.financemanager.webapp.dto.BudgetStatusDTO;
+import com.financemanager.webapp.service.BudgetService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users/{userId}/budgets") // Budgets are user-specific
+@CrossOrigin(origins = "*")
+public class BudgetController {
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @PostMapping
+    public ResponseEntity<BudgetDTO> addBudget(@PathVariable Long userId, @RequestBody BudgetDTO budgetDTO) {
+        BudgetDTO createdBudget = budgetService.addBudget(userId, budgetDTO);
+        return new ResponseEntity<>(createdBudget, HttpStatus.CREATED);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<BudgetDTO>> getUserBudgets(@PathVariable Long userId) {
+        return ResponseEntity.ok(budgetService.getBudgetsByUserId(userId));
+    }
+
+    @PutMapping("/{budgetId}")
+    public ResponseEntity<BudgetDTO> updateBudget(@PathVariable Long userId, @PathVariable Long budgetId, @RequestBody BudgetDTO budgetDTO) {
+        return ResponseEntity.ok(budgetService.updateBudget(userId, budgetId, budgetDTO));
+    }
+
+    @DeleteMapping("/{budgetId}")
+    public ResponseEntity<Void> deleteBudget(@PathVariable Long userId, @PathVariable Long budgetId) {
+        budgetService.deleteBudget(userId, budgetId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Defaults to the current month
+    @GetMapping("/status")
+    public ResponseEntity<List<BudgetStatusDTO>> getBudgetStatus(@PathVariable Long userId,
+                                                                 @RequestParam(required = false) Integer year,
+                                                                 @RequestParam(required = false) Integer month) {
+        YearMonth now = YearMonth.now();
+        return ResponseEntity.ok(budgetService.getBudgetStatus(userId,
+                year != null ? year : now.getYear(), month != null ? month : now.getMonthValue()));
+    }
+
+    @GetMapping("/alerts")
+    public ResponseEntity<List<BudgetAlertDTO>> getRecentAlerts(@PathVariable Long userId,
+                                                                @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(budgetService.getRecentAlerts(userId, limit));
+    }
+}
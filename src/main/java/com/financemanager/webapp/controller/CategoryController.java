@@ -23,8 +23,12 @@ public class CategoryController {
         return new ResponseEntity<>(createdCategory, HttpStatus.CREATED);
     }
 
+    // e.g. ?fields=id returns only the IDs, selected by the query itself
     @GetMapping
-    public ResponseEntity<List<CategoryDTO>> getUserCategories(@PathVariable Long userId) {
+    public ResponseEntity<?> getUserCategories(@PathVariable Long userId, @RequestParam(required = false) List<String> fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(categoryService.getCategoryFieldsByUserId(userId, fields));
+        }
         List<CategoryDTO> categories = categoryService.getCategoriesByUserId(userId);
         return ResponseEntity.ok(categories);
     }
@@ -0,0 +1,28 @@
+package com.financemanager.webapp.controller;
+
+import com.financemanager.webapp.dto.DashboardDTO;
+import com.financemanager.webapp.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/users/{userId}/dashboard") // Dashboard bootstrap is user-specific
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    // Everything dashboard.html shows on load; year/month default to the current month
+    @GetMapping
+    public ResponseEntity<DashboardDTO> getDashboard(@PathVariable Long userId,
+                                                     @RequestParam(required = false) Integer year,
+                                                     @RequestParam(required = false) Integer month) {
+        YearMonth now = YearMonth.now();
+        return ResponseEntity.ok(dashboardService.getDashboard(userId,
+                year != null ? year : now.getYear(), month != null ? month : now.getMonthValue()));
+    }
+}
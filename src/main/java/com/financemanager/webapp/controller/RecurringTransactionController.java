@@ -0,0 +1,46 @@
+package com.financemanager.webapp.controller;
+
+import com.financemanager.webapp.dto.RecurringTransactionDTO;
+import com.financemanager.webapp.service.RecurringTransactionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users/{userId}/recurring-transactions") // Recurring rules are user-specific
+@CrossOrigin(origins = "*")
+public class RecurringTransactionController {
+
+    @Autowired
+    private RecurringTransactionService recurringTransactionService;
+
+    @PostMapping
+    public ResponseEntity<RecurringTransactionDTO> addRecurringTransaction(@PathVariable Long userId, @RequestBody RecurringTransactionDTO dto) {
+        RecurringTransactionDTO created = recurringTransactionService.addRecurringTransaction(userId, dto);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<RecurringTransactionDTO>> getUserRecurringTransactions(@PathVariable Long userId) {
+        return ResponseEntity.ok(recurringTransactionService.getRecurringTransactionsByUserId(userId));
+    }
+
+    @GetMapping("/{recurringId}")
+    public ResponseEntity<RecurringTransactionDTO> getRecurringTransactionById(@PathVariable Long userId, @PathVariable Long recurringId) {
+        return ResponseEntity.ok(recurringTransactionService.getRecurringTransactionByIdAndUserId(recurringId, userId));
+    }
+
+    @PutMapping("/{recurringId}")
+    public ResponseEntity<RecurringTransactionDTO> updateRecurringTransaction(@PathVariable Long userId, @PathVariable Long recurringId, @RequestBody RecurringTransactionDTO dto) {
+        return ResponseEntity.ok(recurringTransactionService.updateRecurringTransaction(userId, recurringId, dto));
+    }
+
+    @DeleteMapping("/{recurringId}")
+    public ResponseEntity<Void> deleteRecurringTransaction(@PathVariable Long userId, @PathVariable Long recurringId) {
+        recurringTransactionService.deleteRecurringTransaction(userId, recurringId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,12 +1,21 @@
 package com.financemanager.webapp.controller;
 
 import com.financemanager.webapp.dto.ChartDataDTO;
+import com.financemanager.webapp.dto.DailySpendHeatmapDTO;
+import com.financemanager.webapp.dto.SpendDistributionDTO;
 import com.financemanager.webapp.dto.SummaryDTO;
+import com.financemanager.webapp.dto.TimeSeriesDTO;
+import com.financemanager.webapp.dto.TopMerchantsDTO;
+import com.financemanager.webapp.model.MerchantRanking;
+import com.financemanager.webapp.model.TimeGranularity;
 import com.financemanager.webapp.service.ReportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Optional;
 
 @RestController
@@ -43,4 +52,50 @@ public class ReportController {
         // Assume service returns a non-null DTO
         return ResponseEntity.ok(chartData);
     }
+
+    @GetMapping("/trend")
+    public ResponseEntity<TimeSeriesDTO> getTrend(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "MONTH") TimeGranularity granularity,
+            @RequestParam(defaultValue = "false") boolean byCategory,
+            @RequestParam(required = false) Integer maxPoints) { // Long ranges are downsampled to at most this many points
+
+        TimeSeriesDTO trend = reportService.getTimeSeries(userId, startDate, endDate, granularity, byCategory, maxPoints);
+        return ResponseEntity.ok(trend);
+    }
+
+    @GetMapping("/heatmap")
+    public ResponseEntity<DailySpendHeatmapDTO> getDailySpendHeatmap(
+            @PathVariable Long userId,
+            @RequestParam int year,
+            @RequestParam(required = false) Long categoryId) { // Omit for spending across all categories
+
+        DailySpendHeatmapDTO heatmap = reportService.getDailySpendHeatmap(userId, year, categoryId);
+        return ResponseEntity.ok(heatmap);
+    }
+
+    @GetMapping("/top-merchants")
+    public ResponseEntity<TopMerchantsDTO> getTopMerchants(
+            @PathVariable Long userId,
+            @RequestParam int year,
+            @RequestParam(required = false) Integer month, // Omit for the whole year
+            @RequestParam(defaultValue = "AMOUNT") MerchantRanking by,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        TopMerchantsDTO topMerchants = reportService.getTopMerchants(userId, year, month, by, limit);
+        return ResponseEntity.ok(topMerchants);
+    }
+
+    @GetMapping("/spending-distribution")
+    public ResponseEntity<SpendDistributionDTO> getSpendingDistribution(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to, // Inclusive
+            @RequestParam(required = false) Long categoryId) { // Omit for every category
+
+        SpendDistributionDTO distribution = reportService.getSpendingDistribution(userId, from, to, categoryId);
+        return ResponseEntity.ok(distribution);
+    }
 }
\ No newline at end of file
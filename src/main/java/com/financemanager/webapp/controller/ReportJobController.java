@@ -0,0 +1,73 @@
+package com.financemanager.webapp.controller;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financemanager.webapp.dto.ReportJobDTO;
+import com.financemanager.webapp.dto.ReportJobRequest;
+import com.financemanager.webapp.service.ReportJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users/{userId}/reports/jobs") // Long-range reports run in the background
+@CrossOrigin(origins = "*")
+public class ReportJobController {
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @PostMapping
+    public ResponseEntity<ReportJobDTO> submitJob(@PathVariable Long userId, @RequestBody ReportJobRequest request) {
+        ReportJobDTO job = reportJobService.submitJob(userId, request);
+        // 202: the job is accepted, clients poll GET /{jobId} until it is COMPLETED
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ReportJobDTO>> getUserJobs(@PathVariable Long userId) {
+        return ResponseEntity.ok(reportJobService.getJobsByUserId(userId));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ReportJobDTO> getJob(@PathVariable Long userId, @PathVariable Long jobId) {
+        return ResponseEntity.ok(reportJobService.getJob(userId, jobId));
+    }
+
+    @GetMapping("/{jobId}/result")
+    public ResponseEntity<byte[]> downloadResult(@PathVariable Long userId, @PathVariable Long jobId,
+                                                 @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) throws IOException {
+        String result = reportJobService.getJobResult(userId, jobId);
+        if (result == null) {
+            // Job exists but isn't finished (or failed) yet
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        // Results are stored as JSON; clients that ask for CBOR get the same document transcoded
+        if (accept != null && accept.contains(MediaType.APPLICATION_CBOR_VALUE)) {
+            JsonNode tree = objectMapper.reader().with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS).readTree(result);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_CBOR)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"report-" + jobId + ".cbor\"")
+                    .body(cborConverter.getObjectMapper().writeValueAsBytes(tree));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"report-" + jobId + ".json\"")
+                .body(result.getBytes(StandardCharsets.UTF_8));
+    }
+}
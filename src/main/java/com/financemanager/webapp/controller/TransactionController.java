@@ -1,12 +1,17 @@
 package com.financemanager.webapp.controller;
 
+import com.financemanager.webapp.dto.BatchRequest;
+import com.financemanager.webapp.dto.BatchResultDTO;
+import com.financemanager.webapp.dto.ImportResultDTO;
 import com.financemanager.webapp.dto.TransactionDTO;
 import com.financemanager.webapp.service.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -20,16 +25,49 @@ public class TransactionController {
     @PostMapping
     public ResponseEntity<TransactionDTO> addTransaction(@PathVariable Long userId, @RequestBody TransactionDTO transactionDTO) {
         TransactionDTO createdTransaction = transactionService.addTransaction(userId, transactionDTO);
-        return new ResponseEntity<>(createdTransaction, HttpStatus.CREATED);
+        // In write-behind mode the transaction is durably queued but not stored yet, so it has no ID
+        return new ResponseEntity<>(createdTransaction, createdTransaction.getId() != null ? HttpStatus.CREATED : HttpStatus.ACCEPTED);
     }
 
+    // Bulk import, e.g. from a bank statement. Rows already stored (same date, amount and description) are skipped.
+    @PostMapping("/import")
+    public ResponseEntity<ImportResultDTO> importTransactions(@PathVariable Long userId, @RequestBody List<TransactionDTO> transactionDTOs) {
+        ImportResultDTO result = transactionService.importTransactions(userId, transactionDTOs);
+        return ResponseEntity.ok(result);
+    }
+
+    // Several create/update/delete operations in one request and one DB transaction, with a result per operation.
+    // A rejected ATOMIC batch (nothing written) returns 400 with the same per-operation body.
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO> executeBatch(@PathVariable Long userId, @RequestBody BatchRequest batchRequest) {
+        BatchResultDTO result = transactionService.executeBatch(userId, batchRequest);
+        return new ResponseEntity<>(result, result.isCommitted() ? HttpStatus.OK : HttpStatus.BAD_REQUEST);
+    }
+
+    // e.g. ?fields=date,type,amount,categoryName returns only those fields, selected by the query itself
     @GetMapping
-    public ResponseEntity<List<TransactionDTO>> getUserTransactions(@PathVariable Long userId) {
+    public ResponseEntity<?> getUserTransactions(@PathVariable Long userId, @RequestParam(required = false) List<String> fields) {
         // Consider adding pagination/filtering parameters here later (e.g., month, year, type)
+        if (fields != null) {
+            return ResponseEntity.ok(transactionService.getTransactionFieldsByUserId(userId, fields));
+        }
         List<TransactionDTO> transactions = transactionService.getTransactionsByUserId(userId);
         return ResponseEntity.ok(transactions);
     }
 
+    // e.g. /search?q=uber&startDate=2024-01-01&categoryId=3
+    @GetMapping("/search")
+    public ResponseEntity<List<TransactionDTO>> searchTransactions(
+            @PathVariable Long userId,
+            @RequestParam("q") String query,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "50") int limit) {
+        List<TransactionDTO> results = transactionService.searchTransactions(userId, query, startDate, endDate, categoryId, limit);
+        return ResponseEntity.ok(results);
+    }
+
     @GetMapping("/{transactionId}")
     public ResponseEntity<TransactionDTO> getTransactionById(@PathVariable Long userId, @PathVariable Long transactionId) {
         TransactionDTO transaction = transactionService.getTransactionByIdAndUserId(transactionId, userId);
@@ -0,0 +1,143 @@
+package com.financemanager.webapp.dto;
+
+import java.time.LocalDateTime;
+
+// State of the admin analytics refresh: the run in progress, if any, and the last completed one
+public class AnalyticsStatusDTO {
+
+    private String state; // IDLE, RUNNING or PAUSED
+    private boolean fullRefresh; // Whether the current run rescans every month
+    private int partitionsTotal;
+    private int partitionsDone;
+    private int monthsRefreshing;
+    private LocalDateTime startedAt;
+    private LocalDateTime refreshedAt; // Last completed refresh, null if none yet
+    private LocalDateTime fullRefreshedAt;
+    private long transactionWatermark; // Highest transaction ID the summaries include
+    private Long lastDurationMs;
+    private String lastError; // Why the last run failed, null if it completed
+
+    // Constructors
+    public AnalyticsStatusDTO() {
+    }
+
+    public AnalyticsStatusDTO(String state, boolean fullRefresh, int partitionsTotal, int partitionsDone, int monthsRefreshing, LocalDateTime startedAt, LocalDateTime refreshedAt, LocalDateTime fullRefreshedAt, long transactionWatermark, Long lastDurationMs, String lastError) {
+        this.state = state;
+        this.fullRefresh = fullRefresh;
+        this.partitionsTotal = partitionsTotal;
+        this.partitionsDone = partitionsDone;
+        this.monthsRefreshing = monthsRefreshing;
+        this.startedAt = startedAt;
+        this.refreshedAt = refreshedAt;
+        this.fullRefreshedAt = fullRefreshedAt;
+        this.transactionWatermark = transactionWatermark;
+        this.lastDurationMs = lastDurationMs;
+        this.lastError = lastError;
+    }
+
+    // Getters and Setters
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public boolean isFullRefresh() {
+        return fullRefresh;
+    }
+
+    public void setFullRefresh(boolean fullRefresh) {
+        this.fullRefresh = fullRefresh;
+    }
+
+    public int getPartitionsTotal() {
+        return partitionsTotal;
+    }
+
+    public void setPartitionsTotal(int partitionsTotal) {
+        this.partitionsTotal = partitionsTotal;
+    }
+
+    public int getPartitionsDone() {
+        return partitionsDone;
+    }
+
+    public void setPartitionsDone(int partitionsDone) {
+        this.partitionsDone = partitionsDone;
+    }
+
+    public int getMonthsRefreshing() {
+        return monthsRefreshing;
+    }
+
+    public void setMonthsRefreshing(int monthsRefreshing) {
+        this.monthsRefreshing = monthsRefreshing;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(LocalDateTime refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+
+    public LocalDateTime getFullRefreshedAt() {
+        return fullRefreshedAt;
+    }
+
+    public void setFullRefreshedAt(LocalDateTime fullRefreshedAt) {
+        this.fullRefreshedAt = fullRefreshedAt;
+    }
+
+    public long getTransactionWatermark() {
+        return transactionWatermark;
+    }
+
+    public void setTransactionWatermark(long transactionWatermark) {
+        this.transactionWatermark = transactionWatermark;
+    }
+
+    public Long getLastDurationMs() {
+        return lastDurationMs;
+    }
+
+    public void setLastDurationMs(Long lastDurationMs) {
+        this.lastDurationMs = lastDurationMs;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    @Override
+    public String toString() {
+        return "AnalyticsStatusDTO{" +
+                "state='" + state + '\'' +
+                ", fullRefresh=" + fullRefresh +
+                ", partitionsTotal=" + partitionsTotal +
+                ", partitionsDone=" + partitionsDone +
+                ", monthsRefreshing=" + monthsRefreshing +
+                ", startedAt=" + startedAt +
+                ", refreshedAt=" + refreshedAt +
+                ", fullRefreshedAt=" + fullRefreshedAt +
+                ", transactionWatermark=" + transactionWatermark +
+                ", lastDurationMs=" + lastDurationMs +
+                ", lastError='" + lastError + '\'' +
+                '}';
+    }
+}
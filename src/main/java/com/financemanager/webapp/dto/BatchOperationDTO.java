@@ -0,0 +1,55 @@
+package com.financemanager.webapp.dto;
+
+import com.financemanager.webapp.model.BatchOperationType;
+
+// One entry of a transaction batch: what to do, to which transaction, with which data
+public class BatchOperationDTO {
+
+    private BatchOperationType op;
+    private Long id;                     // Required for UPDATE and DELETE
+    private TransactionDTO transaction;  // Required for CREATE and UPDATE
+
+    // Constructors
+    public BatchOperationDTO() {
+    }
+
+    public BatchOperationDTO(BatchOperationType op, Long id, TransactionDTO transaction) {
+        this.op = op;
+        this.id = id;
+        this.transaction = transaction;
+    }
+
+    // Getters and Setters
+    public BatchOperationType getOp() {
+        return op;
+    }
+
+    public void setOp(BatchOperationType op) {
+        this.op = op;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TransactionDTO getTransaction() {
+        return transaction;
+    }
+
+    public void setTransaction(TransactionDTO transaction) {
+        this.transaction = transaction;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchOperationDTO{" +
+                "op=" + op +
+                ", id=" + id +
+                ", transaction=" + transaction +
+                '}';
+    }
+}
@@ -0,0 +1,76 @@
+package com.financemanager.webapp.dto;
+
+import com.financemanager.webapp.model.BatchOperationType;
+
+// Outcome of one batch operation. status mirrors what the single-operation endpoint would have returned.
+public class BatchOperationResultDTO {
+
+    private int index;                   // Position in the request's operations array
+    private BatchOperationType op;
+    private int status;                  // e.g. 201, 200, 204, 400, 404; 424 if skipped because another operation failed
+    private TransactionDTO transaction;  // Created or updated transaction, when successful
+    private String error;
+
+    // Constructors
+    public BatchOperationResultDTO() {
+    }
+
+    public BatchOperationResultDTO(int index, BatchOperationType op, int status, TransactionDTO transaction, String error) {
+        this.index = index;
+        this.op = op;
+        this.status = status;
+        this.transaction = transaction;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public BatchOperationType getOp() {
+        return op;
+    }
+
+    public void setOp(BatchOperationType op) {
+        this.op = op;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public TransactionDTO getTransaction() {
+        return transaction;
+    }
+
+    public void setTransaction(TransactionDTO transaction) {
+        this.transaction = transaction;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchOperationResultDTO{" +
+                "index=" + index +
+                ", op=" + op +
+                ", status=" + status +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
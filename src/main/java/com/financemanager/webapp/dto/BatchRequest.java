@@ -0,0 +1,38 @@
+package com.financemanager.webapp.dto;
+
+import com.financemanager.webapp.model.BatchMode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Ordered list of transaction operations executed in a single DB transaction
+public class BatchRequest {
+
+    private BatchMode mode = BatchMode.ATOMIC;
+    private List<BatchOperationDTO> operations = new ArrayList<>();
+
+    // Getters and Setters
+    public BatchMode getMode() {
+        return mode;
+    }
+
+    public void setMode(BatchMode mode) {
+        this.mode = mode;
+    }
+
+    public List<BatchOperationDTO> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<BatchOperationDTO> operations) {
+        this.operations = operations;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchRequest{" +
+                "mode=" + mode +
+                ", operations=" + (operations != null ? operations.size() : 0) +
+                '}';
+    }
+}
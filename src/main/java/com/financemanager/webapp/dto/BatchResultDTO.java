@@ -0,0 +1,79 @@
+package com.financemanager.webapp.dto;
+
+import com.financemanager.webapp.model.BatchMode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a transaction batch, one result per requested operation, in request order
+public class BatchResultDTO {
+
+    private BatchMode mode;
+    private boolean committed;  // False if an ATOMIC batch was rejected: nothing was written
+    private int succeeded;
+    private int failed;
+    private List<BatchOperationResultDTO> results = new ArrayList<>();
+
+    // Constructors
+    public BatchResultDTO() {
+    }
+
+    public BatchResultDTO(BatchMode mode, boolean committed, int succeeded, int failed, List<BatchOperationResultDTO> results) {
+        this.mode = mode;
+        this.committed = committed;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.results = results;
+    }
+
+    // Getters and Setters
+    public BatchMode getMode() {
+        return mode;
+    }
+
+    public void setMode(BatchMode mode) {
+        this.mode = mode;
+    }
+
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    public void setCommitted(boolean committed) {
+        this.committed = committed;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchOperationResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchOperationResultDTO> results) {
+        this.results = results;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResultDTO{" +
+                "mode=" + mode +
+                ", committed=" + committed +
+                ", succeeded=" + succeeded +
+                ", failed=" + failed +
+                '}';
+    }
+}
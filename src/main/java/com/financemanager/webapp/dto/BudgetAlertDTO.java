@@ -0,0 +1,130 @@
+package com.financemanager.webapp.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Read-only view of a raised budget alert
+public class BudgetAlertDTO {
+
+    private Long id;
+    private Long budgetId;
+    private Long categoryId;
+    private String categoryName;
+    private int year;
+    private int month;
+    private int thresholdPercent;
+    private BigDecimal spent;
+    private BigDecimal monthlyLimit;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public BudgetAlertDTO() {
+    }
+
+    public BudgetAlertDTO(Long id, Long budgetId, Long categoryId, String categoryName, int year, int month,
+                          int thresholdPercent, BigDecimal spent, BigDecimal monthlyLimit, LocalDateTime createdAt) {
+        this.id = id;
+        this.budgetId = budgetId;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.year = year;
+        this.month = month;
+        this.thresholdPercent = thresholdPercent;
+        this.spent = spent;
+        this.monthlyLimit = monthlyLimit;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getBudgetId() {
+        return budgetId;
+    }
+
+    public void setBudgetId(Long budgetId) {
+        this.budgetId = budgetId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public void setYear(int year) {
+        this.year = year;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    public void setMonth(int month) {
+        this.month = month;
+    }
+
+    public int getThresholdPercent() {
+        return thresholdPercent;
+    }
+
+    public void setThresholdPercent(int thresholdPercent) {
+        this.thresholdPercent = thresholdPercent;
+    }
+
+    public BigDecimal getSpent() {
+        return spent;
+    }
+
+    public void setSpent(BigDecimal spent) {
+        this.spent = spent;
+    }
+
+    public BigDecimal getMonthlyLimit() {
+        return monthlyLimit;
+    }
+
+    public void setMonthlyLimit(BigDecimal monthlyLimit) {
+        this.monthlyLimit = monthlyLimit;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetAlertDTO{" +
+                "id=" + id +
+                ", categoryName='" + categoryName + '\'' +
+                ", year=" + year +
+                ", month=" + month +
+                ", thresholdPercent=" + thresholdPercent +
+                ", spent=" + spent +
+                '}';
+    }
+}
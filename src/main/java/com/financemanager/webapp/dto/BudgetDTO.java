@@ -0,0 +1,66 @@
+package com.financemanager.webapp.dto;
+
+import java.math.BigDecimal;
+
+// Used for creating, viewing, and updating monthly category budgets
+public class BudgetDTO {
+
+    private Long id;
+    private Long categoryId;
+    private String categoryName; // Read-only, for display
+    private BigDecimal monthlyLimit;
+
+    // Constructors
+    public BudgetDTO() {
+    }
+
+    public BudgetDTO(Long id, Long categoryId, String categoryName, BigDecimal monthlyLimit) {
+        this.id = id;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.monthlyLimit = monthlyLimit;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public BigDecimal getMonthlyLimit() {
+        return monthlyLimit;
+    }
+
+    public void setMonthlyLimit(BigDecimal monthlyLimit) {
+        this.monthlyLimit = monthlyLimit;
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetDTO{" +
+                "id=" + id +
+                ", categoryId=" + categoryId +
+                ", categoryName='" + categoryName + '\'' +
+                ", monthlyLimit=" + monthlyLimit +
+                '}';
+    }
+}
@@ -0,0 +1,98 @@
+package com.financemanager.webapp.dto;
+
+import java.math.BigDecimal;
+
+// Spending against one budget for a given month
+public class BudgetStatusDTO {
+
+    private Long budgetId;
+    private Long categoryId;
+    private String categoryName;
+    private BigDecimal monthlyLimit;
+    private BigDecimal spent;
+    private BigDecimal remaining; // Negative once the budget is exceeded
+    private double percentUsed;
+
+    // Constructors
+    public BudgetStatusDTO() {
+    }
+
+    public BudgetStatusDTO(Long budgetId, Long categoryId, String categoryName, BigDecimal monthlyLimit,
+                           BigDecimal spent, BigDecimal remaining, double percentUsed) {
+        this.budgetId = budgetId;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.monthlyLimit = monthlyLimit;
+        this.spent = spent;
+        this.remaining = remaining;
+        this.percentUsed = percentUsed;
+    }
+
+    // Getters and Setters
+    public Long getBudgetId() {
+        return budgetId;
+    }
+
+    public void setBudgetId(Long budgetId) {
+        this.budgetId = budgetId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public BigDecimal getMonthlyLimit() {
+        return monthlyLimit;
+    }
+
+    public void setMonthlyLimit(BigDecimal monthlyLimit) {
+        this.monthlyLimit = monthlyLimit;
+    }
+
+    public BigDecimal getSpent() {
+        return spent;
+    }
+
+    public void setSpent(BigDecimal spent) {
+        this.spent = spent;
+    }
+
+    public BigDecimal getRemaining() {
+        return remaining;
+    }
+
+    public void setRemaining(BigDecimal remaining) {
+        this.remaining = remaining;
+    }
+
+    public double getPercentUsed() {
+        return percentUsed;
+    }
+
+    public void setPercentUsed(double percentUsed) {
+        this.percentUsed = percentUsed;
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetStatusDTO{" +
+                "budgetId=" + budgetId +
+                ", categoryName='" + categoryName + '\'' +
+                ", monthlyLimit=" + monthlyLimit +
+                ", spent=" + spent +
+                ", percentUsed=" + percentUsed +
+                '}';
+    }
+}
@@ -0,0 +1,133 @@
+package com.financemanager.webapp.dto;
+
+import java.math.BigDecimal;
+
+// Spread of one category's expense amounts over a range of months. Percentiles come from a log-bucket
+// histogram and are within about 2% of an actual expense amount; count and total are exact.
+public class CategorySpendDistributionDTO {
+
+    private Long categoryId;
+    private String categoryName;
+    private long count;
+    private BigDecimal total;
+    private BigDecimal mean;
+    private BigDecimal p25;
+    private BigDecimal p50; // The "typical" expense
+    private BigDecimal p75;
+    private BigDecimal p90;
+    private BigDecimal p99;
+
+    // Constructors
+    public CategorySpendDistributionDTO() {
+    }
+
+    public CategorySpendDistributionDTO(Long categoryId, String categoryName, long count, BigDecimal total, BigDecimal mean, BigDecimal p25, BigDecimal p50, BigDecimal p75, BigDecimal p90, BigDecimal p99) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.count = count;
+        this.total = total;
+        this.mean = mean;
+        this.p25 = p25;
+        this.p50 = p50;
+        this.p75 = p75;
+        this.p90 = p90;
+        this.p99 = p99;
+    }
+
+    // Getters and Setters
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public BigDecimal getMean() {
+        return mean;
+    }
+
+    public void setMean(BigDecimal mean) {
+        this.mean = mean;
+    }
+
+    public BigDecimal getP25() {
+        return p25;
+    }
+
+    public void setP25(BigDecimal p25) {
+        this.p25 = p25;
+    }
+
+    public BigDecimal getP50() {
+        return p50;
+    }
+
+    public void setP50(BigDecimal p50) {
+        this.p50 = p50;
+    }
+
+    public BigDecimal getP75() {
+        return p75;
+    }
+
+    public void setP75(BigDecimal p75) {
+        this.p75 = p75;
+    }
+
+    public BigDecimal getP90() {
+        return p90;
+    }
+
+    public void setP90(BigDecimal p90) {
+        this.p90 = p90;
+    }
+
+    public BigDecimal getP99() {
+        return p99;
+    }
+
+    public void setP99(BigDecimal p99) {
+        this.p99 = p99;
+    }
+
+    @Override
+    public String toString() {
+        return "CategorySpendDistributionDTO{" +
+                "categoryId=" + categoryId +
+                ", categoryName='" + categoryName + '\'' +
+                ", count=" + count +
+                ", total=" + total +
+                ", mean=" + mean +
+                ", p25=" + p25 +
+                ", p50=" + p50 +
+                ", p75=" + p75 +
+                ", p90=" + p90 +
+                ", p99=" + p99 +
+                '}';
+    }
+}
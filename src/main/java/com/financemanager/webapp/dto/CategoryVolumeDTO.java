@@ -0,0 +1,91 @@
+package com.financemanager.webapp.dto;
+
+import com.financemanager.webapp.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+// Platform-wide volume of one category name and transaction type in a month
+public class CategoryVolumeDTO {
+
+    private YearMonth month;
+    private String categoryName;
+    private TransactionType type;
+    private long transactionCount;
+    private BigDecimal total;
+    private String currency; // Base currency of the total
+
+    // Constructors
+    public CategoryVolumeDTO() {
+    }
+
+    public CategoryVolumeDTO(YearMonth month, String categoryName, TransactionType type, long transactionCount, BigDecimal total, String currency) {
+        this.month = month;
+        this.categoryName = categoryName;
+        this.type = type;
+        this.transactionCount = transactionCount;
+        this.total = total;
+        this.currency = currency;
+    }
+
+    // Getters and Setters
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public void setMonth(YearMonth month) {
+        this.month = month;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    @Override
+    public String toString() {
+        return "CategoryVolumeDTO{" +
+                "month=" + month +
+                ", categoryName='" + categoryName + '\'' +
+                ", type=" + type +
+                ", transactionCount=" + transactionCount +
+                ", total=" + total +
+                ", currency='" + currency + '\'' +
+                '}';
+    }
+}
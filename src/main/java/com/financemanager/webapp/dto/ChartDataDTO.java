@@ -9,6 +9,8 @@ public class ChartDataDTO {
     // Option 1: Parallel lists (Common for libraries like Chart.js)
     private List<String> labels; // Category names
     private List<BigDecimal> values; // Corresponding spending amounts
+    private String currency; // Currency the values are expressed in
+    private List<String> unconvertedCurrencies; // Currencies without exchange rates, left out of the values
 
     // Option 2: Map (Less common for direct chart lib consumption, but possible)
     // private Map<String, BigDecimal> categorySpending;
@@ -39,12 +41,30 @@ public class ChartDataDTO {
         this.values = values;
     }
 
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public List<String> getUnconvertedCurrencies() {
+        return unconvertedCurrencies;
+    }
+
+    public void setUnconvertedCurrencies(List<String> unconvertedCurrencies) {
+        this.unconvertedCurrencies = unconvertedCurrencies;
+    }
+
     // toString() - Optional
     @Override
     public String toString() {
         return "ChartDataDTO{" +
                 "labels=" + labels +
                 ", values=" + values +
+                ", currency='" + currency + '\'' +
+                ", unconvertedCurrencies=" + unconvertedCurrencies +
                 '}';
     }
 }
\ No newline at end of file
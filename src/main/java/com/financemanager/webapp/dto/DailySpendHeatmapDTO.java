@@ -0,0 +1,89 @@
+package com.financemanager.webapp.dto;
+
+import java.time.LocalDate;
+
+// Daily spending for a whole year, packed as one number per day for the dashboard heatmap.
+// dailyCents[0] is January 1st; the array has 365 or 366 entries depending on the year.
+public class DailySpendHeatmapDTO {
+
+    private int year;
+    private LocalDate startDate;
+    private Long categoryId; // null means all categories
+    private long[] dailyCents;
+    private long maxDailyCents; // Largest value in dailyCents, handy for scaling colours
+    private String currency; // Currency the cents are in
+
+    // Constructors
+    public DailySpendHeatmapDTO() {
+    }
+
+    public DailySpendHeatmapDTO(int year, Long categoryId, long[] dailyCents) {
+        this.year = year;
+        this.startDate = LocalDate.of(year, 1, 1);
+        this.categoryId = categoryId;
+        this.dailyCents = dailyCents;
+        for (long cents : dailyCents) {
+            this.maxDailyCents = Math.max(this.maxDailyCents, cents);
+        }
+    }
+
+    // Getters and Setters
+    public int getYear() {
+        return year;
+    }
+
+    public void setYear(int year) {
+        this.year = year;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public long[] getDailyCents() {
+        return dailyCents;
+    }
+
+    public void setDailyCents(long[] dailyCents) {
+        this.dailyCents = dailyCents;
+    }
+
+    public long getMaxDailyCents() {
+        return maxDailyCents;
+    }
+
+    public void setMaxDailyCents(long maxDailyCents) {
+        this.maxDailyCents = maxDailyCents;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    @Override
+    public String toString() {
+        return "DailySpendHeatmapDTO{" +
+                "year=" + year +
+                ", categoryId=" + categoryId +
+                ", days=" + (dailyCents != null ? dailyCents.length : 0) +
+                ", maxDailyCents=" + maxDailyCents +
+                ", currency='" + currency + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,92 @@
+package com.financemanager.webapp.dto;
+
+import com.financemanager.webapp.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// One row of a per-day aggregate query: the total for a single date, type, category and currency.
+// Populated directly by JPQL constructor expressions, so only these columns are ever selected.
+public class DailyTotalDTO {
+
+    private LocalDate date;
+    private TransactionType type;
+    private Long categoryId;
+    private String categoryName;
+    private String currency; // Null for rows stored before multi-currency support
+    private BigDecimal total;
+
+    // Constructors
+    public DailyTotalDTO() {
+    }
+
+    public DailyTotalDTO(LocalDate date, TransactionType type, Long categoryId, String categoryName, String currency, BigDecimal total) {
+        this.date = date;
+        this.type = type;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.currency = currency;
+        this.total = total != null ? total : BigDecimal.ZERO;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    @Override
+    public String toString() {
+        return "DailyTotalDTO{" +
+                "date=" + date +
+                ", type=" + type +
+                ", categoryId=" + categoryId +
+                ", categoryName='" + categoryName + '\'' +
+                ", currency='" + currency + '\'' +
+                ", total=" + total +
+                '}';
+    }
+}
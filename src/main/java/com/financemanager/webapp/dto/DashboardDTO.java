@@ -0,0 +1,110 @@
+package com.financemanager.webapp.dto;
+
+import java.util.List;
+
+// Everything the dashboard needs on first load, returned in a single response
+public class DashboardDTO {
+
+    private UserDTO user;
+    private List<CategoryDTO> categories;
+    private List<TransactionDTO> transactions; // Newest first
+    private int year;                          // Period the summary and chart cover
+    private int month;
+    private SummaryDTO monthlySummary;
+    private ChartDataDTO categoryChart;
+    private DailySpendHeatmapDTO heatmap;      // Whole year, all categories
+
+    // Constructors
+    public DashboardDTO() {
+    }
+
+    public DashboardDTO(UserDTO user, List<CategoryDTO> categories, List<TransactionDTO> transactions, int year, int month,
+                        SummaryDTO monthlySummary, ChartDataDTO categoryChart, DailySpendHeatmapDTO heatmap) {
+        this.user = user;
+        this.categories = categories;
+        this.transactions = transactions;
+        this.year = year;
+        this.month = month;
+        this.monthlySummary = monthlySummary;
+        this.categoryChart = categoryChart;
+        this.heatmap = heatmap;
+    }
+
+    // Getters and Setters
+    public UserDTO getUser() {
+        return user;
+    }
+
+    public void setUser(UserDTO user) {
+        this.user = user;
+    }
+
+    public List<CategoryDTO> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<CategoryDTO> categories) {
+        this.categories = categories;
+    }
+
+    public List<TransactionDTO> getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(List<TransactionDTO> transactions) {
+        this.transactions = transactions;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public void setYear(int year) {
+        this.year = year;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    public void setMonth(int month) {
+        this.month = month;
+    }
+
+    public SummaryDTO getMonthlySummary() {
+        return monthlySummary;
+    }
+
+    public void setMonthlySummary(SummaryDTO monthlySummary) {
+        this.monthlySummary = monthlySummary;
+    }
+
+    public ChartDataDTO getCategoryChart() {
+        return categoryChart;
+    }
+
+    public void setCategoryChart(ChartDataDTO categoryChart) {
+        this.categoryChart = categoryChart;
+    }
+
+    public DailySpendHeatmapDTO getHeatmap() {
+        return heatmap;
+    }
+
+    public void setHeatmap(DailySpendHeatmapDTO heatmap) {
+        this.heatmap = heatmap;
+    }
+
+    @Override
+    public String toString() {
+        return "DashboardDTO{" +
+                "user=" + user +
+                ", categories=" + (categories != null ? categories.size() : 0) +
+                ", transactions=" + (transactions != null ? transactions.size() : 0) +
+                ", year=" + year +
+                ", month=" + month +
+                ", monthlySummary=" + monthlySummary +
+                ", categoryChart=" + categoryChart +
+                '}';
+    }
+}
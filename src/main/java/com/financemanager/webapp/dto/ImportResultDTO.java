@@ -0,0 +1,66 @@
+package com.financemanager.webapp.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a bulk transaction import
+public class ImportResultDTO {
+
+    private int received;
+    private int imported;
+    private int duplicatesSkipped;
+    private List<TransactionDTO> duplicates = new ArrayList<>(); // The input rows that were skipped as duplicates
+
+    // Constructors
+    public ImportResultDTO() {
+    }
+
+    public ImportResultDTO(int received, int imported, int duplicatesSkipped, List<TransactionDTO> duplicates) {
+        this.received = received;
+        this.imported = imported;
+        this.duplicatesSkipped = duplicatesSkipped;
+        this.duplicates = duplicates;
+    }
+
+    // Getters and Setters
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getDuplicatesSkipped() {
+        return duplicatesSkipped;
+    }
+
+    public void setDuplicatesSkipped(int duplicatesSkipped) {
+        this.duplicatesSkipped = duplicatesSkipped;
+    }
+
+    public List<TransactionDTO> getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(List<TransactionDTO> duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResultDTO{" +
+                "received=" + received +
+                ", imported=" + imported +
+                ", duplicatesSkipped=" + duplicatesSkipped +
+                '}';
+    }
+}
@@ -0,0 +1,67 @@
+package com.financemanager.webapp.dto;
+
+import java.math.BigDecimal;
+
+// One merchant in a top-merchants report. Values come from a sketch: the true value lies in
+// [value - maxError, value]; guaranteed means the merchant belongs in the list whatever the error.
+public class MerchantTotalDTO {
+
+    private String merchant; // Normalized description, e.g. "uber trip"
+    private BigDecimal value; // Number of expenses, or amount spent, depending on the ranking
+    private BigDecimal maxError;
+    private boolean guaranteed;
+
+    // Constructors
+    public MerchantTotalDTO() {
+    }
+
+    public MerchantTotalDTO(String merchant, BigDecimal value, BigDecimal maxError, boolean guaranteed) {
+        this.merchant = merchant;
+        this.value = value;
+        this.maxError = maxError;
+        this.guaranteed = guaranteed;
+    }
+
+    // Getters and Setters
+    public String getMerchant() {
+        return merchant;
+    }
+
+    public void setMerchant(String merchant) {
+        this.merchant = merchant;
+    }
+
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    public void setValue(BigDecimal value) {
+        this.value = value;
+    }
+
+    public BigDecimal getMaxError() {
+        return maxError;
+    }
+
+    public void setMaxError(BigDecimal maxError) {
+        this.maxError = maxError;
+    }
+
+    public boolean isGuaranteed() {
+        return guaranteed;
+    }
+
+    public void setGuaranteed(boolean guaranteed) {
+        this.guaranteed = guaranteed;
+    }
+
+    @Override
+    public String toString() {
+        return "MerchantTotalDTO{" +
+                "merchant='" + merchant + '\'' +
+                ", value=" + value +
+                ", maxError=" + maxError +
+                ", guaranteed=" + guaranteed +
+                '}';
+    }
+}
@@ -0,0 +1,123 @@
+package com.financemanager.webapp.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+// Platform-wide activity in one month. Growth is the change against the previous month in percent,
+// null when there is no previous month to compare with.
+public class MonthlyActivityDTO {
+
+    private YearMonth month;
+    private long activeUsers;
+    private long newUsers;
+    private long transactionCount;
+    private BigDecimal expenseTotal;
+    private BigDecimal incomeTotal;
+    private String currency; // Base currency of the totals
+    private BigDecimal activeUsersGrowth;
+    private BigDecimal expenseGrowth;
+
+    // Constructors
+    public MonthlyActivityDTO() {
+    }
+
+    public MonthlyActivityDTO(YearMonth month, long activeUsers, long newUsers, long transactionCount, BigDecimal expenseTotal, BigDecimal incomeTotal, String currency, BigDecimal activeUsersGrowth, BigDecimal expenseGrowth) {
+        this.month = month;
+        this.activeUsers = activeUsers;
+        this.newUsers = newUsers;
+        this.transactionCount = transactionCount;
+        this.expenseTotal = expenseTotal;
+        this.incomeTotal = incomeTotal;
+        this.currency = currency;
+        this.activeUsersGrowth = activeUsersGrowth;
+        this.expenseGrowth = expenseGrowth;
+    }
+
+    // Getters and Setters
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public void setMonth(YearMonth month) {
+        this.month = month;
+    }
+
+    public long getActiveUsers() {
+        return activeUsers;
+    }
+
+    public void setActiveUsers(long activeUsers) {
+        this.activeUsers = activeUsers;
+    }
+
+    public long getNewUsers() {
+        return newUsers;
+    }
+
+    public void setNewUsers(long newUsers) {
+        this.newUsers = newUsers;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public BigDecimal getExpenseTotal() {
+        return expenseTotal;
+    }
+
+    public void setExpenseTotal(BigDecimal expenseTotal) {
+        this.expenseTotal = expenseTotal;
+    }
+
+    public BigDecimal getIncomeTotal() {
+        return incomeTotal;
+    }
+
+    public void setIncomeTotal(BigDecimal incomeTotal) {
+        this.incomeTotal = incomeTotal;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public BigDecimal getActiveUsersGrowth() {
+        return activeUsersGrowth;
+    }
+
+    public void setActiveUsersGrowth(BigDecimal activeUsersGrowth) {
+        this.activeUsersGrowth = activeUsersGrowth;
+    }
+
+    public BigDecimal getExpenseGrowth() {
+        return expenseGrowth;
+    }
+
+    public void setExpenseGrowth(BigDecimal expenseGrowth) {
+        this.expenseGrowth = expenseGrowth;
+    }
+
+    @Override
+    public String toString() {
+        return "MonthlyActivityDTO{" +
+                "month=" + month +
+                ", activeUsers=" + activeUsers +
+                ", newUsers=" + newUsers +
+                ", transactionCount=" + transactionCount +
+                ", expenseTotal=" + expenseTotal +
+                ", incomeTotal=" + incomeTotal +
+                ", currency='" + currency + '\'' +
+                ", activeUsersGrowth=" + activeUsersGrowth +
+                ", expenseGrowth=" + expenseGrowth +
+                '}';
+    }
+}
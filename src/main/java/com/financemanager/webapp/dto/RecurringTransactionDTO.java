@@ -0,0 +1,158 @@
+package com.financemanager.webapp.dto;
+
+import com.financemanager.webapp.model.RecurrenceFrequency;
+import com.financemanager.webapp.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Used for creating, viewing, and updating recurring transaction rules
+public class RecurringTransactionDTO {
+
+    private Long id;
+    private TransactionType type;
+    private BigDecimal amount;
+    private String description;
+    private Long categoryId;
+    private String categoryName; // Read-only, for display
+    private RecurrenceFrequency frequency;
+    private Integer interval; // Every N units of frequency, defaults to 1
+    private LocalDate startDate;
+    private LocalDate endDate; // Optional
+    private LocalDate nextRunDate; // Read-only
+    private Boolean active;
+
+    // Constructors
+    public RecurringTransactionDTO() {
+    }
+
+    public RecurringTransactionDTO(Long id, TransactionType type, BigDecimal amount, String description, Long categoryId,
+                                   String categoryName, RecurrenceFrequency frequency, Integer interval, LocalDate startDate,
+                                   LocalDate endDate, LocalDate nextRunDate, Boolean active) {
+        this.id = id;
+        this.type = type;
+        this.amount = amount;
+        this.description = description;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.frequency = frequency;
+        this.interval = interval;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.nextRunDate = nextRunDate;
+        this.active = active;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(RecurrenceFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public Integer getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Integer interval) {
+        this.interval = interval;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LocalDate getNextRunDate() {
+        return nextRunDate;
+    }
+
+    public void setNextRunDate(LocalDate nextRunDate) {
+        this.nextRunDate = nextRunDate;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+
+    @Override
+    public String toString() {
+        return "RecurringTransactionDTO{" +
+                "id=" + id +
+                ", type=" + type +
+                ", amount=" + amount +
+                ", categoryId=" + categoryId +
+                ", frequency=" + frequency +
+                ", interval=" + interval +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", nextRunDate=" + nextRunDate +
+                ", active=" + active +
+                '}';
+    }
+}
@@ -0,0 +1,122 @@
+package com.financemanager.webapp.dto;
+
+import com.financemanager.webapp.model.ReportJobStatus;
+import com.financemanager.webapp.model.ReportJobType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Status view of an asynchronous report job (the result itself is downloaded separately)
+public class ReportJobDTO {
+
+    private Long id;
+    private ReportJobType reportType;
+    private ReportJobStatus status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String errorMessage; // Only set for FAILED jobs
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public ReportJobDTO() {
+    }
+
+    public ReportJobDTO(Long id, ReportJobType reportType, ReportJobStatus status, LocalDate startDate, LocalDate endDate,
+                        String errorMessage, LocalDateTime createdAt, LocalDateTime startedAt, LocalDateTime completedAt) {
+        this.id = id;
+        this.reportType = reportType;
+        this.status = status;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.errorMessage = errorMessage;
+        this.createdAt = createdAt;
+        this.startedAt = startedAt;
+        this.completedAt = completedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ReportJobType getReportType() {
+        return reportType;
+    }
+
+    public void setReportType(ReportJobType reportType) {
+        this.reportType = reportType;
+    }
+
+    public ReportJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReportJobStatus status) {
+        this.status = status;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ReportJobDTO{" +
+                "id=" + id +
+                ", reportType=" + reportType +
+                ", status=" + status +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
+                '}';
+    }
+}
@@ -0,0 +1,57 @@
+package com.financemanager.webapp.dto;
+
+import com.financemanager.webapp.model.ReportJobType;
+
+import java.time.LocalDate;
+
+// Used to submit an asynchronous report job for an arbitrary date range
+public class ReportJobRequest {
+
+    private ReportJobType reportType;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    // Constructors
+    public ReportJobRequest() {
+    }
+
+    public ReportJobRequest(ReportJobType reportType, LocalDate startDate, LocalDate endDate) {
+        this.reportType = reportType;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    // Getters and Setters
+    public ReportJobType getReportType() {
+        return reportType;
+    }
+
+    public void setReportType(ReportJobType reportType) {
+        this.reportType = reportType;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    @Override
+    public String toString() {
+        return "ReportJobRequest{" +
+                "reportType=" + reportType +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
+                '}';
+    }
+}
@@ -0,0 +1,66 @@
+package com.financemanager.webapp.dto;
+
+import java.time.LocalDate;
+
+// The fields of a transaction the description search index needs, loaded by a projection query
+public class SearchDocumentDTO {
+
+    private Long transactionId;
+    private String description;
+    private LocalDate date;
+    private Long categoryId;
+
+    // Constructors
+    public SearchDocumentDTO() {
+    }
+
+    public SearchDocumentDTO(Long transactionId, String description, LocalDate date, Long categoryId) {
+        this.transactionId = transactionId;
+        this.description = description;
+        this.date = date;
+        this.categoryId = categoryId;
+    }
+
+    // Getters and Setters
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchDocumentDTO{" +
+                "transactionId=" + transactionId +
+                ", description='" + description + '\'' +
+                ", date=" + date +
+                ", categoryId=" + categoryId +
+                '}';
+    }
+}
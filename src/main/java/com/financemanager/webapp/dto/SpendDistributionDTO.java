@@ -0,0 +1,88 @@
+package com.financemanager.webapp.dto;
+
+import java.time.YearMonth;
+import java.util.List;
+
+// Per-category spending percentiles for a range of months
+public class SpendDistributionDTO {
+
+    private YearMonth from;
+    private YearMonth to;
+    private String currency;
+    private long digestBytes; // Estimated memory the user's histograms (all months) take on the server
+    private List<CategorySpendDistributionDTO> categories; // Categories with expenses in the range, by name
+    private List<String> unconvertedCurrencies; // Currencies without exchange rates, left out of the distributions
+
+    // Constructors
+    public SpendDistributionDTO() {
+    }
+
+    public SpendDistributionDTO(YearMonth from, YearMonth to, String currency, long digestBytes, List<CategorySpendDistributionDTO> categories) {
+        this.from = from;
+        this.to = to;
+        this.currency = currency;
+        this.digestBytes = digestBytes;
+        this.categories = categories;
+    }
+
+    // Getters and Setters
+    public YearMonth getFrom() {
+        return from;
+    }
+
+    public void setFrom(YearMonth from) {
+        this.from = from;
+    }
+
+    public YearMonth getTo() {
+        return to;
+    }
+
+    public void setTo(YearMonth to) {
+        this.to = to;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public long getDigestBytes() {
+        return digestBytes;
+    }
+
+    public void setDigestBytes(long digestBytes) {
+        this.digestBytes = digestBytes;
+    }
+
+    public List<CategorySpendDistributionDTO> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<CategorySpendDistributionDTO> categories) {
+        this.categories = categories;
+    }
+
+    public List<String> getUnconvertedCurrencies() {
+        return unconvertedCurrencies;
+    }
+
+    public void setUnconvertedCurrencies(List<String> unconvertedCurrencies) {
+        this.unconvertedCurrencies = unconvertedCurrencies;
+    }
+
+    @Override
+    public String toString() {
+        return "SpendDistributionDTO{" +
+                "from=" + from +
+                ", to=" + to +
+                ", currency='" + currency + '\'' +
+                ", digestBytes=" + digestBytes +
+                ", categories=" + categories +
+                ", unconvertedCurrencies=" + unconvertedCurrencies +
+                '}';
+    }
+}
@@ -1,6 +1,7 @@
 package com.financemanager.webapp.dto;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 // Used to return summary data (monthly or yearly)
 public class SummaryDTO {
@@ -8,6 +9,8 @@ public class SummaryDTO {
     private BigDecimal totalIncome;
     private BigDecimal totalExpenses;
     private BigDecimal balance; // totalIncome - totalExpenses
+    private String currency; // Currency all amounts are expressed in
+    private List<String> unconvertedCurrencies; // Currencies without exchange rates, left out of the totals
 
     // Constructors
     public SummaryDTO() {
@@ -45,6 +48,22 @@ public class SummaryDTO {
         return balance;
     }
 
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public List<String> getUnconvertedCurrencies() {
+        return unconvertedCurrencies;
+    }
+
+    public void setUnconvertedCurrencies(List<String> unconvertedCurrencies) {
+        this.unconvertedCurrencies = unconvertedCurrencies;
+    }
+
     // Private helper to keep balance consistent
     private void updateBalance() {
         this.balance = (this.totalIncome != null ? this.totalIncome : BigDecimal.ZERO)
@@ -58,6 +77,8 @@ public class SummaryDTO {
                 "totalIncome=" + totalIncome +
                 ", totalExpenses=" + totalExpenses +
                 ", balance=" + balance +
+                ", currency='" + currency + '\'' +
+                ", unconvertedCurrencies=" + unconvertedCurrencies +
                 '}';
     }
 }
\ No newline at end of file
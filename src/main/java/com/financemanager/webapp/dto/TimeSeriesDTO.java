@@ -0,0 +1,112 @@
+package com.financemanager.webapp.dto;
+
+import com.financemanager.webapp.model.TimeGranularity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Trend report: income/expenses/net per bucket over an arbitrary range
+public class TimeSeriesDTO {
+
+    private TimeGranularity granularity;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int totalBuckets;     // Number of buckets in the range before downsampling
+    private boolean downsampled;  // True if points were reduced to fit the requested maximum
+    private List<TimeSeriesPointDTO> points;
+    private String currency;      // Currency all amounts are expressed in
+    private List<String> unconvertedCurrencies; // Currencies without exchange rates, left out of the amounts
+
+    // Constructors
+    public TimeSeriesDTO() {
+    }
+
+    public TimeSeriesDTO(TimeGranularity granularity, LocalDate startDate, LocalDate endDate, int totalBuckets,
+                         boolean downsampled, List<TimeSeriesPointDTO> points) {
+        this.granularity = granularity;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.totalBuckets = totalBuckets;
+        this.downsampled = downsampled;
+        this.points = points;
+    }
+
+    // Getters and Setters
+    public TimeGranularity getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(TimeGranularity granularity) {
+        this.granularity = granularity;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public int getTotalBuckets() {
+        return totalBuckets;
+    }
+
+    public void setTotalBuckets(int totalBuckets) {
+        this.totalBuckets = totalBuckets;
+    }
+
+    public boolean isDownsampled() {
+        return downsampled;
+    }
+
+    public void setDownsampled(boolean downsampled) {
+        this.downsampled = downsampled;
+    }
+
+    public List<TimeSeriesPointDTO> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<TimeSeriesPointDTO> points) {
+        this.points = points;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public List<String> getUnconvertedCurrencies() {
+        return unconvertedCurrencies;
+    }
+
+    public void setUnconvertedCurrencies(List<String> unconvertedCurrencies) {
+        this.unconvertedCurrencies = unconvertedCurrencies;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeSeriesDTO{" +
+                "granularity=" + granularity +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", totalBuckets=" + totalBuckets +
+                ", downsampled=" + downsampled +
+                ", currency='" + currency + '\'' +
+                ", unconvertedCurrencies=" + unconvertedCurrencies +
+                ", points=" + (points != null ? points.size() : 0) +
+                '}';
+    }
+}
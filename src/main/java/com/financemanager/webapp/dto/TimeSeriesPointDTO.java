@@ -0,0 +1,81 @@
+package com.financemanager.webapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+// One bucket (day, week or month) of a trend report
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TimeSeriesPointDTO {
+
+    private LocalDate periodStart; // First day of the bucket
+    private BigDecimal income;
+    private BigDecimal expenses;
+    private BigDecimal net; // income - expenses
+    private Map<String, BigDecimal> expensesByCategory; // Only set when a category split was requested
+
+    // Constructors
+    public TimeSeriesPointDTO() {
+    }
+
+    public TimeSeriesPointDTO(LocalDate periodStart, BigDecimal income, BigDecimal expenses, Map<String, BigDecimal> expensesByCategory) {
+        this.periodStart = periodStart;
+        this.income = income != null ? income : BigDecimal.ZERO;
+        this.expenses = expenses != null ? expenses : BigDecimal.ZERO;
+        this.net = this.income.subtract(this.expenses);
+        this.expensesByCategory = expensesByCategory;
+    }
+
+    // Getters and Setters
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public BigDecimal getIncome() {
+        return income;
+    }
+
+    public void setIncome(BigDecimal income) {
+        this.income = income;
+    }
+
+    public BigDecimal getExpenses() {
+        return expenses;
+    }
+
+    public void setExpenses(BigDecimal expenses) {
+        this.expenses = expenses;
+    }
+
+    public BigDecimal getNet() {
+        return net;
+    }
+
+    public void setNet(BigDecimal net) {
+        this.net = net;
+    }
+
+    public Map<String, BigDecimal> getExpensesByCategory() {
+        return expensesByCategory;
+    }
+
+    public void setExpensesByCategory(Map<String, BigDecimal> expensesByCategory) {
+        this.expensesByCategory = expensesByCategory;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeSeriesPointDTO{" +
+                "periodStart=" + periodStart +
+                ", income=" + income +
+                ", expenses=" + expenses +
+                ", net=" + net +
+                '}';
+    }
+}
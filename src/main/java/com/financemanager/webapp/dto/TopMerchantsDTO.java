@@ -0,0 +1,89 @@
+package com.financemanager.webapp.dto;
+
+import com.financemanager.webapp.model.MerchantRanking;
+
+import java.util.List;
+
+// Where the money goes: a user's top payees for a month or a whole year
+public class TopMerchantsDTO {
+
+    private int year;
+    private Integer month; // null for the whole year
+    private MerchantRanking rankedBy;
+    private String currency; // Currency of the values when ranked by AMOUNT, null when ranked by COUNT
+    private List<MerchantTotalDTO> merchants;
+    private List<String> unconvertedCurrencies; // Currencies without exchange rates, left out of AMOUNT rankings
+
+    // Constructors
+    public TopMerchantsDTO() {
+    }
+
+    public TopMerchantsDTO(int year, Integer month, MerchantRanking rankedBy, String currency, List<MerchantTotalDTO> merchants) {
+        this.year = year;
+        this.month = month;
+        this.rankedBy = rankedBy;
+        this.currency = currency;
+        this.merchants = merchants;
+    }
+
+    // Getters and Setters
+    public int getYear() {
+        return year;
+    }
+
+    public void setYear(int year) {
+        this.year = year;
+    }
+
+    public Integer getMonth() {
+        return month;
+    }
+
+    public void setMonth(Integer month) {
+        this.month = month;
+    }
+
+    public MerchantRanking getRankedBy() {
+        return rankedBy;
+    }
+
+    public void setRankedBy(MerchantRanking rankedBy) {
+        this.rankedBy = rankedBy;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public List<MerchantTotalDTO> getMerchants() {
+        return merchants;
+    }
+
+    public void setMerchants(List<MerchantTotalDTO> merchants) {
+        this.merchants = merchants;
+    }
+
+    public List<String> getUnconvertedCurrencies() {
+        return unconvertedCurrencies;
+    }
+
+    public void setUnconvertedCurrencies(List<String> unconvertedCurrencies) {
+        this.unconvertedCurrencies = unconvertedCurrencies;
+    }
+
+    @Override
+    public String toString() {
+        return "TopMerchantsDTO{" +
+                "year=" + year +
+                ", month=" + month +
+                ", rankedBy=" + rankedBy +
+                ", currency='" + currency + '\'' +
+                ", merchants=" + merchants +
+                ", unconvertedCurrencies=" + unconvertedCurrencies +
+                '}';
+    }
+}
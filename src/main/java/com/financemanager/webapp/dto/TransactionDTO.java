@@ -13,8 +13,10 @@ public class TransactionDTO {
     private BigDecimal amount;
     private String description;
     private LocalDate date;
+    private String currency; // ISO 4217 code; defaults to the user's preferred currency
     private Long categoryId; // ID of the associated category
     private String categoryName; // Optional: Include category name for easier display
+    private boolean archived; // Read-only: the row belongs to a closed, archived year
 
     // We don't include userId here, as it's handled via path parameters
 
@@ -73,6 +75,14 @@ public class TransactionDTO {
         this.date = date;
     }
 
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
     public Long getCategoryId() {
         return categoryId;
     }
@@ -89,6 +99,14 @@ public class TransactionDTO {
         this.categoryName = categoryName;
     }
 
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public void setArchived(boolean archived) {
+        this.archived = archived;
+    }
+
     // toString() - Optional
     @Override
     public String toString() {
@@ -98,8 +116,10 @@ public class TransactionDTO {
                 ", amount=" + amount +
                 ", description='" + description + '\'' +
                 ", date=" + date +
+                ", currency='" + currency + '\'' +
                 ", categoryId=" + categoryId +
                 ", categoryName='" + categoryName + '\'' +
+                ", archived=" + archived +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.financemanager.webapp.event;
+
+/**
+ * The state of a user's transactions that derived data was loaded from: the committed
+ * {@link com.financemanager.webapp.model.TransactionVersion version}, and how many of the user's write
+ * transactions this instance had committed by then. Obtained from {@link TransactionChangeTracker#readVersion(Long)}.
+ */
+public final class LoadedVersion {
+
+    private final long version;
+    private final long localCommits;
+
+    LoadedVersion(long version, long localCommits) {
+        this.version = version;
+        this.localCommits = localCommits;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    long getLocalCommits() {
+        return localCommits;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadedVersion{" +
+                "version=" + version +
+                ", localCommits=" + localCommits +
+                '}';
+    }
+}
@@ -0,0 +1,18 @@
+package com.financemanager.webapp.event;
+
+/**
+ * Implemented by components that maintain derived data (indexes, counters, caches) from transaction writes.
+ * Called by {@link TransactionChangeTracker} once the change is committed, on the writing thread,
+ * so implementations must be cheap and must not throw.
+ */
+public interface TransactionChangeListener {
+
+    void onTransactionCommitted(TransactionChangedEvent event);
+
+    /**
+     * Drops everything held for the user, so it is rebuilt from the database on next use.
+     * Called when {@link #onTransactionCommitted} threw, since the listener then missed a change.
+     */
+    default void evict(Long userId) {
+    }
+}
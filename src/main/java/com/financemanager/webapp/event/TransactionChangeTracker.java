@@ -0,0 +1,251 @@
+package com.financemanager.webapp.event;
+
+import com.financemanager.webapp.repository.TransactionVersionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Delivers committed transaction changes to every {@link TransactionChangeListener}, and lets
+ * in-memory indexes install data loaded from the database without losing concurrent writes.
+ *
+ * <p>Indexes load through {@link #load(Long, Supplier, Consumer)}: it takes a stamp, runs the query on the
+ * caller's connection with read-committed visibility, then installs the result only if no write for that user
+ * was in flight or committed in the meantime; otherwise the loaded data may be missing (or double count) that
+ * write, so it is used once and not cached. Installs and change delivery for the same user are serialized, so a write
+ * committed after an install is always applied on top of it.</p>
+ *
+ * <p>Every committed write also bumps the user's {@link com.financemanager.webapp.model.TransactionVersion}
+ * row, once per DB transaction. Data kept past a restart records the {@link #readVersion(Long) version}
+ * it was loaded at, and is only reused if {@link #currentVersion(Long, LoadedVersion)} shows that no other
+ * instance has written for the user since.</p>
+ *
+ * <p>A listener that throws has missed a change, so its data for that user is {@link
+ * TransactionChangeListener#evict(Long) evicted} and reloaded on next use.</p>
+ */
+@Component
+public class TransactionChangeTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionChangeTracker.class);
+
+    private static final Object VERSIONED_USERS = new Object(); // Transaction resource key
+
+    // Per-user write state; one small entry per user that has written since startup
+    private final ConcurrentHashMap<Long, UserWriteState> states = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ObjectProvider<TransactionChangeListener> listeners;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionVersionRepository transactionVersionRepository;
+
+    private TransactionTemplate freshReadTemplate;
+
+    // Users whose version the current DB transaction has bumped; bound like a resource holder, so a nested
+    // REQUIRES_NEW transaction gets its own set
+    private final class VersionedUsers implements TransactionSynchronization {
+        private final Set<Long> userIds = new HashSet<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(VERSIONED_USERS);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(VERSIONED_USERS, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(VERSIONED_USERS);
+            if (status == STATUS_COMMITTED) {
+                for (Long userId : userIds) {
+                    UserWriteState state = stateFor(userId);
+                    synchronized (state) {
+                        state.localCommits++;
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class UserWriteState {
+        long version;  // Bumped every time a write for this user completes
+        int inFlight;  // Writes published but not yet committed/rolled back
+        long localCommits; // DB transactions from this instance that bumped the user's version
+    }
+
+    @PostConstruct
+    void init() {
+        freshReadTemplate = new TransactionTemplate(transactionManager);
+        freshReadTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        freshReadTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Loads data for the user and hands it to {@code install} if no write for the user started or
+     * completed while loading.
+     *
+     * <p>The loader never takes a second connection: callers already hold one through their own transaction
+     * or open-in-view, and a nested REQUIRES_NEW load per thread would let enough concurrent cold loads take
+     * every pooled connection and then wait on each other. Inside a {@code READ_COMMITTED} transaction the
+     * loader runs in it, since each statement after the stamp sees every write committed before it. Under
+     * REPEATABLE READ the caller's snapshot was fixed by its first read, possibly before the stamp, so a
+     * write committed in between would be missing without changing the stamp: the loader still runs in the
+     * caller's transaction, but its result is used once and not cached. Read paths that use the indexes are
+     * therefore {@code READ_COMMITTED}. Without a transaction the loader gets a read-committed one of its own,
+     * on the open-in-view connection if there is one. While one of the user's writes is in flight nothing is
+     * cached anyway, so the loader then runs in the caller's transaction and sees its uncommitted changes.
+     * The loader must return detached data (not entities).</p>
+     *
+     * @return The loaded data, whether or not it was installed.
+     */
+    public <T> T load(Long userId, Supplier<T> loader, Consumer<T> install) {
+        UserWriteState state = stateFor(userId);
+        long stamp;
+        synchronized (state) {
+            if (state.inFlight != 0) {
+                return loader.get();
+            }
+            stamp = state.version;
+        }
+
+        T loaded;
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            loaded = freshReadTemplate.execute(status -> loader.get());
+        } else if (isReadCommitted()) {
+            loaded = loader.get();
+        } else {
+            log.debug("Loading for user {} outside READ_COMMITTED; the result is not cached", userId);
+            return loader.get();
+        }
+        synchronized (state) {
+            if (state.inFlight == 0 && state.version == stamp) {
+                install.accept(loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Reads the user's committed version. Call it inside the loader, before querying, so the loaded data
+     * is at least as new as the returned version.
+     */
+    public LoadedVersion readVersion(Long userId) {
+        long localCommits;
+        UserWriteState state = stateFor(userId);
+        synchronized (state) {
+            localCommits = state.localCommits;
+        }
+        return new LoadedVersion(transactionVersionRepository.findVersionByUserId(userId).orElse(0L), localCommits);
+    }
+
+    /**
+     * Returns the user's committed version if data loaded at {@code loadedAt}, with every change this instance
+     * committed since applied on top, still matches it; or -1 if another instance wrote for the user since
+     * (or a write is still in flight here), in which case the data must not be persisted.
+     */
+    public long currentVersion(Long userId, LoadedVersion loadedAt) {
+        long version = transactionVersionRepository.findVersionByUserId(userId).orElse(0L);
+        UserWriteState state = stateFor(userId);
+        synchronized (state) {
+            long expected = loadedAt.getVersion() + state.localCommits - loadedAt.getLocalCommits();
+            return state.inFlight == 0 && version == expected ? version : -1;
+        }
+    }
+
+    @EventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        UserWriteState state = stateFor(event.getUserId());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Not inside a DB transaction: the change is already durable
+            transactionVersionRepository.increment(event.getUserId());
+            synchronized (state) {
+                dispatch(event);
+                state.version++;
+                state.localCommits++;
+            }
+            return;
+        }
+
+        synchronized (state) {
+            state.inFlight++;
+        }
+        if (versionedUsers().userIds.add(event.getUserId())) {
+            transactionVersionRepository.increment(event.getUserId());
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (state) {
+                    try {
+                        if (status == STATUS_COMMITTED) {
+                            dispatch(event);
+                        }
+                    } finally {
+                        state.inFlight--;
+                        state.version++;
+                    }
+                }
+            }
+        });
+    }
+
+    private void dispatch(TransactionChangedEvent event) {
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onTransactionCommitted(event);
+            } catch (RuntimeException e) {
+                // A broken index must never fail (or partially fail) the user's write, but it has now
+                // missed this change: drop what it holds for the user so it is reloaded from the database
+                log.error("Transaction change listener {} failed for {}; evicting user {}",
+                        listener.getClass().getSimpleName(), event, event.getUserId(), e);
+                try {
+                    listener.evict(event.getUserId());
+                } catch (RuntimeException evictFailure) {
+                    log.error("Evicting user {} from {} failed", event.getUserId(), listener.getClass().getSimpleName(), evictFailure);
+                }
+            }
+        });
+    }
+
+    private static boolean isReadCommitted() {
+        Integer isolation = TransactionSynchronizationManager.getCurrentTransactionIsolationLevel();
+        return isolation != null && isolation == TransactionDefinition.ISOLATION_READ_COMMITTED;
+    }
+
+    private VersionedUsers versionedUsers() {
+        VersionedUsers versionedUsers = (VersionedUsers) TransactionSynchronizationManager.getResource(VERSIONED_USERS);
+        if (versionedUsers == null) {
+            // Registered before the write's own synchronization, so commits are counted before inFlight drops
+            versionedUsers = new VersionedUsers();
+            TransactionSynchronizationManager.bindResource(VERSIONED_USERS, versionedUsers);
+            TransactionSynchronizationManager.registerSynchronization(versionedUsers);
+        }
+        return versionedUsers;
+    }
+
+    private UserWriteState stateFor(Long userId) {
+        return states.computeIfAbsent(userId, id -> new UserWriteState());
+    }
+}
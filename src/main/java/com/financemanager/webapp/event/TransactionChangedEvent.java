@@ -0,0 +1,51 @@
+package com.financemanager.webapp.event;
+
+// Published (inside the DB transaction) whenever a transaction is created, updated or deleted.
+// before is null for creates, after is null for deletes; updates carry both so listeners
+// can reverse the old values and apply the new ones.
+public class TransactionChangedEvent {
+
+    private final Long userId;
+    private final TransactionSnapshot before;
+    private final TransactionSnapshot after;
+
+    public TransactionChangedEvent(Long userId, TransactionSnapshot before, TransactionSnapshot after) {
+        this.userId = userId;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static TransactionChangedEvent created(TransactionSnapshot after) {
+        return new TransactionChangedEvent(after.getUserId(), null, after);
+    }
+
+    public static TransactionChangedEvent updated(TransactionSnapshot before, TransactionSnapshot after) {
+        return new TransactionChangedEvent(after.getUserId(), before, after);
+    }
+
+    public static TransactionChangedEvent deleted(TransactionSnapshot before) {
+        return new TransactionChangedEvent(before.getUserId(), before, null);
+    }
+
+    // Getters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public TransactionSnapshot getBefore() {
+        return before;
+    }
+
+    public TransactionSnapshot getAfter() {
+        return after;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionChangedEvent{" +
+                "userId=" + userId +
+                ", before=" + before +
+                ", after=" + after +
+                '}';
+    }
+}
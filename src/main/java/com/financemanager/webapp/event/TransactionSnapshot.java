@@ -0,0 +1,99 @@
+package com.financemanager.webapp.event;
+
+import com.financemanager.webapp.model.Transaction;
+import com.financemanager.webapp.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Immutable copy of the fields of a Transaction that derived indexes care about.
+// Taken while the entity is still attached, so listeners never touch lazy associations.
+public final class TransactionSnapshot {
+
+    private final Long transactionId;
+    private final Long userId;
+    private final Long categoryId;
+    private final String categoryName;
+    private final TransactionType type;
+    private final BigDecimal amount;
+    private final String description;
+    private final LocalDate date;
+    private final String currency; // Null for rows stored before currencies existed
+
+    public TransactionSnapshot(Long transactionId, Long userId, Long categoryId, String categoryName,
+                               TransactionType type, BigDecimal amount, String description, LocalDate date, String currency) {
+        this.transactionId = transactionId;
+        this.userId = userId;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.type = type;
+        this.amount = amount;
+        this.description = description;
+        this.date = date;
+        this.currency = currency;
+    }
+
+    public static TransactionSnapshot of(Transaction transaction) {
+        return new TransactionSnapshot(
+                transaction.getId(),
+                transaction.getUser().getId(),
+                transaction.getCategory().getId(),
+                transaction.getCategory().getName(),
+                transaction.getType(),
+                transaction.getAmount(),
+                transaction.getDescription(),
+                transaction.getDate(),
+                transaction.getCurrency()
+        );
+    }
+
+    // Getters
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionSnapshot{" +
+                "transactionId=" + transactionId +
+                ", userId=" + userId +
+                ", categoryId=" + categoryId +
+                ", type=" + type +
+                ", amount=" + amount +
+                ", date=" + date +
+                ", currency=" + currency +
+                '}';
+    }
+}
@@ -0,0 +1,212 @@
+package com.financemanager.webapp.index;
+
+import com.financemanager.webapp.event.TransactionChangeListener;
+import com.financemanager.webapp.event.TransactionChangeTracker;
+import com.financemanager.webapp.event.TransactionChangedEvent;
+import com.financemanager.webapp.event.TransactionSnapshot;
+import com.financemanager.webapp.model.Transaction;
+import com.financemanager.webapp.repository.TransactionArchiveBoundary;
+import com.financemanager.webapp.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local columnar snapshots ({@link ColumnarYearFile}) of users' archived years, so yearly reports on
+ * old data are answered from a memory-mapped scan instead of MySQL.
+ *
+ * <p>A file is exported on first use and dropped as soon as a committed write touches that user and year.
+ * Files survive restarts only after a clean shutdown: a marker written on shutdown is checked (and removed)
+ * on startup, and without it every file is discarded, since an invalidation may have been lost.</p>
+ */
+@Component
+public class ColumnarArchiveStore implements TransactionChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarArchiveStore.class);
+
+    private static final String CLEAN_SHUTDOWN_MARKER = "clean-shutdown";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionArchiveBoundary archiveBoundary;
+
+    @Autowired
+    private TransactionChangeTracker changeTracker;
+
+    @Value("${app.reports.columnar.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reports.columnar.dir:data/columnar}")
+    private String directory;
+
+    private final ConcurrentHashMap<YearKey, ColumnarYearFile> files = new ConcurrentHashMap<>();
+
+    private static final class YearKey {
+        private final Long userId;
+        private final int year;
+
+        YearKey(Long userId, int year) {
+            this.userId = userId;
+            this.year = year;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof YearKey)) return false;
+            YearKey that = (YearKey) o;
+            return year == that.year && userId.equals(that.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, year);
+        }
+    }
+
+    @PostConstruct
+    public void openDirectory() throws IOException {
+        Path dir = Paths.get(directory);
+        Files.createDirectories(dir);
+        if (!Files.deleteIfExists(dir.resolve(CLEAN_SHUTDOWN_MARKER))) {
+            try (DirectoryStream<Path> stale = Files.newDirectoryStream(dir, "*.col")) {
+                for (Path file : stale) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void markCleanShutdown() {
+        try {
+            Files.createFile(Paths.get(directory, CLEAN_SHUTDOWN_MARKER));
+        } catch (IOException e) {
+            log.warn("Could not write columnar archive shutdown marker; files will be rebuilt on next start", e);
+        }
+    }
+
+    /**
+     * Returns true if reports over this year may be served from a columnar file: only years behind the
+     * archive boundary, since the hot years before it (e.g. last year) are still edited routinely.
+     */
+    public boolean covers(int year) {
+        return enabled && year < archiveBoundary.cutoff().getYear();
+    }
+
+    /**
+     * Returns the user's columnar file for a closed year, exporting it on first use, or null if it could
+     * not be installed (a concurrent write raced the export). Must be called inside a (read-only) transaction.
+     */
+    public ColumnarYearFile getYear(Long userId, int year) {
+        YearKey key = new YearKey(userId, year);
+        ColumnarYearFile cached = files.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Path file = fileFor(key);
+        try {
+            if (Files.exists(file)) {
+                ColumnarYearFile existing = ColumnarYearFile.open(file);
+                ColumnarYearFile raced = files.putIfAbsent(key, existing);
+                return raced != null ? raced : existing;
+            }
+
+            Path[] temp = new Path[1];
+            ColumnarYearFile[] installed = new ColumnarYearFile[1];
+            try {
+                changeTracker.load(userId, () -> temp[0] = export(userId, year, file.getParent()), exported -> {
+                    try {
+                        Files.move(exported, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                        installed[0] = ColumnarYearFile.open(file);
+                        files.put(key, installed[0]);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                return installed[0];
+            } finally {
+                if (temp[0] != null) {
+                    Files.deleteIfExists(temp[0]);
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Columnar export of {} for user {} failed; falling back to the database", year, userId, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void onTransactionCommitted(TransactionChangedEvent event) {
+        invalidate(event.getBefore());
+        invalidate(event.getAfter());
+    }
+
+    @Override
+    public void evict(Long userId) {
+        files.keySet().removeIf(key -> key.userId.equals(userId));
+        try (DirectoryStream<Path> userFiles = Files.newDirectoryStream(Paths.get(directory), "user-" + userId + "-*.col")) {
+            for (Path file : userFiles) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.error("Could not delete columnar files of user {}; they must be removed by hand", userId, e);
+        }
+    }
+
+    // --- Helpers ---
+
+    // Writes the year to a temporary file next to its final location; runs inside the loading transaction
+    private Path export(Long userId, int year, Path dir) {
+        try {
+            List<Transaction> transactions = transactionRepository.findByUserIdAndDateBetweenOrderByDateDesc(
+                    userId, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+            Path temp = Files.createTempFile(dir, "export-", ".tmp");
+            try {
+                ColumnarYearFile.write(temp, year, transactions);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            return temp;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void invalidate(TransactionSnapshot snapshot) {
+        if (snapshot == null) {
+            return;
+        }
+        YearKey key = new YearKey(snapshot.getUserId(), snapshot.getDate().getYear());
+        files.remove(key);
+        try {
+            Files.deleteIfExists(fileFor(key));
+        } catch (IOException e) {
+            log.error("Could not delete stale columnar file {}; it must be removed by hand", fileFor(key), e);
+        }
+    }
+
+    private Path fileFor(YearKey key) {
+        return Paths.get(directory, "user-" + key.userId + "-" + key.year + ".col");
+    }
+}
@@ -0,0 +1,294 @@
+package com.financemanager.webapp.index;
+
+import com.financemanager.webapp.model.Transaction;
+import com.financemanager.webapp.model.TransactionType;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only columnar snapshot of one user's transactions for one closed year, memory-mapped for scans.
+ *
+ * <p>Layout (big-endian): a header ({@code magic, version, year, rowCount}), three dictionaries
+ * (categories as {@code id + name}, currencies, descriptions; strings as {@code length + UTF-8}), then
+ * six length-prefixed columns with one entry per row, rows sorted by date:</p>
+ * <ul>
+ *     <li>dates: day-of-year deltas from the previous row, as unsigned LEB128 varints (mostly one byte)</li>
+ *     <li>types: one byte, 0 = income, 1 = expense</li>
+ *     <li>categories: two-byte dictionary index</li>
+ *     <li>currencies: one-byte dictionary index</li>
+ *     <li>descriptions: four-byte dictionary index, -1 for none</li>
+ *     <li>amounts: eight-byte fixed point in 1/10000 units (the scale of the amount column)</li>
+ * </ul>
+ * <p>Scans read the mapped buffer with absolute gets into caller-supplied arrays, so they allocate nothing per row.</p>
+ */
+public final class ColumnarYearFile {
+
+    private static final int MAGIC = 0x50464d43; // "PFMC"
+    private static final int VERSION = 1;
+    private static final int AMOUNT_SCALE = 4;
+
+    private final MappedByteBuffer buffer;
+    private final int year;
+    private final int rowCount;
+    private final long[] categoryIds;
+    private final String[] categoryNames;
+    private final String[] currencies; // null entry = transactions without a currency
+    private final String[] descriptions;
+    private final int datesOffset;
+    private final int typesOffset;
+    private final int categoriesOffset;
+    private final int currenciesOffset;
+    private final int descriptionsOffset;
+    private final int amountsOffset;
+
+    private ColumnarYearFile(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        int position = 0;
+        if (buffer.getInt(position) != MAGIC || buffer.getInt(position + 4) != VERSION) {
+            throw new IOException("Not a columnar year file (or unsupported version)");
+        }
+        year = buffer.getInt(position + 8);
+        rowCount = buffer.getInt(position + 12);
+        position += 16;
+
+        int categoryCount = buffer.getInt(position);
+        position += 4;
+        categoryIds = new long[categoryCount];
+        categoryNames = new String[categoryCount];
+        for (int i = 0; i < categoryCount; i++) {
+            categoryIds[i] = buffer.getLong(position);
+            position += 8;
+            categoryNames[i] = readString(position);
+            position += 4 + buffer.getInt(position);
+        }
+        int[] cursor = {position};
+        currencies = readDictionary(cursor);
+        descriptions = readDictionary(cursor);
+        position = cursor[0];
+
+        int[] offsets = new int[6];
+        for (int column = 0; column < offsets.length; column++) {
+            int length = buffer.getInt(position);
+            offsets[column] = position + 4;
+            position += 4 + length;
+        }
+        if (position != buffer.limit()) {
+            throw new IOException("Truncated or corrupt columnar year file");
+        }
+        datesOffset = offsets[0];
+        typesOffset = offsets[1];
+        categoriesOffset = offsets[2];
+        currenciesOffset = offsets[3];
+        descriptionsOffset = offsets[4];
+        amountsOffset = offsets[5];
+    }
+
+    /**
+     * Maps an existing file read-only.
+     */
+    public static ColumnarYearFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new ColumnarYearFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes the given transactions (all from {@code year}) to a new columnar file.
+     */
+    public static void write(Path file, int year, List<Transaction> transactions) throws IOException {
+        List<Transaction> rows = new ArrayList<>(transactions);
+        rows.sort(Comparator.comparing(Transaction::getDate));
+
+        Map<Long, Integer> categoryIndex = new LinkedHashMap<>();
+        List<String> categoryNames = new ArrayList<>();
+        Map<String, Integer> currencyIndex = new LinkedHashMap<>();
+        Map<String, Integer> descriptionIndex = new LinkedHashMap<>();
+
+        ByteArrayOutputStream dates = new ByteArrayOutputStream(rows.size());
+        ByteArrayOutputStream types = new ByteArrayOutputStream(rows.size());
+        ByteArrayOutputStream categoryBytes = new ByteArrayOutputStream(rows.size() * 2);
+        ByteArrayOutputStream currencies = new ByteArrayOutputStream(rows.size());
+        ByteArrayOutputStream descriptionBytes = new ByteArrayOutputStream(rows.size() * 4);
+        ByteArrayOutputStream amountBytes = new ByteArrayOutputStream(rows.size() * 8);
+        DataOutputStream categories = new DataOutputStream(categoryBytes);
+        DataOutputStream descriptions = new DataOutputStream(descriptionBytes);
+        DataOutputStream amounts = new DataOutputStream(amountBytes);
+
+        int previousDay = 0;
+        for (Transaction transaction : rows) {
+            if (transaction.getDate().getYear() != year) {
+                throw new IllegalArgumentException("Transaction " + transaction.getId() + " is not in " + year);
+            }
+            int day = transaction.getDate().getDayOfYear() - 1;
+            writeVarint(dates, day - previousDay);
+            previousDay = day;
+
+            types.write(transaction.getType() == TransactionType.INCOME ? 0 : 1);
+
+            Long categoryId = transaction.getCategory().getId();
+            Integer category = categoryIndex.get(categoryId);
+            if (category == null) {
+                category = categoryIndex.size();
+                categoryIndex.put(categoryId, category);
+                categoryNames.add(transaction.getCategory().getName());
+            }
+            categories.writeShort(category);
+
+            String currency = transaction.getCurrency() != null ? transaction.getCurrency() : "";
+            currencies.write(currencyIndex.computeIfAbsent(currency, c -> currencyIndex.size()));
+
+            descriptions.writeInt(transaction.getDescription() == null ? -1
+                    : descriptionIndex.computeIfAbsent(transaction.getDescription(), d -> descriptionIndex.size()));
+
+            amounts.writeLong(transaction.getAmount().setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+        }
+        if (categoryIndex.size() > 0xFFFF || currencyIndex.size() > 0xFF) {
+            throw new IllegalArgumentException("Too many distinct categories or currencies for one columnar file");
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(year);
+            out.writeInt(rows.size());
+
+            out.writeInt(categoryIndex.size());
+            int i = 0;
+            for (Long categoryId : categoryIndex.keySet()) {
+                out.writeLong(categoryId);
+                writeString(out, categoryNames.get(i++));
+            }
+            writeDictionary(out, currencyIndex);
+            writeDictionary(out, descriptionIndex);
+
+            writeColumn(out, dates);
+            writeColumn(out, types);
+            writeColumn(out, categoryBytes);
+            writeColumn(out, currencies);
+            writeColumn(out, descriptionBytes);
+            writeColumn(out, amountBytes);
+        }
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the currency dictionary; scan results are indexed by position in this array.
+     * A null entry stands for transactions stored without a currency.
+     */
+    public String[] getCurrencies() {
+        return currencies.clone();
+    }
+
+    /**
+     * Adds up amounts (in 1/10000 units) per currency and day of year (0-based) for rows whose day
+     * lies in {@code [fromDay, toDay]}. Arrays must be {@code [getCurrencies().length][366]}.
+     */
+    public void sumByCurrencyAndDay(int fromDay, int toDay, long[][] income, long[][] expenses) {
+        int datePosition = datesOffset;
+        int day = 0;
+        for (int row = 0; row < rowCount; row++) {
+            // Inline LEB128 decode of the date delta
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(datePosition++);
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            day += delta;
+
+            if (day < fromDay) {
+                continue;
+            }
+            if (day > toDay) {
+                break; // Rows are sorted by date
+            }
+            int currency = buffer.get(currenciesOffset + row) & 0xFF;
+            long amount = buffer.getLong(amountsOffset + 8 * row);
+            if (buffer.get(typesOffset + row) == 0) {
+                income[currency][day] += amount;
+            } else {
+                expenses[currency][day] += amount;
+            }
+        }
+    }
+
+    /**
+     * Converts an amount produced by a scan back to a decimal.
+     */
+    public static BigDecimal toAmount(long units) {
+        return BigDecimal.valueOf(units, AMOUNT_SCALE);
+    }
+
+    // --- Helpers ---
+
+    private String[] readDictionary(int[] cursor) {
+        int count = buffer.getInt(cursor[0]);
+        cursor[0] += 4;
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            String value = readString(cursor[0]);
+            cursor[0] += 4 + buffer.getInt(cursor[0]);
+            values[i] = value.isEmpty() ? null : value;
+        }
+        return values;
+    }
+
+    private String readString(int position) {
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDictionary(DataOutputStream out, Map<String, Integer> dictionary) throws IOException {
+        out.writeInt(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            writeString(out, value);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeColumn(DataOutputStream out, ByteArrayOutputStream column) throws IOException {
+        out.writeInt(column.size());
+        column.writeTo(out);
+    }
+
+    private static void writeVarint(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
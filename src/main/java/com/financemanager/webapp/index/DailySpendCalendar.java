@@ -0,0 +1,48 @@
+package com.financemanager.webapp.index;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A user's expenses for one calendar year, as one primitive slot per day (in cents),
+ * overall and per category. A full year is 366 longs (~3 KB) per series.
+ */
+public class DailySpendCalendar {
+
+    public static final int DAYS = 366;
+
+    private final int year;
+    private final long[] totalCents = new long[DAYS];
+    private final Map<Long, long[]> categoryCents = new HashMap<>();
+
+    public DailySpendCalendar(int year) {
+        this.year = year;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * Adds (or, with a negative value, removes) spending on a day.
+     *
+     * @param dayIndex   Zero-based day of the year.
+     * @param categoryId The category the spending belongs to.
+     * @param cents      The amount in cents.
+     */
+    public synchronized void add(int dayIndex, Long categoryId, long cents) {
+        totalCents[dayIndex] += cents;
+        categoryCents.computeIfAbsent(categoryId, id -> new long[DAYS])[dayIndex] += cents;
+    }
+
+    /**
+     * Returns a copy of the daily series, for all categories or a single one.
+     *
+     * @param categoryId The category to return, or null for the overall total.
+     * @return A new array with one slot per day of the year (all zeros for an unknown category).
+     */
+    public synchronized long[] copyDays(Long categoryId) {
+        long[] source = categoryId == null ? totalCents : categoryCents.get(categoryId);
+        return source != null ? source.clone() : new long[DAYS];
+    }
+}
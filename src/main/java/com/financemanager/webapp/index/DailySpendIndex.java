@@ -0,0 +1,143 @@
+package com.financemanager.webapp.index;
+
+import com.financemanager.webapp.dto.DailyTotalDTO;
+import com.financemanager.webapp.event.TransactionChangeListener;
+import com.financemanager.webapp.event.TransactionChangeTracker;
+import com.financemanager.webapp.event.TransactionChangedEvent;
+import com.financemanager.webapp.event.TransactionSnapshot;
+import com.financemanager.webapp.model.TransactionType;
+import com.financemanager.webapp.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of per-user, per-year daily spending calendars, in base-currency cents.
+ * A calendar is built once from a single aggregate query, then kept current by applying
+ * each committed transaction change to it, so a heatmap view never touches the database again.
+ * Amounts in currencies without exchange rates are left out.
+ */
+@Component
+public class DailySpendIndex implements TransactionChangeListener {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionChangeTracker changeTracker;
+
+    @Autowired
+    private FxRateTable fxRateTable;
+
+    @Value("${app.reports.heatmap.max-cached-calendars:10000}")
+    private int maxCachedCalendars;
+
+    private final ConcurrentHashMap<CalendarKey, DailySpendCalendar> calendars = new ConcurrentHashMap<>();
+
+    private static final class CalendarKey {
+        private final Long userId;
+        private final int year;
+
+        CalendarKey(Long userId, int year) {
+            this.userId = userId;
+            this.year = year;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CalendarKey)) return false;
+            CalendarKey that = (CalendarKey) o;
+            return year == that.year && userId.equals(that.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, year);
+        }
+    }
+
+    /**
+     * Returns the user's spending calendar for a year, loading it on first use.
+     * Must be called inside a (read-only) transaction.
+     */
+    public DailySpendCalendar getCalendar(Long userId, int year) {
+        CalendarKey key = new CalendarKey(userId, year);
+        DailySpendCalendar calendar = calendars.get(key);
+        if (calendar != null) {
+            return calendar;
+        }
+
+        return changeTracker.load(userId, () -> load(userId, year), loaded -> {
+            evictIfFull();
+            calendars.putIfAbsent(key, loaded);
+        });
+    }
+
+    @Override
+    public void onTransactionCommitted(TransactionChangedEvent event) {
+        if (event.getBefore() != null) {
+            apply(event.getBefore(), -1);
+        }
+        if (event.getAfter() != null) {
+            apply(event.getAfter(), 1);
+        }
+    }
+
+    @Override
+    public void evict(Long userId) {
+        calendars.keySet().removeIf(key -> key.userId.equals(userId));
+    }
+
+    // --- Helpers ---
+
+    private DailySpendCalendar load(Long userId, int year) {
+        DailySpendCalendar calendar = new DailySpendCalendar(year);
+        for (DailyTotalDTO row : transactionRepository.findDailyTotalsByUserIdAndDateBetween(
+                userId, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31))) {
+            if (row.getType() == TransactionType.EXPENSE) {
+                calendar.add(row.getDate().getDayOfYear() - 1, row.getCategoryId(), toBaseCents(row.getTotal(), row.getCurrency(), row.getDate()));
+            }
+        }
+        return calendar;
+    }
+
+    private void apply(TransactionSnapshot snapshot, int sign) {
+        if (snapshot.getType() != TransactionType.EXPENSE) {
+            return;
+        }
+        // Only calendars that are already cached need updating; others load fresh when viewed
+        DailySpendCalendar calendar = calendars.get(new CalendarKey(snapshot.getUserId(), snapshot.getDate().getYear()));
+        if (calendar != null) {
+            calendar.add(snapshot.getDate().getDayOfYear() - 1, snapshot.getCategoryId(),
+                    sign * toBaseCents(snapshot.getAmount(), snapshot.getCurrency(), snapshot.getDate()));
+        }
+    }
+
+    private long toBaseCents(BigDecimal amount, String currency, LocalDate date) {
+        if (currency != null && !fxRateTable.isSupported(FxRateTable.normalize(currency))) {
+            return 0; // No rates: left out of the heatmap
+        }
+        return toCents(fxRateTable.toBase(amount, currency, date));
+    }
+
+    private void evictIfFull() {
+        // Crude bound on memory: drop an arbitrary calendar, it will simply be reloaded if viewed again
+        Iterator<CalendarKey> keys = calendars.keySet().iterator();
+        while (calendars.size() >= maxCachedCalendars && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
@@ -0,0 +1,122 @@
+package com.financemanager.webapp.index;
+
+import com.financemanager.webapp.event.LoadedVersion;
+import com.financemanager.webapp.event.TransactionChangeListener;
+import com.financemanager.webapp.event.TransactionChangeTracker;
+import com.financemanager.webapp.event.TransactionChangedEvent;
+import com.financemanager.webapp.event.TransactionSnapshot;
+import com.financemanager.webapp.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user Bloom filters over transaction fingerprints.
+ * Lets imports tell "definitely new" rows apart from "maybe duplicate" ones without touching the database;
+ * only the latter are probed against the indexed fingerprint column.
+ *
+ * <p>Local writes are added as they commit, but rows written by other instances are not, so each import
+ * first calls {@link #dropIfStale(Long)} and rebuilds the filter if the user's transaction version moved
+ * on without this instance.</p>
+ */
+@Component
+public class DuplicateFingerprintIndex implements TransactionChangeListener {
+
+    private static final int MIN_CAPACITY = 1024;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionChangeTracker changeTracker;
+
+    @Value("${app.import.bloom-false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${app.import.max-cached-users:1000}")
+    private int maxCachedUsers;
+
+    private final ConcurrentHashMap<Long, LoadedFilter> filters = new ConcurrentHashMap<>();
+
+    private static final class LoadedFilter {
+        private final FingerprintBloomFilter filter;
+        private final LoadedVersion loadedAt;
+
+        LoadedFilter(FingerprintBloomFilter filter, LoadedVersion loadedAt) {
+            this.filter = filter;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * Drops the user's filter if another instance has written transactions for the user since it was built,
+     * so the next probe rebuilds it from the database. Call at the start of an import, before it writes.
+     */
+    public void dropIfStale(Long userId) {
+        LoadedFilter loaded = filters.get(userId);
+        if (loaded != null && changeTracker.currentVersion(userId, loaded.loadedAt) < 0) {
+            filters.remove(userId, loaded);
+        }
+    }
+
+    /**
+     * Returns false only if the user definitely has no transaction with this fingerprint.
+     * Must be called inside a transaction, after the user's fingerprints have been backfilled.
+     */
+    public boolean mightExist(Long userId, long fingerprint) {
+        return filterFor(userId).filter.mightContain(fingerprint);
+    }
+
+    @Override
+    public void onTransactionCommitted(TransactionChangedEvent event) {
+        // Deletes and old versions of updated rows are left in the filter: they only cost an extra probe
+        TransactionSnapshot after = event.getAfter();
+        LoadedFilter loaded = after != null ? filters.get(event.getUserId()) : null;
+        if (loaded != null) {
+            loaded.filter.add(TransactionFingerprints.compute(after.getUserId(), after.getType(), after.getDate(), after.getAmount(),
+                    after.getCurrency(), after.getDescription()));
+        }
+    }
+
+    @Override
+    public void evict(Long userId) {
+        filters.remove(userId);
+    }
+
+    // --- Helpers ---
+
+    private LoadedFilter filterFor(Long userId) {
+        LoadedFilter loaded = filters.get(userId);
+        if (loaded != null && !loaded.filter.isSaturated()) {
+            return loaded;
+        }
+
+        return changeTracker.load(userId, () -> build(userId), built -> {
+            evictIfFull();
+            filters.put(userId, built);
+        });
+    }
+
+    private LoadedFilter build(Long userId) {
+        LoadedVersion version = changeTracker.readVersion(userId);
+        List<Long> fingerprints = transactionRepository.findFingerprintsByUserId(userId);
+        // Leave room to grow so the filter isn't rebuilt after every import
+        FingerprintBloomFilter built = new FingerprintBloomFilter(Math.max(fingerprints.size() * 2, MIN_CAPACITY), falsePositiveRate);
+        for (Long fingerprint : fingerprints) {
+            built.add(fingerprint);
+        }
+        return new LoadedFilter(built, version);
+    }
+
+    private void evictIfFull() {
+        Iterator<Long> userIds = filters.keySet().iterator();
+        while (filters.size() >= maxCachedUsers && userIds.hasNext()) {
+            userIds.next();
+            userIds.remove();
+        }
+    }
+}
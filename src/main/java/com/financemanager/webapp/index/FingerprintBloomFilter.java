@@ -0,0 +1,53 @@
+package com.financemanager.webapp.index;
+
+/**
+ * Fixed-size Bloom filter over 64-bit fingerprints.
+ * "false" from {@link #mightContain(long)} is definite, so imports can skip the database probe for those rows.
+ */
+class FingerprintBloomFilter {
+
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashCount;
+    private final int capacity;
+    private int inserted;
+
+    /**
+     * @param capacity             Number of fingerprints the filter is sized for.
+     * @param falsePositiveRate    Target false-positive rate at that capacity (e.g. 0.01).
+     */
+    FingerprintBloomFilter(int capacity, double falsePositiveRate) {
+        this.capacity = Math.max(capacity, 1);
+        long optimalBits = (long) Math.ceil(-this.capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.max(64, Math.min(optimalBits, Integer.MAX_VALUE - 63));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / this.capacity * Math.log(2)));
+        this.bits = new long[(bitCount + 63) / 64];
+    }
+
+    synchronized void add(long fingerprint) {
+        long h1 = fingerprint;
+        long h2 = Long.rotateLeft(fingerprint * 0x9E3779B97F4A7C15L, 31); // Kirsch-Mitzenmacher double hashing
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (int) Long.remainderUnsigned(h1 + i * h2, bitCount);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+        inserted++;
+    }
+
+    synchronized boolean mightContain(long fingerprint) {
+        long h1 = fingerprint;
+        long h2 = Long.rotateLeft(fingerprint * 0x9E3779B97F4A7C15L, 31);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (int) Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Past its capacity the false-positive rate climbs quickly, so the owner should rebuild it
+    synchronized boolean isSaturated() {
+        return inserted > capacity;
+    }
+}
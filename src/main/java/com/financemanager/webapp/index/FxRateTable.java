@@ -0,0 +1,178 @@
+package com.financemanager.webapp.index;
+
+import com.financemanager.webapp.exception.BadRequestException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Date-effective exchange rates, loaded once from a local CSV file (no external calls at request time).
+ *
+ * <p>Each line is {@code date,currency,rate}: from that date on, one unit of the currency is worth
+ * {@code rate} units of the base currency. Rates are held per currency as two parallel arrays sorted
+ * by date, so finding the rate in effect on a date is a binary search. A rate "period" is an index
+ * into those arrays; amounts in the same currency and period can be summed first and converted once.</p>
+ */
+@Component
+public class FxRateTable {
+
+    private static final Logger log = LoggerFactory.getLogger(FxRateTable.class);
+
+    /** Period of the base currency, whose rate is always 1. */
+    public static final int BASE_PERIOD = -1;
+
+    @Value("${app.fx.rates-file:classpath:fx-rates.csv}")
+    private Resource ratesFile;
+
+    @Value("${app.fx.base-currency:USD}")
+    private String baseCurrency;
+
+    private volatile Map<String, CurrencyRates> ratesByCurrency = Map.of();
+
+    private static final class CurrencyRates {
+        private final int[] effectiveDays;   // Epoch days, ascending
+        private final BigDecimal[] toBase;   // toBase[i] applies from effectiveDays[i] until the next entry
+
+        CurrencyRates(int[] effectiveDays, BigDecimal[] toBase) {
+            this.effectiveDays = effectiveDays;
+            this.toBase = toBase;
+        }
+
+        int periodOf(int epochDay) {
+            int index = Arrays.binarySearch(effectiveDays, epochDay);
+            return index >= 0 ? index : -index - 2; // Insertion point - 1: the last rate on or before the date
+        }
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        if (!ratesFile.exists()) {
+            log.warn("FX rate file {} not found; only {} amounts can be reported", ratesFile, baseCurrency);
+            return;
+        }
+
+        Map<String, TreeMap<Integer, BigDecimal>> parsed = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ratesFile.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("date")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length != 3) {
+                    throw new IllegalStateException("Malformed FX rate at " + ratesFile + ":" + lineNumber + ": " + line);
+                }
+                int epochDay = (int) LocalDate.parse(fields[0].trim()).toEpochDay();
+                BigDecimal rate = new BigDecimal(fields[2].trim());
+                parsed.computeIfAbsent(normalize(fields[1]), c -> new TreeMap<>()).put(epochDay, rate);
+            }
+        }
+
+        Map<String, CurrencyRates> loaded = new HashMap<>();
+        parsed.forEach((currency, rates) -> {
+            int[] days = new int[rates.size()];
+            BigDecimal[] values = new BigDecimal[rates.size()];
+            int i = 0;
+            for (Map.Entry<Integer, BigDecimal> entry : rates.entrySet()) {
+                days[i] = entry.getKey();
+                values[i++] = entry.getValue();
+            }
+            loaded.put(currency, new CurrencyRates(days, values));
+        });
+        ratesByCurrency = loaded;
+        log.info("Loaded FX rates for {} currencies (base {})", loaded.size(), baseCurrency);
+    }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    /**
+     * Returns true if amounts in the currency can be converted.
+     */
+    public boolean isSupported(String currency) {
+        return currency != null && (currency.equals(baseCurrency) || ratesByCurrency.containsKey(currency));
+    }
+
+    /**
+     * Returns the currency a user's amounts are reported in: the preferred currency (null for none) if it
+     * can be converted, otherwise the base currency.
+     */
+    public String reportingCurrency(String preferredCurrency) {
+        String preferred = preferredCurrency != null ? normalize(preferredCurrency) : null;
+        // Preferred currencies are only checked for format, so a user may prefer one without rates
+        return preferred != null && isSupported(preferred) ? preferred : baseCurrency;
+    }
+
+    /**
+     * Returns the rate period of the currency in effect on the date. Dates before the first configured rate
+     * use that first (nearest) rate, so old rows still convert.
+     *
+     * @throws BadRequestException if the currency is unknown; check {@link #isSupported} first.
+     */
+    public int periodOf(String currency, LocalDate date) {
+        if (currency.equals(baseCurrency)) {
+            return BASE_PERIOD;
+        }
+        CurrencyRates rates = ratesByCurrency.get(currency);
+        if (rates == null) {
+            throw new BadRequestException("No exchange rates configured for currency " + currency);
+        }
+        return Math.max(rates.periodOf((int) date.toEpochDay()), 0);
+    }
+
+    /**
+     * Converts an amount between currencies, using rate periods obtained from {@link #periodOf}.
+     */
+    public BigDecimal convert(BigDecimal amount, String from, int fromPeriod, String to, int toPeriod) {
+        BigDecimal fromRate = rateOf(from, fromPeriod);
+        BigDecimal toRate = rateOf(to, toPeriod);
+        return amount.multiply(fromRate, MathContext.DECIMAL64)
+                .divide(toRate, MathContext.DECIMAL64)
+                .setScale(4, RoundingMode.HALF_UP); // Same scale as the amount column
+    }
+
+    /**
+     * Converts an amount to the base currency at the rate in effect on the date. A null currency means
+     * the base currency (rows stored before currencies existed).
+     *
+     * @throws BadRequestException as {@link #periodOf}.
+     */
+    public BigDecimal toBase(BigDecimal amount, String currency, LocalDate date) {
+        if (currency == null) {
+            return amount;
+        }
+        String from = normalize(currency);
+        return from.equals(baseCurrency) ? amount : convert(amount, from, periodOf(from, date), baseCurrency, BASE_PERIOD);
+    }
+
+    public static String normalize(String currency) {
+        return currency.trim().toUpperCase(Locale.ROOT);
+    }
+
+    // --- Helpers ---
+
+    private BigDecimal rateOf(String currency, int period) {
+        return period == BASE_PERIOD ? BigDecimal.ONE : ratesByCurrency.get(currency).toBase[period];
+    }
+}
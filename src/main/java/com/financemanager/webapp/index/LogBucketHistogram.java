@@ -0,0 +1,172 @@
+package com.financemanager.webapp.index;
+
+import java.util.Arrays;
+
+/**
+ * Log-linear histogram of non-negative values, in the style of HdrHistogram. Values below 32 get a
+ * bucket each; larger values share a bucket only with values less than 1/32 away, so any percentile is
+ * reported within about 1.6% of a value that was actually recorded.
+ *
+ * <p>Unlike a t-digest, the bucket boundaries are fixed, so two histograms merge exactly by adding their
+ * counts, and a value can be taken out again exactly (an edited or deleted transaction). Only non-empty
+ * buckets are stored, as sorted bucket indexes with parallel counts: a histogram of a few dozen values
+ * takes a few hundred bytes. Not thread-safe.</p>
+ */
+public class LogBucketHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // Rough heap footprint, for memory reporting: object header and fields, and each array's header
+    private static final int OBJECT_BYTES = 48;
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private int[] buckets;
+    private int[] counts;
+    private int size; // Non-empty buckets
+    private long totalCount;
+    private long totalValue;
+
+    public LogBucketHistogram() {
+        this(4);
+    }
+
+    private LogBucketHistogram(int initialBuckets) {
+        this.buckets = new int[initialBuckets];
+        this.counts = new int[initialBuckets];
+    }
+
+    /**
+     * Records a value (delta 1) or takes a recorded one back out (delta -1). Taking out a value whose
+     * bucket is empty is ignored.
+     */
+    public void add(long value, int delta) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        int bucket = bucketOf(value);
+        int i = Arrays.binarySearch(buckets, 0, size, bucket);
+        if (i >= 0) {
+            if (counts[i] + delta < 0) {
+                return;
+            }
+            counts[i] += delta;
+            if (counts[i] == 0) {
+                System.arraycopy(buckets, i + 1, buckets, i, size - i - 1);
+                System.arraycopy(counts, i + 1, counts, i, size - i - 1);
+                size--;
+            }
+        } else {
+            if (delta <= 0) {
+                return;
+            }
+            insertAt(-i - 1, bucket, delta);
+        }
+        totalCount += delta;
+        totalValue += delta * value;
+    }
+
+    /**
+     * Adds all of another histogram's counts to this one.
+     */
+    public void merge(LogBucketHistogram other) {
+        int[] mergedBuckets = new int[size + other.size];
+        int[] mergedCounts = new int[size + other.size];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && buckets[i] < other.buckets[j])) {
+                mergedBuckets[n] = buckets[i];
+                mergedCounts[n++] = counts[i++];
+            } else if (i == size || other.buckets[j] < buckets[i]) {
+                mergedBuckets[n] = other.buckets[j];
+                mergedCounts[n++] = other.counts[j++];
+            } else {
+                mergedBuckets[n] = buckets[i];
+                mergedCounts[n++] = counts[i++] + other.counts[j++];
+            }
+        }
+        buckets = mergedBuckets;
+        counts = mergedCounts;
+        size = n;
+        totalCount += other.totalCount;
+        totalValue += other.totalValue;
+    }
+
+    /**
+     * Returns the value at or below which the given percentage of the recorded values fall, as the
+     * middle of its bucket; 0 if the histogram is empty.
+     *
+     * @param percentile Between 0 (exclusive) and 100 (inclusive).
+     */
+    public long valueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < size; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return representativeOf(buckets[i]);
+            }
+        }
+        return representativeOf(buckets[size - 1]);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    // Exact, unlike the percentiles
+    public long getTotalValue() {
+        return totalValue;
+    }
+
+    public long estimatedBytes() {
+        return OBJECT_BYTES + 2 * (ARRAY_HEADER_BYTES + 4L * buckets.length);
+    }
+
+    public LogBucketHistogram copy() {
+        LogBucketHistogram copy = new LogBucketHistogram(Math.max(size, 1));
+        System.arraycopy(buckets, 0, copy.buckets, 0, size);
+        System.arraycopy(counts, 0, copy.counts, 0, size);
+        copy.size = size;
+        copy.totalCount = totalCount;
+        copy.totalValue = totalValue;
+        return copy;
+    }
+
+    // --- Helpers ---
+
+    private void insertAt(int index, int bucket, int count) {
+        if (size == buckets.length) {
+            buckets = Arrays.copyOf(buckets, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+        }
+        System.arraycopy(buckets, index, buckets, index + 1, size - index);
+        System.arraycopy(counts, index, counts, index + 1, size - index);
+        buckets[index] = bucket;
+        counts[index] = count;
+        size++;
+    }
+
+    // Each power of two above SUB_BUCKETS is split into SUB_BUCKETS equal buckets
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    static long representativeOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowest + ((1L << shift) - 1) / 2;
+    }
+}
@@ -0,0 +1,49 @@
+package com.financemanager.webapp.index;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Reduces a free-text transaction description to a merchant key, so "UBER *TRIP 8XK2 03/14" and
+ * "Uber trip" count as the same payee: lower-cased, punctuation and any word containing digits dropped,
+ * common card-statement noise words removed, first few words kept.
+ */
+final class MerchantNames {
+
+    private static final int MAX_WORDS = 3;
+    private static final int MAX_LENGTH = 60;
+
+    private static final Set<String> NOISE_WORDS = Set.of(
+            "pos", "purchase", "debit", "credit", "card", "payment", "ref", "trx", "txn", "the");
+
+    private MerchantNames() {
+    }
+
+    /**
+     * Returns the merchant key of a description, or null if nothing meaningful is left.
+     */
+    static String normalize(String description) {
+        if (description == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder();
+        int words = 0;
+        for (String token : description.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            // Tokens with digits are references, dates or card numbers, not part of the name
+            if (token.length() < 2 || NOISE_WORDS.contains(token) || token.chars().anyMatch(Character::isDigit)) {
+                continue;
+            }
+            if (key.length() > 0) {
+                key.append(' ');
+            }
+            key.append(token);
+            if (++words == MAX_WORDS || key.length() >= MAX_LENGTH) {
+                break;
+            }
+        }
+        if (key.length() == 0) {
+            return null;
+        }
+        return key.length() > MAX_LENGTH ? key.substring(0, MAX_LENGTH) : key.toString();
+    }
+}
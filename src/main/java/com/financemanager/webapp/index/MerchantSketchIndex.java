@@ -0,0 +1,240 @@
+package com.financemanager.webapp.index;
+
+import com.financemanager.webapp.event.TransactionChangeListener;
+import com.financemanager.webapp.event.LoadedVersion;
+import com.financemanager.webapp.event.TransactionChangeTracker;
+import com.financemanager.webapp.event.TransactionChangedEvent;
+import com.financemanager.webapp.event.TransactionSnapshot;
+import com.financemanager.webapp.model.MerchantRanking;
+import com.financemanager.webapp.model.TransactionType;
+import com.financemanager.webapp.repository.TransactionField;
+import com.financemanager.webapp.repository.TransactionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Top merchants (payees) per user and period, from streaming SpaceSaving sketches over normalized
+ * transaction descriptions instead of a GROUP BY over the whole history.
+ *
+ * <p>A user's sketches are built on first use from one projection query, then kept current from committed
+ * transaction writes. Memory is bounded by {@code app.reports.merchants.sketch-capacity} counters per
+ * month and measure; amounts are kept in base-currency cents, and expenses in a currency without exchange
+ * rates are left out of the amount ranking and reported by {@link #unconvertedCurrencies}. Like the search
+ * index, loaded sketches are written to local disk on shutdown tagged with the user's transaction version,
+ * reused only while that version is current, and the file is deleted once read back.</p>
+ */
+@Component
+public class MerchantSketchIndex implements TransactionChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MerchantSketchIndex.class);
+
+    private static final List<TransactionField> SOURCE_FIELDS = List.of(
+            TransactionField.DATE, TransactionField.TYPE, TransactionField.AMOUNT, TransactionField.CURRENCY, TransactionField.DESCRIPTION);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionChangeTracker changeTracker;
+
+    @Autowired
+    private FxRateTable fxRateTable;
+
+    @Value("${app.reports.merchants.sketch-capacity:64}")
+    private int sketchCapacity;
+
+    @Value("${app.reports.merchants.sketch-dir:data/merchant-sketches}")
+    private String sketchDir;
+
+    @Value("${app.reports.merchants.max-cached-users:1000}")
+    private int maxCachedUsers;
+
+    private final ConcurrentHashMap<Long, LoadedSketches> sketches = new ConcurrentHashMap<>();
+
+    private static final class LoadedSketches {
+        private final UserMerchantSketches sketches;
+        private final LoadedVersion loadedAt;
+
+        LoadedSketches(UserMerchantSketches sketches, LoadedVersion loadedAt) {
+            this.sketches = sketches;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * Returns the user's heaviest merchants over the months from {@code first} to {@code last} (inclusive).
+     * Must be called inside a (read-only) transaction.
+     *
+     * @return Up to {@code limit} entries, heaviest first; AMOUNT weights are in base-currency cents.
+     */
+    public List<SpaceSavingSketch.Entry> top(Long userId, YearMonth first, YearMonth last, MerchantRanking ranking, int limit) {
+        return sketchesFor(userId).merged(first, last, ranking).top(limit);
+    }
+
+    /**
+     * Returns the currencies (without exchange rates) of expenses that {@link #top} left out of the amount
+     * ranking over the same months. Must be called inside a (read-only) transaction.
+     */
+    public Set<String> unconvertedCurrencies(Long userId, YearMonth first, YearMonth last) {
+        return sketchesFor(userId).unconvertedCurrencies(first, last);
+    }
+
+    public int getSketchCapacity() {
+        return sketchCapacity;
+    }
+
+    @Override
+    public void onTransactionCommitted(TransactionChangedEvent event) {
+        LoadedSketches loaded = sketches.get(event.getUserId());
+        if (loaded == null) {
+            return; // Not loaded yet; it will be built from the database when first queried
+        }
+        UserMerchantSketches userSketches = loaded.sketches;
+        if (event.getBefore() != null) {
+            apply(userSketches, event.getBefore(), -1);
+        }
+        if (event.getAfter() != null) {
+            apply(userSketches, event.getAfter(), 1);
+        }
+    }
+
+    @Override
+    public void evict(Long userId) {
+        sketches.remove(userId);
+    }
+
+    @PreDestroy
+    public void persistSketches() {
+        for (Map.Entry<Long, LoadedSketches> entry : sketches.entrySet()) {
+            long version = changeTracker.currentVersion(entry.getKey(), entry.getValue().loadedAt);
+            if (version < 0) {
+                continue; // Another instance wrote for this user; the sketches are rebuilt on next use
+            }
+            Path file = sketchFile(entry.getKey());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try {
+                Files.createDirectories(file.getParent());
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeLong(version);
+                    entry.getValue().sketches.writeTo(out);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                log.warn("Could not persist merchant sketches for user {}", entry.getKey(), e);
+            }
+        }
+    }
+
+    // --- Helpers ---
+
+    private UserMerchantSketches sketchesFor(Long userId) {
+        LoadedSketches loaded = sketches.get(userId);
+        if (loaded != null) {
+            return loaded.sketches;
+        }
+
+        return changeTracker.load(userId, () -> {
+            LoadedVersion version = changeTracker.readVersion(userId);
+            UserMerchantSketches fromDisk = loadFromDisk(userId, version);
+            return new LoadedSketches(fromDisk != null ? fromDisk : buildFromDatabase(userId), version);
+        }, built -> {
+            evictIfFull();
+            sketches.putIfAbsent(userId, built);
+        }).sketches;
+    }
+
+    private UserMerchantSketches loadFromDisk(Long userId, LoadedVersion current) {
+        Path file = sketchFile(userId);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readLong() != current.getVersion()) {
+                return null; // Written before the user's latest change
+            }
+            return UserMerchantSketches.readFrom(in, sketchCapacity); // Null after a capacity change
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable merchant sketches for user {}", userId, e);
+            return null;
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete merchant sketch file {}", file, e);
+            }
+        }
+    }
+
+    // One pass over the user's (hot and archived) transactions, selecting only the five columns needed
+    private UserMerchantSketches buildFromDatabase(Long userId) {
+        UserMerchantSketches built = new UserMerchantSketches(sketchCapacity);
+        for (Object[] row : transactionRepository.findFieldsByUserIdOrderByDateDesc(userId, SOURCE_FIELDS)) {
+            String description = (String) row[4];
+            if (description != null) {
+                LocalDate date = (LocalDate) row[0];
+                String currency = (String) row[3];
+                built.apply(YearMonth.from(date), MerchantNames.normalize(description), row[1] == TransactionType.EXPENSE,
+                        toBaseCents((BigDecimal) row[2], currency, date), unconvertedCurrencyOf(currency), 1);
+            }
+        }
+        return built;
+    }
+
+    private void apply(UserMerchantSketches userSketches, TransactionSnapshot snapshot, int sign) {
+        if (snapshot.getDescription() == null) {
+            return;
+        }
+        userSketches.apply(YearMonth.from(snapshot.getDate()), MerchantNames.normalize(snapshot.getDescription()),
+                snapshot.getType() == TransactionType.EXPENSE,
+                toBaseCents(snapshot.getAmount(), snapshot.getCurrency(), snapshot.getDate()),
+                unconvertedCurrencyOf(snapshot.getCurrency()), sign);
+    }
+
+    // Converted at the transaction date's rate; 0 for an unconverted currency, which the sketches ignore for amounts
+    private long toBaseCents(BigDecimal amount, String currency, LocalDate date) {
+        return unconvertedCurrencyOf(currency) != null ? 0 : DailySpendIndex.toCents(fxRateTable.toBase(amount, currency, date));
+    }
+
+    // The normalized currency if it has no exchange rates, otherwise null (a null currency is the base currency)
+    private String unconvertedCurrencyOf(String currency) {
+        if (currency == null) {
+            return null;
+        }
+        String normalized = FxRateTable.normalize(currency);
+        return fxRateTable.isSupported(normalized) ? null : normalized;
+    }
+
+    private void evictIfFull() {
+        Iterator<Long> userIds = sketches.keySet().iterator();
+        while (sketches.size() >= maxCachedUsers && userIds.hasNext()) {
+            userIds.next();
+            userIds.remove();
+        }
+    }
+
+    private Path sketchFile(Long userId) {
+        return Paths.get(sketchDir, "user-" + userId + ".sketch");
+    }
+}
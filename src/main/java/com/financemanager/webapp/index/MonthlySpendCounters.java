@@ -0,0 +1,180 @@
+package com.financemanager.webapp.index;
+
+import com.financemanager.webapp.dto.DailyTotalDTO;
+import com.financemanager.webapp.event.TransactionChangeListener;
+import com.financemanager.webapp.event.TransactionChangeTracker;
+import com.financemanager.webapp.event.TransactionChangedEvent;
+import com.financemanager.webapp.event.TransactionSnapshot;
+import com.financemanager.webapp.model.TransactionType;
+import com.financemanager.webapp.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running expense totals (in base-currency cents) per user, category and month, backing budget tracking.
+ * All of a user's category counters for a month are seeded together from one aggregate query and then moved
+ * by each committed change (the old version is subtracted, the new one added), so checking a budget is O(1)
+ * instead of re-summing the month's transactions on every write, and a user with many budgets seeds once.
+ *
+ * <p>Changes committed by other instances never reach this one, so a month's counters are re-seeded once
+ * they are older than {@code app.budgets.counter-ttl-seconds}; that bounds how stale a budget can be. Amounts in currencies
+ * without exchange rates can't be compared with a limit and are left out, both when seeding and applying.</p>
+ *
+ * <p>Ordered first among the change listeners so that listeners reacting to budget changes
+ * always see counters that already include the change.</p>
+ */
+@Component
+@Order(0)
+public class MonthlySpendCounters implements TransactionChangeListener {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionChangeTracker changeTracker;
+
+    @Autowired
+    private FxRateTable fxRateTable;
+
+    @Value("${app.budgets.counter-ttl-seconds:60}")
+    private long counterTtlSeconds;
+
+    @Value("${app.budgets.max-cached-counters:100000}")
+    private int maxCachedCounters; // User-months kept, each with all of its category counters
+
+    private final ConcurrentHashMap<MonthKey, MonthCounters> counters = new ConcurrentHashMap<>();
+
+    // Every category's counter for one user and month; a category missing from the seed spent nothing
+    private static final class MonthCounters {
+        private final ConcurrentHashMap<Long, AtomicLong> centsByCategory = new ConcurrentHashMap<>();
+        private final long seededAtNanos;
+
+        MonthCounters(Map<Long, Long> seeded) {
+            seeded.forEach((categoryId, cents) -> centsByCategory.put(categoryId, new AtomicLong(cents)));
+            this.seededAtNanos = System.nanoTime();
+        }
+
+        AtomicLong counter(Long categoryId) {
+            return centsByCategory.computeIfAbsent(categoryId, id -> new AtomicLong());
+        }
+    }
+
+    private static final class MonthKey {
+        private final Long userId;
+        private final YearMonth month;
+
+        MonthKey(Long userId, YearMonth month) {
+            this.userId = userId;
+            this.month = month;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof MonthKey)) return false;
+            MonthKey that = (MonthKey) o;
+            return userId.equals(that.userId) && month.equals(that.month);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, month);
+        }
+    }
+
+    /**
+     * Returns the user's total expenses for a category and month in the given currency, converted at the
+     * rate in effect at the end of the month. Loads (or re-seeds expired) counters for the whole month as needed.
+     * Must be called inside a (read-only) transaction.
+     *
+     * @param currency A currency {@link FxRateTable#isSupported supported} by the rate table.
+     */
+    public BigDecimal getSpent(Long userId, Long categoryId, YearMonth month, String currency) {
+        BigDecimal spent = BigDecimal.valueOf(getSpentCents(userId, categoryId, month), 2);
+        String base = fxRateTable.getBaseCurrency();
+        return currency.equals(base) ? spent
+                : fxRateTable.convert(spent, base, FxRateTable.BASE_PERIOD, currency, fxRateTable.periodOf(currency, month.atEndOfMonth()));
+    }
+
+    @Override
+    public void onTransactionCommitted(TransactionChangedEvent event) {
+        if (event.getBefore() != null) {
+            apply(event.getBefore(), -1);
+        }
+        if (event.getAfter() != null) {
+            apply(event.getAfter(), 1);
+        }
+    }
+
+    @Override
+    public void evict(Long userId) {
+        counters.keySet().removeIf(key -> key.userId.equals(userId));
+    }
+
+    // --- Helpers ---
+
+    private long getSpentCents(Long userId, Long categoryId, YearMonth month) {
+        MonthKey key = new MonthKey(userId, month);
+        MonthCounters monthCounters = counters.get(key);
+        if (monthCounters != null && System.nanoTime() - monthCounters.seededAtNanos < counterTtlSeconds * 1_000_000_000L) {
+            return monthCounters.counter(categoryId).get();
+        }
+
+        Map<Long, Long> seeded = changeTracker.load(userId, () -> seed(userId, month), loaded -> {
+            evictIfFull();
+            counters.put(key, new MonthCounters(loaded));
+        });
+        return seeded.getOrDefault(categoryId, 0L);
+    }
+
+    // Expense cents per category for the whole month; the query returns every category anyway
+    private Map<Long, Long> seed(Long userId, YearMonth month) {
+        Map<Long, Long> centsByCategory = new HashMap<>();
+        for (DailyTotalDTO row : transactionRepository.findDailyTotalsByUserIdAndDateBetween(userId, month.atDay(1), month.atEndOfMonth())) {
+            if (row.getType() == TransactionType.EXPENSE && row.getCategoryId() != null) {
+                centsByCategory.merge(row.getCategoryId(), toBaseCents(row.getTotal(), row.getCurrency(), row.getDate()), Long::sum);
+            }
+        }
+        return centsByCategory;
+    }
+
+    private void apply(TransactionSnapshot snapshot, int sign) {
+        if (snapshot.getType() != TransactionType.EXPENSE || snapshot.getCategoryId() == null) {
+            return;
+        }
+        // Months that aren't loaded yet will include this change when they are seeded
+        MonthCounters monthCounters = counters.get(new MonthKey(snapshot.getUserId(), YearMonth.from(snapshot.getDate())));
+        if (monthCounters != null) {
+            monthCounters.counter(snapshot.getCategoryId())
+                    .addAndGet(sign * toBaseCents(snapshot.getAmount(), snapshot.getCurrency(), snapshot.getDate()));
+        }
+    }
+
+    private long toBaseCents(BigDecimal amount, String currency, LocalDate date) {
+        if (currency != null && !fxRateTable.isSupported(FxRateTable.normalize(currency))) {
+            return 0; // No rates: can't be counted against a limit
+        }
+        return DailySpendIndex.toCents(fxRateTable.toBase(amount, currency, date));
+    }
+
+    private void evictIfFull() {
+        // Same crude bound as the heatmap cache: an evicted month is simply re-seeded on next use
+        Iterator<MonthKey> keys = counters.keySet().iterator();
+        while (counters.size() >= maxCachedCounters && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.financemanager.webapp.index;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Weighted SpaceSaving sketch (Metwally et al.): tracks the heaviest keys of a stream in a fixed number
+ * of counters. Every key whose true weight exceeds {@code totalWeight / capacity} is guaranteed to be
+ * tracked, and a tracked key's weight is over-estimated by at most its recorded error (itself at most
+ * {@code totalWeight / capacity}).
+ *
+ * <p>Removals (deleted or edited transactions) are applied to tracked keys and ignored otherwise; an
+ * untracked key was evicted with a weight no larger than the error bound, so this keeps the estimates
+ * within the same bound in practice. Sketches of disjoint periods can be {@link #merge merged}.</p>
+ *
+ * <p>With the small capacities used here (tens of counters) finding the minimum by a linear scan is
+ * cheaper than maintaining a heap. Not thread-safe; callers synchronize.</p>
+ */
+public class SpaceSavingSketch {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private long totalWeight;
+
+    private static final class Counter {
+        final String key;
+        long weight;
+        long error; // Weight inherited from the evicted key; the true weight is in [weight - error, weight]
+
+        Counter(String key, long weight, long error) {
+            this.key = key;
+            this.weight = weight;
+            this.error = error;
+        }
+    }
+
+    /**
+     * A tracked key with its estimated weight.
+     */
+    public static final class Entry {
+        private final String key;
+        private final long weight;
+        private final long error;
+        private final boolean guaranteed;
+
+        Entry(String key, long weight, long error, boolean guaranteed) {
+            this.key = key;
+            this.weight = weight;
+            this.error = error;
+            this.guaranteed = guaranteed;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        // Upper bound on the key's true weight
+        public long getWeight() {
+            return weight;
+        }
+
+        // The true weight is at least getWeight() - getError()
+        public long getError() {
+            return error;
+        }
+
+        // True if the key certainly belongs in the top list, whatever the error
+        public boolean isGuaranteed() {
+            return guaranteed;
+        }
+    }
+
+    public SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * Adds weight to a key; a negative weight removes it again (only if the key is tracked).
+     */
+    public void add(String key, long weight) {
+        if (weight < 0) {
+            Counter counter = counters.get(key);
+            if (counter != null) {
+                counter.weight = Math.max(counter.weight + weight, 0);
+                counter.error = Math.min(counter.error, counter.weight);
+            }
+            totalWeight = Math.max(totalWeight + weight, 0);
+            return;
+        }
+        totalWeight += weight;
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.weight += weight;
+        } else if (counters.size() < capacity) {
+            counters.put(key, new Counter(key, weight, 0));
+        } else {
+            // Replace the lightest key; the newcomer inherits its weight as error
+            Counter min = minCounter();
+            counters.remove(min.key);
+            counters.put(key, new Counter(key, min.weight + weight, min.weight));
+        }
+    }
+
+    /**
+     * Folds another sketch (of a disjoint part of the stream) into this one. Keys tracked by only one
+     * side may have had up to the other side's minimum weight there, which is added to weight and error.
+     */
+    public void merge(SpaceSavingSketch other) {
+        long thisMin = counters.size() < capacity ? 0 : minCounter().weight;
+        long otherMin = other.counters.size() < other.capacity ? 0 : other.minCounter().weight;
+
+        Map<String, Counter> merged = new HashMap<>(counters.size() + other.counters.size());
+        for (Counter counter : counters.values()) {
+            Counter match = other.counters.get(counter.key);
+            merged.put(counter.key, match != null
+                    ? new Counter(counter.key, counter.weight + match.weight, counter.error + match.error)
+                    : new Counter(counter.key, counter.weight + otherMin, counter.error + otherMin));
+        }
+        for (Counter counter : other.counters.values()) {
+            if (!counters.containsKey(counter.key)) {
+                merged.put(counter.key, new Counter(counter.key, counter.weight + thisMin, counter.error + thisMin));
+            }
+        }
+
+        List<Counter> heaviest = new ArrayList<>(merged.values());
+        heaviest.sort(Comparator.comparingLong((Counter c) -> c.weight).reversed());
+        counters.clear();
+        for (Counter counter : heaviest.subList(0, Math.min(capacity, heaviest.size()))) {
+            counters.put(counter.key, counter);
+        }
+        totalWeight += other.totalWeight;
+    }
+
+    /**
+     * Returns up to {@code limit} tracked keys, heaviest first. A key is guaranteed if its lower bound
+     * is at least the weight of the first key left out.
+     */
+    public List<Entry> top(int limit) {
+        List<Counter> sorted = new ArrayList<>(counters.values());
+        sorted.removeIf(counter -> counter.weight == 0);
+        sorted.sort(Comparator.comparingLong((Counter c) -> c.weight).reversed().thenComparing(c -> c.key));
+        int size = Math.min(limit, sorted.size());
+        long firstExcluded = size < sorted.size() ? sorted.get(size).weight : (counters.size() < capacity ? 0 : minCounter().weight);
+
+        List<Entry> entries = new ArrayList<>(size);
+        for (Counter counter : sorted.subList(0, size)) {
+            entries.add(new Entry(counter.key, counter.weight, counter.error, counter.weight - counter.error >= firstExcluded));
+        }
+        return entries;
+    }
+
+    public SpaceSavingSketch copy() {
+        SpaceSavingSketch copy = new SpaceSavingSketch(capacity);
+        counters.values().forEach(counter -> copy.counters.put(counter.key, new Counter(counter.key, counter.weight, counter.error)));
+        copy.totalWeight = totalWeight;
+        return copy;
+    }
+
+    // --- Persistence ---
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(capacity);
+        out.writeLong(totalWeight);
+        out.writeInt(counters.size());
+        for (Counter counter : counters.values()) {
+            out.writeUTF(counter.key);
+            out.writeLong(counter.weight);
+            out.writeLong(counter.error);
+        }
+    }
+
+    static SpaceSavingSketch readFrom(DataInputStream in) throws IOException {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(in.readInt());
+        sketch.totalWeight = in.readLong();
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            String key = in.readUTF();
+            sketch.counters.put(key, new Counter(key, in.readLong(), in.readLong()));
+        }
+        return sketch;
+    }
+
+    // --- Helpers ---
+
+    private Counter minCounter() {
+        Counter min = null;
+        for (Counter counter : counters.values()) {
+            if (min == null || counter.weight < min.weight) {
+                min = counter;
+            }
+        }
+        return min;
+    }
+}
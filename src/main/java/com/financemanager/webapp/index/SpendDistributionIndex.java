@@ -0,0 +1,172 @@
+package com.financemanager.webapp.index;
+
+import com.financemanager.webapp.event.TransactionChangeListener;
+import com.financemanager.webapp.event.TransactionChangeTracker;
+import com.financemanager.webapp.event.TransactionChangedEvent;
+import com.financemanager.webapp.event.TransactionSnapshot;
+import com.financemanager.webapp.model.TransactionType;
+import com.financemanager.webapp.repository.TransactionField;
+import com.financemanager.webapp.repository.TransactionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user, per-category, per-month histograms of expense amounts, so spending percentiles for any
+ * range of months come from merging a handful of small histograms instead of sorting every expense.
+ *
+ * <p>A user's histograms are built on first use from one projection query, then kept current from
+ * committed transaction writes. Amounts are kept in base-currency cents, converted at the rate of the
+ * transaction date; expenses in a currency without exchange rates are left out of the histograms and
+ * reported by {@link #unconvertedCurrencies}, the same policy as the other reports. The retained size is estimated per user and in total (gauge
+ * {@code reports.distributions.memory}).</p>
+ */
+@Component
+public class SpendDistributionIndex implements TransactionChangeListener {
+
+    private static final List<TransactionField> SOURCE_FIELDS = List.of(
+            TransactionField.DATE, TransactionField.TYPE, TransactionField.AMOUNT, TransactionField.CURRENCY, TransactionField.CATEGORY_ID);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionChangeTracker changeTracker;
+
+    @Autowired
+    private FxRateTable fxRateTable;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.reports.distributions.max-cached-users:1000}")
+    private int maxCachedUsers;
+
+    private final ConcurrentHashMap<Long, UserSpendDistributions> distributions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("reports.distributions.memory", this, SpendDistributionIndex::estimatedBytes)
+                .description("Estimated heap retained by cached spending distributions")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("reports.distributions.users", distributions, Map::size)
+                .description("Users with cached spending distributions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the user's expense histograms per category over the months from {@code first} to
+     * {@code last} (inclusive), in base-currency cents. Must be called inside a (read-only) transaction.
+     */
+    public Map<Long, LogBucketHistogram> merged(Long userId, YearMonth first, YearMonth last) {
+        return distributionsFor(userId).merged(first, last);
+    }
+
+    /**
+     * Returns the currencies (without exchange rates) of expenses that {@link #merged} left out over the
+     * same months, for one category or all ({@code categoryId} null). Must be called inside a (read-only) transaction.
+     */
+    public Set<String> unconvertedCurrencies(Long userId, YearMonth first, YearMonth last, Long categoryId) {
+        return distributionsFor(userId).unconvertedCurrencies(first, last, categoryId);
+    }
+
+    /**
+     * Returns the estimated heap retained by the user's histograms, 0 if they aren't loaded.
+     */
+    public long estimatedBytes(Long userId) {
+        UserSpendDistributions userDistributions = distributions.get(userId);
+        return userDistributions != null ? userDistributions.estimatedBytes() : 0;
+    }
+
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (UserSpendDistributions userDistributions : distributions.values()) {
+            bytes += userDistributions.estimatedBytes();
+        }
+        return bytes;
+    }
+
+    @Override
+    public void onTransactionCommitted(TransactionChangedEvent event) {
+        UserSpendDistributions userDistributions = distributions.get(event.getUserId());
+        if (userDistributions == null) {
+            return; // Not loaded yet; it will be built from the database when first queried
+        }
+        if (event.getBefore() != null) {
+            apply(userDistributions, event.getBefore(), -1);
+        }
+        if (event.getAfter() != null) {
+            apply(userDistributions, event.getAfter(), 1);
+        }
+    }
+
+    @Override
+    public void evict(Long userId) {
+        distributions.remove(userId);
+    }
+
+    // --- Helpers ---
+
+    private UserSpendDistributions distributionsFor(Long userId) {
+        UserSpendDistributions userDistributions = distributions.get(userId);
+        if (userDistributions != null) {
+            return userDistributions;
+        }
+
+        return changeTracker.load(userId, () -> load(userId), loaded -> {
+            evictIfFull();
+            distributions.putIfAbsent(userId, loaded);
+        });
+    }
+
+    // One pass over the user's (hot and archived) transactions, selecting only the five columns needed
+    private UserSpendDistributions load(Long userId) {
+        UserSpendDistributions loaded = new UserSpendDistributions();
+        for (Object[] row : transactionRepository.findFieldsByUserIdOrderByDateDesc(userId, SOURCE_FIELDS)) {
+            if (row[1] == TransactionType.EXPENSE) {
+                apply(loaded, (LocalDate) row[0], (Long) row[4], (BigDecimal) row[2], (String) row[3], 1);
+            }
+        }
+        return loaded;
+    }
+
+    private void apply(UserSpendDistributions userDistributions, TransactionSnapshot snapshot, int sign) {
+        if (snapshot.getType() != TransactionType.EXPENSE) {
+            return;
+        }
+        apply(userDistributions, snapshot.getDate(), snapshot.getCategoryId(), snapshot.getAmount(), snapshot.getCurrency(), sign);
+    }
+
+    // Converted at the transaction date's rate; a currency without rates is only counted (a null currency is the base currency)
+    private void apply(UserSpendDistributions userDistributions, LocalDate date, Long categoryId, BigDecimal amount,
+                       String currency, int sign) {
+        String normalized = currency != null ? FxRateTable.normalize(currency) : null;
+        if (normalized != null && !fxRateTable.isSupported(normalized)) {
+            userDistributions.applyUnconverted(YearMonth.from(date), categoryId, normalized, sign);
+            return;
+        }
+        long cents = Math.max(0, DailySpendIndex.toCents(fxRateTable.toBase(amount, normalized, date)));
+        userDistributions.apply(YearMonth.from(date), categoryId, cents, sign);
+    }
+
+    private void evictIfFull() {
+        Iterator<Long> userIds = distributions.keySet().iterator();
+        while (distributions.size() >= maxCachedUsers && userIds.hasNext()) {
+            userIds.next();
+            userIds.remove();
+        }
+    }
+}
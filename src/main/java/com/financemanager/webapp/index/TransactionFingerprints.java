@@ -0,0 +1,59 @@
+package com.financemanager.webapp.index;
+
+import com.financemanager.webapp.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Computes the duplicate-detection fingerprint of a transaction: a 64-bit hash of
+ * (user, type, date, amount, currency, normalized description). Two rows from overlapping bank statements
+ * get the same fingerprint even if the description differs in case, spacing or punctuation, while an
+ * expense and its same-day refund, or the same amount in two currencies, never do.
+ *
+ * <p>Stored in the {@code fingerprint_v2} column: fingerprints from before type and currency were part
+ * of the key lived in {@code fingerprint} and are recomputed like those of rows stored before fingerprints
+ * existed (on the user's next import for hot rows, by the nightly archiver for archived ones).</p>
+ */
+public final class TransactionFingerprints {
+
+    private TransactionFingerprints() {
+    }
+
+    /**
+     * @param currency The row's currency; null (rows from before currencies existed) only matches null.
+     */
+    public static long compute(Long userId, TransactionType type, LocalDate date, BigDecimal amount, String currency,
+                               String description) {
+        String key = userId + "|" + type + "|" + date + "|" + amount.stripTrailingZeros().toPlainString() + "|"
+                + (currency != null ? FxRateTable.normalize(currency) : "") + "|" + normalize(description);
+        byte[] digest = sha256().digest(key.getBytes(StandardCharsets.UTF_8));
+        long hash = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash << 8) | (digest[i] & 0xffL);
+        }
+        return hash;
+    }
+
+    /**
+     * Lower-cases a description and collapses anything that isn't a letter or digit into single spaces.
+     */
+    public static String normalize(String description) {
+        if (description == null) {
+            return "";
+        }
+        return description.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // Guaranteed by every JRE
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.financemanager.webapp.index;
+
+import com.financemanager.webapp.dto.SearchDocumentDTO;
+import com.financemanager.webapp.event.LoadedVersion;
+import com.financemanager.webapp.event.TransactionChangeListener;
+import com.financemanager.webapp.event.TransactionChangeTracker;
+import com.financemanager.webapp.event.TransactionChangedEvent;
+import com.financemanager.webapp.event.TransactionSnapshot;
+import com.financemanager.webapp.repository.TransactionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Full-text search over transaction descriptions, with one in-memory inverted index per user.
+ *
+ * <p>A user's index is built on first search (from a projection query, no entities), then kept current
+ * from committed transaction writes. On shutdown the loaded indexes are written to local disk, tagged with
+ * the user's transaction version, and reused on the next startup only if that version is still current.
+ * An index another instance has written past is not persisted at all, and a file is deleted as soon as it
+ * is loaded.</p>
+ */
+@Component
+public class TransactionSearchIndex implements TransactionChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionSearchIndex.class);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionChangeTracker changeTracker;
+
+    @Value("${app.search.index-dir:data/search-index}")
+    private String indexDir;
+
+    @Value("${app.search.max-cached-users:1000}")
+    private int maxCachedUsers;
+
+    private final ConcurrentHashMap<Long, LoadedIndex> indexes = new ConcurrentHashMap<>();
+
+    private static final class LoadedIndex {
+        private final UserSearchIndex index;
+        private final LoadedVersion loadedAt;
+
+        LoadedIndex(UserSearchIndex index, LoadedVersion loadedAt) {
+            this.index = index;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * Searches a user's transaction descriptions. Must be called inside a (read-only) transaction.
+     *
+     * @return Matching transaction IDs, best match first.
+     */
+    public List<Long> search(Long userId, String query, LocalDate startDate, LocalDate endDate, Long categoryId, int limit) {
+        Set<String> queryTerms = UserSearchIndex.tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+        return indexFor(userId).index.search(queryTerms, startDate, endDate, categoryId, limit);
+    }
+
+    @Override
+    public void onTransactionCommitted(TransactionChangedEvent event) {
+        LoadedIndex loaded = indexes.get(event.getUserId());
+        if (loaded == null) {
+            return; // Not loaded yet; it will be built from the database when first searched
+        }
+        UserSearchIndex index = loaded.index;
+        if (event.getAfter() == null) {
+            index.remove(event.getBefore().getTransactionId());
+        } else {
+            TransactionSnapshot after = event.getAfter();
+            index.put(after.getTransactionId(), after.getDescription(), after.getDate(), after.getCategoryId());
+        }
+    }
+
+    @Override
+    public void evict(Long userId) {
+        indexes.remove(userId);
+    }
+
+    @PreDestroy
+    public void persistIndexes() {
+        for (Map.Entry<Long, LoadedIndex> entry : indexes.entrySet()) {
+            long version = changeTracker.currentVersion(entry.getKey(), entry.getValue().loadedAt);
+            if (version < 0) {
+                continue; // Another instance wrote for this user; the index is rebuilt on next use
+            }
+            Path file = indexFile(entry.getKey());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try {
+                Files.createDirectories(file.getParent());
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeLong(version);
+                    entry.getValue().index.writeTo(out);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                log.warn("Could not persist search index for user {}", entry.getKey(), e);
+            }
+        }
+    }
+
+    // --- Helpers ---
+
+    private LoadedIndex indexFor(Long userId) {
+        LoadedIndex loaded = indexes.get(userId);
+        if (loaded != null) {
+            return loaded;
+        }
+
+        return changeTracker.load(userId, () -> {
+            LoadedVersion version = changeTracker.readVersion(userId);
+            UserSearchIndex index = loadFromDisk(userId, version);
+            return new LoadedIndex(index != null ? index : buildFromDatabase(userId), version);
+        }, built -> {
+            evictIfFull();
+            indexes.putIfAbsent(userId, built);
+        });
+    }
+
+    private UserSearchIndex loadFromDisk(Long userId, LoadedVersion current) {
+        Path file = indexFile(userId);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readLong() != current.getVersion()) {
+                return null; // Written before the user's latest change
+            }
+            return UserSearchIndex.readFrom(in);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable search index for user {}", userId, e);
+            return null;
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete search index file {}", file, e);
+            }
+        }
+    }
+
+    private UserSearchIndex buildFromDatabase(Long userId) {
+        UserSearchIndex index = new UserSearchIndex();
+        for (SearchDocumentDTO document : transactionRepository.findSearchDocumentsByUserId(userId)) {
+            index.put(document.getTransactionId(), document.getDescription(), document.getDate(), document.getCategoryId());
+        }
+        return index;
+    }
+
+    private void evictIfFull() {
+        Iterator<Long> userIds = indexes.keySet().iterator();
+        while (indexes.size() >= maxCachedUsers && userIds.hasNext()) {
+            userIds.next();
+            userIds.remove();
+        }
+    }
+
+    private Path indexFile(Long userId) {
+        return Paths.get(indexDir, "user-" + userId + ".idx");
+    }
+}
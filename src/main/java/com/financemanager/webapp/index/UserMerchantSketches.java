@@ -0,0 +1,129 @@
+package com.financemanager.webapp.index;
+
+import com.financemanager.webapp.model.MerchantRanking;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * One user's merchant sketches: per calendar month, one SpaceSaving sketch ranked by number of expenses
+ * and one ranked by amount (in base-currency cents). Ranges are answered by merging the months.
+ * Expenses in a currency without exchange rates count towards frequency but are left out of the amount
+ * ranking; each month keeps how many there are per currency, so reports can say which were left out.
+ */
+class UserMerchantSketches {
+
+    private static final int FILE_MAGIC = 0x50464d4b; // "PFMK"
+    private static final int FILE_VERSION = 2;
+
+    private static final class MonthSketches {
+        final SpaceSavingSketch byCount;
+        final SpaceSavingSketch byAmount;
+        final Map<String, Long> unconverted = new TreeMap<>(); // Currency -> expenses left out of byAmount
+
+        MonthSketches(SpaceSavingSketch byCount, SpaceSavingSketch byAmount) {
+            this.byCount = byCount;
+            this.byAmount = byAmount;
+        }
+    }
+
+    private final int capacity;
+    private final TreeMap<YearMonth, MonthSketches> months = new TreeMap<>();
+
+    UserMerchantSketches(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Applies a transaction (sign 1) or takes it back out (sign -1).
+     *
+     * @param merchant            The normalized merchant, or null if the description has none.
+     * @param expense             Only expenses are ranked.
+     * @param baseCents           The amount in base-currency cents; ignored if {@code unconvertedCurrency} is set.
+     * @param unconvertedCurrency The transaction's currency if it has no exchange rates, otherwise null.
+     */
+    synchronized void apply(YearMonth month, String merchant, boolean expense, long baseCents, String unconvertedCurrency, int sign) {
+        if (merchant == null || !expense) {
+            return;
+        }
+        MonthSketches sketches = months.computeIfAbsent(month,
+                m -> new MonthSketches(new SpaceSavingSketch(capacity), new SpaceSavingSketch(capacity)));
+        sketches.byCount.add(merchant, sign);
+        if (unconvertedCurrency == null) {
+            sketches.byAmount.add(merchant, sign * baseCents);
+        } else {
+            sketches.unconverted.merge(unconvertedCurrency, (long) sign, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+
+    /**
+     * Returns the currencies of expenses left out of the amount ranking in the months from {@code first}
+     * to {@code last} (inclusive), sorted.
+     */
+    synchronized Set<String> unconvertedCurrencies(YearMonth first, YearMonth last) {
+        Set<String> currencies = new TreeSet<>();
+        for (MonthSketches sketches : months.subMap(first, true, last, true).values()) {
+            currencies.addAll(sketches.unconverted.keySet());
+        }
+        return currencies;
+    }
+
+    /**
+     * Returns a new sketch covering the months from {@code first} to {@code last} (inclusive).
+     */
+    synchronized SpaceSavingSketch merged(YearMonth first, YearMonth last, MerchantRanking ranking) {
+        SpaceSavingSketch merged = new SpaceSavingSketch(capacity);
+        for (MonthSketches sketches : months.subMap(first, true, last, true).values()) {
+            merged.merge(ranking == MerchantRanking.AMOUNT ? sketches.byAmount : sketches.byCount);
+        }
+        return merged;
+    }
+
+    // --- Persistence ---
+
+    synchronized void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(FILE_MAGIC);
+        out.writeInt(FILE_VERSION);
+        out.writeInt(capacity);
+        out.writeInt(months.size());
+        for (Map.Entry<YearMonth, MonthSketches> entry : months.entrySet()) {
+            out.writeInt(entry.getKey().getYear() * 12 + entry.getKey().getMonthValue() - 1);
+            entry.getValue().byCount.writeTo(out);
+            entry.getValue().byAmount.writeTo(out);
+            out.writeInt(entry.getValue().unconverted.size());
+            for (Map.Entry<String, Long> unconverted : entry.getValue().unconverted.entrySet()) {
+                out.writeUTF(unconverted.getKey());
+                out.writeLong(unconverted.getValue());
+            }
+        }
+    }
+
+    // Returns null if the file was written with another capacity, so the caller rebuilds
+    static UserMerchantSketches readFrom(DataInputStream in, int expectedCapacity) throws IOException {
+        if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+            throw new IOException("Unrecognized merchant sketch file");
+        }
+        if (in.readInt() != expectedCapacity) {
+            return null;
+        }
+        UserMerchantSketches sketches = new UserMerchantSketches(expectedCapacity);
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            int monthIndex = in.readInt();
+            YearMonth month = YearMonth.of(monthIndex / 12, monthIndex % 12 + 1);
+            MonthSketches monthSketches = new MonthSketches(SpaceSavingSketch.readFrom(in), SpaceSavingSketch.readFrom(in));
+            int currencies = in.readInt();
+            for (int j = 0; j < currencies; j++) {
+                monthSketches.unconverted.put(in.readUTF(), in.readLong());
+            }
+            sketches.months.put(month, monthSketches);
+        }
+        return sketches;
+    }
+}
@@ -0,0 +1,234 @@
+package com.financemanager.webapp.index;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over one user's transaction descriptions.
+ * Terms are kept in a sorted map so every query term can be matched as a prefix ("ub" finds "uber").
+ */
+class UserSearchIndex {
+
+    private static final int FILE_MAGIC = 0x50464d53; // "PFMS"
+    private static final int FILE_VERSION = 1;
+
+    private static final double PREFIX_MATCH_WEIGHT = 0.6; // Exact term matches rank above prefix matches
+
+    private static final class Document {
+        final long transactionId;
+        final String description;
+        final LocalDate date;
+        final Long categoryId;
+        final Set<String> terms;
+
+        Document(long transactionId, String description, LocalDate date, Long categoryId) {
+            this.transactionId = transactionId;
+            this.description = description;
+            this.date = date;
+            this.categoryId = categoryId;
+            this.terms = tokenize(description);
+        }
+    }
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final TreeMap<String, Set<Long>> postings = new TreeMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds a transaction, replacing any previous version of it.
+     */
+    void put(long transactionId, String description, LocalDate date, Long categoryId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(transactionId);
+            if (description == null || description.isBlank()) {
+                return;
+            }
+            Document document = new Document(transactionId, description, date, categoryId);
+            documents.put(transactionId, document);
+            for (String term : document.terms) {
+                postings.computeIfAbsent(term, t -> new HashSet<>()).add(transactionId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long transactionId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(transactionId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds transactions whose description contains every query term (each matched as a prefix),
+     * ranked by IDF-weighted score and then by date, newest first.
+     *
+     * @param queryTerms Tokenized query, see {@link #tokenize(String)}.
+     * @param startDate  Optional inclusive lower bound on the transaction date.
+     * @param endDate    Optional inclusive upper bound on the transaction date.
+     * @param categoryId Optional category filter.
+     * @param limit      Maximum number of hits to return.
+     * @return Transaction IDs, best match first.
+     */
+    List<Long> search(Set<String> queryTerms, LocalDate startDate, LocalDate endDate, Long categoryId, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<Long, Double> termScores = new HashMap<>();
+                SortedMap<String, Set<Long>> matches = postings.subMap(queryTerm, queryTerm + Character.MAX_VALUE);
+                for (Map.Entry<String, Set<Long>> match : matches.entrySet()) {
+                    double weight = Math.log(1.0 + (double) documents.size() / match.getValue().size());
+                    if (!match.getKey().equals(queryTerm)) {
+                        weight *= PREFIX_MATCH_WEIGHT;
+                    }
+                    for (Long transactionId : match.getValue()) {
+                        if (scores == null || scores.containsKey(transactionId)) {
+                            termScores.merge(transactionId, weight, Math::max);
+                        }
+                    }
+                }
+                if (scores != null) {
+                    for (Map.Entry<Long, Double> entry : termScores.entrySet()) {
+                        entry.setValue(entry.getValue() + scores.get(entry.getKey()));
+                    }
+                }
+                scores = termScores; // Only documents matching every term so far survive
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+            if (scores == null) {
+                return Collections.emptyList();
+            }
+
+            // Keep the best `limit` hits in a min-heap
+            PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(
+                    (a, b) -> compareHits(a.getValue(), documents.get(a.getKey()), b.getValue(), documents.get(b.getKey())));
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                Document document = documents.get(entry.getKey());
+                if ((startDate != null && document.date.isBefore(startDate))
+                        || (endDate != null && document.date.isAfter(endDate))
+                        || (categoryId != null && !categoryId.equals(document.categoryId))) {
+                    continue;
+                }
+                best.offer(entry);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            List<Long> hits = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                hits.add(best.poll().getKey());
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cases text and splits it into distinct letter/digit terms.
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    // --- Persistence: only the documents are stored, postings are rebuilt on load ---
+
+    void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeInt(documents.size());
+            for (Document document : documents.values()) {
+                out.writeLong(document.transactionId);
+                out.writeUTF(document.description);
+                out.writeLong(document.date.toEpochDay());
+                out.writeLong(document.categoryId != null ? document.categoryId : -1L);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static UserSearchIndex readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+            throw new IOException("Unrecognized search index file");
+        }
+        UserSearchIndex index = new UserSearchIndex();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            long transactionId = in.readLong();
+            String description = in.readUTF();
+            LocalDate date = LocalDate.ofEpochDay(in.readLong());
+            long categoryId = in.readLong();
+            index.put(transactionId, description, date, categoryId >= 0 ? categoryId : null);
+        }
+        return index;
+    }
+
+    // --- Helpers ---
+
+    private void removeInternal(long transactionId) {
+        Document previous = documents.remove(transactionId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms) {
+            Set<Long> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(transactionId);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    // Orders hits worst-first: lower score, then older date
+    private static int compareHits(double scoreA, Document a, double scoreB, Document b) {
+        int byScore = Double.compare(scoreA, scoreB);
+        return byScore != 0 ? byScore : a.date.compareTo(b.date);
+    }
+}
@@ -0,0 +1,107 @@
+package com.financemanager.webapp.index;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * One user's expense distributions: per calendar month and category, a histogram of expense amounts
+ * in base-currency cents. Ranges are answered by merging the months. Expenses in a currency without
+ * exchange rates are left out of the histograms and only counted, so reports can say which were left out.
+ */
+class UserSpendDistributions {
+
+    // Rough heap footprint of the map entries around the histograms, for memory reporting
+    private static final int MONTH_ENTRY_BYTES = 96;
+    private static final int CATEGORY_ENTRY_BYTES = 64;
+
+    private final TreeMap<YearMonth, Map<Long, LogBucketHistogram>> months = new TreeMap<>();
+    private final TreeMap<YearMonth, Map<String, Map<Long, Long>>> unconverted = new TreeMap<>(); // Month -> currency -> category -> expenses
+
+    /**
+     * Records an expense (sign 1) or takes it back out (sign -1).
+     */
+    synchronized void apply(YearMonth month, Long categoryId, long baseCents, int sign) {
+        Map<Long, LogBucketHistogram> categories = months.get(month);
+        if (categories == null) {
+            if (sign < 0) {
+                return;
+            }
+            categories = new HashMap<>();
+            months.put(month, categories);
+        }
+        LogBucketHistogram histogram = categories.computeIfAbsent(categoryId, id -> new LogBucketHistogram());
+        histogram.add(baseCents, sign);
+
+        // Drop what a delete emptied, so memory follows the data
+        if (histogram.getTotalCount() == 0) {
+            categories.remove(categoryId);
+            if (categories.isEmpty()) {
+                months.remove(month);
+            }
+        }
+    }
+
+    /**
+     * Counts an expense that can't be converted to the base currency (sign 1), or takes it back out (sign -1).
+     */
+    synchronized void applyUnconverted(YearMonth month, Long categoryId, String currency, int sign) {
+        Map<String, Map<Long, Long>> currencies = unconverted.computeIfAbsent(month, m -> new HashMap<>());
+        Map<Long, Long> categories = currencies.computeIfAbsent(currency, c -> new HashMap<>());
+        categories.merge(categoryId, (long) sign, (a, b) -> a + b <= 0 ? null : a + b);
+        if (categories.isEmpty()) {
+            currencies.remove(currency);
+            if (currencies.isEmpty()) {
+                unconverted.remove(month);
+            }
+        }
+    }
+
+    /**
+     * Returns the currencies of expenses left out of the histograms in the months from {@code first} to
+     * {@code last} (inclusive), for one category or all of them ({@code categoryId} null), sorted.
+     */
+    synchronized Set<String> unconvertedCurrencies(YearMonth first, YearMonth last, Long categoryId) {
+        Set<String> result = new TreeSet<>();
+        for (Map<String, Map<Long, Long>> currencies : unconverted.subMap(first, true, last, true).values()) {
+            currencies.forEach((currency, categories) -> {
+                if (categoryId == null || categories.containsKey(categoryId)) {
+                    result.add(currency);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Returns new per-category histograms covering the months from {@code first} to {@code last} (inclusive).
+     */
+    synchronized Map<Long, LogBucketHistogram> merged(YearMonth first, YearMonth last) {
+        Map<Long, LogBucketHistogram> merged = new HashMap<>();
+        for (Map<Long, LogBucketHistogram> categories : months.subMap(first, true, last, true).values()) {
+            categories.forEach((categoryId, histogram) -> {
+                LogBucketHistogram target = merged.get(categoryId);
+                if (target == null) {
+                    merged.put(categoryId, histogram.copy());
+                } else {
+                    target.merge(histogram);
+                }
+            });
+        }
+        return merged;
+    }
+
+    synchronized long estimatedBytes() {
+        long bytes = 0;
+        for (Map<Long, LogBucketHistogram> categories : months.values()) {
+            bytes += MONTH_ENTRY_BYTES;
+            for (LogBucketHistogram histogram : categories.values()) {
+                bytes += CATEGORY_ENTRY_BYTES + histogram.estimatedBytes();
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,112 @@
+package com.financemanager.webapp.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Platform-wide volume for one category name, transaction type and month; written by the admin analytics refresh
+@Entity
+@Table(name = "analytics_category_volume", uniqueConstraints = {
+        // One row per month, name and type, so two refreshes can never store a group twice
+        @UniqueConstraint(name = "uk_analytics_category_volume_group", columnNames = {"period_start", "category_name", "type"})
+}, indexes = {
+        // A month's categories ordered by total, read backwards for the largest first
+        @Index(name = "idx_analytics_category_volume_period_total", columnList = "period_start, total")
+})
+public class AnalyticsCategoryVolume {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart; // First day of the month
+
+    // Trimmed and lower-cased, so every user's "Groceries" adds up to one row
+    @Column(name = "category_name", nullable = false, length = 100)
+    private String categoryName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TransactionType type;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal total; // Base currency, converted at the rate in effect at the end of the month
+
+    // --- Constructors ---
+    public AnalyticsCategoryVolume() {
+    }
+
+    public AnalyticsCategoryVolume(LocalDate periodStart, String categoryName, TransactionType type,
+                                   long transactionCount, BigDecimal total) {
+        this.periodStart = periodStart;
+        this.categoryName = categoryName;
+        this.type = type;
+        this.transactionCount = transactionCount;
+        this.total = total;
+    }
+
+    // --- Getters and Setters ---
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    @Override
+    public String toString() {
+        return "AnalyticsCategoryVolume{" +
+                "id=" + id +
+                ", periodStart=" + periodStart +
+                ", categoryName='" + categoryName + '\'' +
+                ", type=" + type +
+                ", transactionCount=" + transactionCount +
+                ", total=" + total +
+                '}';
+    }
+}
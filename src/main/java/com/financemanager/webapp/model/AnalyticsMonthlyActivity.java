@@ -0,0 +1,120 @@
+package com.financemanager.webapp.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Platform-wide activity in one calendar month, across all users; written by the admin analytics refresh
+@Entity
+@Table(name = "analytics_monthly_activity")
+public class AnalyticsMonthlyActivity {
+
+    @Id
+    @Column(name = "period_start")
+    private LocalDate periodStart; // First day of the month
+
+    @Column(name = "active_users", nullable = false)
+    private long activeUsers; // Users with at least one transaction in the month
+
+    @Column(name = "new_users", nullable = false)
+    private long newUsers; // Users whose first transaction falls in the month
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    // Totals in the base currency, converted at the rate in effect at the end of the month
+    @Column(name = "expense_total", nullable = false, precision = 19, scale = 4)
+    private BigDecimal expenseTotal;
+
+    @Column(name = "income_total", nullable = false, precision = 19, scale = 4)
+    private BigDecimal incomeTotal;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+
+    // --- Constructors ---
+    public AnalyticsMonthlyActivity() {
+    }
+
+    public AnalyticsMonthlyActivity(LocalDate periodStart, long activeUsers, long newUsers, long transactionCount,
+                                    BigDecimal expenseTotal, BigDecimal incomeTotal) {
+        this.periodStart = periodStart;
+        this.activeUsers = activeUsers;
+        this.newUsers = newUsers;
+        this.transactionCount = transactionCount;
+        this.expenseTotal = expenseTotal;
+        this.incomeTotal = incomeTotal;
+        this.refreshedAt = LocalDateTime.now();
+    }
+
+    // --- Getters and Setters ---
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(LocalDate periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public long getActiveUsers() {
+        return activeUsers;
+    }
+
+    public void setActiveUsers(long activeUsers) {
+        this.activeUsers = activeUsers;
+    }
+
+    public long getNewUsers() {
+        return newUsers;
+    }
+
+    public void setNewUsers(long newUsers) {
+        this.newUsers = newUsers;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public BigDecimal getExpenseTotal() {
+        return expenseTotal;
+    }
+
+    public void setExpenseTotal(BigDecimal expenseTotal) {
+        this.expenseTotal = expenseTotal;
+    }
+
+    public BigDecimal getIncomeTotal() {
+        return incomeTotal;
+    }
+
+    public void setIncomeTotal(BigDecimal incomeTotal) {
+        this.incomeTotal = incomeTotal;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(LocalDateTime refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "AnalyticsMonthlyActivity{" +
+                "periodStart=" + periodStart +
+                ", activeUsers=" + activeUsers +
+                ", newUsers=" + newUsers +
+                ", transactionCount=" + transactionCount +
+                ", expenseTotal=" + expenseTotal +
+                ", incomeTotal=" + incomeTotal +
+                ", refreshedAt=" + refreshedAt +
+                '}';
+    }
+}
@@ -0,0 +1,115 @@
+package com.financemanager.webapp.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Watermark of the last completed admin analytics refresh, updated in the same DB transaction as the summary rows,
+// and the lease that lets only one instance refresh at a time
+@Entity
+@Table(name = "analytics_refresh_state")
+public class AnalyticsRefreshState {
+
+    public static final long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    // Highest transaction ID when the last refresh started
+    @Column(name = "transaction_watermark", nullable = false)
+    private long transactionWatermark;
+
+    // The watermark of the refresh before that: the next refresh looks for new rows above it, so a row whose ID
+    // was handed out before a refresh started but that committed later is still found one refresh on
+    @Column(name = "previous_transaction_watermark", nullable = false)
+    private long previousTransactionWatermark;
+
+    @Column(name = "refreshed_at")
+    private LocalDateTime refreshedAt; // Null until the first refresh completes
+
+    @Column(name = "full_refreshed_at")
+    private LocalDateTime fullRefreshedAt;
+
+    @Column(name = "lease_owner", length = 64)
+    private String leaseOwner; // Instance running a refresh, null when none is
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil; // A lease not given back by then (crashed instance) may be taken over
+
+    // --- Constructors ---
+    public AnalyticsRefreshState() {
+    }
+
+    public AnalyticsRefreshState(Long id) {
+        this.id = id;
+    }
+
+    // --- Getters and Setters ---
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public long getTransactionWatermark() {
+        return transactionWatermark;
+    }
+
+    public void setTransactionWatermark(long transactionWatermark) {
+        this.transactionWatermark = transactionWatermark;
+    }
+
+    public long getPreviousTransactionWatermark() {
+        return previousTransactionWatermark;
+    }
+
+    public void setPreviousTransactionWatermark(long previousTransactionWatermark) {
+        this.previousTransactionWatermark = previousTransactionWatermark;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(LocalDateTime refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+
+    public LocalDateTime getFullRefreshedAt() {
+        return fullRefreshedAt;
+    }
+
+    public void setFullRefreshedAt(LocalDateTime fullRefreshedAt) {
+        this.fullRefreshedAt = fullRefreshedAt;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(LocalDateTime leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    @Override
+    public String toString() {
+        return "AnalyticsRefreshState{" +
+                "id=" + id +
+                ", transactionWatermark=" + transactionWatermark +
+                ", previousTransactionWatermark=" + previousTransactionWatermark +
+                ", refreshedAt=" + refreshedAt +
+                ", fullRefreshedAt=" + fullRefreshedAt +
+                ", leaseOwner='" + leaseOwner + '\'' +
+                ", leaseUntil=" + leaseUntil +
+                '}';
+    }
+}
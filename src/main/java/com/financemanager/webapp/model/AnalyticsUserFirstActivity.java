@@ -0,0 +1,51 @@
+package com.financemanager.webapp.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+// Date of a user's first transaction, hot or archived; kept by the admin analytics refresh to count new users per month
+@Entity
+@Table(name = "analytics_user_first_activity")
+public class AnalyticsUserFirstActivity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "first_date", nullable = false)
+    private LocalDate firstDate;
+
+    // --- Constructors ---
+    public AnalyticsUserFirstActivity() {
+    }
+
+    public AnalyticsUserFirstActivity(Long userId, LocalDate firstDate) {
+        this.userId = userId;
+        this.firstDate = firstDate;
+    }
+
+    // --- Getters and Setters ---
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    public void setFirstDate(LocalDate firstDate) {
+        this.firstDate = firstDate;
+    }
+
+    @Override
+    public String toString() {
+        return "AnalyticsUserFirstActivity{" +
+                "userId=" + userId +
+                ", firstDate=" + firstDate +
+                '}';
+    }
+}
@@ -0,0 +1,133 @@
+package com.financemanager.webapp.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * A transaction from a closed year, moved out of the hot {@code transactions} table by the archiver.
+ * Same columns and IDs as {@link Transaction}; rows are only ever inserted by the archive job
+ * (in SQL) and are read-only to the application.
+ */
+@Entity
+@Immutable
+@Table(name = "transactions_archive", indexes = {
+        @Index(name = "idx_transactions_archive_user_date", columnList = "user_id, date")
+})
+public class ArchivedTransaction {
+
+    @Id
+    private Long id; // Original transaction ID, kept so references (e.g. search hits) stay valid
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TransactionType type;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    @Column(length = 255)
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(length = 3)
+    private String currency;
+
+    @Column(name = "fingerprint_v2")
+    private Long fingerprint;
+
+    // --- Relationships ---
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    // --- Constructors ---
+    protected ArchivedTransaction() {
+    }
+
+    /**
+     * Returns a detached, read-only {@link Transaction} view of this row, so archived and hot
+     * transactions can be returned from the same repository methods.
+     */
+    public Transaction toTransaction() {
+        Transaction transaction = new Transaction(type, amount, description, date, user, category);
+        transaction.setId(id);
+        transaction.setCurrency(currency);
+        transaction.setFingerprint(fingerprint);
+        transaction.setArchived(true);
+        return transaction;
+    }
+
+    // --- Getters ---
+    public Long getId() {
+        return id;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public Long getFingerprint() {
+        return fingerprint;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    // --- equals, hashCode, toString ---
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ArchivedTransaction that = (ArchivedTransaction) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedTransaction{" +
+                "id=" + id +
+                ", type=" + type +
+                ", amount=" + amount +
+                ", date=" + date +
+                ", userId=" + (user != null ? user.getId() : null) +
+                '}';
+    }
+}
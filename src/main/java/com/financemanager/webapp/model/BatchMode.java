@@ -0,0 +1,6 @@
+package com.financemanager.webapp.model;
+
+public enum BatchMode {
+    ATOMIC,      // All operations are applied, or none
+    BEST_EFFORT  // Valid operations are applied, invalid ones are reported and skipped
+}
@@ -0,0 +1,7 @@
+package com.financemanager.webapp.model;
+
+public enum BatchOperationType {
+    CREATE,
+    UPDATE,
+    DELETE
+}
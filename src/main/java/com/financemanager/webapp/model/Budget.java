@@ -0,0 +1,98 @@
+package com.financemanager.webapp.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+// Monthly spending limit for one of a user's categories
+@Entity
+@Table(name = "budgets", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_budgets_user_category", columnNames = {"user_id", "category_id"})
+})
+public class Budget {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "monthly_limit", nullable = false, precision = 19, scale = 4)
+    private BigDecimal monthlyLimit;
+
+    // --- Relationships ---
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    // --- Constructors ---
+    public Budget() {
+    }
+
+    public Budget(BigDecimal monthlyLimit, User user, Category category) {
+        this.monthlyLimit = monthlyLimit;
+        this.user = user;
+        this.category = category;
+    }
+
+    // --- Getters and Setters ---
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BigDecimal getMonthlyLimit() {
+        return monthlyLimit;
+    }
+
+    public void setMonthlyLimit(BigDecimal monthlyLimit) {
+        this.monthlyLimit = monthlyLimit;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(Category category) {
+        this.category = category;
+    }
+
+    // --- equals, hashCode, toString ---
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Budget budget = (Budget) o;
+        return id != null && Objects.equals(id, budget.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "Budget{" +
+                "id=" + id +
+                ", monthlyLimit=" + monthlyLimit +
+                ", userId=" + (user != null ? user.getId() : null) +
+                ", categoryId=" + (category != null ? category.getId() : null) +
+                '}';
+    }
+}
@@ -0,0 +1,163 @@
+package com.financemanager.webapp.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Raised once per budget, month and threshold when spending crosses e.g. 80% or 100% of the limit
+@Entity
+@Table(name = "budget_alerts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_budget_alerts_period_threshold", columnNames = {"budget_id", "alert_year", "alert_month", "threshold_percent"})
+}, indexes = {
+        @Index(name = "idx_budget_alerts_user_created", columnList = "user_id, created_at")
+})
+public class BudgetAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "alert_year", nullable = false)
+    private int year;
+
+    @Column(name = "alert_month", nullable = false)
+    private int month;
+
+    @Column(name = "threshold_percent", nullable = false)
+    private int thresholdPercent;
+
+    @Column(name = "spent", nullable = false, precision = 19, scale = 4)
+    private BigDecimal spent; // Spending when the alert was raised
+
+    @Column(name = "monthly_limit", nullable = false, precision = 19, scale = 4)
+    private BigDecimal monthlyLimit;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // --- Relationships ---
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "budget_id", nullable = false)
+    private Budget budget;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    // --- Constructors ---
+    public BudgetAlert() {
+    }
+
+    public BudgetAlert(Budget budget, User user, int year, int month, int thresholdPercent, BigDecimal spent, BigDecimal monthlyLimit) {
+        this.budget = budget;
+        this.user = user;
+        this.year = year;
+        this.month = month;
+        this.thresholdPercent = thresholdPercent;
+        this.spent = spent;
+        this.monthlyLimit = monthlyLimit;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // --- Getters and Setters ---
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public void setYear(int year) {
+        this.year = year;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    public void setMonth(int month) {
+        this.month = month;
+    }
+
+    public int getThresholdPercent() {
+        return thresholdPercent;
+    }
+
+    public void setThresholdPercent(int thresholdPercent) {
+        this.thresholdPercent = thresholdPercent;
+    }
+
+    public BigDecimal getSpent() {
+        return spent;
+    }
+
+    public void setSpent(BigDecimal spent) {
+        this.spent = spent;
+    }
+
+    public BigDecimal getMonthlyLimit() {
+        return monthlyLimit;
+    }
+
+    public void setMonthlyLimit(BigDecimal monthlyLimit) {
+        this.monthlyLimit = monthlyLimit;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Budget getBudget() {
+        return budget;
+    }
+
+    public void setBudget(Budget budget) {
+        this.budget = budget;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    // --- equals, hashCode, toString ---
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BudgetAlert that = (BudgetAlert) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "BudgetAlert{" +
+                "id=" + id +
+                ", year=" + year +
+                ", month=" + month +
+                ", thresholdPercent=" + thresholdPercent +
+                ", spent=" + spent +
+                ", budgetId=" + (budget != null ? budget.getId() : null) +
+                '}';
+    }
+}
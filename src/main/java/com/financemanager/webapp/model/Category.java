@@ -5,7 +5,10 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = {
+        // Per-user lists ordered by name, and the duplicate-name check
+        @Index(name = "idx_categories_user_name", columnList = "user_id, name")
+})
 public class Category {
 
     @Id
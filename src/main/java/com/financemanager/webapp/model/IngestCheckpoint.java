@@ -0,0 +1,66 @@
+package com.financemanager.webapp.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Highest sequence of one write-behind log already stored in MySQL; updated in the same DB transaction as the rows.
+// Keyed by the log's ID (persisted next to the log file), so instances with their own logs never share a checkpoint.
+@Entity
+@Table(name = "ingest_log_checkpoints")
+public class IngestCheckpoint {
+
+    @Id
+    @Column(name = "log_id", length = 36)
+    private String logId;
+
+    @Column(name = "last_applied_sequence", nullable = false)
+    private long lastAppliedSequence;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // --- Constructors ---
+    public IngestCheckpoint() {
+    }
+
+    public IngestCheckpoint(String logId, long lastAppliedSequence) {
+        this.logId = logId;
+        this.lastAppliedSequence = lastAppliedSequence;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // --- Getters and Setters ---
+    public String getLogId() {
+        return logId;
+    }
+
+    public void setLogId(String logId) {
+        this.logId = logId;
+    }
+
+    public long getLastAppliedSequence() {
+        return lastAppliedSequence;
+    }
+
+    public void setLastAppliedSequence(long lastAppliedSequence) {
+        this.lastAppliedSequence = lastAppliedSequence;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "IngestCheckpoint{" +
+                "logId='" + logId + '\'' +
+                ", lastAppliedSequence=" + lastAppliedSequence +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
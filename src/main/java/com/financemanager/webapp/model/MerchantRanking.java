@@ -0,0 +1,6 @@
+package com.financemanager.webapp.model;
+
+public enum MerchantRanking {
+    COUNT,  // Number of expenses
+    AMOUNT  // Total spent
+}
@@ -0,0 +1,28 @@
+package com.financemanager.webapp.model;
+
+import java.time.LocalDate;
+
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY,
+    YEARLY;
+
+    /**
+     * Date of the n-th occurrence (0 = the start date) of a schedule repeating every {@code interval} units.
+     * Always computed from the start date, so monthly schedules starting on the 31st don't drift to the 28th.
+     */
+    public LocalDate occurrence(LocalDate startDate, int interval, long n) {
+        long units = n * interval;
+        switch (this) {
+            case DAILY:
+                return startDate.plusDays(units);
+            case WEEKLY:
+                return startDate.plusWeeks(units);
+            case MONTHLY:
+                return startDate.plusMonths(units);
+            default:
+                return startDate.plusYears(units);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.financemanager.webapp.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+// A rule that creates a transaction on a schedule (salary, rent, subscriptions...).
+// next_run_date is indexed so the scheduler only ever reads rules that are due.
+@Entity
+@Table(name = "recurring_transactions", indexes = {
+        @Index(name = "idx_recurring_due", columnList = "active, next_run_date"),
+        // A user's rules in next-run order, without a filesort
+        @Index(name = "idx_recurring_user_next_run", columnList = "user_id, next_run_date")
+})
+public class RecurringTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TransactionType type;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    @Column(length = 255)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RecurrenceFrequency frequency;
+
+    @Column(name = "interval_count", nullable = false)
+    private int interval = 1; // Every N days/weeks/months/years
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate; // Optional, inclusive
+
+    @Column(name = "occurrences_created", nullable = false)
+    private long occurrencesCreated; // Index of the next occurrence to materialize
+
+    @Column(name = "next_run_date")
+    private LocalDate nextRunDate; // null once the schedule has ended
+
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @Version
+    private Long version; // Guards against two scheduler runs materializing the same occurrence
+
+    // --- Relationships ---
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    // --- Constructors ---
+    public RecurringTransaction() {
+    }
+
+    // --- Schedule helpers ---
+
+    /**
+     * Marks the current occurrence as created and moves next_run_date to the following one
+     * (or clears it if the schedule has ended).
+     */
+    public void advance() {
+        occurrencesCreated++;
+        LocalDate next = frequency.occurrence(startDate, interval, occurrencesCreated);
+        nextRunDate = endDate != null && next.isAfter(endDate) ? null : next;
+    }
+
+    // --- Getters and Setters ---
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(RecurrenceFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public void setInterval(int interval) {
+        this.interval = interval;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public long getOccurrencesCreated() {
+        return occurrencesCreated;
+    }
+
+    public void setOccurrencesCreated(long occurrencesCreated) {
+        this.occurrencesCreated = occurrencesCreated;
+    }
+
+    public LocalDate getNextRunDate() {
+        return nextRunDate;
+    }
+
+    public void setNextRunDate(LocalDate nextRunDate) {
+        this.nextRunDate = nextRunDate;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(Category category) {
+        this.category = category;
+    }
+
+    // --- equals, hashCode, toString ---
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RecurringTransaction that = (RecurringTransaction) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "RecurringTransaction{" +
+                "id=" + id +
+                ", type=" + type +
+                ", amount=" + amount +
+                ", frequency=" + frequency +
+                ", interval=" + interval +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", nextRunDate=" + nextRunDate +
+                ", active=" + active +
+                ", userId=" + (user != null ? user.getId() : null) +
+                '}';
+    }
+}
@@ -0,0 +1,209 @@
+package com.financemanager.webapp.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// A long-running report request, processed in the background by the report worker pool.
+// Jobs are persisted so their status and results survive restarts.
+@Entity
+@Table(name = "report_jobs", indexes = {
+        @Index(name = "idx_report_jobs_user_status", columnList = "user_id, status"),
+        // A user's jobs, newest first; read backwards instead of sorting
+        @Index(name = "idx_report_jobs_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_report_jobs_status", columnList = "status")
+})
+public class ReportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_type", nullable = false, length = 30)
+    private ReportJobType reportType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReportJobStatus status;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Lob
+    @Column(name = "result_json", columnDefinition = "LONGTEXT")
+    private String resultJson; // Serialized report, set once the job completes
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "owner_instance", length = 36)
+    private String ownerInstance; // Instance running the job; set when a worker claims it
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt; // Renewed by the owner while running; a stale one means the owner died
+
+    // --- Relationships ---
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    // --- Constructors ---
+    public ReportJob() {
+    }
+
+    public ReportJob(ReportJobType reportType, LocalDate startDate, LocalDate endDate, User user) {
+        this.reportType = reportType;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.user = user;
+        this.status = ReportJobStatus.QUEUED;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // --- Getters and Setters ---
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ReportJobType getReportType() {
+        return reportType;
+    }
+
+    public void setReportType(ReportJobType reportType) {
+        this.reportType = reportType;
+    }
+
+    public ReportJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReportJobStatus status) {
+        this.status = status;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public String getResultJson() {
+        return resultJson;
+    }
+
+    public void setResultJson(String resultJson) {
+        this.resultJson = resultJson;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public String getOwnerInstance() {
+        return ownerInstance;
+    }
+
+    public void setOwnerInstance(String ownerInstance) {
+        this.ownerInstance = ownerInstance;
+    }
+
+    public LocalDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    // --- equals, hashCode, toString ---
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReportJob that = (ReportJob) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ReportJob{" +
+                "id=" + id +
+                ", reportType=" + reportType +
+                ", status=" + status +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", userId=" + (user != null ? user.getId() : null) +
+                '}';
+    }
+}
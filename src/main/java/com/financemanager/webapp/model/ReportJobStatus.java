@@ -0,0 +1,8 @@
+package com.financemanager.webapp.model;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
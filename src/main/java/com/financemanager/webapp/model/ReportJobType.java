@@ -0,0 +1,7 @@
+package com.financemanager.webapp.model;
+
+public enum ReportJobType {
+    SUMMARY,            // Total income/expenses/balance for the whole range
+    CATEGORY_SPENDING,  // Expense totals per category for the whole range
+    YEARLY_BREAKDOWN    // One summary per calendar year in the range
+}
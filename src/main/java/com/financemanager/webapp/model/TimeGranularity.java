@@ -0,0 +1,7 @@
+package com.financemanager.webapp.model;
+
+public enum TimeGranularity {
+    DAY,
+    WEEK,  // Weeks start on Monday
+    MONTH
+}
@@ -6,7 +6,15 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        // Duplicate detection probes (user, fingerprint) in batches during imports
+        @Index(name = "idx_transactions_user_fingerprint_v2", columnList = "user_id, fingerprint_v2"),
+        // Per-user lists ordered by date and date-range reports; read backwards for ORDER BY date DESC without a filesort
+        @Index(name = "idx_transactions_user_date", columnList = "user_id, date")
+}, uniqueConstraints = {
+        // A write-behind log record is stored at most once, even if its batch is replayed
+        @UniqueConstraint(name = "uk_transactions_ingest", columnNames = {"ingest_log_id", "ingest_sequence"})
+})
 public class Transaction {
 
     @Id
@@ -26,6 +34,21 @@ public class Transaction {
     @Column(nullable = false)
     private LocalDate date;
 
+    // ISO 4217 code; null on rows created before multi-currency support, meaning the user's preferred currency
+    @Column(length = 3)
+    private String currency;
+
+    // Hash of (user, type, date, amount, currency, normalized description), see TransactionFingerprints
+    @Column(name = "fingerprint_v2")
+    private Long fingerprint;
+
+    // Write-behind log and sequence this row was stored from; null for rows written directly
+    @Column(name = "ingest_log_id", length = 36)
+    private String ingestLogId;
+
+    @Column(name = "ingest_sequence")
+    private Long ingestSequence;
+
     // --- Relationships ---
 
     // Many transactions belong to one user
@@ -38,6 +61,10 @@ public class Transaction {
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
+    // True on copies of archived rows (see ArchivedTransaction#toTransaction), which are read-only
+    @Transient
+    private boolean archived;
+
     // --- Constructors ---
     public Transaction() {
     }
@@ -92,6 +119,38 @@ public class Transaction {
         this.date = date;
     }
 
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public Long getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(Long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public String getIngestLogId() {
+        return ingestLogId;
+    }
+
+    public void setIngestLogId(String ingestLogId) {
+        this.ingestLogId = ingestLogId;
+    }
+
+    public Long getIngestSequence() {
+        return ingestSequence;
+    }
+
+    public void setIngestSequence(Long ingestSequence) {
+        this.ingestSequence = ingestSequence;
+    }
+
     public User getUser() {
         return user;
     }
@@ -108,6 +167,14 @@ public class Transaction {
         this.category = category;
     }
 
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public void setArchived(boolean archived) {
+        this.archived = archived;
+    }
+
     // --- equals, hashCode, toString ---
 
     @Override
@@ -143,6 +210,7 @@ public class Transaction {
                 ", amount=" + amount +
                 ", description='" + description + '\'' +
                 ", date=" + date +
+                ", currency='" + currency + '\'' +
                 ", userId=" + (user != null ? user.getId() : null) +
                 ", categoryId=" + (category != null ? category.getId() : null) +
                 '}';
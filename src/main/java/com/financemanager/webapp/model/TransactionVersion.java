@@ -0,0 +1,51 @@
+package com.financemanager.webapp.model;
+
+import jakarta.persistence.*;
+
+// Per-user counter bumped by every committed transaction that writes the user's transactions,
+// so data derived from them and kept outside MySQL (index files) can be checked for staleness
+@Entity
+@Table(name = "transaction_versions")
+public class TransactionVersion {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long version;
+
+    // --- Constructors ---
+    public TransactionVersion() {
+    }
+
+    public TransactionVersion(Long userId, long version) {
+        this.userId = userId;
+        this.version = version;
+    }
+
+    // --- Getters and Setters ---
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionVersion{" +
+                "userId=" + userId +
+                ", version=" + version +
+                '}';
+    }
+}
@@ -0,0 +1,128 @@
+package com.financemanager.webapp.profiling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Span exporter that needs no collector: finished spans are kept in a bounded in-memory buffer
+ * (served by {@link TraceEndpoint} at /actuator/traces) and, when {@code app.tracing.export-file}
+ * is set, appended to that file as one JSON object per span. Spring Boot registers it with the
+ * tracer's batch span processor, so export runs on the processor's thread, not the request's.
+ */
+@Component
+public class InProcessSpanExporter implements SpanExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(InProcessSpanExporter.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.tracing.buffer-size:2000}")
+    private int bufferSize;
+
+    @Value("${app.tracing.export-file:}")
+    private String exportFile;
+
+    private final Deque<Map<String, Object>> recentSpans = new ArrayDeque<>();
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        List<Map<String, Object>> converted = new ArrayList<>(spans.size());
+        for (SpanData span : spans) {
+            converted.add(toMap(span));
+        }
+        synchronized (recentSpans) {
+            for (Map<String, Object> span : converted) {
+                if (recentSpans.size() == bufferSize) {
+                    recentSpans.removeFirst();
+                }
+                recentSpans.addLast(span);
+            }
+        }
+        if (!exportFile.isEmpty()) {
+            return appendToFile(converted);
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    // Spans of the buffered traces, grouped by trace id (oldest trace first); traceId narrows it to one
+    public Map<String, List<Map<String, Object>>> getTraces(String traceId, long minDurationMicros) {
+        Map<String, List<Map<String, Object>>> traces = new LinkedHashMap<>();
+        synchronized (recentSpans) {
+            for (Map<String, Object> span : recentSpans) {
+                if (traceId == null || traceId.equals(span.get("traceId"))) {
+                    traces.computeIfAbsent((String) span.get("traceId"), id -> new ArrayList<>()).add(span);
+                }
+            }
+        }
+        if (minDurationMicros > 0) {
+            // A trace's duration is its root span's; traces whose root is no longer buffered are kept
+            traces.values().removeIf(trace -> trace.stream().anyMatch(span -> span.get("parentSpanId") == null
+                    && (long) span.get("durationMicros") < minDurationMicros));
+        }
+        return traces;
+    }
+
+    // --- Helpers ---
+
+    private static Map<String, Object> toMap(SpanData span) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("traceId", span.getTraceId());
+        map.put("spanId", span.getSpanId());
+        map.put("parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+        map.put("name", span.getName());
+        map.put("kind", span.getKind().name());
+        map.put("startEpochNanos", span.getStartEpochNanos());
+        map.put("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000);
+        map.put("status", span.getStatus().getStatusCode().name());
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        map.put("attributes", attributes);
+        return map;
+    }
+
+    private CompletableResultCode appendToFile(List<Map<String, Object>> spans) {
+        try (Writer writer = Files.newBufferedWriter(Path.of(exportFile), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Map<String, Object> span : spans) {
+                writer.write(objectMapper.writeValueAsString(span));
+                writer.write('\n');
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Could not append {} span(s) to {}: {}", spans.size(), exportFile, e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.financemanager.webapp.profiling;
+
+import io.micrometer.observation.Observation;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * One "jdbc.query" span per statement, nested under the repository call that issued it, with the
+ * statement text and the number of rows it wrote. Registered on the same DataSource proxy as
+ * {@link SqlStatisticsListener}.
+ */
+@Component
+public class JdbcObservationListener implements QueryExecutionListener {
+
+    private static final String OBSERVATION_KEY = JdbcObservationListener.class.getName();
+
+    @Autowired
+    private SampledObservations sampledObservations;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String query = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        Observation observation = sampledObservations.startIfSampled("jdbc.query", operationOf(query));
+        if (observation != null) {
+            observation.lowCardinalityKeyValue("db.operation", operationOf(query))
+                    .highCardinalityKeyValue("db.statement", query);
+            execInfo.addCustomValue(OBSERVATION_KEY, observation);
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Observation observation = execInfo.getCustomValue(OBSERVATION_KEY, Observation.class);
+        if (observation == null) {
+            return;
+        }
+        if (execInfo.isBatch()) {
+            observation.highCardinalityKeyValue("db.batch.size", String.valueOf(execInfo.getBatchSize()));
+        }
+        if (execInfo.getResult() instanceof Integer updated) {
+            observation.highCardinalityKeyValue("db.rows.affected", String.valueOf(updated));
+        }
+        if (execInfo.getThrowable() != null) {
+            observation.error(execInfo.getThrowable());
+        }
+        observation.stop();
+    }
+
+    // First keyword of the statement (select, insert, ...), a low-cardinality span name
+    private static String operationOf(String query) {
+        String trimmed = query.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end > 0 ? trimmed.substring(0, end).toLowerCase() : "statement";
+    }
+}
@@ -0,0 +1,148 @@
+package com.financemanager.webapp.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * On-demand JDK Flight Recorder recordings on a live instance, at {@code /actuator/jfr}:
+ * <ul>
+ *   <li>{@code POST} starts a recording ({@code durationSeconds}, {@code settings} = "default" or "profile"),</li>
+ *   <li>{@code GET} reports its state,</li>
+ *   <li>{@code DELETE} stops it and returns the .jfr file (open it in JDK Mission Control or {@code jfr print}).</li>
+ * </ul>
+ * Only one recording runs at a time. Its duration and on-disk size are capped by configuration, so a
+ * forgotten recording stops by itself; no recording runs otherwise. Events that capture environment variables,
+ * system properties, JVM arguments or process command lines are always disabled, since they can hold secrets.
+ * Like every actuator endpoint it is served on the internal management port only.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRecordingEndpoint.class);
+
+    private static final String RECORDING_NAME = "finance-manager-on-demand";
+
+    // Enabled by the "profile" and "default" settings; their payloads may include passwords and tokens
+    private static final String[] SENSITIVE_EVENTS = {
+            "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation", "jdk.SystemProcess"
+    };
+
+    @Value("${app.jfr.default-duration-seconds:60}")
+    private int defaultDurationSeconds;
+
+    @Value("${app.jfr.max-duration-seconds:600}")
+    private int maxDurationSeconds;
+
+    @Value("${app.jfr.max-size-mb:100}")
+    private long maxSizeMb;
+
+    private Recording recording;
+    private Path file;
+    private Instant startedAt;
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable Integer durationSeconds, @Nullable String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return status(); // Already running: the caller gets the existing recording's state
+        }
+        discard();
+
+        int seconds = Math.min(durationSeconds != null && durationSeconds > 0 ? durationSeconds : defaultDurationSeconds, maxDurationSeconds);
+        try {
+            Recording newRecording = new Recording(Configuration.getConfiguration(settings != null ? settings : "profile"));
+            newRecording.setName(RECORDING_NAME);
+            newRecording.enable(ServiceCallEvent.class);
+            newRecording.enable(RepositoryCallEvent.class);
+            for (String event : SENSITIVE_EVENTS) {
+                newRecording.disable(event);
+            }
+            newRecording.setDuration(Duration.ofSeconds(seconds));
+            newRecording.setMaxSize(maxSizeMb * 1024 * 1024);
+            newRecording.setToDisk(true);
+
+            file = Files.createTempFile("finance-manager-", ".jfr");
+            newRecording.setDestination(file); // Also written here when the duration elapses
+            newRecording.start();
+            recording = newRecording;
+            startedAt = Instant.now();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create the recording file", e);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid JFR settings: " + settings, e);
+        }
+        log.info("JFR recording started for up to {} s, writing to {}", seconds, file);
+        return status();
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", recording != null ? recording.getState().name() : "NONE");
+        if (recording != null) {
+            status.put("startedAt", startedAt);
+            status.put("duration", recording.getDuration());
+            status.put("maxSizeBytes", recording.getMaxSize());
+            status.put("file", file.toString());
+        }
+        return status;
+    }
+
+    @DeleteOperation
+    public synchronized WebEndpointResponse<Resource> stop() {
+        if (recording == null && (file == null || !Files.exists(file))) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording != null) {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop(); // Dumps to the destination file
+            }
+            recording.close();
+            recording = null;
+            log.info("JFR recording stopped, {} ready for download", file);
+        }
+        // The file stays until the next recording starts, so the download can be retried
+        return new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK);
+    }
+
+    // --- Helpers ---
+
+    // Drops the previous recording and its file before a new one starts
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete previous JFR file {}: {}", file, e.getMessage());
+            }
+            file = null;
+        }
+    }
+}
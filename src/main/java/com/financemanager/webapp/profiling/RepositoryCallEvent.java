@@ -0,0 +1,32 @@
+package com.financemanager.webapp.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event around every Spring Data repository call, emitted by {@link RepositoryEventInterceptor}.
+ * The event's duration is the elapsed time, including any flush the query triggered.
+ */
+@Name("com.financemanager.RepositoryCall")
+@Label("Repository Call")
+@Category({"Finance Manager", "Repository"})
+@Description("A Spring Data repository method call with the rows it returned")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("User ID")
+    long userId;
+
+    @Label("Rows Returned")
+    long rowsReturned;
+}
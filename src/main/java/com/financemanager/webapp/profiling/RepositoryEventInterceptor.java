@@ -0,0 +1,135 @@
+package com.financemanager.webapp.profiling;
+
+import io.micrometer.observation.Observation;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps every Spring Data repository proxy with an interceptor that emits a {@link RepositoryCallEvent}
+ * per call and, inside a sampled trace, a "repository.call" span with the userId and rows returned.
+ * Hooked in through the repository factory (before the proxies are created) rather than as an aspect,
+ * so derived queries, {@code @Query} methods and custom fragments are all covered.
+ *
+ * <p>When no JFR recording has the event enabled and the trace isn't sampled, the interceptor only
+ * allocates the event and checks two flags.</p>
+ */
+@Component
+public class RepositoryEventInterceptor implements BeanPostProcessor {
+
+    // Looked up lazily: post-processors are created before ordinary beans
+    @Autowired
+    private ObjectProvider<SampledObservations> sampledObservations;
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                            new EventInterceptor(repositoryInformation.getRepositoryInterface().getSimpleName(), sampledObservations))));
+        }
+        return bean;
+    }
+
+    private static final class EventInterceptor implements MethodInterceptor {
+
+        private static final int NO_USER_ID = -1;
+
+        private final String repository;
+        private final ObjectProvider<SampledObservations> sampledObservationsProvider;
+        private SampledObservations sampledObservations; // Resolved on first call
+
+        // Position of the "userId" argument per method, resolved once
+        private final Map<Method, Integer> userIdIndexes = new ConcurrentHashMap<>();
+
+        EventInterceptor(String repository, ObjectProvider<SampledObservations> sampledObservations) {
+            this.repository = repository;
+            this.sampledObservationsProvider = sampledObservations;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            RepositoryCallEvent event = new RepositoryCallEvent();
+            if (sampledObservations == null) {
+                sampledObservations = sampledObservationsProvider.getObject();
+            }
+            Observation observation = sampledObservations.startIfSampled(
+                    "repository.call", repository + "." + invocation.getMethod().getName());
+            if (!event.isEnabled() && observation == null) {
+                return invocation.proceed();
+            }
+            event.begin();
+
+            Object result;
+            try (Observation.Scope scope = observation != null ? observation.openScope() : null) {
+                result = invocation.proceed();
+            } catch (Throwable e) {
+                if (observation != null) {
+                    observation.error(e).stop();
+                }
+                throw e;
+            }
+
+            int userIdIndex = userIdIndexes.computeIfAbsent(invocation.getMethod(), EventInterceptor::userIdIndexOf);
+            Object userId = userIdIndex != NO_USER_ID ? invocation.getArguments()[userIdIndex] : null;
+            long rows = rowsOf(result);
+            if (observation != null) {
+                observation.lowCardinalityKeyValue("repository", repository)
+                        .lowCardinalityKeyValue("method", invocation.getMethod().getName())
+                        .highCardinalityKeyValue("userId", String.valueOf(userId))
+                        .highCardinalityKeyValue("rows.returned", String.valueOf(rows))
+                        .stop();
+            }
+            if (event.shouldCommit()) {
+                event.repository = repository;
+                event.method = invocation.getMethod().getName();
+                event.userId = userId instanceof Long id ? id : -1;
+                event.rowsReturned = rows;
+                event.commit();
+            }
+            return result;
+        }
+
+        // Relies on -parameters (set by the Boot parent POM); @Query methods also name it via @Param
+        private static int userIdIndexOf(Method method) {
+            Parameter[] parameters = method.getParameters();
+            for (int i = 0; i < parameters.length; i++) {
+                if (parameters[i].isNamePresent() && parameters[i].getName().equals("userId")) {
+                    return i;
+                }
+            }
+            return NO_USER_ID;
+        }
+
+        private static long rowsOf(Object result) {
+            if (result == null) {
+                return 0;
+            }
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            if (result instanceof Iterable<?> iterable) {
+                long rows = 0;
+                for (Object ignored : iterable) {
+                    rows++;
+                }
+                return rows;
+            }
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.financemanager.webapp.profiling;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starts child observations (repository calls, JDBC statements) only inside a sampled trace. These
+ * are the most frequent spans, so an unsampled request or a background job skips them entirely
+ * instead of paying for observations that are never exported.
+ */
+@Component
+public class SampledObservations {
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    private ObjectProvider<Tracer> tracer; // Absent when tracing is disabled
+
+    // Returns null when the current trace isn't sampled
+    public Observation startIfSampled(String name, String contextualName) {
+        Tracer currentTracer = tracer.getIfAvailable();
+        Span span = currentTracer != null ? currentTracer.currentSpan() : null;
+        if (span == null || !Boolean.TRUE.equals(span.context().sampled())) {
+            return null;
+        }
+        return Observation.createNotStarted(name, observationRegistry)
+                .contextualName(contextualName)
+                .start();
+    }
+}
@@ -0,0 +1,57 @@
+package com.financemanager.webapp.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event around a hot service-layer step (report aggregation, DTO mapping). The event's duration
+ * is the elapsed time. When no recording has the event enabled, {@link #start} and {@link #finish}
+ * cost an allocation and a flag check.
+ *
+ * <pre>
+ * ServiceCallEvent event = ServiceCallEvent.start("ReportService.calculateSummary", userId);
+ * ...
+ * event.finish(rows.size(), 1);
+ * </pre>
+ */
+@Name("com.financemanager.ServiceCall")
+@Label("Service Call")
+@Category({"Finance Manager", "Service"})
+@Description("A hot service-layer step with the rows it read and produced")
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("User ID")
+    long userId;
+
+    @Label("Rows Scanned")
+    long rowsScanned;
+
+    @Label("Rows Returned")
+    long rowsReturned;
+
+    public static ServiceCallEvent start(String operation, Long userId) {
+        ServiceCallEvent event = new ServiceCallEvent();
+        if (event.isEnabled()) {
+            event.operation = operation;
+            event.userId = userId != null ? userId : -1;
+            event.begin();
+        }
+        return event;
+    }
+
+    public void finish(long rowsScanned, long rowsReturned) {
+        if (isEnabled()) {
+            this.rowsScanned = rowsScanned;
+            this.rowsReturned = rowsReturned;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.financemanager.webapp.profiling;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQL counters for one HTTP request: statements, rows read or written, time spent in JDBC, and how
+ * often each distinct statement ran. Bound to the request thread by {@link SqlStatisticsFilter} and
+ * carried over to pool threads with {@link #propagate(Runnable)}, so parts computed in parallel
+ * (the dashboard) count towards the same request.
+ */
+public class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder elapsedMs = new LongAdder();
+
+    // Prepared statement text (with ? placeholders) -> executions in this request
+    private final Map<String, AtomicInteger> executionsByQuery = new ConcurrentHashMap<>();
+
+    // Statement text -> the service method it was first seen repeating from
+    private final Map<String, String> repeatedQueryOrigins = new ConcurrentHashMap<>();
+
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    static SqlStatistics begin() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    // TaskDecorator for executors that run work on behalf of a request
+    public static Runnable propagate(Runnable task) {
+        SqlStatistics statistics = CURRENT.get();
+        if (statistics == null) {
+            return task;
+        }
+        return () -> {
+            SqlStatistics previous = CURRENT.get();
+            CURRENT.set(statistics);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    // Returns how many times the statement has now run in this request
+    int recordStatement(String query, long elapsedMs) {
+        statements.increment();
+        this.elapsedMs.add(elapsedMs);
+        return executionsByQuery.computeIfAbsent(query, q -> new AtomicInteger()).incrementAndGet();
+    }
+
+    void recordRows(long count) {
+        rows.add(count);
+    }
+
+    void recordRepeatedQuery(String query, String origin) {
+        repeatedQueryOrigins.putIfAbsent(query, origin);
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs.sum();
+    }
+
+    int getExecutions(String query) {
+        AtomicInteger executions = executionsByQuery.get(query);
+        return executions != null ? executions.get() : 0;
+    }
+
+    Map<String, String> getRepeatedQueryOrigins() {
+        return repeatedQueryOrigins;
+    }
+}
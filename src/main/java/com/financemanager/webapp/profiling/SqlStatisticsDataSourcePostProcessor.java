@@ -0,0 +1,50 @@
+package com.financemanager.webapp.profiling;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's DataSource in a datasource-proxy that reports every statement, and every
+ * row read from a result set, to {@link SqlStatisticsListener}, and traces statements with
+ * {@link JdbcObservationListener}. The pool underneath is unchanged; Boot's metrics and health
+ * checks unwrap the proxy to reach it.
+ */
+@Component
+public class SqlStatisticsDataSourcePostProcessor implements BeanPostProcessor {
+
+    // Looked up lazily: post-processors are created before ordinary beans
+    @Autowired
+    private ObjectProvider<SqlStatisticsListener> listener;
+
+    @Autowired
+    private ObjectProvider<JdbcObservationListener> observationListener;
+
+    @Value("${app.sql.statistics.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.sql.statistics.count-rows:true}")
+    private boolean countRows; // Proxies result sets, so every ResultSet call goes through the listener
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            SqlStatisticsListener sqlStatisticsListener = listener.getObject();
+            ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(sqlStatisticsListener)
+                    .listener(observationListener.getObject());
+            if (countRows) {
+                builder.methodListener(sqlStatisticsListener).proxyResultSet();
+            }
+            return builder.build();
+        }
+        return bean;
+    }
+}
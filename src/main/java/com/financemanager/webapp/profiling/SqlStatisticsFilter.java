@@ -0,0 +1,110 @@
+package com.financemanager.webapp.profiling;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Opens a {@link SqlStatistics} for each /api request and, when the request completes, records how
+ * many statements and rows it needed and how long it spent in JDBC. Statements that repeated more than
+ * {@code app.sql.n-plus-one.threshold} times (the N+1 pattern) are logged for a sample of requests,
+ * so a hot endpoint with an N+1 doesn't flood the log.
+ */
+@Component
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.sql.statistics.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.sql.request-summary-threshold-ms:500}")
+    private long requestSummaryThresholdMs; // Requests spending at least this long in SQL get a summary line
+
+    @Value("${app.sql.n-plus-one.sample-rate:0.1}")
+    private double repeatedQuerySampleRate;
+
+    private DistributionSummary statementsPerRequest;
+    private DistributionSummary rowsPerRequest;
+    private DistributionSummary sqlTimePerRequest;
+
+    @PostConstruct
+    void registerMetrics() {
+        statementsPerRequest = DistributionSummary.builder("api.requests.sql.statements")
+                .description("JDBC statements executed per API request")
+                .register(meterRegistry);
+        rowsPerRequest = DistributionSummary.builder("api.requests.sql.rows")
+                .description("Rows read or written per API request")
+                .register(meterRegistry);
+        sqlTimePerRequest = DistributionSummary.builder("api.requests.sql.time")
+                .description("Time spent executing JDBC statements per API request")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatistics.end();
+            report(request, response, statistics);
+        }
+    }
+
+    // --- Helpers ---
+
+    private void report(HttpServletRequest request, HttpServletResponse response, SqlStatistics statistics) {
+        if (statistics.getStatements() == 0) {
+            return;
+        }
+        statementsPerRequest.record(statistics.getStatements());
+        rowsPerRequest.record(statistics.getRows());
+        sqlTimePerRequest.record(statistics.getElapsedMs());
+
+        if (statistics.getElapsedMs() >= requestSummaryThresholdMs) {
+            SqlStatisticsListener.sqlLog.atInfo()
+                    .addKeyValue("event", "request_sql")
+                    .addKeyValue("method", request.getMethod())
+                    .addKeyValue("uri", request.getRequestURI())
+                    .addKeyValue("status", response.getStatus())
+                    .addKeyValue("statements", statistics.getStatements())
+                    .addKeyValue("rows", statistics.getRows())
+                    .addKeyValue("sqlMs", statistics.getElapsedMs())
+                    .log("{} {} ran {} statements in {} ms", request.getMethod(), request.getRequestURI(),
+                            statistics.getStatements(), statistics.getElapsedMs());
+        }
+
+        Map<String, String> repeated = statistics.getRepeatedQueryOrigins();
+        if (!repeated.isEmpty() && ThreadLocalRandom.current().nextDouble() < repeatedQuerySampleRate) {
+            repeated.forEach((query, origin) -> SqlStatisticsListener.sqlLog.atWarn()
+                    .addKeyValue("event", "n_plus_one")
+                    .addKeyValue("method", request.getMethod())
+                    .addKeyValue("uri", request.getRequestURI())
+                    .addKeyValue("query", query)
+                    .addKeyValue("executions", statistics.getExecutions(query))
+                    .addKeyValue("origin", origin)
+                    .log("Statement repeated {} times in one request from {}", statistics.getExecutions(query), origin));
+        }
+    }
+}
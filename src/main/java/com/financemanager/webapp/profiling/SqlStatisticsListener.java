@@ -0,0 +1,161 @@
+package com.financemanager.webapp.profiling;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Receives every JDBC statement from the proxied DataSource (see {@link SqlStatisticsDataSourcePostProcessor})
+ * and feeds the current request's {@link SqlStatistics}. Replaces {@code spring.jpa.show-sql}: nothing is
+ * printed per statement; only statements slower than {@code app.sql.slow-query-threshold-ms} are logged,
+ * with their bind parameters and the service method that issued them, to the asynchronous "sql" logger.
+ * Bind parameters are redacted to their type and length, since they include password hashes, emails and
+ * descriptions; {@code app.sql.log-bind-values=true} logs the raw values instead (local debugging only).
+ */
+@Component
+public class SqlStatisticsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    static final Logger sqlLog = LoggerFactory.getLogger("sql");
+
+    private static final String SERVICE_PACKAGE = "com.financemanager.webapp.service";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private static final int MAX_LOGGED_EXECUTIONS = 10; // Of a batch; the batch size is logged separately
+
+    @Value("${app.sql.slow-query-threshold-ms:200}")
+    private long slowQueryThresholdMs;
+
+    @Value("${app.sql.n-plus-one.threshold:10}")
+    private int repeatedQueryThreshold; // The same statement more often than this in one request is an N+1 suspect
+
+    @Value("${app.sql.log-bind-values:false}")
+    private boolean logBindValues;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStatistics statistics = SqlStatistics.current();
+        String query = queryInfoList.size() == 1 ? queryInfoList.get(0).getQuery() : joinQueries(queryInfoList);
+        long elapsedMs = execInfo.getElapsedTime();
+
+        if (statistics != null) {
+            int executions = statistics.recordStatement(query, elapsedMs);
+            statistics.recordRows(updateCount(execInfo.getResult()));
+            if (executions == repeatedQueryThreshold + 1) {
+                statistics.recordRepeatedQuery(query, originOf());
+            }
+        }
+
+        if (elapsedMs >= slowQueryThresholdMs) {
+            sqlLog.atWarn()
+                    .addKeyValue("event", "slow_query")
+                    .addKeyValue("elapsedMs", elapsedMs)
+                    .addKeyValue("query", query)
+                    .addKeyValue("params", bindValuesOf(queryInfoList))
+                    .addKeyValue("batchSize", execInfo.isBatch() ? execInfo.getBatchSize() : 0)
+                    .addKeyValue("success", execInfo.isSuccess())
+                    .addKeyValue("origin", originOf())
+                    .log("Slow query ({} ms)", elapsedMs);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    // Rows read: counted as the caller advances proxied result sets
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            SqlStatistics statistics = SqlStatistics.current();
+            if (statistics != null) {
+                statistics.recordRows(1);
+            }
+        }
+    }
+
+    // --- Helpers ---
+
+    // Rows written: executeUpdate returns a count, executeBatch one count per batch entry
+    private static long updateCount(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        return 0;
+    }
+
+    private static String joinQueries(List<QueryInfo> queryInfoList) {
+        List<String> queries = new ArrayList<>(queryInfoList.size());
+        for (QueryInfo queryInfo : queryInfoList) {
+            queries.add(queryInfo.getQuery());
+        }
+        return String.join("; ", queries);
+    }
+
+    // One list of parameters per execution (a batch has several), in the order they were bound
+    private List<List<Object>> bindValuesOf(List<QueryInfo> queryInfoList) {
+        List<List<Object>> executions = new ArrayList<>();
+        for (QueryInfo queryInfo : queryInfoList) {
+            for (List<ParameterSetOperation> operations : queryInfo.getParametersList()) {
+                if (executions.size() == MAX_LOGGED_EXECUTIONS) {
+                    return executions;
+                }
+                List<Object> values = new ArrayList<>(operations.size());
+                for (ParameterSetOperation operation : operations) {
+                    Object[] args = operation.getArgs();
+                    Object value = args.length > 1 ? args[1] : null;
+                    values.add(logBindValues ? String.valueOf(value) : redact(value));
+                }
+                executions.add(values);
+            }
+        }
+        return executions;
+    }
+
+    // Type and size only, e.g. "String(12)" or "Long"; enough to tell parameters apart without revealing them
+    private static String redact(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        String type = value.getClass().getSimpleName();
+        if (value instanceof CharSequence text) {
+            return type + "(" + text.length() + ")";
+        }
+        if (value instanceof byte[] bytes) {
+            return "byte[" + bytes.length + "]";
+        }
+        return type;
+    }
+
+    // The first service-layer frame on the stack; only walked for slow or repeated statements
+    private static String originOf() {
+        Optional<StackWalker.StackFrame> frame = STACK_WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(SERVICE_PACKAGE))
+                .findFirst());
+        return frame.map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1) + "." + f.getMethodName())
+                .orElse("unknown");
+    }
+}
@@ -0,0 +1,61 @@
+package com.financemanager.webapp.profiling;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationFilter;
+import io.micrometer.observation.aop.ObservedAspect;
+import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Adds the request's subject to spans as high-cardinality attributes (span attributes only, never
+ * metric tags): the userId path variable on HTTP server spans, and the userId and reporting period
+ * arguments on {@code @Observed} service method spans.
+ */
+@Component
+public class TraceAttributesFilter implements ObservationFilter {
+
+    private static final Set<String> TRACED_ARGUMENTS = Set.of("userId", "year", "month", "startDate", "endDate", "granularity");
+
+    @Override
+    public Observation.Context map(Observation.Context context) {
+        if (context instanceof ObservedAspect.ObservedAspectContext aspectContext) {
+            addArguments(context, aspectContext.getProceedingJoinPoint());
+        } else if (context instanceof ServerRequestObservationContext requestContext) {
+            addUserId(context, requestContext.getCarrier());
+        }
+        return context;
+    }
+
+    // --- Helpers ---
+
+    private static void addArguments(Observation.Context context, ProceedingJoinPoint joinPoint) {
+        if (!(joinPoint.getSignature() instanceof MethodSignature signature)) {
+            return;
+        }
+        String[] names = signature.getParameterNames();
+        Object[] args = joinPoint.getArgs();
+        if (names == null) {
+            return;
+        }
+        for (int i = 0; i < names.length && i < args.length; i++) {
+            if (args[i] != null && TRACED_ARGUMENTS.contains(names[i])) {
+                context.addHighCardinalityKeyValue(KeyValue.of(names[i], String.valueOf(args[i])));
+            }
+        }
+    }
+
+    private static void addUserId(Observation.Context context, HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables instanceof Map<?, ?> pathVariables && pathVariables.get("userId") != null) {
+            context.addHighCardinalityKeyValue(KeyValue.of("userId", String.valueOf(pathVariables.get("userId"))));
+        }
+    }
+}
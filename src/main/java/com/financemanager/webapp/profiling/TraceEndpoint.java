@@ -0,0 +1,34 @@
+package com.financemanager.webapp.profiling;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recently exported traces from {@link InProcessSpanExporter}:
+ * {@code GET /actuator/traces[?minDurationMs=]} lists them grouped by trace id,
+ * {@code GET /actuator/traces/{traceId}} returns one trace's spans.
+ */
+@Component
+@Endpoint(id = "traces")
+public class TraceEndpoint {
+
+    @Autowired
+    private InProcessSpanExporter exporter;
+
+    @ReadOperation
+    public Map<String, List<Map<String, Object>>> traces(@Nullable Long minDurationMs) {
+        return exporter.getTraces(null, minDurationMs != null ? minDurationMs * 1_000 : 0);
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> trace(@Selector String traceId) {
+        return exporter.getTraces(traceId, 0).getOrDefault(traceId, List.of());
+    }
+}
@@ -0,0 +1,35 @@
+package com.financemanager.webapp.repository;
+
+import com.financemanager.webapp.model.AnalyticsCategoryVolume;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AnalyticsCategoryVolumeRepository extends JpaRepository<AnalyticsCategoryVolume, Long> {
+
+    /**
+     * Finds a month's largest category volumes, across users.
+     *
+     * @param periodStart First day of the month.
+     * @param pageable    How many rows to return.
+     * @return Rows of both transaction types, largest total first.
+     */
+    List<AnalyticsCategoryVolume> findByPeriodStartOrderByTotalDesc(LocalDate periodStart, Pageable pageable);
+
+    /**
+     * Deletes the rows of months that are about to be rewritten by a refresh.
+     *
+     * @param periodStarts First days of the months.
+     */
+    @Modifying
+    @Query("DELETE FROM AnalyticsCategoryVolume v WHERE v.periodStart IN :periodStarts")
+    void deleteByPeriodStartIn(@Param("periodStarts") Collection<LocalDate> periodStarts);
+}
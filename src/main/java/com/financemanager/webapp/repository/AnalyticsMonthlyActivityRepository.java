@@ -0,0 +1,34 @@
+package com.financemanager.webapp.repository;
+
+import com.financemanager.webapp.model.AnalyticsMonthlyActivity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AnalyticsMonthlyActivityRepository extends JpaRepository<AnalyticsMonthlyActivity, LocalDate> {
+
+    /**
+     * Finds the platform-wide activity for a range of months.
+     *
+     * @param from First day of the first month.
+     * @param to   First day of the last month (inclusive).
+     * @return One row per month that had transactions, oldest first.
+     */
+    List<AnalyticsMonthlyActivity> findByPeriodStartBetweenOrderByPeriodStartAsc(LocalDate from, LocalDate to);
+
+    /**
+     * Deletes the rows of months that are about to be rewritten by a refresh.
+     *
+     * @param periodStarts First days of the months.
+     */
+    @Modifying
+    @Query("DELETE FROM AnalyticsMonthlyActivity a WHERE a.periodStart IN :periodStarts")
+    void deleteByPeriodStartIn(@Param("periodStarts") Collection<LocalDate> periodStarts);
+}
@@ -0,0 +1,26 @@
+package com.financemanager.webapp.repository;
+
+import com.financemanager.webapp.model.AnalyticsRefreshState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AnalyticsRefreshStateRepository extends JpaRepository<AnalyticsRefreshState, Long> {
+
+    /**
+     * Reads the refresh state with a row lock (SELECT ... FOR UPDATE) held until the transaction ends,
+     * so instances take and give back the refresh lease one at a time.
+     *
+     * @param id The state row's ID.
+     * @return The state, if a refresh ever started.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AnalyticsRefreshState s WHERE s.id = :id")
+    Optional<AnalyticsRefreshState> findByIdForUpdate(@Param("id") Long id);
+}
@@ -0,0 +1,33 @@
+package com.financemanager.webapp.repository;
+
+import com.financemanager.webapp.model.AnalyticsUserFirstActivity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AnalyticsUserFirstActivityRepository extends JpaRepository<AnalyticsUserFirstActivity, Long> {
+
+    /**
+     * Finds the first-transaction dates of a user-ID range (an analytics partition).
+     *
+     * @param fromUserId Lowest user ID (inclusive).
+     * @param toUserId   Highest user ID (inclusive).
+     * @return One row per user who had transactions at the last refresh.
+     */
+    List<AnalyticsUserFirstActivity> findByUserIdBetween(Long fromUserId, Long toUserId);
+
+    /**
+     * Deletes the rows of users who no longer have any transactions.
+     *
+     * @param userIds The users.
+     */
+    @Modifying
+    @Query("DELETE FROM AnalyticsUserFirstActivity f WHERE f.userId IN :userIds")
+    void deleteByUserIdIn(@Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,42 @@
+package com.financemanager.webapp.repository;
+
+import com.financemanager.webapp.model.BudgetAlert;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, Long> {
+
+    /**
+     * Finds a user's most recent budget alerts.
+     *
+     * @param userId   The ID of the user.
+     * @param pageable How many alerts to return.
+     * @return Alerts, newest first, with their budget and category.
+     */
+    @EntityGraph(attributePaths = {"budget", "budget.category"})
+    List<BudgetAlert> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+
+    /**
+     * Checks if an alert was already raised for a budget, month and threshold.
+     *
+     * @return true if the alert exists.
+     */
+    boolean existsByBudgetIdAndYearAndMonthAndThresholdPercent(Long budgetId, int year, int month, int thresholdPercent);
+
+    /**
+     * Deletes every alert of a budget (used when the budget itself is deleted).
+     *
+     * @param budgetId The ID of the budget.
+     */
+    @Modifying
+    @Query("DELETE FROM BudgetAlert a WHERE a.budget.id = :budgetId")
+    void deleteByBudgetId(@Param("budgetId") Long budgetId);
+}
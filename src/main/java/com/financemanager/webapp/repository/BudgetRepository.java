@@ -0,0 +1,49 @@
+package com.financemanager.webapp.repository;
+
+import com.financemanager.webapp.model.Budget;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+
+    /**
+     * Finds all budgets of a user, with their categories.
+     *
+     * @param userId The ID of the user.
+     * @return The user's budgets.
+     */
+    @EntityGraph(attributePaths = {"category"})
+    List<Budget> findByUserId(Long userId);
+
+    /**
+     * Finds a specific budget by its ID and the ID of its owner user.
+     *
+     * @param id     The ID of the budget.
+     * @param userId The ID of the user who owns the budget.
+     * @return An Optional containing the budget if found and owned by the user, otherwise empty.
+     */
+    Optional<Budget> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Finds the budget of a user for a category, if any.
+     *
+     * @param userId     The ID of the user.
+     * @param categoryId The ID of the category.
+     * @return An Optional containing the budget if one is set.
+     */
+    Optional<Budget> findByUserIdAndCategoryId(Long userId, Long categoryId);
+
+    /**
+     * Checks if a user already has a budget for a category (one budget per category).
+     *
+     * @param userId     The ID of the user.
+     * @param categoryId The ID of the category.
+     * @return true if a budget exists.
+     */
+    boolean existsByUserIdAndCategoryId(Long userId, Long categoryId);
+}
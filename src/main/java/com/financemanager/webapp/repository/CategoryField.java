@@ -0,0 +1,36 @@
+package com.financemanager.webapp.repository;
+
+/**
+ * Category fields a client can ask for with {@code fields=}, each mapped to the JPQL path
+ * (alias {@code c}) it is selected from.
+ */
+public enum CategoryField {
+    ID("id", "c.id"),
+    NAME("name", "c.name");
+
+    private final String fieldName;
+    private final String path;
+
+    CategoryField(String fieldName, String path) {
+        this.fieldName = fieldName;
+        this.path = path;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    // Returns null for names that aren't a CategoryDTO field
+    public static CategoryField fromFieldName(String fieldName) {
+        for (CategoryField field : values()) {
+            if (field.fieldName.equals(fieldName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
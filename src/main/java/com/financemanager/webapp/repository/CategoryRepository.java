@@ -8,7 +8,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CategoryRepository extends JpaRepository<Category, Long> { // Entity: Category, Primary Key Type: Long
+public interface CategoryRepository extends JpaRepository<Category, Long>, CategoryRepositoryCustom { // Entity: Category, Primary Key Type: Long
 
     /**
      * Finds all categories belonging to a specific user, ordered by name.
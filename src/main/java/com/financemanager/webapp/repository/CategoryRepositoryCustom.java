@@ -0,0 +1,18 @@
+package com.financemanager.webapp.repository;
+
+import java.util.List;
+
+/**
+ * Category queries whose SELECT list is chosen at runtime. Implemented in {@link CategoryRepositoryImpl}.
+ */
+public interface CategoryRepositoryCustom {
+
+    /**
+     * Selects only the given fields of a user's categories, ordered by name.
+     *
+     * @param userId The ID of the user whose categories are to be retrieved.
+     * @param fields The fields to select; must not be empty.
+     * @return One array per category holding the values of {@code fields}, in the same order.
+     */
+    List<Object[]> findFieldsByUserIdOrderByNameAsc(Long userId, List<CategoryField> fields);
+}
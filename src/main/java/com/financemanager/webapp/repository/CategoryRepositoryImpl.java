@@ -0,0 +1,23 @@
+package com.financemanager.webapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class CategoryRepositoryImpl implements CategoryRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Object[]> findFieldsByUserIdOrderByNameAsc(Long userId, List<CategoryField> fields) {
+        // Paths come from the CategoryField enum, never from user input
+        String select = fields.stream().map(CategoryField::getPath).collect(Collectors.joining(", "));
+        return entityManager.createQuery(
+                        "SELECT " + select + " FROM Category c WHERE c.user.id = :userId ORDER BY c.name ASC", Object[].class)
+                .setParameter("userId", userId)
+                .getResultList();
+    }
+}
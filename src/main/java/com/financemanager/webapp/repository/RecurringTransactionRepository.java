@@ -0,0 +1,44 @@
+package com.financemanager.webapp.repository;
+
+import com.financemanager.webapp.model.RecurringTransaction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {
+
+    /**
+     * Lists a user's recurring transaction rules, soonest next run first.
+     *
+     * @param userId The ID of the user.
+     * @return The user's rules.
+     */
+    List<RecurringTransaction> findByUserIdOrderByNextRunDateAsc(Long userId);
+
+    /**
+     * Finds a specific rule by its ID and the ID of its owner user.
+     *
+     * @param id     The ID of the rule.
+     * @param userId The ID of the user who owns the rule.
+     * @return An Optional containing the rule if found and owned by the user, otherwise empty.
+     */
+    Optional<RecurringTransaction> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Finds the next batch of active rules that are due on or before the given date, oldest due first.
+     * Reads only the head of the (active, next_run_date) index, so it stays cheap however many rules exist.
+     * User and category are fetched in the same query since every due rule creates a transaction.
+     *
+     * @param date     Rules due on or before this date are returned.
+     * @param pageable Batch size (use page 0; materialized rules move out of the result).
+     * @return Due rules ordered by next run date.
+     */
+    @EntityGraph(attributePaths = {"user", "category"})
+    List<RecurringTransaction> findByActiveTrueAndNextRunDateLessThanEqualOrderByNextRunDateAsc(LocalDate date, Pageable pageable);
+}
@@ -0,0 +1,146 @@
+package com.financemanager.webapp.repository;
+
+import com.financemanager.webapp.model.ReportJob;
+import com.financemanager.webapp.model.ReportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    /**
+     * Finds a specific report job by its ID and the ID of the user who submitted it.
+     *
+     * @param id     The ID of the job.
+     * @param userId The ID of the user who owns the job.
+     * @return An Optional containing the job if found and owned by the user, otherwise empty.
+     */
+    Optional<ReportJob> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Lists a user's jobs, newest first.
+     *
+     * @param userId The ID of the user.
+     * @return The user's jobs ordered by creation time descending.
+     */
+    List<ReportJob> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    /**
+     * Counts a user's jobs in any of the given states.
+     * Used to enforce the per-user limit on queued/running jobs.
+     *
+     * @param userId   The ID of the user.
+     * @param statuses The states to count.
+     * @return The number of matching jobs.
+     */
+    long countByUserIdAndStatusIn(Long userId, Collection<ReportJobStatus> statuses);
+
+    /**
+     * Finds jobs no live worker is handling, oldest first: queued jobs created before {@code queuedBefore},
+     * and running jobs whose owner stopped renewing the heartbeat before {@code heartbeatBefore}.
+     * Used to take over jobs an instance left behind when it stopped.
+     *
+     * @param queuedBefore    Queued jobs created before this are returned.
+     * @param heartbeatBefore Running jobs last renewed before this (or never) are returned.
+     * @return The matching jobs ordered by creation time ascending.
+     */
+    @Query("SELECT j FROM ReportJob j " +
+           "WHERE (j.status = com.financemanager.webapp.model.ReportJobStatus.QUEUED AND j.createdAt < :queuedBefore) " +
+           "OR (j.status = com.financemanager.webapp.model.ReportJobStatus.RUNNING " +
+           "AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :heartbeatBefore)) " +
+           "ORDER BY j.createdAt ASC")
+    List<ReportJob> findUnclaimed(@Param("queuedBefore") LocalDateTime queuedBefore,
+                                  @Param("heartbeatBefore") LocalDateTime heartbeatBefore);
+
+    /**
+     * Moves a queued job to RUNNING for the given instance. Conditional on the job still being queued,
+     * so when the same job was handed to several workers exactly one of them claims it.
+     *
+     * @param id    The ID of the job.
+     * @param owner The ID of the claiming instance.
+     * @param now   The start time, also the first heartbeat.
+     * @return 1 if this call claimed the job, 0 if it was no longer queued.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.status = com.financemanager.webapp.model.ReportJobStatus.RUNNING, " +
+           "j.ownerInstance = :owner, j.startedAt = :now, j.heartbeatAt = :now " +
+           "WHERE j.id = :id AND j.status = com.financemanager.webapp.model.ReportJobStatus.QUEUED")
+    int claim(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    /**
+     * Renews the heartbeat of the given jobs that the instance is still running.
+     *
+     * @param owner The ID of the running instance.
+     * @param ids   The IDs of the jobs it is running.
+     * @param now   The new heartbeat.
+     * @return The number of jobs renewed.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.heartbeatAt = :now " +
+           "WHERE j.id IN :ids AND j.ownerInstance = :owner " +
+           "AND j.status = com.financemanager.webapp.model.ReportJobStatus.RUNNING")
+    int renewHeartbeat(@Param("owner") String owner, @Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Puts a running job back in the queue if its heartbeat is still older than {@code heartbeatBefore},
+     * so a job whose owner renewed it in the meantime is left alone.
+     *
+     * @param id              The ID of the job.
+     * @param heartbeatBefore The staleness cut-off.
+     * @return 1 if the job was re-queued, 0 otherwise.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.status = com.financemanager.webapp.model.ReportJobStatus.QUEUED, " +
+           "j.ownerInstance = NULL, j.startedAt = NULL, j.heartbeatAt = NULL " +
+           "WHERE j.id = :id AND j.status = com.financemanager.webapp.model.ReportJobStatus.RUNNING " +
+           "AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :heartbeatBefore)")
+    int requeueIfStale(@Param("id") Long id, @Param("heartbeatBefore") LocalDateTime heartbeatBefore);
+
+    /**
+     * Records the outcome of a running job, if the instance still owns it; a job re-queued and claimed
+     * elsewhere in the meantime keeps the other run's outcome.
+     *
+     * @param id           The ID of the job.
+     * @param owner        The ID of the instance that ran it.
+     * @param status       COMPLETED or FAILED.
+     * @param resultJson   The serialized report, or null if it failed.
+     * @param errorMessage The failure reason, or null if it completed.
+     * @param now          The completion time.
+     * @return 1 if the outcome was recorded, 0 if the instance no longer owned the job.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.status = :status, j.resultJson = :resultJson, j.errorMessage = :errorMessage, " +
+           "j.completedAt = :now WHERE j.id = :id AND j.ownerInstance = :owner " +
+           "AND j.status = com.financemanager.webapp.model.ReportJobStatus.RUNNING")
+    int finish(@Param("id") Long id, @Param("owner") String owner, @Param("status") ReportJobStatus status,
+               @Param("resultJson") String resultJson, @Param("errorMessage") String errorMessage,
+               @Param("now") LocalDateTime now);
+
+    /**
+     * Fails a job that is still queued, e.g. when no worker queue would accept it.
+     *
+     * @param id           The ID of the job.
+     * @param errorMessage The failure reason.
+     * @param now          The completion time.
+     * @return 1 if the job was failed, 0 if it had already been claimed.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ReportJob j SET j.status = com.financemanager.webapp.model.ReportJobStatus.FAILED, " +
+           "j.errorMessage = :errorMessage, j.completedAt = :now " +
+           "WHERE j.id = :id AND j.status = com.financemanager.webapp.model.ReportJobStatus.QUEUED")
+    int failIfQueued(@Param("id") Long id, @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,68 @@
+package com.financemanager.webapp.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Year;
+
+/**
+ * Tracks the date before which transactions may live in the archive table, so range queries
+ * that stay on the hot side never touch the archive at all.
+ *
+ * <p>While archiving is enabled the boundary is derived from configuration alone: January 1st of the oldest
+ * hot year. Every instance computes the same date from the clock, and it moves forward at the turn of the
+ * year, hours before the archiver moves anything, so a reader can never miss a row that has left the hot table.
+ * With archiving disabled, rows archived earlier are still found through the newest archived date.</p>
+ */
+@Component
+public class TransactionArchiveBoundary {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.hot-years:2}")
+    private int hotYears; // Current year plus (hotYears - 1) previous years stay in the hot table
+
+    private volatile boolean loaded;
+    private volatile LocalDate maxArchivedBefore; // Only used while archiving is disabled
+
+    /**
+     * Returns true if archived transactions may fall in a range starting at {@code startDate}
+     * ({@code null} for an unbounded range).
+     */
+    public boolean reaches(LocalDate startDate) {
+        LocalDate boundary = archivedBefore();
+        return boundary != null && (startDate == null || startDate.isBefore(boundary));
+    }
+
+    /**
+     * Returns the date (exclusive) before which the archiver moves rows: January 1st of the oldest hot year.
+     */
+    public LocalDate cutoff() {
+        return LocalDate.of(Year.now().getValue() - Math.max(hotYears, 1) + 1, 1, 1);
+    }
+
+    private LocalDate archivedBefore() {
+        if (enabled) {
+            return cutoff();
+        }
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    LocalDate maxArchivedDate = entityManager
+                            .createQuery("SELECT MAX(a.date) FROM ArchivedTransaction a", LocalDate.class)
+                            .getSingleResult();
+                    maxArchivedBefore = maxArchivedDate != null ? maxArchivedDate.plusDays(1) : null;
+                    loaded = true;
+                }
+            }
+        }
+        return maxArchivedBefore;
+    }
+}
@@ -0,0 +1,54 @@
+package com.financemanager.webapp.repository;
+
+import com.financemanager.webapp.dto.TransactionDTO;
+
+import java.util.function.Function;
+
+/**
+ * Transaction fields a client can ask for with {@code fields=}, each mapped to the JPQL path it is
+ * selected from (alias {@code t} for the transaction, {@code c} for its category). Only the requested
+ * paths go into the SELECT, so unrequested columns are never read or hydrated.
+ */
+public enum TransactionField {
+    ID("id", "t.id", TransactionDTO::getId),
+    TYPE("type", "t.type", TransactionDTO::getType),
+    AMOUNT("amount", "t.amount", TransactionDTO::getAmount),
+    DESCRIPTION("description", "t.description", TransactionDTO::getDescription),
+    DATE("date", "t.date", TransactionDTO::getDate),
+    CATEGORY_ID("categoryId", "t.category.id", TransactionDTO::getCategoryId),
+    CATEGORY_NAME("categoryName", "c.name", TransactionDTO::getCategoryName), // Needs the category join
+    CURRENCY("currency", "t.currency", TransactionDTO::getCurrency);
+
+    private final String fieldName;
+    private final String path;
+    private final Function<TransactionDTO, Object> getter;
+
+    TransactionField(String fieldName, String path, Function<TransactionDTO, Object> getter) {
+        this.fieldName = fieldName;
+        this.path = path;
+        this.getter = getter;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    // Same value, read from a DTO (e.g. a queued write-behind row that isn't in the table yet)
+    public Object valueOf(TransactionDTO dto) {
+        return getter.apply(dto);
+    }
+
+    // Returns null for names that aren't a TransactionDTO field
+    public static TransactionField fromFieldName(String fieldName) {
+        for (TransactionField field : values()) {
+            if (field.fieldName.equals(fieldName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
@@ -1,30 +1,22 @@
 package com.financemanager.webapp.repository;
 
 import com.financemanager.webapp.model.Transaction;
-import com.financemanager.webapp.model.TransactionType;
 import org.springframework.data.jpa.repository.JpaRepository;
-// Optional: Import Query if you need custom JPQL or SQL queries
-// import org.springframework.data.jpa.repository.Query;
-// import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+// Read queries that span history live in TransactionRepositoryCustom, which also reads the archive table
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> { // Entity: Transaction, PK Type: Long
-
-    /**
-     * Finds all transactions belonging to a specific user, ordered by date descending.
-     *
-     * @param userId The ID of the user whose transactions are to be retrieved.
-     * @return A list of transactions for the user, ordered by date descending.
-     */
-    List<Transaction> findByUserIdOrderByDateDesc(Long userId);
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionRepositoryCustom { // Entity: Transaction, PK Type: Long
 
     /**
      * Finds a specific transaction by its ID and the ID of its owner user.
+     * Only searches the hot table, for writes: archived transactions are read-only, see findArchivedIdsByUserIdAndIdIn.
      *
      * @param id     The ID of the transaction.
      * @param userId The ID of the user who owns the transaction.
@@ -33,29 +25,33 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     Optional<Transaction> findByIdAndUserId(Long id, Long userId);
 
     /**
-     * Finds all transactions for a specific user within a given date range (inclusive).
-     * Useful for fetching data for reports before aggregation.
+     * Finds several of a user's transactions by ID in one query, e.g. all rows a batch touches.
+     * Only searches the hot table, for writes: archived transactions are read-only, see findArchivedIdsByUserIdAndIdIn.
      *
-     * @param userId    The ID of the user.
-     * @param startDate The start date of the range.
-     * @param endDate   The end date of the range.
-     * @return A list of transactions within the specified date range for the user.
+     * @param userId The ID of the user who owns the transactions.
+     * @param ids    The transaction IDs.
+     * @return The matching transactions; IDs that don't exist or belong to another user are absent.
      */
-    List<Transaction> findByUserIdAndDateBetweenOrderByDateDesc(Long userId, LocalDate startDate, LocalDate endDate);
-
+    List<Transaction> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
 
     /**
-     * Finds all transactions for a specific user of a specific type within a given date range.
-     * Used for calculating total income or total expenses for summaries.
+     * Finds a user's transactions that were stored before fingerprints existed.
      *
-     * @param userId    The ID of the user.
-     * @param type      The type of transaction (INCOME or EXPENSE).
-     * @param startDate The start date of the range.
-     * @param endDate   The end date of the range.
-     * @return A list of transactions matching the criteria.
+     * @param userId The ID of the user.
+     * @return Transactions whose fingerprint still has to be computed.
      */
-    List<Transaction> findByUserIdAndTypeAndDateBetween(Long userId, TransactionType type, LocalDate startDate, LocalDate endDate);
+    List<Transaction> findByUserIdAndFingerprintIsNull(Long userId);
 
+    /**
+     * Returns which sequences of a write-behind log are already stored, so a replayed batch skips them.
+     * Served by the unique (ingest_log_id, ingest_sequence) key.
+     *
+     * @param ingestLogId The ID of the write-behind log.
+     * @param sequences   The sequences of the batch.
+     * @return The subset of sequences that already have a row.
+     */
+    @Query("SELECT t.ingestSequence FROM Transaction t WHERE t.ingestLogId = :ingestLogId AND t.ingestSequence IN :sequences")
+    List<Long> findIngestSequences(@Param("ingestLogId") String ingestLogId, @Param("sequences") Collection<Long> sequences);
 
     // --- Optional: More efficient ways using @Query for aggregations ---
     // If performance becomes an issue with large datasets, consider JPQL queries like these:
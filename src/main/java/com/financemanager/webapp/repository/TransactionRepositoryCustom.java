@@ -0,0 +1,174 @@
+package com.financemanager.webapp.repository;
+
+import com.financemanager.webapp.dto.DailyTotalDTO;
+import com.financemanager.webapp.dto.SearchDocumentDTO;
+import com.financemanager.webapp.model.Transaction;
+import com.financemanager.webapp.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Transaction read queries that cover the whole history. Implemented in {@link TransactionRepositoryImpl},
+ * which reads the hot {@code transactions} table and, when the requested range reaches into archived
+ * years, the {@code transactions_archive} table as well, merging the results.
+ * Call these inside a transaction so both tables are read from the same snapshot.
+ * Also holds the JDBC batch insert used by every bulk create path.
+ */
+public interface TransactionRepositoryCustom {
+
+    /**
+     * Finds all transactions belonging to a specific user, ordered by date descending.
+     *
+     * @param userId The ID of the user whose transactions are to be retrieved.
+     * @return A list of transactions for the user, ordered by date descending.
+     */
+    List<Transaction> findByUserIdOrderByDateDesc(Long userId);
+
+    /**
+     * Selects only the given fields of a user's transactions, ordered by date descending.
+     * The category is joined only if {@link TransactionField#CATEGORY_NAME} is requested.
+     *
+     * @param userId The ID of the user whose transactions are to be retrieved.
+     * @param fields The fields to select; must include {@link TransactionField#DATE}, which is the sort key.
+     * @return One array per transaction holding the values of {@code fields}, in the same order.
+     */
+    List<Object[]> findFieldsByUserIdOrderByDateDesc(Long userId, List<TransactionField> fields);
+
+    /**
+     * Finds all transactions for a specific user within a given date range (inclusive).
+     * Useful for fetching data for reports before aggregation.
+     *
+     * @param userId    The ID of the user.
+     * @param startDate The start date of the range.
+     * @param endDate   The end date of the range.
+     * @return A list of transactions within the specified date range for the user.
+     */
+    List<Transaction> findByUserIdAndDateBetweenOrderByDateDesc(Long userId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Finds all transactions for a specific user of a specific type within a given date range.
+     * Used for calculating total income or total expenses for summaries.
+     *
+     * @param userId    The ID of the user.
+     * @param type      The type of transaction (INCOME or EXPENSE).
+     * @param startDate The start date of the range.
+     * @param endDate   The end date of the range.
+     * @return A list of transactions matching the criteria.
+     */
+    List<Transaction> findByUserIdAndTypeAndDateBetween(Long userId, TransactionType type, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Aggregates a user's transactions per day, type, category and currency within a date range (inclusive).
+     * Rows are ordered by date, so callers can bucket them (day/week/month) in a single pass
+     * without ever loading Transaction entities. Amounts are in each row's own currency.
+     *
+     * @param userId    The ID of the user.
+     * @param startDate The start date of the range.
+     * @param endDate   The end date of the range.
+     * @return One row per (date, type, category, currency) that has transactions, ordered by date ascending.
+     */
+    List<DailyTotalDTO> findDailyTotalsByUserIdAndDateBetween(
+            Long userId,
+            LocalDate startDate,
+            LocalDate endDate);
+
+    /**
+     * Loads specific transactions of a user together with their categories in one query.
+     * Used to hydrate search hits without an extra query per row for the category name.
+     *
+     * @param userId The ID of the user.
+     * @param ids    The IDs of the transactions to load.
+     * @return The matching transactions, in no particular order.
+     */
+    List<Transaction> findWithCategoryByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    /**
+     * Finds a transaction by its ID and user ID, in the hot table or else in the archive.
+     * An archived row comes back as a detached copy with {@link Transaction#isArchived()} set; it can't be saved.
+     *
+     * @param id     The ID of the transaction.
+     * @param userId The ID of the user.
+     * @return An Optional containing the transaction if found, or empty otherwise.
+     */
+    Optional<Transaction> findIncludingArchiveByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Returns which of the given IDs belong to archived (read-only) transactions of a user.
+     * Used to tell "archived" apart from "not found" when a write misses the hot table.
+     *
+     * @param userId The ID of the user.
+     * @param ids    The IDs to look up.
+     * @return The subset of IDs that are in the archive.
+     */
+    List<Long> findArchivedIdsByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    /**
+     * Loads the searchable fields of every described transaction of a user.
+     * Used to (re)build the description search index without hydrating entities.
+     *
+     * @param userId The ID of the user.
+     * @return One row per transaction that has a description.
+     */
+    List<SearchDocumentDTO> findSearchDocumentsByUserId(Long userId);
+
+    /**
+     * Counts a user's transactions that have a description.
+     * Used to check that a persisted search index still matches the database.
+     *
+     * @param userId The ID of the user.
+     * @return The number of described transactions.
+     */
+    long countByUserIdAndDescriptionIsNotNull(Long userId);
+
+    /**
+     * Counts how many of a user's stored transactions have each of the given fingerprints.
+     * Served by the (user_id, fingerprint) index; used to probe import batches for duplicates.
+     *
+     * @param userId       The ID of the user.
+     * @param fingerprints The fingerprints to look up.
+     * @return Stored rows per fingerprint, hot and archived; fingerprints with none are absent.
+     */
+    Map<Long, Long> countExistingFingerprints(Long userId, Collection<Long> fingerprints);
+
+    /**
+     * Returns every stored fingerprint of a user, used to build the user's Bloom filter.
+     *
+     * @param userId The ID of the user.
+     * @return All non-null fingerprints of the user's transactions.
+     */
+    List<Long> findFingerprintsByUserId(Long userId);
+
+    /**
+     * Inserts new transactions into the hot table as one JDBC batch and sets their generated IDs.
+     * IDENTITY ids keep Hibernate from batching inserts, so bulk creates (imports, batches, recurring
+     * occurrences, write-behind flushes) go through here; with {@code rewriteBatchedStatements=true} the
+     * driver sends them as multi-row INSERTs. The entities are not attached to the persistence context.
+     * Call this inside a transaction; it shares its connection.
+     *
+     * @param transactions New transactions (without IDs) whose user and category are already stored.
+     */
+    void insertAll(List<Transaction> transactions);
+
+    /**
+     * Sums a user's transactions of one type and category within a date range (inclusive).
+     * Used to seed running budget counters; computed in the database, no entities are loaded.
+     *
+     * @param userId     The ID of the user.
+     * @param categoryId The ID of the category.
+     * @param type       The type of transaction (INCOME or EXPENSE).
+     * @param startDate  The start date of the range.
+     * @param endDate    The end date of the range.
+     * @return The total amount, or zero if there are no matching transactions.
+     */
+    BigDecimal sumAmountByUserIdAndCategoryIdAndTypeAndDateBetween(
+            Long userId,
+            Long categoryId,
+            TransactionType type,
+            LocalDate startDate,
+            LocalDate endDate);
+}
@@ -0,0 +1,349 @@
+package com.financemanager.webapp.repository;
+
+import com.financemanager.webapp.dto.DailyTotalDTO;
+import com.financemanager.webapp.dto.SearchDocumentDTO;
+import com.financemanager.webapp.model.ArchivedTransaction;
+import com.financemanager.webapp.model.Transaction;
+import com.financemanager.webapp.model.TransactionType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Hot/archive aware implementation of {@link TransactionRepositoryCustom}.
+ * Each method runs the same query against {@code Transaction} and, only if the range reaches
+ * past the {@link TransactionArchiveBoundary}, against {@code ArchivedTransaction}.
+ */
+public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO transactions " +
+            "(type, amount, description, date, currency, fingerprint_v2, ingest_log_id, ingest_sequence, user_id, category_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final Comparator<Transaction> BY_DATE_DESC = Comparator.comparing(Transaction::getDate).reversed();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionArchiveBoundary archiveBoundary;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Transaction> findByUserIdOrderByDateDesc(Long userId) {
+        List<Transaction> transactions = entityManager.createQuery(
+                        "SELECT t FROM Transaction t WHERE t.user.id = :userId ORDER BY t.date DESC", Transaction.class)
+                .setParameter("userId", userId)
+                .getResultList();
+        if (!archiveBoundary.reaches(null)) {
+            return transactions;
+        }
+        List<ArchivedTransaction> archived = entityManager.createQuery(
+                        "SELECT a FROM ArchivedTransaction a WHERE a.user.id = :userId ORDER BY a.date DESC", ArchivedTransaction.class)
+                .setParameter("userId", userId)
+                .getResultList();
+        return mergeByDateDesc(transactions, archived);
+    }
+
+    @Override
+    public List<Object[]> findFieldsByUserIdOrderByDateDesc(Long userId, List<TransactionField> fields) {
+        int dateIndex = fields.indexOf(TransactionField.DATE);
+        if (dateIndex < 0) {
+            throw new IllegalArgumentException("fields must include DATE");
+        }
+        List<Object[]> rows = fieldRows("Transaction", userId, fields);
+        if (archiveBoundary.reaches(null)) {
+            rows.addAll(fieldRows("ArchivedTransaction", userId, fields));
+            rows.sort(Comparator.comparing((Object[] row) -> (LocalDate) row[dateIndex]).reversed());
+        }
+        return rows;
+    }
+
+    @Override
+    public List<Transaction> findByUserIdAndDateBetweenOrderByDateDesc(Long userId, LocalDate startDate, LocalDate endDate) {
+        List<Transaction> transactions = entityManager.createQuery(
+                        "SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.date BETWEEN :startDate AND :endDate " +
+                        "ORDER BY t.date DESC", Transaction.class)
+                .setParameter("userId", userId)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .getResultList();
+        if (!archiveBoundary.reaches(startDate)) {
+            return transactions;
+        }
+        List<ArchivedTransaction> archived = entityManager.createQuery(
+                        "SELECT a FROM ArchivedTransaction a WHERE a.user.id = :userId AND a.date BETWEEN :startDate AND :endDate " +
+                        "ORDER BY a.date DESC", ArchivedTransaction.class)
+                .setParameter("userId", userId)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .getResultList();
+        return mergeByDateDesc(transactions, archived);
+    }
+
+    @Override
+    public List<Transaction> findByUserIdAndTypeAndDateBetween(Long userId, TransactionType type, LocalDate startDate, LocalDate endDate) {
+        List<Transaction> transactions = entityManager.createQuery(
+                        "SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.type = :type " +
+                        "AND t.date BETWEEN :startDate AND :endDate", Transaction.class)
+                .setParameter("userId", userId)
+                .setParameter("type", type)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .getResultList();
+        if (!archiveBoundary.reaches(startDate)) {
+            return transactions;
+        }
+        List<Transaction> merged = new ArrayList<>(transactions);
+        entityManager.createQuery(
+                        "SELECT a FROM ArchivedTransaction a WHERE a.user.id = :userId AND a.type = :type " +
+                        "AND a.date BETWEEN :startDate AND :endDate", ArchivedTransaction.class)
+                .setParameter("userId", userId)
+                .setParameter("type", type)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .getResultList()
+                .forEach(archivedTransaction -> merged.add(archivedTransaction.toTransaction()));
+        return merged;
+    }
+
+    @Override
+    public List<DailyTotalDTO> findDailyTotalsByUserIdAndDateBetween(Long userId, LocalDate startDate, LocalDate endDate) {
+        List<DailyTotalDTO> rows = dailyTotals("Transaction", userId, startDate, endDate);
+        if (!archiveBoundary.reaches(startDate)) {
+            return rows;
+        }
+        // A date can appear in both tables (e.g. a late entry for an archived year); callers sum rows,
+        // so two rows for the same (date, type, category, currency) are harmless. Only the order matters.
+        List<DailyTotalDTO> merged = dailyTotals("ArchivedTransaction", userId, startDate, endDate);
+        merged.addAll(rows);
+        merged.sort(Comparator.comparing(DailyTotalDTO::getDate));
+        return merged;
+    }
+
+    @Override
+    public List<Transaction> findWithCategoryByUserIdAndIdIn(Long userId, Collection<Long> ids) {
+        List<Transaction> transactions = entityManager.createQuery(
+                        "SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.user.id = :userId AND t.id IN :ids", Transaction.class)
+                .setParameter("userId", userId)
+                .setParameter("ids", ids)
+                .getResultList();
+        if (transactions.size() == ids.size() || !archiveBoundary.reaches(null)) {
+            return transactions;
+        }
+        // Archived rows keep their IDs, so only the IDs not found in the hot table are looked up there
+        Set<Long> missing = new HashSet<>(ids);
+        transactions.forEach(transaction -> missing.remove(transaction.getId()));
+        List<Transaction> merged = new ArrayList<>(transactions);
+        entityManager.createQuery(
+                        "SELECT a FROM ArchivedTransaction a JOIN FETCH a.category WHERE a.user.id = :userId AND a.id IN :ids",
+                        ArchivedTransaction.class)
+                .setParameter("userId", userId)
+                .setParameter("ids", missing)
+                .getResultList()
+                .forEach(archivedTransaction -> merged.add(archivedTransaction.toTransaction()));
+        return merged;
+    }
+
+    @Override
+    public Optional<Transaction> findIncludingArchiveByIdAndUserId(Long id, Long userId) {
+        List<Transaction> transactions = findWithCategoryByUserIdAndIdIn(userId, List.of(id));
+        return transactions.isEmpty() ? Optional.empty() : Optional.of(transactions.get(0));
+    }
+
+    @Override
+    public List<Long> findArchivedIdsByUserIdAndIdIn(Long userId, Collection<Long> ids) {
+        if (ids.isEmpty() || !archiveBoundary.reaches(null)) {
+            return List.of();
+        }
+        return entityManager.createQuery(
+                        "SELECT a.id FROM ArchivedTransaction a WHERE a.user.id = :userId AND a.id IN :ids", Long.class)
+                .setParameter("userId", userId)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    @Override
+    public List<SearchDocumentDTO> findSearchDocumentsByUserId(Long userId) {
+        List<SearchDocumentDTO> documents = searchDocuments("Transaction", userId);
+        if (archiveBoundary.reaches(null)) {
+            documents.addAll(searchDocuments("ArchivedTransaction", userId));
+        }
+        return documents;
+    }
+
+    @Override
+    public long countByUserIdAndDescriptionIsNotNull(Long userId) {
+        long count = countDescribed("Transaction", userId);
+        return archiveBoundary.reaches(null) ? count + countDescribed("ArchivedTransaction", userId) : count;
+    }
+
+    @Override
+    public Map<Long, Long> countExistingFingerprints(Long userId, Collection<Long> fingerprints) {
+        Map<Long, Long> counts = new HashMap<>();
+        countFingerprints("Transaction", userId, fingerprints, counts);
+        if (archiveBoundary.reaches(null)) {
+            countFingerprints("ArchivedTransaction", userId, fingerprints, counts);
+        }
+        return counts;
+    }
+
+    @Override
+    public List<Long> findFingerprintsByUserId(Long userId) {
+        List<Long> all = new ArrayList<>(fingerprints("Transaction", userId));
+        if (archiveBoundary.reaches(null)) {
+            all.addAll(fingerprints("ArchivedTransaction", userId));
+        }
+        return all;
+    }
+
+    @Override
+    public void insertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Transaction transaction = transactions.get(i);
+                        statement.setString(1, transaction.getType().name());
+                        statement.setBigDecimal(2, transaction.getAmount());
+                        statement.setString(3, transaction.getDescription());
+                        statement.setDate(4, Date.valueOf(transaction.getDate()));
+                        statement.setString(5, transaction.getCurrency());
+                        statement.setObject(6, transaction.getFingerprint(), Types.BIGINT);
+                        statement.setString(7, transaction.getIngestLogId());
+                        statement.setObject(8, transaction.getIngestSequence(), Types.BIGINT);
+                        statement.setLong(9, transaction.getUser().getId());
+                        statement.setLong(10, transaction.getCategory().getId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return transactions.size();
+                    }
+                }, keyHolder);
+        // Keys come back in statement order, one per row
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < transactions.size(); i++) {
+            transactions.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    @Override
+    public BigDecimal sumAmountByUserIdAndCategoryIdAndTypeAndDateBetween(Long userId, Long categoryId, TransactionType type,
+                                                                          LocalDate startDate, LocalDate endDate) {
+        BigDecimal total = sumAmount("Transaction", userId, categoryId, type, startDate, endDate);
+        return archiveBoundary.reaches(startDate)
+                ? total.add(sumAmount("ArchivedTransaction", userId, categoryId, type, startDate, endDate))
+                : total;
+    }
+
+    // --- Helpers ---
+    // Queries below are identical for both tables; only the entity name differs (a fixed constant, never user input).
+
+    private List<Object[]> fieldRows(String entity, Long userId, List<TransactionField> fields) {
+        // Paths come from the TransactionField enum, never from user input
+        String select = fields.stream().map(TransactionField::getPath).collect(Collectors.joining(", "));
+        String join = fields.contains(TransactionField.CATEGORY_NAME) ? " JOIN t.category c" : "";
+        return new ArrayList<>(entityManager.createQuery(
+                        "SELECT " + select + " FROM " + entity + " t" + join + " WHERE t.user.id = :userId ORDER BY t.date DESC",
+                        Object[].class)
+                .setParameter("userId", userId)
+                .getResultList());
+    }
+
+    private List<DailyTotalDTO> dailyTotals(String entity, Long userId, LocalDate startDate, LocalDate endDate) {
+        return new ArrayList<>(entityManager.createQuery(
+                        "SELECT NEW com.financemanager.webapp.dto.DailyTotalDTO(t.date, t.type, c.id, c.name, t.currency, SUM(t.amount)) " +
+                        "FROM " + entity + " t JOIN t.category c " +
+                        "WHERE t.user.id = :userId AND t.date BETWEEN :startDate AND :endDate " +
+                        "GROUP BY t.date, t.type, c.id, c.name, t.currency " +
+                        "ORDER BY t.date ASC", DailyTotalDTO.class)
+                .setParameter("userId", userId)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .getResultList());
+    }
+
+    private List<SearchDocumentDTO> searchDocuments(String entity, Long userId) {
+        return new ArrayList<>(entityManager.createQuery(
+                        "SELECT NEW com.financemanager.webapp.dto.SearchDocumentDTO(t.id, t.description, t.date, t.category.id) " +
+                        "FROM " + entity + " t WHERE t.user.id = :userId AND t.description IS NOT NULL", SearchDocumentDTO.class)
+                .setParameter("userId", userId)
+                .getResultList());
+    }
+
+    private long countDescribed(String entity, Long userId) {
+        return entityManager.createQuery(
+                        "SELECT COUNT(t) FROM " + entity + " t WHERE t.user.id = :userId AND t.description IS NOT NULL", Long.class)
+                .setParameter("userId", userId)
+                .getSingleResult();
+    }
+
+    private void countFingerprints(String entity, Long userId, Collection<Long> fingerprints, Map<Long, Long> counts) {
+        List<Object[]> rows = entityManager.createQuery(
+                        "SELECT t.fingerprint, COUNT(t) FROM " + entity + " t " +
+                        "WHERE t.user.id = :userId AND t.fingerprint IN :fingerprints GROUP BY t.fingerprint", Object[].class)
+                .setParameter("userId", userId)
+                .setParameter("fingerprints", fingerprints)
+                .getResultList();
+        for (Object[] row : rows) {
+            counts.merge((Long) row[0], (Long) row[1], Long::sum);
+        }
+    }
+
+    private List<Long> fingerprints(String entity, Long userId) {
+        return entityManager.createQuery(
+                        "SELECT t.fingerprint FROM " + entity + " t WHERE t.user.id = :userId AND t.fingerprint IS NOT NULL", Long.class)
+                .setParameter("userId", userId)
+                .getResultList();
+    }
+
+    private BigDecimal sumAmount(String entity, Long userId, Long categoryId, TransactionType type, LocalDate startDate, LocalDate endDate) {
+        return entityManager.createQuery(
+                        "SELECT COALESCE(SUM(t.amount), 0) FROM " + entity + " t " +
+                        "WHERE t.user.id = :userId AND t.category.id = :categoryId AND t.type = :type " +
+                        "AND t.date BETWEEN :startDate AND :endDate", BigDecimal.class)
+                .setParameter("userId", userId)
+                .setParameter("categoryId", categoryId)
+                .setParameter("type", type)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .getSingleResult();
+    }
+
+    private static List<Transaction> mergeByDateDesc(List<Transaction> transactions, List<ArchivedTransaction> archived) {
+        List<Transaction> merged = new ArrayList<>(transactions.size() + archived.size());
+        merged.addAll(transactions);
+        archived.forEach(archivedTransaction -> merged.add(archivedTransaction.toTransaction()));
+        merged.sort(BY_DATE_DESC);
+        return merged;
+    }
+}
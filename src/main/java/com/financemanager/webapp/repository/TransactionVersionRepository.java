@@ -0,0 +1,35 @@
+package com.financemanager.webapp.repository;
+
+import com.financemanager.webapp.model.TransactionVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface TransactionVersionRepository extends JpaRepository<TransactionVersion, Long> {
+
+    /**
+     * Increments the user's version, creating it at 1 on the first write. Joins the caller's transaction,
+     * so the row stays locked (serializing the user's writers) until it commits.
+     *
+     * @param userId The ID of the user whose transactions are being written.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO transaction_versions (user_id, version) VALUES (:userId, 1) " +
+                   "ON DUPLICATE KEY UPDATE version = version + 1", nativeQuery = true)
+    void increment(@Param("userId") Long userId);
+
+    /**
+     * Finds the user's current version; absent if the user has never written a transaction.
+     *
+     * @param userId The ID of the user.
+     */
+    @Query("SELECT v.version FROM TransactionVersion v WHERE v.userId = :userId")
+    Optional<Long> findVersionByUserId(@Param("userId") Long userId);
+}
@@ -1,7 +1,11 @@
 package com.financemanager.webapp.repository;
 
 import com.financemanager.webapp.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -27,4 +31,15 @@ public interface UserRepository extends JpaRepository<User, Long> { // Entity: U
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Reads a user with a row lock (SELECT ... FOR UPDATE) held until the transaction ends.
+     * Used to serialize a user's concurrent report job submissions against the per-user limit.
+     *
+     * @param id The ID of the user.
+     * @return An Optional containing the locked User if found, otherwise empty.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
+
 }
\ No newline at end of file
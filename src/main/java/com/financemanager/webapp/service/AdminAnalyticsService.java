@@ -0,0 +1,18 @@
+package com.financemanager.webapp.service;
+
+import com.financemanager.webapp.dto.AnalyticsStatusDTO;
+import com.financemanager.webapp.dto.CategoryVolumeDTO;
+import com.financemanager.webapp.dto.MonthlyActivityDTO;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface AdminAnalyticsService {
+    AnalyticsStatusDTO refresh(boolean full); // Starts a background refresh, unless one is already running
+    AnalyticsStatusDTO pause();
+    AnalyticsStatusDTO resume();
+    AnalyticsStatusDTO getStatus();
+    // Read from the summary tables, as of the last completed refresh
+    List<MonthlyActivityDTO> getMonthlyActivity(YearMonth from, YearMonth to);
+    List<CategoryVolumeDTO> getCategoryVolumes(YearMonth month, int limit); // Largest total first
+}
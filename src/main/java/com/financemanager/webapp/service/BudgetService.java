@@ -0,0 +1,17 @@
+package com.financemanager.webapp.service;
+
+import com.financemanager.webapp.dto.BudgetAlertDTO;
+import com.financemanager.webapp.dto.BudgetDTO;
+import com.financemanager.webapp.dto.BudgetStatusDTO;
+
+import java.util.List;
+
+public interface BudgetService {
+    BudgetDTO addBudget(Long userId, BudgetDTO budgetDTO);
+    List<BudgetDTO> getBudgetsByUserId(Long userId);
+    BudgetDTO updateBudget(Long userId, Long budgetId, BudgetDTO budgetDTO);
+    void deleteBudget(Long userId, Long budgetId);
+    // Spending against every budget of the user for one month, read from running counters
+    List<BudgetStatusDTO> getBudgetStatus(Long userId, int year, int month);
+    List<BudgetAlertDTO> getRecentAlerts(Long userId, int limit);
+}
@@ -3,10 +3,13 @@ package com.financemanager.webapp.service;
 import com.financemanager.webapp.dto.CategoryDTO;
 
 import java.util.List;
+import java.util.Map;
 
 public interface CategoryService {
     CategoryDTO addCategory(Long userId, CategoryDTO categoryDTO);
     List<CategoryDTO> getCategoriesByUserId(Long userId);
+    // Sparse fieldset: only the named CategoryDTO fields are selected and returned
+    List<Map<String, Object>> getCategoryFieldsByUserId(Long userId, List<String> fields);
     CategoryDTO getCategoryByIdAndUserId(Long categoryId, Long userId);
     CategoryDTO updateCategory(Long userId, Long categoryId, CategoryDTO categoryDTO);
     void deleteCategory(Long userId, Long categoryId);
@@ -0,0 +1,8 @@
+package com.financemanager.webapp.service;
+
+import com.financemanager.webapp.dto.DashboardDTO;
+
+public interface DashboardService {
+    // Profile, categories, transactions and the given month's reports in one call
+    DashboardDTO getDashboard(Long userId, int year, int month);
+}
@@ -0,0 +1,16 @@
+package com.financemanager.webapp.service;
+
+import com.financemanager.webapp.dto.RecurringTransactionDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RecurringTransactionService {
+    RecurringTransactionDTO addRecurringTransaction(Long userId, RecurringTransactionDTO dto);
+    List<RecurringTransactionDTO> getRecurringTransactionsByUserId(Long userId);
+    RecurringTransactionDTO getRecurringTransactionByIdAndUserId(Long recurringId, Long userId);
+    RecurringTransactionDTO updateRecurringTransaction(Long userId, Long recurringId, RecurringTransactionDTO dto);
+    void deleteRecurringTransaction(Long userId, Long recurringId);
+    // Scheduler entry point: materializes one batch of due rules (all users) in one DB transaction
+    int materializeDueBatch(LocalDate asOf, int batchSize);
+}
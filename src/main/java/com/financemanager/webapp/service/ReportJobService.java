@@ -0,0 +1,13 @@
+package com.financemanager.webapp.service;
+
+import com.financemanager.webapp.dto.ReportJobDTO;
+import com.financemanager.webapp.dto.ReportJobRequest;
+
+import java.util.List;
+
+public interface ReportJobService {
+    ReportJobDTO submitJob(Long userId, ReportJobRequest request);
+    ReportJobDTO getJob(Long userId, Long jobId);
+    List<ReportJobDTO> getJobsByUserId(Long userId);
+    String getJobResult(Long userId, Long jobId); // JSON result, or null if the job hasn't completed
+}
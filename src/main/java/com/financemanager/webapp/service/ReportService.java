@@ -1,10 +1,30 @@
 package com.financemanager.webapp.service;
 
 import com.financemanager.webapp.dto.ChartDataDTO;
+import com.financemanager.webapp.dto.DailySpendHeatmapDTO;
+import com.financemanager.webapp.dto.SpendDistributionDTO;
 import com.financemanager.webapp.dto.SummaryDTO;
+import com.financemanager.webapp.dto.TimeSeriesDTO;
+import com.financemanager.webapp.dto.TopMerchantsDTO;
+import com.financemanager.webapp.model.MerchantRanking;
+import com.financemanager.webapp.model.TimeGranularity;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
 
 public interface ReportService {
     SummaryDTO getMonthlySummary(Long userId, int year, int month);
     SummaryDTO getYearlySummary(Long userId, int year);
     ChartDataDTO getCategorySpendingChartData(Long userId, int year, int month);
-}
\ No newline at end of file
+    // Arbitrary (possibly multi-year) ranges, used by the asynchronous report jobs
+    SummaryDTO getSummaryForRange(Long userId, LocalDate startDate, LocalDate endDate);
+    ChartDataDTO getCategorySpendingChartDataForRange(Long userId, LocalDate startDate, LocalDate endDate);
+    // Same, for callers that already loaded the user and resolved its report currency (no user lookup)
+    SummaryDTO getSummaryForRange(Long userId, LocalDate startDate, LocalDate endDate, String currency);
+    ChartDataDTO getCategorySpendingChartDataForRange(Long userId, LocalDate startDate, LocalDate endDate, String currency);
+    TimeSeriesDTO getTimeSeries(Long userId, LocalDate startDate, LocalDate endDate,
+                                TimeGranularity granularity, boolean byCategory, Integer maxPoints);
+    DailySpendHeatmapDTO getDailySpendHeatmap(Long userId, int year, Long categoryId); // categoryId null = all
+    TopMerchantsDTO getTopMerchants(Long userId, int year, Integer month, MerchantRanking rankedBy, int limit); // month null = whole year
+    SpendDistributionDTO getSpendingDistribution(Long userId, YearMonth from, YearMonth to, Long categoryId); // categoryId null = all
+}
@@ -1,13 +1,26 @@
 package com.financemanager.webapp.service;
 
+import com.financemanager.webapp.dto.BatchRequest;
+import com.financemanager.webapp.dto.BatchResultDTO;
+import com.financemanager.webapp.dto.ImportResultDTO;
 import com.financemanager.webapp.dto.TransactionDTO;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 public interface TransactionService {
     TransactionDTO addTransaction(Long userId, TransactionDTO transactionDTO);
     List<TransactionDTO> getTransactionsByUserId(Long userId);
+    // Sparse fieldset: only the named TransactionDTO fields are selected and returned
+    List<Map<String, Object>> getTransactionFieldsByUserId(Long userId, List<String> fields);
     TransactionDTO getTransactionByIdAndUserId(Long transactionId, Long userId);
     TransactionDTO updateTransaction(Long userId, Long transactionId, TransactionDTO transactionDTO);
     void deleteTransaction(Long userId, Long transactionId);
+    // Bulk import (e.g. a bank statement); rows already stored are skipped and reported, counting repeats (a row stored once and imported twice is added once)
+    ImportResultDTO importTransactions(Long userId, List<TransactionDTO> transactionDTOs);
+    // Ordered create/update/delete operations in one DB transaction; ATOMIC or BEST_EFFORT
+    BatchResultDTO executeBatch(Long userId, BatchRequest batchRequest);
+    // Full-text search over descriptions; results are ranked best match first
+    List<TransactionDTO> searchTransactions(Long userId, String query, LocalDate startDate, LocalDate endDate, Long categoryId, int limit);
 }
\ No newline at end of file
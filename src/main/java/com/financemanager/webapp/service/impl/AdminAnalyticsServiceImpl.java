@@ -0,0 +1,779 @@
+package com.financemanager.webapp.service.impl;
+
+import com.financemanager.webapp.config.AdaptiveConcurrencyLimiter;
+import com.financemanager.webapp.dto.AnalyticsStatusDTO;
+import com.financemanager.webapp.dto.CategoryVolumeDTO;
+import com.financemanager.webapp.dto.MonthlyActivityDTO;
+import com.financemanager.webapp.event.TransactionChangeListener;
+import com.financemanager.webapp.event.TransactionChangedEvent;
+import com.financemanager.webapp.exception.BadRequestException;
+import com.financemanager.webapp.index.FxRateTable;
+import com.financemanager.webapp.model.AnalyticsCategoryVolume;
+import com.financemanager.webapp.model.AnalyticsMonthlyActivity;
+import com.financemanager.webapp.model.AnalyticsRefreshState;
+import com.financemanager.webapp.model.AnalyticsUserFirstActivity;
+import com.financemanager.webapp.model.TransactionType;
+import com.financemanager.webapp.repository.AnalyticsCategoryVolumeRepository;
+import com.financemanager.webapp.repository.AnalyticsMonthlyActivityRepository;
+import com.financemanager.webapp.repository.AnalyticsRefreshStateRepository;
+import com.financemanager.webapp.repository.AnalyticsUserFirstActivityRepository;
+import com.financemanager.webapp.service.AdminAnalyticsService;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Platform-wide statistics for operators (active and new users, volume per category name, month-over-month
+ * growth), kept in summary tables so nobody has to run ad-hoc SQL against the primary.
+ *
+ * <p>A refresh recomputes whole months. Users are split into ID-range partitions, each scanned on the
+ * analytics executor over the separate read-only analytics pool; partitions never share a user, so their
+ * distinct-user counts simply add up. Scans give way to interactive traffic: before every query they wait
+ * while the refresh is paused or while API requests in flight are close to the adaptive concurrency limit,
+ * and after every query they sleep so they are busy at most {@code app.analytics.max-duty-cycle} of the time.
+ * The summary rows of the refreshed months and the watermark are then replaced in one transaction on the primary.
+ * Only one instance refreshes at a time: a run first takes a lease on the refresh-state row (under
+ * SELECT ... FOR UPDATE), renews it while scanning, and stores its results only if it still holds it.</p>
+ *
+ * <p>The scheduled refresh is incremental: it rescans the current and previous month, the months of
+ * transactions inserted above the watermark of the refresh before the last one (a row that committed after
+ * the last refresh read the watermark is still found), and the months this instance saw edited or deleted.
+ * New users are counted from a summary of each user's first transaction date, updated from the rescanned
+ * months. Edits of older months made through another instance, and deletes that move a user's first date
+ * into a month that isn't rescanned, are picked up by the periodic full refresh.</p>
+ */
+@Service
+@Observed(name = "service")
+public class AdminAnalyticsServiceImpl implements AdminAnalyticsService, TransactionChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminAnalyticsServiceImpl.class);
+
+    // The SQL below is public so the query-plan tests can EXPLAIN it
+
+    // Hot and archived rows of a user-ID range and date range; both tables are indexed on (user_id, date)
+    public static final String SCANNED_ROWS =
+            "SELECT user_id, category_id, type, amount, currency, date FROM transactions " +
+            "WHERE user_id BETWEEN ? AND ? AND date >= ? AND date < ? " +
+            "UNION ALL " +
+            "SELECT user_id, category_id, type, amount, currency, date FROM transactions_archive " +
+            "WHERE user_id BETWEEN ? AND ? AND date >= ? AND date < ?";
+
+    // STRAIGHT_JOIN: the scanned rows drive primary-key lookups of their category and user, never a scan of either table
+    public static final String VOLUME_QUERY =
+            "SELECT STRAIGHT_JOIN YEAR(r.date), MONTH(r.date), c.name, r.type, COALESCE(r.currency, u.preferred_currency), COUNT(*), SUM(r.amount) " +
+            "FROM (" + SCANNED_ROWS + ") r " +
+            "JOIN categories c ON c.id = r.category_id " +
+            "JOIN users u ON u.id = r.user_id " +
+            "GROUP BY YEAR(r.date), MONTH(r.date), c.name, r.type, COALESCE(r.currency, u.preferred_currency)";
+
+    public static final String ACTIVE_USERS_QUERY =
+            "SELECT YEAR(r.date), MONTH(r.date), COUNT(DISTINCT r.user_id) " +
+            "FROM (" + SCANNED_ROWS + ") r " +
+            "GROUP BY YEAR(r.date), MONTH(r.date)";
+
+    // First transaction date per user of a user-ID range, in one table (%s); read off its (user_id, date) index
+    // with one index dive per user, never a full scan. The date-range variant covers the rescanned months only.
+    public static final String FIRST_DATES_QUERY =
+            "SELECT user_id, MIN(date) FROM %s WHERE user_id BETWEEN ? AND ? GROUP BY user_id";
+
+    public static final String FIRST_DATES_IN_RANGE_QUERY =
+            "SELECT user_id, MIN(date) FROM %s WHERE user_id BETWEEN ? AND ? AND date >= ? AND date < ? GROUP BY user_id";
+
+    public static final String USER_FIRST_DATE_QUERY = "SELECT MIN(date) FROM %s WHERE user_id = ?";
+
+    public static final String NEW_ROW_MONTHS_QUERY = "SELECT DISTINCT YEAR(date), MONTH(date) FROM transactions WHERE id > ?";
+
+    private static final List<String> TRANSACTION_TABLES = List.of("transactions", "transactions_archive");
+
+    @Autowired
+    @Qualifier("analyticsDataSource")
+    private DataSource analyticsDataSource;
+
+    @Autowired
+    @Qualifier("analyticsExecutor")
+    private TaskExecutor analyticsExecutor;
+
+    @Autowired
+    private AnalyticsMonthlyActivityRepository monthlyActivityRepository;
+
+    @Autowired
+    private AnalyticsCategoryVolumeRepository categoryVolumeRepository;
+
+    @Autowired
+    private AnalyticsRefreshStateRepository refreshStateRepository;
+
+    @Autowired
+    private AnalyticsUserFirstActivityRepository firstActivityRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private FxRateTable fxRateTable;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Value("${app.analytics.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.analytics.partition-users:1000}")
+    private int partitionUsers; // Width of a partition's user-ID range
+
+    @Value("${app.analytics.max-duty-cycle:0.5}")
+    private double maxDutyCycle;
+
+    @Value("${app.analytics.busy-in-flight-ratio:0.75}")
+    private double busyInFlightRatio; // Scans wait while in-flight API requests exceed this share of the limit
+
+    @Value("${app.analytics.busy-backoff-ms:500}")
+    private long busyBackoffMs;
+
+    @Value("${app.analytics.full-refresh-interval-days:7}")
+    private int fullRefreshIntervalDays;
+
+    @Value("${app.analytics.max-category-rows:100}")
+    private int maxCategoryRows;
+
+    @Value("${app.analytics.lease-minutes:30}")
+    private int leaseMinutes; // Renewed while scanning; an instance that dies holding it blocks refreshes this long
+
+    private JdbcTemplate analyticsJdbc;
+
+    private final String instanceId = UUID.randomUUID().toString(); // Owner of the refresh lease
+    private long leaseRenewAt; // System.nanoTime() after which scans renew the lease; guarded by runLock
+
+    // Months changed through this instance since the last refresh started
+    private final Set<YearMonth> changedMonths = ConcurrentHashMap.newKeySet();
+
+    // Run state; guarded by runLock, which paused scans also wait on
+    private final Object runLock = new Object();
+    private boolean running;
+    private boolean paused;
+    private boolean fullRun;
+    private int partitionsTotal;
+    private int monthsRefreshing;
+    private LocalDateTime startedAt;
+    private Long lastDurationMs;
+    private String lastError;
+    private final AtomicInteger partitionsDone = new AtomicInteger();
+    private volatile boolean aborted; // A partition failed; the others stop at their next query
+
+    // Category volumes, monthly totals and changed first transaction dates of one partition, then of all of them
+    private static final class ScanResult {
+        private final Map<YearMonth, AnalyticsMonthlyActivity> months = new HashMap<>();
+        private final Map<String, AnalyticsCategoryVolume> categories = new HashMap<>();
+        private final Map<Long, LocalDate> firstDates = new HashMap<>(); // Every user's on a full scan, else only changed ones
+        private final Set<Long> usersWithoutTransactions = new HashSet<>();
+        private int unconvertedGroups;
+
+        AnalyticsMonthlyActivity month(YearMonth month) {
+            return months.computeIfAbsent(month,
+                    m -> new AnalyticsMonthlyActivity(m.atDay(1), 0, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO));
+        }
+
+        void addVolume(YearMonth month, String categoryName, TransactionType type, long count, BigDecimal total) {
+            AnalyticsCategoryVolume volume = categories.computeIfAbsent(month + "|" + type + "|" + categoryName,
+                    key -> new AnalyticsCategoryVolume(month.atDay(1), categoryName, type, 0, BigDecimal.ZERO));
+            volume.setTransactionCount(volume.getTransactionCount() + count);
+            volume.setTotal(volume.getTotal().add(total));
+
+            AnalyticsMonthlyActivity activity = month(month);
+            activity.setTransactionCount(activity.getTransactionCount() + count);
+            if (type == TransactionType.EXPENSE) {
+                activity.setExpenseTotal(activity.getExpenseTotal().add(total));
+            } else {
+                activity.setIncomeTotal(activity.getIncomeTotal().add(total));
+            }
+        }
+
+        void add(ScanResult other) {
+            other.categories.values().forEach(volume -> addVolume(YearMonth.from(volume.getPeriodStart()),
+                    volume.getCategoryName(), volume.getType(), volume.getTransactionCount(), volume.getTotal()));
+            other.months.forEach((month, activity) -> {
+                AnalyticsMonthlyActivity target = month(month);
+                target.setActiveUsers(target.getActiveUsers() + activity.getActiveUsers());
+                target.setNewUsers(target.getNewUsers() + activity.getNewUsers());
+            });
+            firstDates.putAll(other.firstDates);
+            usersWithoutTransactions.addAll(other.usersWithoutTransactions);
+            unconvertedGroups += other.unconvertedGroups;
+        }
+    }
+
+    @PostConstruct
+    void createJdbcTemplate() {
+        analyticsJdbc = new JdbcTemplate(analyticsDataSource);
+    }
+
+    // Incremental by default; full once the last full refresh is older than the configured interval
+    @Scheduled(cron = "${app.analytics.cron:0 0 4 * * *}")
+    public void scheduledRefresh() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime fullRefreshedAt = refreshStateRepository.findById(AnalyticsRefreshState.SINGLETON_ID)
+                .map(AnalyticsRefreshState::getFullRefreshedAt).orElse(null);
+        refresh(fullRefreshedAt == null || fullRefreshedAt.isBefore(LocalDateTime.now().minusDays(fullRefreshIntervalDays)));
+    }
+
+    @Override
+    public AnalyticsStatusDTO refresh(boolean full) {
+        synchronized (runLock) {
+            if (running) {
+                return getStatus();
+            }
+            running = true;
+            paused = false;
+            aborted = false;
+            fullRun = full;
+            partitionsTotal = 0;
+            monthsRefreshing = 0;
+            partitionsDone.set(0);
+            startedAt = LocalDateTime.now();
+            lastError = null;
+        }
+
+        if (!acquireLease()) {
+            synchronized (runLock) {
+                running = false;
+                runLock.notifyAll();
+            }
+            log.info("Analytics refresh skipped: another instance holds the lease");
+            return getStatus();
+        }
+
+        Set<YearMonth> drained = new TreeSet<>(changedMonths);
+        changedMonths.removeAll(drained);
+        try {
+            AnalyticsRefreshState state = refreshStateRepository.findById(AnalyticsRefreshState.SINGLETON_ID).orElseThrow();
+            boolean fullScan = full || state.getRefreshedAt() == null;
+            long watermark = Math.max(state.getTransactionWatermark(), queryLong(
+                    "SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM transactions), (SELECT COALESCE(MAX(id), 0) FROM transactions_archive))"));
+            NavigableSet<YearMonth> months = fullScan ? allMonths() : monthsToRefresh(state.getPreviousTransactionWatermark(), drained);
+            List<LocalDate[]> dateRuns = contiguousRuns(months);
+
+            List<CompletableFuture<Void>> scans = new ArrayList<>();
+            ScanResult combined = new ScanResult();
+            Long minUserId = analyticsJdbc.queryForObject("SELECT MIN(id) FROM users", Long.class);
+            Long maxUserId = analyticsJdbc.queryForObject("SELECT MAX(id) FROM users", Long.class);
+            if (minUserId != null && !months.isEmpty()) {
+                for (long first = minUserId; first <= maxUserId; first += partitionUsers) {
+                    long fromUserId = first;
+                    long toUserId = Math.min(first + partitionUsers - 1, maxUserId);
+                    scans.add(CompletableFuture.runAsync(() -> {
+                        try {
+                            ScanResult partition = scanPartition(fromUserId, toUserId, dateRuns, months, fullScan);
+                            synchronized (combined) {
+                                combined.add(partition);
+                            }
+                            partitionsDone.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            abort();
+                            throw e;
+                        }
+                    }, analyticsExecutor));
+                }
+            }
+            synchronized (runLock) {
+                partitionsTotal = scans.size();
+                monthsRefreshing = months.size();
+            }
+
+            CompletableFuture.allOf(scans.toArray(new CompletableFuture[0])).whenComplete((ignored, failure) -> {
+                if (failure != null) {
+                    finish(drained, failure instanceof CompletionException ? failure.getCause() : failure);
+                    return;
+                }
+                try {
+                    store(months, fullScan, watermark, combined);
+                    if (combined.unconvertedGroups > 0) {
+                        log.warn("Analytics refresh left {} amount group(s) out of the totals: no exchange rate", combined.unconvertedGroups);
+                    }
+                    finish(null, null);
+                } catch (RuntimeException e) {
+                    finish(drained, e);
+                }
+            });
+        } catch (RuntimeException e) {
+            finish(drained, e);
+            throw e;
+        }
+        return getStatus();
+    }
+
+    @Override
+    public AnalyticsStatusDTO pause() {
+        synchronized (runLock) {
+            paused = running;
+        }
+        return getStatus();
+    }
+
+    @Override
+    public AnalyticsStatusDTO resume() {
+        synchronized (runLock) {
+            paused = false;
+            runLock.notifyAll();
+        }
+        return getStatus();
+    }
+
+    @Override
+    public AnalyticsStatusDTO getStatus() {
+        AnalyticsRefreshState state = refreshStateRepository.findById(AnalyticsRefreshState.SINGLETON_ID).orElse(null);
+        synchronized (runLock) {
+            return new AnalyticsStatusDTO(
+                    running ? (paused ? "PAUSED" : "RUNNING") : "IDLE",
+                    running && fullRun,
+                    partitionsTotal,
+                    partitionsDone.get(),
+                    monthsRefreshing,
+                    startedAt,
+                    state != null ? state.getRefreshedAt() : null,
+                    state != null ? state.getFullRefreshedAt() : null,
+                    state != null ? state.getTransactionWatermark() : 0,
+                    lastDurationMs,
+                    lastError);
+        }
+    }
+
+    @Override
+    public List<MonthlyActivityDTO> getMonthlyActivity(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to.");
+        }
+        // One extra month in front, so the first month in range has something to grow from
+        Map<YearMonth, AnalyticsMonthlyActivity> rows = new HashMap<>();
+        for (AnalyticsMonthlyActivity row : monthlyActivityRepository.findByPeriodStartBetweenOrderByPeriodStartAsc(
+                from.minusMonths(1).atDay(1), to.atDay(1))) {
+            rows.put(YearMonth.from(row.getPeriodStart()), row);
+        }
+
+        String currency = fxRateTable.getBaseCurrency();
+        List<MonthlyActivityDTO> result = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            AnalyticsMonthlyActivity row = rows.get(month);
+            if (row == null) {
+                continue;
+            }
+            AnalyticsMonthlyActivity previous = rows.get(month.minusMonths(1));
+            result.add(new MonthlyActivityDTO(month, row.getActiveUsers(), row.getNewUsers(), row.getTransactionCount(),
+                    row.getExpenseTotal(), row.getIncomeTotal(), currency,
+                    previous != null ? growth(BigDecimal.valueOf(previous.getActiveUsers()), BigDecimal.valueOf(row.getActiveUsers())) : null,
+                    previous != null ? growth(previous.getExpenseTotal(), row.getExpenseTotal()) : null));
+        }
+        return result;
+    }
+
+    @Override
+    public List<CategoryVolumeDTO> getCategoryVolumes(YearMonth month, int limit) {
+        if (limit < 1 || limit > maxCategoryRows) {
+            throw new BadRequestException("limit must be between 1 and " + maxCategoryRows + ".");
+        }
+        String currency = fxRateTable.getBaseCurrency();
+        List<CategoryVolumeDTO> result = new ArrayList<>();
+        for (AnalyticsCategoryVolume volume : categoryVolumeRepository.findByPeriodStartOrderByTotalDesc(
+                month.atDay(1), PageRequest.of(0, limit))) {
+            result.add(new CategoryVolumeDTO(month, volume.getCategoryName(), volume.getType(),
+                    volume.getTransactionCount(), volume.getTotal(), currency));
+        }
+        return result;
+    }
+
+    @Override
+    public void onTransactionCommitted(TransactionChangedEvent event) {
+        if (event.getBefore() != null) {
+            changedMonths.add(YearMonth.from(event.getBefore().getDate()));
+        }
+        if (event.getAfter() != null) {
+            changedMonths.add(YearMonth.from(event.getAfter().getDate()));
+        }
+    }
+
+    // --- Planning ---
+
+    // Every month from the oldest to the newest transaction, hot or archived
+    private NavigableSet<YearMonth> allMonths() {
+        NavigableSet<YearMonth> months = new TreeSet<>();
+        LocalDate oldest = null;
+        LocalDate newest = null;
+        for (String table : List.of("transactions", "transactions_archive")) {
+            LocalDate[] range = analyticsJdbc.queryForObject("SELECT MIN(date), MAX(date) FROM " + table, (rs, rowNum) ->
+                    new LocalDate[]{rs.getObject(1, LocalDate.class), rs.getObject(2, LocalDate.class)});
+            if (range[0] != null) {
+                oldest = oldest == null || range[0].isBefore(oldest) ? range[0] : oldest;
+                newest = newest == null || range[1].isAfter(newest) ? range[1] : newest;
+            }
+        }
+        if (oldest != null) {
+            for (YearMonth month = YearMonth.from(oldest); !month.isAfter(YearMonth.from(newest)); month = month.plusMonths(1)) {
+                months.add(month);
+            }
+        }
+        return months;
+    }
+
+    // Open months, months of rows inserted since the refresh before the last one (a primary-key range), and months changed here
+    private NavigableSet<YearMonth> monthsToRefresh(long sinceWatermark, Set<YearMonth> changed) {
+        NavigableSet<YearMonth> months = new TreeSet<>(changed);
+        YearMonth now = YearMonth.now();
+        months.add(now);
+        months.add(now.minusMonths(1));
+        months.addAll(analyticsJdbc.query(NEW_ROW_MONTHS_QUERY,
+                (rs, rowNum) -> YearMonth.of(rs.getInt(1), rs.getInt(2)), sinceWatermark));
+        return months;
+    }
+
+    // Consecutive months collapse into one [start, end) date range, so each range is a single index scan
+    private static List<LocalDate[]> contiguousRuns(NavigableSet<YearMonth> months) {
+        List<LocalDate[]> runs = new ArrayList<>();
+        YearMonth runStart = null;
+        YearMonth previous = null;
+        for (YearMonth month : months) {
+            if (previous == null || !month.equals(previous.plusMonths(1))) {
+                if (runStart != null) {
+                    runs.add(new LocalDate[]{runStart.atDay(1), previous.plusMonths(1).atDay(1)});
+                }
+                runStart = month;
+            }
+            previous = month;
+        }
+        if (runStart != null) {
+            runs.add(new LocalDate[]{runStart.atDay(1), previous.plusMonths(1).atDay(1)});
+        }
+        return runs;
+    }
+
+    // --- Scanning ---
+
+    private ScanResult scanPartition(long fromUserId, long toUserId, List<LocalDate[]> dateRuns, Set<YearMonth> months,
+                                     boolean fullScan) {
+        ScanResult result = new ScanResult();
+        for (LocalDate[] run : dateRuns) {
+            Object[] args = {fromUserId, toUserId, run[0], run[1], fromUserId, toUserId, run[0], run[1]};
+
+            for (Object[] row : throttledQuery(VOLUME_QUERY, (rs, rowNum) -> new Object[]{
+                    YearMonth.of(rs.getInt(1), rs.getInt(2)), rs.getString(3), rs.getString(4), rs.getString(5),
+                    rs.getLong(6), rs.getBigDecimal(7)}, args)) {
+                YearMonth month = (YearMonth) row[0];
+                BigDecimal total = BigDecimal.ZERO;
+                try {
+                    // Converted once per group, at the rate in effect at the end of the month
+                    total = fxRateTable.toBase((BigDecimal) row[5], (String) row[3], month.atEndOfMonth());
+                } catch (BadRequestException e) {
+                    result.unconvertedGroups++; // Still counted, just not in the totals
+                }
+                result.addVolume(month, ((String) row[1]).trim().toLowerCase(Locale.ROOT),
+                        TransactionType.valueOf((String) row[2]), (Long) row[4], total);
+            }
+
+            for (Object[] row : throttledQuery(ACTIVE_USERS_QUERY, (rs, rowNum) -> new Object[]{
+                    YearMonth.of(rs.getInt(1), rs.getInt(2)), rs.getLong(3)}, args)) {
+                result.month((YearMonth) row[0]).setActiveUsers((Long) row[1]);
+            }
+        }
+
+        Map<Long, LocalDate> firstDates = fullScan
+                ? firstDates(FIRST_DATES_QUERY, fromUserId, toUserId)
+                : updatedFirstDates(fromUserId, toUserId, dateRuns, months, result);
+        if (fullScan) {
+            result.firstDates.putAll(firstDates);
+        }
+        for (LocalDate firstDate : firstDates.values()) {
+            YearMonth month = YearMonth.from(firstDate);
+            if (months.contains(month)) {
+                AnalyticsMonthlyActivity activity = result.month(month);
+                activity.setNewUsers(activity.getNewUsers() + 1);
+            }
+        }
+        return result;
+    }
+
+    // Earliest date per user over both tables, from a query returning (user_id, MIN(date)) rows
+    private Map<Long, LocalDate> firstDates(String query, Object... args) {
+        Map<Long, LocalDate> firstDates = new HashMap<>();
+        for (String table : TRANSACTION_TABLES) {
+            for (Object[] row : throttledQuery(query.formatted(table), (rs, rowNum) -> new Object[]{
+                    rs.getLong(1), rs.getObject(2, LocalDate.class)}, args)) {
+                firstDates.merge((Long) row[0], (LocalDate) row[1], (a, b) -> a.isBefore(b) ? a : b);
+            }
+        }
+        return firstDates;
+    }
+
+    // The partition's stored first dates, moved earlier by rows found in the rescanned months; a user whose stored
+    // first date lies in a rescanned month that no longer starts there is looked up exactly. Changes go into result.
+    private Map<Long, LocalDate> updatedFirstDates(long fromUserId, long toUserId, List<LocalDate[]> dateRuns,
+                                                   Set<YearMonth> months, ScanResult result) {
+        Map<Long, LocalDate> firstDates = new HashMap<>();
+        for (AnalyticsUserFirstActivity stored : firstActivityRepository.findByUserIdBetween(fromUserId, toUserId)) {
+            firstDates.put(stored.getUserId(), stored.getFirstDate());
+        }
+        Map<Long, LocalDate> scanned = new HashMap<>();
+        for (LocalDate[] run : dateRuns) {
+            firstDates(FIRST_DATES_IN_RANGE_QUERY, fromUserId, toUserId, run[0], run[1])
+                    .forEach((userId, date) -> scanned.merge(userId, date, (a, b) -> a.isBefore(b) ? a : b));
+        }
+
+        Set<Long> userIds = new HashSet<>(firstDates.keySet());
+        userIds.addAll(scanned.keySet());
+        for (Long userId : userIds) {
+            LocalDate stored = firstDates.get(userId);
+            LocalDate found = scanned.get(userId);
+            LocalDate firstDate;
+            if (stored == null || (found != null && found.isBefore(stored))) {
+                firstDate = found;
+            } else if (stored.equals(found) || !months.contains(YearMonth.from(stored))) {
+                continue;
+            } else {
+                firstDate = userFirstDate(userId); // The first transaction was deleted or moved later
+            }
+            if (firstDate != null) {
+                firstDates.put(userId, firstDate);
+                result.firstDates.put(userId, firstDate);
+            } else {
+                firstDates.remove(userId);
+                result.usersWithoutTransactions.add(userId);
+            }
+        }
+        return firstDates;
+    }
+
+    private LocalDate userFirstDate(long userId) {
+        LocalDate firstDate = null;
+        for (String table : TRANSACTION_TABLES) {
+            LocalDate date = throttledQuery(USER_FIRST_DATE_QUERY.formatted(table),
+                    (rs, rowNum) -> rs.getObject(1, LocalDate.class), userId).get(0);
+            if (date != null && (firstDate == null || date.isBefore(firstDate))) {
+                firstDate = date;
+            }
+        }
+        return firstDate;
+    }
+
+    private <T> List<T> throttledQuery(String sql, RowMapper<T> rowMapper, Object... args) {
+        awaitTurn();
+        long start = System.nanoTime();
+        List<T> rows = analyticsJdbc.query(sql, rowMapper, args);
+        long elapsedNanos = System.nanoTime() - start;
+        if (maxDutyCycle > 0 && maxDutyCycle < 1) {
+            sleep((long) (elapsedNanos * (1 - maxDutyCycle) / maxDutyCycle));
+        }
+        return rows;
+    }
+
+    // Blocks while the refresh is paused or the API is near its concurrency limit
+    private void awaitTurn() {
+        renewLeaseIfDue();
+        try {
+            synchronized (runLock) {
+                while (paused && !aborted) {
+                    runLock.wait();
+                }
+            }
+            while (!aborted && concurrencyLimiter.getInFlight() >= busyInFlightRatio * concurrencyLimiter.getLimit()) {
+                Thread.sleep(busyBackoffMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Analytics refresh interrupted");
+        }
+        if (aborted) {
+            throw new CancellationException("Analytics refresh aborted");
+        }
+    }
+
+    // Makes the other partitions stop at their next query, including paused ones
+    private void abort() {
+        synchronized (runLock) {
+            aborted = true;
+            runLock.notifyAll();
+        }
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Analytics refresh interrupted");
+        }
+    }
+
+    // --- Lease ---
+
+    // Takes the lease if nobody holds it, it has expired, or this instance already holds it
+    private boolean acquireLease() {
+        try {
+            return Boolean.TRUE.equals(new TransactionTemplate(transactionManager).execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                AnalyticsRefreshState state = refreshStateRepository.findByIdForUpdate(AnalyticsRefreshState.SINGLETON_ID)
+                        .orElseGet(() -> new AnalyticsRefreshState(AnalyticsRefreshState.SINGLETON_ID));
+                if (state.getLeaseOwner() != null && !state.getLeaseOwner().equals(instanceId)
+                        && state.getLeaseUntil() != null && state.getLeaseUntil().isAfter(now)) {
+                    return false;
+                }
+                state.setLeaseOwner(instanceId);
+                state.setLeaseUntil(now.plusMinutes(leaseMinutes));
+                refreshStateRepository.save(state);
+                synchronized (runLock) {
+                    leaseRenewAt = System.nanoTime() + TimeUnit.MINUTES.toNanos(leaseMinutes) / 3;
+                }
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            return false; // Another instance created the state row first, taking the lease
+        }
+    }
+
+    // Extends the lease once a third of it has passed; a scan that lost it (expired and taken over) stops
+    private void renewLeaseIfDue() {
+        synchronized (runLock) {
+            if (System.nanoTime() - leaseRenewAt < 0) {
+                return;
+            }
+            leaseRenewAt = System.nanoTime() + TimeUnit.MINUTES.toNanos(leaseMinutes) / 3;
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            AnalyticsRefreshState state = lockOwnedState();
+            state.setLeaseUntil(LocalDateTime.now().plusMinutes(leaseMinutes));
+        });
+    }
+
+    private void releaseLease() {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                AnalyticsRefreshState state = refreshStateRepository.findByIdForUpdate(AnalyticsRefreshState.SINGLETON_ID).orElse(null);
+                if (state != null && instanceId.equals(state.getLeaseOwner())) {
+                    state.setLeaseOwner(null);
+                    state.setLeaseUntil(null);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not release the analytics refresh lease; it expires in at most {} minute(s): {}", leaseMinutes, e.getMessage());
+        }
+    }
+
+    // The locked state row; fails the run if another instance has taken the lease over
+    private AnalyticsRefreshState lockOwnedState() {
+        AnalyticsRefreshState state = refreshStateRepository.findByIdForUpdate(AnalyticsRefreshState.SINGLETON_ID).orElseThrow();
+        if (!instanceId.equals(state.getLeaseOwner())) {
+            throw new CancellationException("Analytics refresh lease lost to " + state.getLeaseOwner());
+        }
+        return state;
+    }
+
+    // --- Storing ---
+
+    private void store(Set<YearMonth> months, boolean fullScan, long watermark, ScanResult result) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            AnalyticsRefreshState state = lockOwnedState();
+            if (fullScan) {
+                monthlyActivityRepository.deleteAllInBatch();
+                categoryVolumeRepository.deleteAllInBatch();
+                firstActivityRepository.deleteAllInBatch();
+            } else {
+                if (!months.isEmpty()) {
+                    List<LocalDate> periodStarts = months.stream().map(month -> month.atDay(1)).toList();
+                    monthlyActivityRepository.deleteByPeriodStartIn(periodStarts);
+                    categoryVolumeRepository.deleteByPeriodStartIn(periodStarts);
+                }
+                if (!result.usersWithoutTransactions.isEmpty()) {
+                    firstActivityRepository.deleteByUserIdIn(result.usersWithoutTransactions);
+                }
+            }
+            LocalDateTime now = LocalDateTime.now();
+            for (AnalyticsMonthlyActivity activity : result.months.values()) {
+                activity.setRefreshedAt(now);
+            }
+            monthlyActivityRepository.saveAll(result.months.values());
+            categoryVolumeRepository.saveAll(result.categories.values());
+            List<AnalyticsUserFirstActivity> firstActivities = new ArrayList<>();
+            result.firstDates.forEach((userId, firstDate) -> firstActivities.add(new AnalyticsUserFirstActivity(userId, firstDate)));
+            firstActivityRepository.saveAll(firstActivities);
+
+            state.setPreviousTransactionWatermark(state.getTransactionWatermark());
+            state.setTransactionWatermark(watermark);
+            state.setRefreshedAt(now);
+            if (fullScan) {
+                state.setFullRefreshedAt(now);
+            }
+            state.setLeaseOwner(null);
+            state.setLeaseUntil(null);
+        });
+    }
+
+    // A failed run hands its changed months back, so the next refresh covers them
+    private void finish(Set<YearMonth> drained, Throwable failure) {
+        String summary;
+        long durationMs;
+        synchronized (runLock) {
+            durationMs = Duration.between(startedAt, LocalDateTime.now()).toMillis();
+            summary = (fullRun ? "full" : "incremental") + " refresh of " + monthsRefreshing
+                    + " month(s) over " + partitionsTotal + " partition(s)";
+            running = false;
+            paused = false;
+            lastDurationMs = durationMs;
+            lastError = failure != null ? String.valueOf(failure.getMessage()) : null;
+            runLock.notifyAll();
+        }
+        if (failure != null) {
+            releaseLease();
+            changedMonths.addAll(drained);
+            log.warn("Analytics {} failed after {} ms: {}", summary, durationMs, failure.getMessage());
+        } else {
+            log.info("Analytics {} finished in {} ms", summary, durationMs);
+        }
+    }
+
+    private long queryLong(String sql) {
+        Long value = analyticsJdbc.queryForObject(sql, Long.class);
+        return value != null ? value : 0;
+    }
+
+    // Change in percent, one decimal; null when there is nothing to compare with
+    private static BigDecimal growth(BigDecimal previous, BigDecimal current) {
+        if (previous.signum() == 0) {
+            return null;
+        }
+        return current.subtract(previous).multiply(BigDecimal.valueOf(100)).divide(previous, 1, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,114 @@
+package com.financemanager.webapp.service.impl;
+
+import com.financemanager.webapp.event.TransactionChangeListener;
+import com.financemanager.webapp.event.TransactionChangedEvent;
+import com.financemanager.webapp.event.TransactionSnapshot;
+import com.financemanager.webapp.index.FxRateTable;
+import com.financemanager.webapp.index.MonthlySpendCounters;
+import com.financemanager.webapp.model.Budget;
+import com.financemanager.webapp.model.BudgetAlert;
+import com.financemanager.webapp.model.TransactionType;
+import com.financemanager.webapp.repository.BudgetAlertRepository;
+import com.financemanager.webapp.repository.BudgetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.Arrays;
+
+/**
+ * Raises budget alerts when an expense pushes a category's monthly spending across a threshold (80%/100% by default).
+ * Runs after {@link MonthlySpendCounters} so the counters already include the change. The check itself
+ * (budget lookup, alert insert) happens on a small dedicated executor, never on the request thread.
+ */
+@Component
+@Order(10)
+public class BudgetAlertNotifier implements TransactionChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(BudgetAlertNotifier.class);
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetAlertRepository budgetAlertRepository;
+
+    @Autowired
+    private MonthlySpendCounters monthlySpendCounters;
+
+    @Autowired
+    private FxRateTable fxRateTable;
+
+    @Autowired
+    @Qualifier("budgetAlertExecutor")
+    private ThreadPoolTaskExecutor budgetAlertExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.budgets.alert-thresholds:80,100}")
+    private int[] thresholds;
+
+    @Override
+    public void onTransactionCommitted(TransactionChangedEvent event) {
+        TransactionSnapshot after = event.getAfter();
+        // Only new or changed expenses can push spending up; deletions never raise an alert
+        if (after == null || after.getType() != TransactionType.EXPENSE) {
+            return;
+        }
+        YearMonth month = YearMonth.from(after.getDate());
+        try {
+            budgetAlertExecutor.execute(() -> evaluate(after.getUserId(), after.getCategoryId(), month));
+        } catch (TaskRejectedException e) {
+            // Queue full: the next expense in this category re-checks the same thresholds
+            log.warn("Budget alert check dropped for user {} category {} {}: queue full", after.getUserId(), after.getCategoryId(), month);
+        }
+    }
+
+    // --- Helpers ---
+
+    private void evaluate(Long userId, Long categoryId, YearMonth month) {
+        try {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED); // Spend counters load on this connection
+            template.executeWithoutResult(status -> {
+                Budget budget = budgetRepository.findByUserIdAndCategoryId(userId, categoryId).orElse(null);
+                if (budget == null) {
+                    return;
+                }
+                BigDecimal spent = monthlySpendCounters.getSpent(userId, categoryId, month,
+                        fxRateTable.reportingCurrency(budget.getUser().getPreferredCurrency()));
+                long spentCents = spent.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+                long limitCents = budget.getMonthlyLimit().movePointRight(2).longValue();
+                for (int threshold : Arrays.stream(thresholds).sorted().toArray()) {
+                    // spent >= limit * threshold%, kept in integer cents to avoid rounding at the boundary
+                    if (spentCents * 100 < limitCents * threshold) {
+                        break;
+                    }
+                    // The executor is single-threaded, so check-then-insert can't race within this instance;
+                    // the unique key on (budget, month, threshold) covers anything else
+                    if (!budgetAlertRepository.existsByBudgetIdAndYearAndMonthAndThresholdPercent(
+                            budget.getId(), month.getYear(), month.getMonthValue(), threshold)) {
+                        budgetAlertRepository.save(new BudgetAlert(budget, budget.getUser(), month.getYear(), month.getMonthValue(),
+                                threshold, BigDecimal.valueOf(spentCents, 2), budget.getMonthlyLimit()));
+                        log.info("Budget alert: user {} category {} reached {}% of its {} budget", userId, categoryId, threshold, month);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Budget alert check failed for user {} category {} {}", userId, categoryId, month, e);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.financemanager.webapp.service.impl;
+
+import com.financemanager.webapp.dto.BudgetAlertDTO;
+import com.financemanager.webapp.dto.BudgetDTO;
+import com.financemanager.webapp.dto.BudgetStatusDTO;
+import com.financemanager.webapp.exception.BadRequestException;
+import com.financemanager.webapp.exception.ResourceNotFoundException;
+import com.financemanager.webapp.index.FxRateTable;
+import com.financemanager.webapp.index.MonthlySpendCounters;
+import com.financemanager.webapp.model.Budget;
+import com.financemanager.webapp.model.BudgetAlert;
+import com.financemanager.webapp.model.Category;
+import com.financemanager.webapp.model.User;
+import com.financemanager.webapp.repository.BudgetAlertRepository;
+import com.financemanager.webapp.repository.BudgetRepository;
+import com.financemanager.webapp.repository.CategoryRepository;
+import com.financemanager.webapp.repository.UserRepository;
+import com.financemanager.webapp.service.BudgetService;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Observed(name = "service")
+public class BudgetServiceImpl implements BudgetService {
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetAlertRepository budgetAlertRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MonthlySpendCounters monthlySpendCounters;
+
+    @Autowired
+    private FxRateTable fxRateTable; // Limits are in the user's currency, counters in the base currency
+
+    // Mappers
+    private BudgetDTO mapToBudgetDTO(Budget budget) {
+        return new BudgetDTO(
+                budget.getId(),
+                budget.getCategory().getId(),
+                budget.getCategory().getName(),
+                budget.getMonthlyLimit()
+        );
+    }
+
+    private BudgetAlertDTO mapToBudgetAlertDTO(BudgetAlert alert) {
+        return new BudgetAlertDTO(
+                alert.getId(),
+                alert.getBudget().getId(),
+                alert.getBudget().getCategory().getId(),
+                alert.getBudget().getCategory().getName(),
+                alert.getYear(),
+                alert.getMonth(),
+                alert.getThresholdPercent(),
+                alert.getSpent(),
+                alert.getMonthlyLimit(),
+                alert.getCreatedAt()
+        );
+    }
+
+    @Override
+    @Transactional
+    public BudgetDTO addBudget(Long userId, BudgetDTO budgetDTO) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+
+        validateLimit(budgetDTO.getMonthlyLimit());
+        Category category = categoryRepository.findByIdAndUserId(budgetDTO.getCategoryId(), userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", budgetDTO.getCategoryId() + " for user " + userId));
+
+        if (budgetRepository.existsByUserIdAndCategoryId(userId, category.getId())) {
+            throw new BadRequestException("A budget already exists for category '" + category.getName() + "'.");
+        }
+
+        Budget savedBudget = budgetRepository.save(new Budget(budgetDTO.getMonthlyLimit(), user, category));
+        return mapToBudgetDTO(savedBudget);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BudgetDTO> getBudgetsByUserId(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        return budgetRepository.findByUserId(userId).stream()
+                .map(this::mapToBudgetDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public BudgetDTO updateBudget(Long userId, Long budgetId, BudgetDTO budgetDTO) {
+        Budget budget = budgetRepository.findByIdAndUserId(budgetId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id: " + budgetId + " for user id: " + userId));
+
+        // Only the limit can change; moving a budget to another category means creating a new one.
+        // Alerts already raised this month stay; new thresholds are checked on the next expense.
+        validateLimit(budgetDTO.getMonthlyLimit());
+        budget.setMonthlyLimit(budgetDTO.getMonthlyLimit());
+
+        Budget updatedBudget = budgetRepository.save(budget);
+        return mapToBudgetDTO(updatedBudget);
+    }
+
+    @Override
+    @Transactional
+    public void deleteBudget(Long userId, Long budgetId) {
+        Budget budget = budgetRepository.findByIdAndUserId(budgetId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id: " + budgetId + " for user id: " + userId));
+        budgetAlertRepository.deleteByBudgetId(budget.getId());
+        budgetRepository.delete(budget);
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED) // Lets the spend counters load on this connection
+    public List<BudgetStatusDTO> getBudgetStatus(Long userId, int year, int month) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        String currency = fxRateTable.reportingCurrency(user.getPreferredCurrency());
+        YearMonth period;
+        try {
+            period = YearMonth.of(year, month);
+        } catch (DateTimeException e) {
+            throw new BadRequestException("Invalid year/month: " + year + "-" + month);
+        }
+
+        return budgetRepository.findByUserId(userId).stream()
+                .map(budget -> {
+                    // O(1) once the counter is warm; the first view of a month seeds it with one aggregate query
+                    BigDecimal spent = monthlySpendCounters.getSpent(userId, budget.getCategory().getId(), period, currency);
+                    BigDecimal limit = budget.getMonthlyLimit();
+                    double percentUsed = limit.signum() > 0 ? spent.doubleValue() * 100.0 / limit.doubleValue() : 0.0;
+                    return new BudgetStatusDTO(budget.getId(), budget.getCategory().getId(), budget.getCategory().getName(),
+                            limit, spent, limit.subtract(spent), Math.round(percentUsed * 10.0) / 10.0);
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BudgetAlertDTO> getRecentAlerts(Long userId, int limit) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        if (limit < 1 || limit > 500) {
+            throw new BadRequestException("limit must be between 1 and 500.");
+        }
+        return budgetAlertRepository.findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(0, limit)).stream()
+                .map(this::mapToBudgetAlertDTO)
+                .collect(Collectors.toList());
+    }
+
+    private static void validateLimit(BigDecimal monthlyLimit) {
+        if (monthlyLimit == null || monthlyLimit.signum() <= 0) {
+            throw new BadRequestException("monthlyLimit must be greater than zero.");
+        }
+    }
+}
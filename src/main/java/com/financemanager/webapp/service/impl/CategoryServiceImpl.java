@@ -1,20 +1,31 @@
 package com.financemanager.webapp.service.impl;
 
 import com.financemanager.webapp.dto.CategoryDTO;
+import com.financemanager.webapp.exception.BadRequestException;
+import com.financemanager.webapp.exception.ConflictException;
 import com.financemanager.webapp.exception.ResourceNotFoundException;
 import com.financemanager.webapp.model.Category;
 import com.financemanager.webapp.model.User;
+import com.financemanager.webapp.repository.BudgetAlertRepository;
+import com.financemanager.webapp.repository.BudgetRepository;
+import com.financemanager.webapp.repository.CategoryField;
 import com.financemanager.webapp.repository.CategoryRepository;
 import com.financemanager.webapp.repository.UserRepository;
 import com.financemanager.webapp.service.CategoryService;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "service")
 public class CategoryServiceImpl implements CategoryService {
 
     @Autowired
@@ -23,6 +34,15 @@ public class CategoryServiceImpl implements CategoryService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetAlertRepository budgetAlertRepository;
+
+    @Autowired
+    private WriteBehindTransactionWriter writeBehindWriter;
+
     // Mapper
     private CategoryDTO mapToCategoryDTO(Category category) {
         return new CategoryDTO(category.getId(), category.getName());
@@ -61,6 +81,42 @@ public class CategoryServiceImpl implements CategoryService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getCategoryFieldsByUserId(Long userId, List<String> fields) {
+        List<CategoryField> requested = new ArrayList<>();
+        for (String name : fields) {
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            CategoryField field = CategoryField.fromFieldName(name.trim());
+            if (field == null) {
+                throw new BadRequestException("Unknown field '" + name.trim() + "'. Allowed: " + Arrays.stream(CategoryField.values())
+                        .map(CategoryField::getFieldName).collect(Collectors.joining(", ")));
+            }
+            if (!requested.contains(field)) {
+                requested.add(field);
+            }
+        }
+        if (requested.isEmpty()) {
+            throw new BadRequestException("fields must name at least one field.");
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+
+        List<Object[]> rows = categoryRepository.findFieldsByUserIdOrderByNameAsc(userId, requested);
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> values = new LinkedHashMap<>(requested.size() * 2);
+            for (int i = 0; i < requested.size(); i++) {
+                values.put(requested.get(i).getFieldName(), row[i]);
+            }
+            result.add(values);
+        }
+        return result;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public CategoryDTO getCategoryByIdAndUserId(Long categoryId, Long userId) {
@@ -99,6 +155,17 @@ public class CategoryServiceImpl implements CategoryService {
         // For now, we allow deletion. Could add a check here.
         // Example check: if (!category.getTransactions().isEmpty()) { throw new ... }
 
+        // Queued write-behind creates would have nothing to attach to once they are flushed
+        if (writeBehindWriter.hasPending(userId, categoryId)) {
+            throw new ConflictException("Category " + categoryId + " still has transactions waiting to be stored; try again shortly.");
+        }
+
+        // A budget (and its alerts) only makes sense for an existing category
+        budgetRepository.findByUserIdAndCategoryId(userId, categoryId).ifPresent(budget -> {
+            budgetAlertRepository.deleteByBudgetId(budget.getId());
+            budgetRepository.delete(budget);
+        });
+
         categoryRepository.delete(category);
     }
 }
\ No newline at end of file
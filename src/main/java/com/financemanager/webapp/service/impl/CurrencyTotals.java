@@ -0,0 +1,88 @@
+package com.financemanager.webapp.service.impl;
+
+import com.financemanager.webapp.index.FxRateTable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Running total of amounts in mixed currencies, reported in a single target currency.
+ * Amounts are summed per (currency, rate period) and each group is converted only once,
+ * in {@link #total()}, so the cost of conversion is independent of the number of rows.
+ * Amounts in a currency without exchange rates are left out and their currency recorded, so reports can
+ * say what they don't include instead of failing.
+ */
+final class CurrencyTotals {
+
+    private final FxRateTable fxRates;
+    private final String targetCurrency;
+    private final Set<String> unconvertedCurrencies; // Shared by all totals of one report
+
+    private BigDecimal sameCurrencyTotal = BigDecimal.ZERO;
+    private Map<GroupKey, BigDecimal> foreignTotals; // Only allocated once a foreign amount shows up
+
+    private static final class GroupKey {
+        private final String currency;
+        private final int fromPeriod;
+        private final int toPeriod;
+
+        GroupKey(String currency, int fromPeriod, int toPeriod) {
+            this.currency = currency;
+            this.fromPeriod = fromPeriod;
+            this.toPeriod = toPeriod;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof GroupKey)) return false;
+            GroupKey that = (GroupKey) o;
+            return fromPeriod == that.fromPeriod && toPeriod == that.toPeriod && currency.equals(that.currency);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(currency, fromPeriod, toPeriod);
+        }
+    }
+
+    CurrencyTotals(FxRateTable fxRates, String targetCurrency, Set<String> unconvertedCurrencies) {
+        this.fxRates = fxRates;
+        this.targetCurrency = targetCurrency;
+        this.unconvertedCurrencies = unconvertedCurrencies;
+    }
+
+    /**
+     * Adds an amount; a null currency means the amount is already in the target currency.
+     */
+    void add(String currency, LocalDate date, BigDecimal amount) {
+        if (currency == null || currency.equals(targetCurrency)) {
+            sameCurrencyTotal = sameCurrencyTotal.add(amount);
+            return;
+        }
+        if (!fxRates.isSupported(currency) || !fxRates.isSupported(targetCurrency)) {
+            unconvertedCurrencies.add(currency);
+            return;
+        }
+        if (foreignTotals == null) {
+            foreignTotals = new HashMap<>();
+        }
+        GroupKey key = new GroupKey(currency, fxRates.periodOf(currency, date), fxRates.periodOf(targetCurrency, date));
+        foreignTotals.merge(key, amount, BigDecimal::add);
+    }
+
+    BigDecimal total() {
+        BigDecimal total = sameCurrencyTotal;
+        if (foreignTotals != null) {
+            for (Map.Entry<GroupKey, BigDecimal> group : foreignTotals.entrySet()) {
+                GroupKey key = group.getKey();
+                total = total.add(fxRates.convert(group.getValue(), key.currency, key.fromPeriod, targetCurrency, key.toPeriod));
+            }
+        }
+        return total;
+    }
+}
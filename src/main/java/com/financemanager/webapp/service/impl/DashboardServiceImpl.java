@@ -0,0 +1,165 @@
+package com.financemanager.webapp.service.impl;
+
+import com.financemanager.webapp.dto.CategoryDTO;
+import com.financemanager.webapp.dto.ChartDataDTO;
+import com.financemanager.webapp.dto.DailySpendHeatmapDTO;
+import com.financemanager.webapp.dto.DashboardDTO;
+import com.financemanager.webapp.dto.SummaryDTO;
+import com.financemanager.webapp.dto.TransactionDTO;
+import com.financemanager.webapp.dto.UserDTO;
+import com.financemanager.webapp.exception.ResourceNotFoundException;
+import com.financemanager.webapp.index.FxRateTable;
+import com.financemanager.webapp.model.Category;
+import com.financemanager.webapp.model.Transaction;
+import com.financemanager.webapp.model.User;
+import com.financemanager.webapp.repository.CategoryRepository;
+import com.financemanager.webapp.repository.TransactionRepository;
+import com.financemanager.webapp.repository.UserRepository;
+import com.financemanager.webapp.service.DashboardService;
+import com.financemanager.webapp.service.ReportService;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Builds the dashboard's first screen in one call. The independent parts (user, categories, transactions,
+ * summary, chart, heatmap) run concurrently on the bounded dashboard executor, each in its own read-only
+ * transaction. Transactions are mapped against the shared category map instead of initializing each
+ * transaction's category proxy.
+ *
+ * <p>The request thread itself never touches the database: with open-in-view, a connection it used would
+ * stay checked out for the whole request while it waits for workers that each need another one, and enough
+ * concurrent dashboards would then exhaust the pool. Size {@code spring.datasource.hikari.maximum-pool-size}
+ * above {@code app.dashboard.worker-threads} plus the other background workers.</p>
+ */
+@Service
+@Observed(name = "service")
+public class DashboardServiceImpl implements DashboardService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private FxRateTable fxRateTable;
+
+    @Autowired
+    private WriteBehindTransactionWriter writeBehindWriter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("dashboardExecutor")
+    private TaskExecutor dashboardExecutor;
+
+    @Override
+    public DashboardDTO getDashboard(Long userId, int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        LocalDate startDate = yearMonth.atDay(1);
+        LocalDate endDate = yearMonth.atEndOfMonth();
+
+        // Read before the table (like the transactions endpoint), so a create stored in between is never missing
+        List<TransactionDTO> pending = writeBehindWriter.pendingFor(userId);
+
+        CompletableFuture<User> userFuture = supplyReadOnly(() -> userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId)));
+        CompletableFuture<Map<Long, String>> categoryNamesFuture = supplyReadOnly(() -> loadCategoryNames(userId));
+        CompletableFuture<List<Transaction>> transactionsFuture = supplyReadOnly(() -> transactionRepository.findByUserIdOrderByDateDesc(userId));
+        CompletableFuture<DailySpendHeatmapDTO> heatmapFuture = CompletableFuture.supplyAsync(
+                () -> reportService.getDailySpendHeatmap(userId, year, null), dashboardExecutor);
+
+        // The summary and chart need the user's currency; only the basic fields of the detached user are read
+        User user = join(userFuture);
+        String currency = fxRateTable.reportingCurrency(user.getPreferredCurrency());
+        CompletableFuture<SummaryDTO> summaryFuture = CompletableFuture.supplyAsync(
+                () -> reportService.getSummaryForRange(userId, startDate, endDate, currency), dashboardExecutor);
+        CompletableFuture<ChartDataDTO> chartFuture = CompletableFuture.supplyAsync(
+                () -> reportService.getCategorySpendingChartDataForRange(userId, startDate, endDate, currency), dashboardExecutor);
+
+        Map<Long, String> categoryNames = join(categoryNamesFuture);
+        List<CategoryDTO> categories = new ArrayList<>(categoryNames.size());
+        categoryNames.forEach((id, name) -> categories.add(new CategoryDTO(id, name)));
+
+        List<TransactionDTO> transactions = mapTransactions(join(transactionsFuture), categoryNames);
+        if (!pending.isEmpty()) {
+            transactions.addAll(pending);
+            transactions.sort(Comparator.comparing(TransactionDTO::getDate).reversed());
+        }
+
+        UserDTO userDTO = new UserDTO(user.getId(), user.getName(), user.getEmail(), user.getPreferredCurrency());
+        return new DashboardDTO(userDTO, categories, transactions, year, month,
+                join(summaryFuture), join(chartFuture), join(heatmapFuture));
+    }
+
+    // --- Helpers ---
+
+    private <T> CompletableFuture<T> supplyReadOnly(Supplier<T> supplier) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return CompletableFuture.supplyAsync(() -> template.execute(status -> supplier.get()), dashboardExecutor);
+    }
+
+    // Sorted by name, like the categories endpoint
+    private Map<Long, String> loadCategoryNames(Long userId) {
+        Map<Long, String> names = new LinkedHashMap<>();
+        for (Category category : categoryRepository.findByUserIdOrderByNameAsc(userId)) {
+            names.put(category.getId(), category.getName());
+        }
+        return names;
+    }
+
+    private static List<TransactionDTO> mapTransactions(List<Transaction> transactions, Map<Long, String> categoryNames) {
+        List<TransactionDTO> result = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            Long categoryId = transaction.getCategory().getId(); // Read from the proxy without loading it
+            TransactionDTO dto = new TransactionDTO(
+                    transaction.getId(),
+                    transaction.getType(),
+                    transaction.getAmount(),
+                    transaction.getDescription(),
+                    transaction.getDate(),
+                    categoryId,
+                    categoryNames.get(categoryId)
+            );
+            dto.setCurrency(transaction.getCurrency());
+            result.add(dto);
+        }
+        return result;
+    }
+
+    // Rethrows a part's own exception (e.g. ResourceNotFoundException) so it maps to the same status
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.financemanager.webapp.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only local log with group commit: any number of concurrent appends share one fsync.
+ *
+ * <p>Each entry is {@code length, crc32, payload}. {@link #append} returns only once its entry is on disk.
+ * A single sync thread repeatedly forces everything written so far and wakes all appenders covered by that
+ * force, so under load the cost of an fsync is spread over the whole group. On recovery, a torn or corrupt
+ * tail (a crash mid-write) is cut off; those appends were never acknowledged.</p>
+ */
+final class IngestLog implements Closeable {
+
+    private final FileChannel channel;
+    private final Object lock = new Object();
+    private final Thread syncThread;
+
+    private long lastSequence;     // Highest sequence written to the channel
+    private long durableSequence;  // Highest sequence known to be on disk
+    private IOException syncFailure;
+    private volatile boolean closed;
+
+    private IngestLog(FileChannel channel, long lastSequence) {
+        this.channel = channel;
+        this.lastSequence = lastSequence;
+        this.durableSequence = lastSequence;
+        this.syncThread = new Thread(this::syncLoop, "ingest-log-sync");
+        this.syncThread.setDaemon(true);
+        this.syncThread.start();
+    }
+
+    /**
+     * Returns the log's ID, kept in {@code <file>.id} next to the log and created together with it. The database
+     * checkpoint and stored rows are keyed by this ID, so the two files must always be moved, backed up or lost together.
+     */
+    static String idOf(Path file) throws IOException {
+        Path idFile = file.resolveSibling(file.getFileName() + ".id");
+        if (Files.exists(idFile)) {
+            return Files.readString(idFile, StandardCharsets.UTF_8).trim();
+        }
+        if (Files.exists(file) && Files.size(file) > 0) {
+            // A fresh ID would replay every record under a new name, past the checkpoint and the unique key
+            throw new IOException("Ingest log " + file + " has records but no " + idFile.getFileName());
+        }
+        Files.createDirectories(file.getParent());
+        String id = UUID.randomUUID().toString();
+        Path temp = file.resolveSibling(file.getFileName() + ".id.tmp");
+        try (FileChannel idChannel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            idChannel.write(ByteBuffer.wrap(id.getBytes(StandardCharsets.UTF_8)));
+            idChannel.force(true);
+        }
+        Files.move(temp, idFile, StandardCopyOption.ATOMIC_MOVE);
+        return id;
+    }
+
+    /**
+     * Opens (or creates) the log, returns its valid records in {@code recovered}, and continues
+     * numbering after {@code minSequence} or the last recovered record, whichever is higher.
+     */
+    static IngestLog open(Path file, long minSequence, List<IngestRecord> recovered) throws IOException {
+        Files.createDirectories(file.getParent());
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long lastSequence = minSequence;
+        long validLength = 0;
+        ByteBuffer header = ByteBuffer.allocate(8);
+        while (true) {
+            header.clear();
+            if (channel.read(header, validLength) < 8) {
+                break;
+            }
+            header.flip();
+            int length = header.getInt();
+            int crc = header.getInt();
+            if (length <= 0 || validLength + 8 + length > channel.size()) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            channel.read(payload, validLength + 8);
+            CRC32 checksum = new CRC32();
+            checksum.update(payload.array());
+            if ((int) checksum.getValue() != crc) {
+                break;
+            }
+            IngestRecord record = IngestRecord.readFrom(new DataInputStream(new ByteArrayInputStream(payload.array())));
+            recovered.add(record);
+            lastSequence = Math.max(lastSequence, record.sequence);
+            validLength += 8 + length;
+        }
+        channel.truncate(validLength);
+        channel.position(validLength);
+        channel.force(true);
+        return new IngestLog(channel, lastSequence);
+    }
+
+    /**
+     * Appends a record (assigning its sequence) and blocks until it is durable. {@code onWritten} runs
+     * right after the write, in sequence order across all appenders.
+     *
+     * @return The record with its assigned sequence.
+     */
+    IngestRecord append(IngestRecord record, Consumer<IngestRecord> onWritten) throws IOException {
+        IngestRecord sequenced;
+        synchronized (lock) {
+            if (closed) {
+                throw new IOException("Ingest log is closed");
+            }
+            sequenced = record.withSequence(lastSequence + 1);
+            ByteBuffer entry = encode(sequenced);
+            while (entry.hasRemaining()) {
+                channel.write(entry);
+            }
+            lastSequence = sequenced.sequence;
+            onWritten.accept(sequenced);
+            lock.notifyAll(); // Wake the sync thread
+        }
+        awaitDurable(sequenced.sequence);
+        return sequenced;
+    }
+
+    /**
+     * Blocks until every record up to {@code sequence} is on disk.
+     */
+    void awaitDurable(long sequence) throws IOException {
+        synchronized (lock) {
+            try {
+                while (durableSequence < sequence) {
+                    if (syncFailure != null) {
+                        throw syncFailure;
+                    }
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the ingest log to sync");
+            }
+        }
+    }
+
+    /**
+     * Empties the log once every record in it has been applied, so it never grows without bound.
+     */
+    void truncateIfDrained(long appliedSequence) throws IOException {
+        synchronized (lock) {
+            if (appliedSequence >= lastSequence && durableSequence == lastSequence) {
+                channel.truncate(0);
+                channel.position(0);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        syncThread.interrupt();
+        synchronized (lock) {
+            if (durableSequence < lastSequence) {
+                syncFailure = new IOException("Ingest log closed before sync");
+            }
+            lock.notifyAll();
+            channel.close();
+        }
+    }
+
+    // --- Helpers ---
+
+    private void syncLoop() {
+        while (!closed) {
+            long target;
+            synchronized (lock) {
+                try {
+                    while (!closed && durableSequence == lastSequence) {
+                        lock.wait();
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                target = lastSequence;
+            }
+            try {
+                channel.force(false); // Appenders keep writing while this runs; they join the next group
+                synchronized (lock) {
+                    durableSequence = target;
+                    lock.notifyAll();
+                }
+            } catch (IOException e) {
+                synchronized (lock) {
+                    syncFailure = e;
+                    lock.notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    private static ByteBuffer encode(IngestRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        record.writeTo(new DataOutputStream(bytes));
+        byte[] payload = bytes.toByteArray();
+        CRC32 checksum = new CRC32();
+        checksum.update(payload);
+        ByteBuffer entry = ByteBuffer.allocate(8 + payload.length);
+        entry.putInt(payload.length).putInt((int) checksum.getValue()).put(payload).flip();
+        return entry;
+    }
+}
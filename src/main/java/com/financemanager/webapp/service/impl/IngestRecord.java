@@ -0,0 +1,98 @@
+package com.financemanager.webapp.service.impl;
+
+import com.financemanager.webapp.dto.TransactionDTO;
+import com.financemanager.webapp.model.TransactionType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// One queued transaction create, as written to the write-behind log
+final class IngestRecord {
+
+    final long sequence;
+    final long userId;
+    final long categoryId;
+    final String categoryName;
+    final TransactionType type;
+    final BigDecimal amount;
+    final String description;
+    final LocalDate date;
+    final String currency;
+
+    IngestRecord(long sequence, long userId, long categoryId, String categoryName, TransactionType type,
+                 BigDecimal amount, String description, LocalDate date, String currency) {
+        this.sequence = sequence;
+        this.userId = userId;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.type = type;
+        this.amount = amount;
+        this.description = description;
+        this.date = date;
+        this.currency = currency;
+    }
+
+    IngestRecord withSequence(long newSequence) {
+        return new IngestRecord(newSequence, userId, categoryId, categoryName, type, amount, description, date, currency);
+    }
+
+    // Not stored yet, so it has no ID
+    TransactionDTO toTransactionDTO() {
+        TransactionDTO dto = new TransactionDTO(null, type, amount, description, date, categoryId, categoryName);
+        dto.setCurrency(currency);
+        return dto;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(sequence);
+        out.writeLong(userId);
+        out.writeLong(categoryId);
+        out.writeUTF(categoryName);
+        out.writeByte(type.ordinal());
+        out.writeUTF(amount.toPlainString());
+        writeNullable(out, description);
+        out.writeLong(date.toEpochDay());
+        writeNullable(out, currency);
+    }
+
+    static IngestRecord readFrom(DataInput in) throws IOException {
+        return new IngestRecord(
+                in.readLong(),
+                in.readLong(),
+                in.readLong(),
+                in.readUTF(),
+                TransactionType.values()[in.readByte()],
+                new BigDecimal(in.readUTF()),
+                readNullable(in),
+                LocalDate.ofEpochDay(in.readLong()),
+                readNullable(in));
+    }
+
+    @Override
+    public String toString() {
+        return "IngestRecord{" +
+                "sequence=" + sequence +
+                ", userId=" + userId +
+                ", categoryId=" + categoryId +
+                ", type=" + type +
+                ", amount=" + amount.toPlainString() +
+                ", description='" + description + '\'' +
+                ", date=" + date +
+                ", currency='" + currency + '\'' +
+                '}';
+    }
+
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,73 @@
+package com.financemanager.webapp.service.impl;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling.
+ * Picks a subset of points that preserves the visual shape of a series (peaks and dips),
+ * which is what a trend chart needs when a long range has more buckets than can be drawn.
+ */
+final class LttbDownsampler {
+
+    private LttbDownsampler() {
+    }
+
+    /**
+     * Selects which points of a series to keep.
+     *
+     * @param values    The series values, in order (x is the index).
+     * @param threshold The maximum number of points to keep (values below 3 are treated as 3).
+     * @return Ascending indices of the kept points; always includes the first and last point.
+     */
+    static int[] selectIndices(double[] values, int threshold) {
+        int n = values.length;
+        threshold = Math.max(threshold, 3);
+        if (n <= threshold) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] selected = new int[threshold];
+        int selectedCount = 0;
+        selected[selectedCount++] = 0; // Always keep the first point
+
+        // Every bucket except the first and last holds this many points
+        double bucketSize = (double) (n - 2) / (threshold - 2);
+        int previous = 0;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Average of the *next* bucket is the third triangle vertex
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += i;
+                avgY += values[i];
+            }
+            int nextCount = Math.max(nextEnd - nextStart, 1);
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            // Keep the point of the current bucket forming the largest triangle
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            double maxArea = -1;
+            int maxIndex = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((previous - avgX) * (values[i] - values[previous])
+                        - (previous - i) * (avgY - values[previous]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = i;
+                }
+            }
+            selected[selectedCount++] = maxIndex;
+            previous = maxIndex;
+        }
+
+        selected[selectedCount] = n - 1; // Always keep the last point
+        return selected;
+    }
+}
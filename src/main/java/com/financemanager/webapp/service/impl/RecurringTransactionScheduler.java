@@ -0,0 +1,48 @@
+package com.financemanager.webapp.service.impl;
+
+import com.financemanager.webapp.service.RecurringTransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Periodically turns due recurring transaction rules into transactions, for all users.
+ * Each batch is one DB transaction; the loop stops as soon as a batch comes back short,
+ * so an idle tick costs a single indexed query.
+ */
+@Component
+public class RecurringTransactionScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RecurringTransactionScheduler.class);
+
+    @Autowired
+    private RecurringTransactionService recurringTransactionService;
+
+    @Value("${app.recurring.batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.recurring.poll-interval-ms:60000}", initialDelayString = "${app.recurring.initial-delay-ms:10000}")
+    public void materializeDueOccurrences() {
+        LocalDate today = LocalDate.now();
+        int totalRules = 0;
+        try {
+            int processed;
+            do {
+                processed = recurringTransactionService.materializeDueBatch(today, batchSize);
+                totalRules += processed;
+            } while (processed == batchSize);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Another instance processed the same rules; whatever is left is picked up next tick
+            log.info("Recurring transaction batch skipped due to a concurrent run: {}", e.getMessage());
+        }
+        if (totalRules > 0) {
+            log.info("Materialized occurrences for {} recurring transaction rule(s)", totalRules);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.financemanager.webapp.service.impl;
+
+import com.financemanager.webapp.dto.RecurringTransactionDTO;
+import com.financemanager.webapp.event.TransactionChangedEvent;
+import com.financemanager.webapp.event.TransactionSnapshot;
+import com.financemanager.webapp.exception.BadRequestException;
+import com.financemanager.webapp.exception.ResourceNotFoundException;
+import com.financemanager.webapp.index.FxRateTable;
+import com.financemanager.webapp.index.TransactionFingerprints;
+import com.financemanager.webapp.model.Category;
+import com.financemanager.webapp.model.RecurringTransaction;
+import com.financemanager.webapp.model.Transaction;
+import com.financemanager.webapp.model.User;
+import com.financemanager.webapp.repository.CategoryRepository;
+import com.financemanager.webapp.repository.RecurringTransactionRepository;
+import com.financemanager.webapp.repository.TransactionRepository;
+import com.financemanager.webapp.repository.UserRepository;
+import com.financemanager.webapp.service.RecurringTransactionService;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Observed(name = "service")
+public class RecurringTransactionServiceImpl implements RecurringTransactionService {
+
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Upper bound on occurrences created for one rule per batch, so a long catch-up can't
+    // produce one huge transaction; the rule stays due and is picked up by the next batch.
+    @Value("${app.recurring.max-catch-up-per-rule:400}")
+    private int maxCatchUpPerRule;
+
+    // Mapper
+    private RecurringTransactionDTO mapToRecurringTransactionDTO(RecurringTransaction rule) {
+        return new RecurringTransactionDTO(
+                rule.getId(),
+                rule.getType(),
+                rule.getAmount(),
+                rule.getDescription(),
+                rule.getCategory().getId(),
+                rule.getCategory().getName(),
+                rule.getFrequency(),
+                rule.getInterval(),
+                rule.getStartDate(),
+                rule.getEndDate(),
+                rule.getNextRunDate(),
+                rule.isActive()
+        );
+    }
+
+    @Override
+    @Transactional
+    public RecurringTransactionDTO addRecurringTransaction(Long userId, RecurringTransactionDTO dto) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+
+        if (dto.getType() == null || dto.getAmount() == null || dto.getFrequency() == null || dto.getStartDate() == null) {
+            throw new BadRequestException("type, amount, frequency and startDate are required.");
+        }
+
+        Category category = categoryRepository.findByIdAndUserId(dto.getCategoryId(), userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", dto.getCategoryId() + " for user " + userId));
+
+        RecurringTransaction rule = new RecurringTransaction();
+        rule.setUser(user);
+        rule.setCategory(category);
+        rule.setType(dto.getType());
+        rule.setAmount(dto.getAmount());
+        rule.setDescription(dto.getDescription());
+        rule.setFrequency(dto.getFrequency());
+        rule.setInterval(validInterval(dto.getInterval()));
+        rule.setStartDate(dto.getStartDate());
+        rule.setEndDate(dto.getEndDate());
+        rule.setActive(dto.getActive() == null || dto.getActive());
+        // A start date in the past is caught up by the scheduler on its next run
+        rule.setNextRunDate(dto.getEndDate() != null && dto.getStartDate().isAfter(dto.getEndDate()) ? null : dto.getStartDate());
+
+        RecurringTransaction savedRule = recurringTransactionRepository.save(rule);
+        return mapToRecurringTransactionDTO(savedRule);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecurringTransactionDTO> getRecurringTransactionsByUserId(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        return recurringTransactionRepository.findByUserIdOrderByNextRunDateAsc(userId).stream()
+                .map(this::mapToRecurringTransactionDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RecurringTransactionDTO getRecurringTransactionByIdAndUserId(Long recurringId, Long userId) {
+        RecurringTransaction rule = recurringTransactionRepository.findByIdAndUserId(recurringId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring transaction not found with id: " + recurringId + " for user id: " + userId));
+        return mapToRecurringTransactionDTO(rule);
+    }
+
+    @Override
+    @Transactional
+    public RecurringTransactionDTO updateRecurringTransaction(Long userId, Long recurringId, RecurringTransactionDTO dto) {
+        RecurringTransaction rule = recurringTransactionRepository.findByIdAndUserId(recurringId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring transaction not found with id: " + recurringId + " for user id: " + userId));
+
+        if (dto.getCategoryId() != null && !rule.getCategory().getId().equals(dto.getCategoryId())) {
+            Category newCategory = categoryRepository.findByIdAndUserId(dto.getCategoryId(), userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("New Category", "id", dto.getCategoryId() + " for user " + userId));
+            rule.setCategory(newCategory);
+        }
+
+        // The schedule itself (frequency, interval, start) is fixed; changing it means creating a new rule.
+        // Only future occurrences are affected by these changes.
+        if (dto.getType() != null) rule.setType(dto.getType());
+        if (dto.getAmount() != null) rule.setAmount(dto.getAmount());
+        rule.setDescription(dto.getDescription());
+        rule.setEndDate(dto.getEndDate());
+        if (dto.getActive() != null) rule.setActive(dto.getActive());
+        if (rule.getNextRunDate() != null && rule.getEndDate() != null && rule.getNextRunDate().isAfter(rule.getEndDate())) {
+            rule.setNextRunDate(null);
+        }
+
+        RecurringTransaction updatedRule = recurringTransactionRepository.save(rule);
+        return mapToRecurringTransactionDTO(updatedRule);
+    }
+
+    @Override
+    @Transactional
+    public void deleteRecurringTransaction(Long userId, Long recurringId) {
+        RecurringTransaction rule = recurringTransactionRepository.findByIdAndUserId(recurringId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring transaction not found with id: " + recurringId + " for user id: " + userId));
+        // Transactions already created by the rule are kept
+        recurringTransactionRepository.delete(rule);
+    }
+
+    @Override
+    @Transactional
+    public int materializeDueBatch(LocalDate asOf, int batchSize) {
+        List<RecurringTransaction> dueRules = recurringTransactionRepository
+                .findByActiveTrueAndNextRunDateLessThanEqualOrderByNextRunDateAsc(asOf, PageRequest.of(0, batchSize));
+
+        List<Transaction> occurrences = new ArrayList<>();
+        for (RecurringTransaction rule : dueRules) {
+            int created = 0;
+            // Catch-up: every occurrence missed while the app was down is created in this pass
+            while (rule.getNextRunDate() != null && !rule.getNextRunDate().isAfter(asOf) && created < maxCatchUpPerRule) {
+                Transaction transaction = new Transaction(rule.getType(), rule.getAmount(), rule.getDescription(),
+                        rule.getNextRunDate(), rule.getUser(), rule.getCategory());
+                // Rules have no currency of their own: occurrences are in the user's currency, as if entered by hand
+                String preferredCurrency = rule.getUser().getPreferredCurrency();
+                transaction.setCurrency(preferredCurrency != null ? FxRateTable.normalize(preferredCurrency) : null);
+                transaction.setFingerprint(TransactionFingerprints.compute(rule.getUser().getId(), transaction.getType(),
+                        transaction.getDate(), transaction.getAmount(), transaction.getCurrency(), transaction.getDescription()));
+                occurrences.add(transaction);
+                rule.advance();
+                created++;
+            }
+        }
+
+        // Inserts and rule updates commit together: a rule's next_run_date only moves forward
+        // if its occurrences were stored, so re-running after a failure never duplicates them.
+        // Concurrent runs are rejected by the rule's @Version check.
+        transactionRepository.insertAll(occurrences); // One multi-row INSERT for the whole pass
+        for (Transaction saved : occurrences) {
+            eventPublisher.publishEvent(TransactionChangedEvent.created(TransactionSnapshot.of(saved)));
+        }
+        recurringTransactionRepository.saveAll(dueRules);
+        return dueRules.size();
+    }
+
+    private static int validInterval(Integer interval) {
+        if (interval == null) {
+            return 1;
+        }
+        if (interval < 1) {
+            throw new BadRequestException("interval must be at least 1.");
+        }
+        return interval;
+    }
+}
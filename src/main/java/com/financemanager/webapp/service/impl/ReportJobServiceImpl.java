@@ -0,0 +1,288 @@
+package com.financemanager.webapp.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financemanager.webapp.dto.ReportJobDTO;
+import com.financemanager.webapp.dto.ReportJobRequest;
+import com.financemanager.webapp.dto.SummaryDTO;
+import com.financemanager.webapp.exception.BadRequestException;
+import com.financemanager.webapp.exception.ResourceNotFoundException;
+import com.financemanager.webapp.exception.TooManyRequestsException;
+import com.financemanager.webapp.model.ReportJob;
+import com.financemanager.webapp.model.ReportJobStatus;
+import com.financemanager.webapp.model.User;
+import com.financemanager.webapp.repository.ReportJobRepository;
+import com.financemanager.webapp.repository.UserRepository;
+import com.financemanager.webapp.service.ReportJobService;
+import com.financemanager.webapp.service.ReportService;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Service
+@Observed(name = "service")
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobServiceImpl.class);
+
+    private static final List<ReportJobStatus> ACTIVE_STATUSES = List.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING);
+
+    @Autowired
+    private ReportJobRepository reportJobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("reportJobExecutor")
+    private TaskExecutor reportJobExecutor;
+
+    @Value("${app.reports.jobs.max-active-per-user:2}")
+    private int maxActiveJobsPerUser;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.reports.jobs.max-range-years:20}")
+    private int maxRangeYears;
+
+    @Value("${app.reports.jobs.stale-after-seconds:120}")
+    private long staleAfterSeconds; // Keep well above the heartbeat interval
+
+    private final String instanceId = UUID.randomUUID().toString(); // Owner of the jobs this instance runs
+
+    // Jobs handed to this instance's workers and not finished yet; the running ones get heartbeats
+    private final Set<Long> queuedJobs = ConcurrentHashMap.newKeySet();
+    private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
+
+    // Mapper
+    private ReportJobDTO mapToReportJobDTO(ReportJob job) {
+        return new ReportJobDTO(
+                job.getId(),
+                job.getReportType(),
+                job.getStatus(),
+                job.getStartDate(),
+                job.getEndDate(),
+                job.getErrorMessage(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getCompletedAt()
+        );
+    }
+
+    // Not @Transactional: the job row is inserted in its own transaction, committed before a worker can pick it up.
+    @Override
+    public ReportJobDTO submitJob(Long userId, ReportJobRequest request) {
+        if (request.getReportType() == null || request.getStartDate() == null || request.getEndDate() == null) {
+            throw new BadRequestException("reportType, startDate and endDate are required.");
+        }
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new BadRequestException("endDate must not be before startDate.");
+        }
+        if (ChronoUnit.YEARS.between(request.getStartDate(), request.getEndDate()) >= maxRangeYears) {
+            throw new BadRequestException("Report range cannot exceed " + maxRangeYears + " years.");
+        }
+
+        ReportJob savedJob = new TransactionTemplate(transactionManager).execute(status -> {
+            // The user row lock makes the count and the insert atomic across a user's concurrent submits
+            User user = userRepository.findByIdForUpdate(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+
+            // Per-user limit so one user can't fill the shared worker queue
+            if (reportJobRepository.countByUserIdAndStatusIn(userId, ACTIVE_STATUSES) >= maxActiveJobsPerUser) {
+                throw new TooManyRequestsException("You already have " + maxActiveJobsPerUser
+                        + " report jobs in progress. Please wait for them to finish.");
+            }
+            return reportJobRepository.save(new ReportJob(request.getReportType(), request.getStartDate(), request.getEndDate(), user));
+        });
+
+        try {
+            enqueue(savedJob.getId());
+        } catch (TaskRejectedException e) {
+            // Global queue is full: record the failure and let the client retry later
+            reportJobRepository.failIfQueued(savedJob.getId(), "Report queue was full.", LocalDateTime.now());
+            throw new TooManyRequestsException("The report queue is currently full. Please try again later.");
+        }
+        return mapToReportJobDTO(savedJob);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReportJobDTO getJob(Long userId, Long jobId) {
+        ReportJob job = reportJobRepository.findByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found with id: " + jobId + " for user id: " + userId));
+        return mapToReportJobDTO(job);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReportJobDTO> getJobsByUserId(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        return reportJobRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(this::mapToReportJobDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getJobResult(Long userId, Long jobId) {
+        ReportJob job = reportJobRepository.findByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found with id: " + jobId + " for user id: " + userId));
+        return job.getStatus() == ReportJobStatus.COMPLETED ? job.getResultJson() : null;
+    }
+
+    // --- Background processing ---
+
+    /**
+     * Picks up jobs left queued or running when an instance stopped. Jobs a live instance is running keep
+     * a fresh heartbeat and are left alone; queued jobs may also sit in a live instance's queue, but only
+     * one worker can claim a job, so handing them out twice is harmless.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        reclaim(now, now.minusSeconds(staleAfterSeconds));
+    }
+
+    /**
+     * Renews the heartbeat of the jobs this instance is running, then takes over running jobs whose owner
+     * stopped renewing theirs and queued jobs that no worker claimed within {@code stale-after-seconds}.
+     */
+    @Scheduled(fixedDelayString = "${app.reports.jobs.heartbeat-interval-ms:30000}",
+            initialDelayString = "${app.reports.jobs.heartbeat-interval-ms:30000}")
+    public void maintainJobs() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (!runningJobs.isEmpty()) {
+                reportJobRepository.renewHeartbeat(instanceId, List.copyOf(runningJobs), now);
+            }
+            LocalDateTime staleBefore = now.minusSeconds(staleAfterSeconds);
+            reclaim(staleBefore, staleBefore);
+        } catch (RuntimeException e) {
+            log.warn("Report job maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    private void reclaim(LocalDateTime queuedBefore, LocalDateTime heartbeatBefore) {
+        int resumed = 0;
+        for (ReportJob job : reportJobRepository.findUnclaimed(queuedBefore, heartbeatBefore)) {
+            if (queuedJobs.contains(job.getId()) || runningJobs.contains(job.getId())) {
+                continue; // Already with this instance's workers
+            }
+            if (job.getStatus() == ReportJobStatus.RUNNING && reportJobRepository.requeueIfStale(job.getId(), heartbeatBefore) == 0) {
+                continue; // Its owner renewed the heartbeat in the meantime
+            }
+            try {
+                enqueue(job.getId());
+                resumed++;
+            } catch (TaskRejectedException e) {
+                // The rest stay queued for the next pass, here or on another instance
+                log.warn("Report queue full; leaving unfinished report jobs for the next pass");
+                break;
+            }
+        }
+        if (resumed > 0) {
+            log.info("Resumed {} unfinished report job(s)", resumed);
+        }
+    }
+
+    private void enqueue(Long jobId) {
+        queuedJobs.add(jobId);
+        try {
+            reportJobExecutor.execute(() -> runJob(jobId));
+        } catch (TaskRejectedException e) {
+            queuedJobs.remove(jobId);
+            throw e;
+        }
+    }
+
+    // Runs on a worker thread. Each repository call below runs in its own short transaction,
+    // so no DB transaction is held open while the report is being computed.
+    private void runJob(Long jobId) {
+        try {
+            // Conditional QUEUED -> RUNNING, so a job handed out more than once still runs once
+            if (reportJobRepository.claim(jobId, instanceId, LocalDateTime.now()) == 0) {
+                return; // Deleted or already picked up
+            }
+            runningJobs.add(jobId);
+            queuedJobs.remove(jobId);
+            ReportJob job = reportJobRepository.findById(jobId).orElse(null);
+            if (job == null) {
+                return;
+            }
+
+            ReportJobStatus status;
+            String resultJson = null;
+            String errorMessage = null;
+            try {
+                resultJson = objectMapper.writeValueAsString(computeReport(job));
+                status = ReportJobStatus.COMPLETED;
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("Report job {} failed", jobId, e);
+                status = ReportJobStatus.FAILED;
+                errorMessage = e.getMessage() != null && e.getMessage().length() > 500 ? e.getMessage().substring(0, 500) : e.getMessage();
+            }
+            if (reportJobRepository.finish(jobId, instanceId, status, resultJson, errorMessage, LocalDateTime.now()) == 0) {
+                log.warn("Report job {} was taken over by another instance; discarding this run's result", jobId);
+            }
+        } finally {
+            queuedJobs.remove(jobId);
+            runningJobs.remove(jobId);
+        }
+    }
+
+    private Object computeReport(ReportJob job) {
+        Long userId = job.getUser().getId();
+        LocalDate startDate = job.getStartDate();
+        LocalDate endDate = job.getEndDate();
+
+        switch (job.getReportType()) {
+            case SUMMARY:
+                return reportService.getSummaryForRange(userId, startDate, endDate);
+            case CATEGORY_SPENDING:
+                return reportService.getCategorySpendingChartDataForRange(userId, startDate, endDate);
+            case YEARLY_BREAKDOWN:
+                Map<Integer, SummaryDTO> summariesByYear = new LinkedHashMap<>();
+                for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+                    // Clamp the first and last year to the requested range
+                    LocalDate yearStart = year == startDate.getYear() ? startDate : LocalDate.of(year, 1, 1);
+                    LocalDate yearEnd = year == endDate.getYear() ? endDate : LocalDate.of(year, 12, 31);
+                    summariesByYear.put(year, reportService.getSummaryForRange(userId, yearStart, yearEnd));
+                }
+                return summariesByYear;
+            default:
+                throw new IllegalArgumentException("Unsupported report type: " + job.getReportType());
+        }
+    }
+}
@@ -1,27 +1,62 @@
 package com.financemanager.webapp.service.impl;
 
+import com.financemanager.webapp.dto.CategorySpendDistributionDTO;
 import com.financemanager.webapp.dto.ChartDataDTO;
+import com.financemanager.webapp.dto.DailySpendHeatmapDTO;
+import com.financemanager.webapp.dto.DailyTotalDTO;
+import com.financemanager.webapp.dto.MerchantTotalDTO;
+import com.financemanager.webapp.dto.SpendDistributionDTO;
 import com.financemanager.webapp.dto.SummaryDTO;
+import com.financemanager.webapp.dto.TimeSeriesDTO;
+import com.financemanager.webapp.dto.TimeSeriesPointDTO;
+import com.financemanager.webapp.dto.TopMerchantsDTO;
+import com.financemanager.webapp.exception.BadRequestException;
 import com.financemanager.webapp.exception.ResourceNotFoundException;
-import com.financemanager.webapp.model.Transaction;
+import com.financemanager.webapp.index.ColumnarArchiveStore;
+import com.financemanager.webapp.index.ColumnarYearFile;
+import com.financemanager.webapp.index.DailySpendIndex;
+import com.financemanager.webapp.index.FxRateTable;
+import com.financemanager.webapp.index.LogBucketHistogram;
+import com.financemanager.webapp.index.MerchantSketchIndex;
+import com.financemanager.webapp.index.SpaceSavingSketch;
+import com.financemanager.webapp.index.SpendDistributionIndex;
+import com.financemanager.webapp.model.Category;
+import com.financemanager.webapp.model.MerchantRanking;
+import com.financemanager.webapp.model.TimeGranularity;
 import com.financemanager.webapp.model.TransactionType;
+import com.financemanager.webapp.model.User;
+import com.financemanager.webapp.profiling.ServiceCallEvent;
+import com.financemanager.webapp.repository.CategoryRepository;
 import com.financemanager.webapp.repository.TransactionRepository;
 import com.financemanager.webapp.repository.UserRepository;
 import com.financemanager.webapp.service.ReportService;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.Month;
+import java.time.Year;
 import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 @Service
+@Observed(name = "service")
 public class ReportServiceImpl implements ReportService {
 
     @Autowired
@@ -30,87 +65,400 @@ public class ReportServiceImpl implements ReportService {
     @Autowired
     private UserRepository userRepository; // Inject to check if user exists
 
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private DailySpendIndex dailySpendIndex;
+
+    @Autowired
+    private ColumnarArchiveStore columnarArchiveStore; // Closed years are summarized from local columnar files
+
+    @Autowired
+    private FxRateTable fxRateTable; // Reports are converted to the user's preferred currency
+
+    @Autowired
+    private MerchantSketchIndex merchantSketchIndex;
+
+    @Autowired
+    private SpendDistributionIndex spendDistributionIndex;
+
+    @Value("${app.reports.trend.max-points:366}")
+    private int defaultMaxTrendPoints; // Charts can't usefully draw more points than this
+
+    @Value("${app.reports.trend.max-range-years:5}")
+    private int maxTrendRangeYears; // The trend is computed on the request thread; longer ranges go through report jobs
+
+    // Reads are READ_COMMITTED so the indexes and the columnar store load on this connection instead of a second one
+
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
     public SummaryDTO getMonthlySummary(Long userId, int year, int month) {
-        if (!userRepository.existsById(userId)) {
-            throw new ResourceNotFoundException("User", "id", userId);
-        }
+        String currency = reportCurrencyOf(userId);
 
         YearMonth yearMonth = YearMonth.of(year, month);
         LocalDate startDate = yearMonth.atDay(1);
         LocalDate endDate = yearMonth.atEndOfMonth();
 
-        return calculateSummary(userId, startDate, endDate);
+        return calculateSummary(userId, startDate, endDate, currency);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
     public SummaryDTO getYearlySummary(Long userId, int year) {
-        if (!userRepository.existsById(userId)) {
-            throw new ResourceNotFoundException("User", "id", userId);
-        }
+        String currency = reportCurrencyOf(userId);
 
         LocalDate startDate = LocalDate.of(year, Month.JANUARY, 1);
         LocalDate endDate = LocalDate.of(year, Month.DECEMBER, 31);
 
-        return calculateSummary(userId, startDate, endDate);
+        return calculateSummary(userId, startDate, endDate, currency);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
     public ChartDataDTO getCategorySpendingChartData(Long userId, int year, int month) {
-        if (!userRepository.existsById(userId)) {
-            throw new ResourceNotFoundException("User", "id", userId);
-        }
+        String currency = reportCurrencyOf(userId);
 
         YearMonth yearMonth = YearMonth.of(year, month);
         LocalDate startDate = yearMonth.atDay(1);
         LocalDate endDate = yearMonth.atEndOfMonth();
 
-        List<Transaction> expenses = transactionRepository.findByUserIdAndTypeAndDateBetween(
-                userId, TransactionType.EXPENSE, startDate, endDate);
+        return calculateCategorySpending(userId, startDate, endDate, currency);
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    public SummaryDTO getSummaryForRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        String currency = reportCurrencyOf(userId);
+        return calculateSummary(userId, startDate, endDate, currency);
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    public ChartDataDTO getCategorySpendingChartDataForRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        String currency = reportCurrencyOf(userId);
+        return calculateCategorySpending(userId, startDate, endDate, currency);
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    public SummaryDTO getSummaryForRange(Long userId, LocalDate startDate, LocalDate endDate, String currency) {
+        return calculateSummary(userId, startDate, endDate, currency);
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    public ChartDataDTO getCategorySpendingChartDataForRange(Long userId, LocalDate startDate, LocalDate endDate, String currency) {
+        return calculateCategorySpending(userId, startDate, endDate, currency);
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    public TimeSeriesDTO getTimeSeries(Long userId, LocalDate startDate, LocalDate endDate,
+                                       TimeGranularity granularity, boolean byCategory, Integer maxPoints) {
+        String currency = reportCurrencyOf(userId);
+        if (endDate.isBefore(startDate)) {
+            throw new BadRequestException("endDate must not be before startDate.");
+        }
+        if (ChronoUnit.YEARS.between(startDate, endDate) >= maxTrendRangeYears) {
+            throw new BadRequestException("Trend range cannot exceed " + maxTrendRangeYears
+                    + " years. Submit a report job for longer ranges.");
+        }
 
-        // Group by category name and sum amounts
-        Map<String, BigDecimal> spendingByCategory = expenses.stream()
-                .collect(Collectors.groupingBy(
-                        t -> t.getCategory().getName(), // Group by category name
-                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add) // Sum amounts
-                ));
+        Set<String> unconverted = new TreeSet<>();
+        List<TimeSeriesPointDTO> points = calculateTimeSeriesPoints(userId, startDate, endDate, granularity, byCategory, currency, unconverted);
+        int totalBuckets = points.size();
+
+        int limit = maxPoints != null && maxPoints > 0 ? Math.min(maxPoints, defaultMaxTrendPoints) : defaultMaxTrendPoints;
+        boolean downsampled = false;
+        if (points.size() > limit) {
+            // Keep the buckets that best preserve the shape of the net series
+            double[] net = new double[points.size()];
+            for (int i = 0; i < net.length; i++) {
+                net[i] = points.get(i).getNet().doubleValue();
+            }
+            List<TimeSeriesPointDTO> kept = new ArrayList<>(limit);
+            for (int index : LttbDownsampler.selectIndices(net, limit)) {
+                kept.add(points.get(index));
+            }
+            points = kept;
+            downsampled = true;
+        }
+
+        TimeSeriesDTO timeSeries = new TimeSeriesDTO(granularity, startDate, endDate, totalBuckets, downsampled, points);
+        timeSeries.setCurrency(currency);
+        timeSeries.setUnconvertedCurrencies(new ArrayList<>(unconverted));
+        return timeSeries;
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    public DailySpendHeatmapDTO getDailySpendHeatmap(Long userId, int year, Long categoryId) {
+        String currency = reportCurrencyOf(userId);
+
+        // Served from the in-memory calendar; only the first view of a year hits the database
+        long[] days = Arrays.copyOf(dailySpendIndex.getCalendar(userId, year).copyDays(categoryId), Year.of(year).length());
+        String base = fxRateTable.getBaseCurrency();
+        if (!currency.equals(base)) {
+            // The calendar is in base-currency cents; each day is converted at its own rate
+            for (int day = 0; day < days.length; day++) {
+                if (days[day] != 0) {
+                    int toPeriod = fxRateTable.periodOf(currency, LocalDate.ofYearDay(year, day + 1));
+                    days[day] = fxRateTable.convert(BigDecimal.valueOf(days[day], 2), base, FxRateTable.BASE_PERIOD, currency, toPeriod)
+                            .movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+                }
+            }
+        }
+        DailySpendHeatmapDTO heatmap = new DailySpendHeatmapDTO(year, categoryId, days);
+        heatmap.setCurrency(currency);
+        return heatmap;
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    public TopMerchantsDTO getTopMerchants(Long userId, int year, Integer month, MerchantRanking rankedBy, int limit) {
+        if (month != null && (month < 1 || month > 12)) {
+            throw new BadRequestException("month must be between 1 and 12.");
+        }
+        // Beyond about half the sketch capacity the tail of the list is mostly error
+        int maxLimit = merchantSketchIndex.getSketchCapacity() / 2;
+        if (limit < 1 || limit > maxLimit) {
+            throw new BadRequestException("limit must be between 1 and " + maxLimit + ".");
+        }
+        String currency = reportCurrencyOf(userId);
+
+        YearMonth first = month != null ? YearMonth.of(year, month) : YearMonth.of(year, Month.JANUARY);
+        YearMonth last = month != null ? first : YearMonth.of(year, Month.DECEMBER);
+        List<SpaceSavingSketch.Entry> entries = merchantSketchIndex.top(userId, first, last, rankedBy, limit);
+
+        // Sketch amounts are base-currency cents; converted once, at the rate in effect at the end of the period
+        String base = fxRateTable.getBaseCurrency();
+        int toPeriod = rankedBy == MerchantRanking.AMOUNT ? fxRateTable.periodOf(currency, last.atEndOfMonth()) : 0;
+        List<MerchantTotalDTO> merchants = new ArrayList<>(entries.size());
+        for (SpaceSavingSketch.Entry entry : entries) {
+            if (rankedBy == MerchantRanking.AMOUNT) {
+                merchants.add(new MerchantTotalDTO(entry.getKey(),
+                        fxRateTable.convert(BigDecimal.valueOf(entry.getWeight(), 2), base, FxRateTable.BASE_PERIOD, currency, toPeriod),
+                        fxRateTable.convert(BigDecimal.valueOf(entry.getError(), 2), base, FxRateTable.BASE_PERIOD, currency, toPeriod),
+                        entry.isGuaranteed()));
+            } else {
+                merchants.add(new MerchantTotalDTO(entry.getKey(), BigDecimal.valueOf(entry.getWeight()),
+                        BigDecimal.valueOf(entry.getError()), entry.isGuaranteed()));
+            }
+        }
+        TopMerchantsDTO topMerchants = new TopMerchantsDTO(year, month, rankedBy, rankedBy == MerchantRanking.AMOUNT ? currency : null, merchants);
+        topMerchants.setUnconvertedCurrencies(rankedBy == MerchantRanking.AMOUNT
+                ? new ArrayList<>(merchantSketchIndex.unconvertedCurrencies(userId, first, last))
+                : List.of());
+        return topMerchants;
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED)
+    public SpendDistributionDTO getSpendingDistribution(Long userId, YearMonth from, YearMonth to, Long categoryId) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to.");
+        }
+        String currency = reportCurrencyOf(userId);
+        if (categoryId != null && categoryRepository.findByIdAndUserId(categoryId, userId).isEmpty()) {
+            throw new ResourceNotFoundException("Category", "id", categoryId);
+        }
+
+        // Merged from the per-month histograms; only the first query for a user reads the database
+        Map<Long, LogBucketHistogram> histograms = spendDistributionIndex.merged(userId, from, to);
+
+        // Histograms are in base-currency cents; converted at the rate in effect at the end of the range
+        int toPeriod = fxRateTable.periodOf(currency, to.atEndOfMonth());
+        List<CategorySpendDistributionDTO> categories = new ArrayList<>();
+        for (Category category : categoryRepository.findByUserIdOrderByNameAsc(userId)) {
+            LogBucketHistogram histogram = histograms.get(category.getId());
+            if (histogram == null || (categoryId != null && !categoryId.equals(category.getId()))) {
+                continue;
+            }
+            long count = histogram.getTotalCount();
+            categories.add(new CategorySpendDistributionDTO(category.getId(), category.getName(), count,
+                    fromBaseCents(histogram.getTotalValue(), currency, toPeriod),
+                    fromBaseCents(Math.round((double) histogram.getTotalValue() / count), currency, toPeriod),
+                    fromBaseCents(histogram.valueAtPercentile(25), currency, toPeriod),
+                    fromBaseCents(histogram.valueAtPercentile(50), currency, toPeriod),
+                    fromBaseCents(histogram.valueAtPercentile(75), currency, toPeriod),
+                    fromBaseCents(histogram.valueAtPercentile(90), currency, toPeriod),
+                    fromBaseCents(histogram.valueAtPercentile(99), currency, toPeriod)));
+        }
+        SpendDistributionDTO distribution = new SpendDistributionDTO(from, to, currency, spendDistributionIndex.estimatedBytes(userId), categories);
+        distribution.setUnconvertedCurrencies(new ArrayList<>(spendDistributionIndex.unconvertedCurrencies(userId, from, to, categoryId)));
+        return distribution;
+    }
+
+
+    // --- Helper method to convert base-currency cents from the in-memory indexes ---
+    private BigDecimal fromBaseCents(long cents, String currency, int toPeriod) {
+        return fxRateTable.convert(BigDecimal.valueOf(cents, 2), fxRateTable.getBaseCurrency(), FxRateTable.BASE_PERIOD, currency, toPeriod);
+    }
+
+
+    // --- Helper method to resolve the currency reports are expressed in ---
+    private String reportCurrencyOf(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        return fxRateTable.reportingCurrency(user.getPreferredCurrency());
+    }
+
+
+    // --- Helper method to bucket daily totals in a single ordered pass ---
+    private List<TimeSeriesPointDTO> calculateTimeSeriesPoints(Long userId, LocalDate startDate, LocalDate endDate,
+                                                               TimeGranularity granularity, boolean byCategory, String currency,
+                                                               Set<String> unconverted) {
+        ServiceCallEvent event = ServiceCallEvent.start("ReportService.calculateTimeSeriesPoints", userId);
+        // One GROUP BY query, ordered by date: no entities are loaded
+        List<DailyTotalDTO> rows = transactionRepository.findDailyTotalsByUserIdAndDateBetween(userId, startDate, endDate);
+
+        List<TimeSeriesPointDTO> points = new ArrayList<>();
+        int rowIndex = 0;
+        LocalDate bucketStart = alignToBucket(startDate, granularity);
+        while (!bucketStart.isAfter(endDate)) {
+            LocalDate nextBucketStart = nextBucket(bucketStart, granularity);
+
+            CurrencyTotals income = new CurrencyTotals(fxRateTable, currency, unconverted);
+            CurrencyTotals expenses = new CurrencyTotals(fxRateTable, currency, unconverted);
+            Map<String, CurrencyTotals> expensesByCategory = byCategory ? new TreeMap<>() : null;
+
+            // Consume every row that falls into this bucket; empty buckets are emitted as zeros
+            while (rowIndex < rows.size() && rows.get(rowIndex).getDate().isBefore(nextBucketStart)) {
+                DailyTotalDTO row = rows.get(rowIndex++);
+                if (row.getType() == TransactionType.INCOME) {
+                    income.add(row.getCurrency(), row.getDate(), row.getTotal());
+                } else {
+                    expenses.add(row.getCurrency(), row.getDate(), row.getTotal());
+                    if (expensesByCategory != null) {
+                        expensesByCategory.computeIfAbsent(row.getCategoryName(), name -> new CurrencyTotals(fxRateTable, currency, unconverted))
+                                .add(row.getCurrency(), row.getDate(), row.getTotal());
+                    }
+                }
+            }
+
+            points.add(new TimeSeriesPointDTO(bucketStart, income.total(), expenses.total(), totalsOf(expensesByCategory)));
+            bucketStart = nextBucketStart;
+        }
+        event.finish(rows.size(), points.size());
+        return points;
+    }
+
+    private static LocalDate alignToBucket(LocalDate date, TimeGranularity granularity) {
+        switch (granularity) {
+            case WEEK:
+                return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return date.withDayOfMonth(1);
+            default:
+                return date;
+        }
+    }
+
+    private static LocalDate nextBucket(LocalDate bucketStart, TimeGranularity granularity) {
+        switch (granularity) {
+            case WEEK:
+                return bucketStart.plusWeeks(1);
+            case MONTH:
+                return bucketStart.plusMonths(1);
+            default:
+                return bucketStart.plusDays(1);
+        }
+    }
+
+
+    private static Map<String, BigDecimal> totalsOf(Map<String, CurrencyTotals> totalsByName) {
+        if (totalsByName == null) {
+            return null;
+        }
+        Map<String, BigDecimal> totals = new TreeMap<>();
+        totalsByName.forEach((name, currencyTotals) -> totals.put(name, currencyTotals.total()));
+        return totals;
+    }
+
+
+    // --- Helper method to calculate spending per category ---
+    private ChartDataDTO calculateCategorySpending(Long userId, LocalDate startDate, LocalDate endDate, String currency) {
+        // Aggregated in the database; amounts are then summed per currency and rate period
+        // and converted once per group, not once per transaction
+        ServiceCallEvent event = ServiceCallEvent.start("ReportService.calculateCategorySpending", userId);
+        List<DailyTotalDTO> rows = transactionRepository.findDailyTotalsByUserIdAndDateBetween(userId, startDate, endDate);
+        Set<String> unconverted = new TreeSet<>();
+        Map<String, CurrencyTotals> spendingByCategory = new LinkedHashMap<>();
+        for (DailyTotalDTO row : rows) {
+            if (row.getType() == TransactionType.EXPENSE) {
+                spendingByCategory.computeIfAbsent(row.getCategoryName(), name -> new CurrencyTotals(fxRateTable, currency, unconverted))
+                        .add(row.getCurrency(), row.getDate(), row.getTotal());
+            }
+        }
 
         // Prepare data for ChartDataDTO
-        List<String> labels = new ArrayList<>(spendingByCategory.keySet());
-        List<BigDecimal> values = new ArrayList<>(spendingByCategory.values());
+        List<String> labels = new ArrayList<>(spendingByCategory.size());
+        List<BigDecimal> values = new ArrayList<>(spendingByCategory.size());
+        spendingByCategory.forEach((name, totals) -> {
+            labels.add(name);
+            values.add(totals.total());
+        });
 
-        return new ChartDataDTO(labels, values);
+        ChartDataDTO chartData = new ChartDataDTO(labels, values);
+        chartData.setCurrency(currency);
+        chartData.setUnconvertedCurrencies(new ArrayList<>(unconverted));
+        event.finish(rows.size(), labels.size());
+        return chartData;
     }
 
 
     // --- Helper method to calculate summary ---
-    private SummaryDTO calculateSummary(Long userId, LocalDate startDate, LocalDate endDate) {
-        List<Transaction> incomeTransactions = transactionRepository.findByUserIdAndTypeAndDateBetween(
-                userId, TransactionType.INCOME, startDate, endDate);
+    private SummaryDTO calculateSummary(Long userId, LocalDate startDate, LocalDate endDate, String currency) {
+        if (startDate.getYear() == endDate.getYear() && columnarArchiveStore.covers(startDate.getYear())) {
+            ColumnarYearFile yearFile = columnarArchiveStore.getYear(userId, startDate.getYear());
+            if (yearFile != null) {
+                ServiceCallEvent event = ServiceCallEvent.start("ReportService.calculateSummary.columnar", userId);
+                SummaryDTO summary = calculateSummary(yearFile, startDate, endDate, currency);
+                event.finish(yearFile.getRowCount(), 1);
+                return summary;
+            }
+        }
 
-        List<Transaction> expenseTransactions = transactionRepository.findByUserIdAndTypeAndDateBetween(
-                userId, TransactionType.EXPENSE, startDate, endDate);
+        ServiceCallEvent event = ServiceCallEvent.start("ReportService.calculateSummary", userId);
+        List<DailyTotalDTO> rows = transactionRepository.findDailyTotalsByUserIdAndDateBetween(userId, startDate, endDate);
+        Set<String> unconverted = new TreeSet<>();
+        CurrencyTotals income = new CurrencyTotals(fxRateTable, currency, unconverted);
+        CurrencyTotals expenses = new CurrencyTotals(fxRateTable, currency, unconverted);
+        for (DailyTotalDTO row : rows) {
+            (row.getType() == TransactionType.INCOME ? income : expenses).add(row.getCurrency(), row.getDate(), row.getTotal());
+        }
 
-        BigDecimal totalIncome = incomeTransactions.stream()
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        SummaryDTO summary = new SummaryDTO(income.total(), expenses.total());
+        summary.setCurrency(currency);
+        summary.setUnconvertedCurrencies(new ArrayList<>(unconverted));
+        event.finish(rows.size(), 1);
+        return summary;
+    }
 
-        BigDecimal totalExpenses = expenseTransactions.stream()
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    // Same result as above, from a memory-mapped scan of a closed year instead of a query
+    private SummaryDTO calculateSummary(ColumnarYearFile yearFile, LocalDate startDate, LocalDate endDate, String currency) {
+        String[] currencies = yearFile.getCurrencies();
+        long[][] incomeByDay = new long[currencies.length][366];
+        long[][] expensesByDay = new long[currencies.length][366];
+        yearFile.sumByCurrencyAndDay(startDate.getDayOfYear() - 1, endDate.getDayOfYear() - 1, incomeByDay, expensesByDay);
 
-        return new SummaryDTO(totalIncome, totalExpenses);
+        Set<String> unconverted = new TreeSet<>();
+        CurrencyTotals income = new CurrencyTotals(fxRateTable, currency, unconverted);
+        CurrencyTotals expenses = new CurrencyTotals(fxRateTable, currency, unconverted);
+        for (int c = 0; c < currencies.length; c++) {
+            for (int day = 0; day < 366; day++) {
+                if (incomeByDay[c][day] != 0 || expensesByDay[c][day] != 0) {
+                    LocalDate date = LocalDate.ofYearDay(yearFile.getYear(), day + 1);
+                    income.add(currencies[c], date, ColumnarYearFile.toAmount(incomeByDay[c][day]));
+                    expenses.add(currencies[c], date, ColumnarYearFile.toAmount(expensesByDay[c][day]));
+                }
+            }
+        }
 
-        // Alternative using custom repository methods with SUM aggregate (potentially more efficient):
-        /*
-        BigDecimal totalIncome = transactionRepository.sumAmountByUserIdAndTypeAndDateBetween(
-            userId, TransactionType.INCOME, startDate, endDate);
-        BigDecimal totalExpenses = transactionRepository.sumAmountByUserIdAndTypeAndDateBetween(
-            userId, TransactionType.EXPENSE, startDate, endDate);
-        return new SummaryDTO(totalIncome, totalExpenses);
-        */
+        SummaryDTO summary = new SummaryDTO(income.total(), expenses.total());
+        summary.setCurrency(currency);
+        summary.setUnconvertedCurrencies(new ArrayList<>(unconverted));
+        return summary;
     }
-}
\ No newline at end of file
+}
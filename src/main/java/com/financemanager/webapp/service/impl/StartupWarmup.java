@@ -0,0 +1,188 @@
+package com.financemanager.webapp.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financemanager.webapp.model.Category;
+import com.financemanager.webapp.model.TimeGranularity;
+import com.financemanager.webapp.model.Transaction;
+import com.financemanager.webapp.model.TransactionType;
+import com.financemanager.webapp.model.User;
+import com.financemanager.webapp.repository.CategoryRepository;
+import com.financemanager.webapp.repository.TransactionRepository;
+import com.financemanager.webapp.repository.UserRepository;
+import com.financemanager.webapp.service.CategoryService;
+import com.financemanager.webapp.service.ReportService;
+import com.financemanager.webapp.service.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Drives the hot request paths (repository queries, DTO mapping, report aggregation, JSON/CBOR
+ * serialization) before the instance takes traffic, so the first real requests don't run
+ * interpreted against cold Hibernate query plans.
+ *
+ * <p>Runs as an {@link ApplicationRunner}: Spring Boot only publishes {@code ReadinessState.ACCEPTING_TRAFFIC}
+ * after all runners have returned, so {@code /actuator/health/readiness} reports OUT_OF_SERVICE until the
+ * warm-up is done. The synthetic tenant (a user with categories and transactions) is inserted inside a
+ * transaction that is always rolled back; the services join that transaction, so they read it like real
+ * data but nothing is ever committed. Rounds repeat until JIT compilation settles or the time budget runs out.</p>
+ */
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    // Transactions table refresh, as requested by transactions.js
+    private static final List<String> TABLE_FIELDS = List.of("id", "date", "type", "categoryName", "amount", "description");
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.warmup.transactions:500}")
+    private int syntheticTransactions;
+
+    @Value("${app.warmup.min-rounds:20}")
+    private int minRounds;
+
+    @Value("${app.warmup.max-duration-ms:30000}")
+    private long maxDurationMs;
+
+    @Value("${app.warmup.settle-threshold-ms:5}")
+    private long settleThresholdMs; // A round that adds less JIT compile time than this counts as settled
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            int rounds = new TransactionTemplate(transactionManager).execute(status -> {
+                status.setRollbackOnly(); // The synthetic tenant must never be committed
+                return warmUp(start);
+            });
+            log.info("Warm-up finished after {} round(s) in {} ms", rounds, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            // A failed warm-up only costs latency; it must not keep the instance out of service
+            log.warn("Warm-up aborted after {} ms: {}", System.currentTimeMillis() - start, e.getMessage());
+        }
+    }
+
+    private int warmUp(long start) {
+        Long userId = seedSyntheticTenant();
+        LocalDate today = LocalDate.now();
+
+        CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+        boolean canMeasure = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+        long lastCompileMs = canMeasure ? compiler.getTotalCompilationTime() : 0;
+        int settledRounds = 0;
+        int rounds = 0;
+
+        while (System.currentTimeMillis() - start < maxDurationMs) {
+            runRound(userId, today);
+            rounds++;
+
+            if (canMeasure) {
+                long compileMs = compiler.getTotalCompilationTime();
+                settledRounds = compileMs - lastCompileMs < settleThresholdMs ? settledRounds + 1 : 0;
+                lastCompileMs = compileMs;
+                if (rounds >= minRounds && settledRounds >= 3) {
+                    break;
+                }
+            } else if (rounds >= minRounds) {
+                break;
+            }
+        }
+        return rounds;
+    }
+
+    // One pass over the paths a dashboard load and the report screens go through
+    private void runRound(Long userId, LocalDate today) {
+        try {
+            Object transactions = transactionService.getTransactionsByUserId(userId);
+            Object tableRows = transactionService.getTransactionFieldsByUserId(userId, TABLE_FIELDS);
+            Object categories = categoryService.getCategoriesByUserId(userId);
+            Object monthly = reportService.getMonthlySummary(userId, today.getYear(), today.getMonthValue());
+            Object yearly = reportService.getYearlySummary(userId, today.getYear());
+            Object chart = reportService.getCategorySpendingChartData(userId, today.getYear(), today.getMonthValue());
+            Object trend = reportService.getTimeSeries(userId, today.withDayOfYear(1), today, TimeGranularity.DAY, true, null);
+
+            for (Object payload : new Object[]{transactions, tableRows, categories, monthly, yearly, chart, trend}) {
+                objectMapper.writeValueAsBytes(payload);
+                cborConverter.getObjectMapper().writeValueAsBytes(payload);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Serialization failed during warm-up", e);
+        }
+    }
+
+    // Current-year dates only: closed years would be exported to columnar files from uncommitted data
+    private Long seedSyntheticTenant() {
+        User user = userRepository.save(new User("Warm-up", "warmup-" + UUID.randomUUID() + "@invalid", "x", "USD"));
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            categories.add(categoryRepository.save(new Category("Warm-up " + i, user)));
+        }
+
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        List<Transaction> transactions = new ArrayList<>(syntheticTransactions);
+        for (int i = 0; i < syntheticTransactions; i++) {
+            Transaction transaction = new Transaction(
+                    random.nextInt(5) == 0 ? TransactionType.INCOME : TransactionType.EXPENSE,
+                    BigDecimal.valueOf(100 + random.nextInt(100_000), 2),
+                    random.nextInt(3) == 0 ? null : "Merchant " + random.nextInt(50),
+                    today.withDayOfYear(1 + random.nextInt(today.getDayOfYear())),
+                    user,
+                    categories.get(random.nextInt(categories.size())));
+            transaction.setCurrency("USD");
+            transactions.add(transaction);
+        }
+        transactionRepository.insertAll(transactions);
+        return user.getId();
+    }
+}
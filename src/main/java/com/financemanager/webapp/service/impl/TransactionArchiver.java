@@ -0,0 +1,173 @@
+package com.financemanager.webapp.service.impl;
+
+import com.financemanager.webapp.index.TransactionFingerprints;
+import com.financemanager.webapp.model.TransactionType;
+import com.financemanager.webapp.repository.TransactionArchiveBoundary;
+import com.financemanager.webapp.repository.TransactionVersionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Moves transactions from closed years into the compressed {@code transactions_archive} table,
+ * keeping the hot table (and its indexes) sized to the last few years.
+ *
+ * <p>Rows move in ID-ordered batches; each batch is one DB transaction (INSERT ... SELECT, then DELETE),
+ * so a row is always in exactly one table. Fingerprints missing from legacy rows are computed on the way,
+ * since imports probe the archive for duplicates as well. Reads that reach before the boundary query both tables,
+ * see {@code TransactionRepositoryImpl}.</p>
+ */
+@Component
+public class TransactionArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionArchiver.class);
+
+    private static final String COLUMNS = "id, type, amount, description, date, currency, fingerprint_v2, user_id, category_id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionArchiveBoundary archiveBoundary;
+
+    @Autowired
+    private TransactionVersionRepository transactionVersionRepository;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.batch-size:1000}")
+    private int batchSize;
+
+    private volatile boolean compressionChecked;
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void archiveClosedYears() {
+        if (!enabled) {
+            return;
+        }
+        // Readers already include the archive for these dates: the boundary is derived from the same cutoff
+        LocalDate cutoff = archiveBoundary.cutoff();
+        ensureCompressed();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int moved = 0;
+        try {
+            int batch;
+            do {
+                batch = transactionTemplate.execute(status -> moveBatch(cutoff));
+                moved += batch;
+            } while (batch == batchSize);
+        } catch (RuntimeException e) {
+            // Typically a concurrent run on another instance; anything left is moved next time
+            log.warn("Archiving transactions before {} stopped after {} row(s): {}", cutoff, moved, e.getMessage());
+        }
+        if (moved > 0) {
+            log.info("Archived {} transaction(s) dated before {}", moved, cutoff);
+        }
+
+        // Rows archived by earlier versions have no (current) fingerprint, but imports probe the archive for duplicates too
+        try {
+            int backfilled;
+            do {
+                backfilled = transactionTemplate.execute(status -> backfillFingerprints("transactions_archive", null));
+            } while (backfilled == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Backfilling archived fingerprints stopped: {}", e.getMessage());
+        }
+    }
+
+    // --- Helpers ---
+
+    private int moveBatch(LocalDate cutoff) {
+        List<?> rawIds = entityManager.createNativeQuery(
+                        "SELECT id FROM transactions WHERE date < :cutoff ORDER BY id LIMIT :limit")
+                .setParameter("cutoff", cutoff)
+                .setParameter("limit", batchSize)
+                .getResultList();
+        if (rawIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = rawIds.stream().map(id -> ((Number) id).longValue()).collect(Collectors.toList());
+
+        backfillFingerprints("transactions", ids); // Legacy rows; the archive is never backfilled by imports
+        entityManager.createNativeQuery(
+                        "INSERT INTO transactions_archive (" + COLUMNS + ") SELECT " + COLUMNS + " FROM transactions WHERE id IN (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        entityManager.createNativeQuery("DELETE FROM transactions WHERE id IN (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        return ids.size();
+    }
+
+    // Computes missing fingerprints (rows stored before they existed) in Java, like the import backfill does.
+    // With ids == null, handles up to one batch of the table's rows; returns the number of rows updated.
+    private int backfillFingerprints(String table, List<Long> ids) {
+        Query select = entityManager.createNativeQuery(
+                "SELECT id, user_id, date, amount, description, type, currency FROM " + table + " WHERE fingerprint_v2 IS NULL" +
+                (ids != null ? " AND id IN (:ids)" : "") + " LIMIT :limit");
+        if (ids != null) {
+            select.setParameter("ids", ids);
+        }
+        List<?> rows = select.setParameter("limit", batchSize).getResultList();
+        Set<Long> userIds = new HashSet<>();
+        for (Object raw : rows) {
+            Object[] row = (Object[]) raw;
+            Long userId = ((Number) row[1]).longValue();
+            LocalDate date = row[2] instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate() : (LocalDate) row[2];
+            long fingerprint = TransactionFingerprints.compute(userId, TransactionType.valueOf((String) row[5]), date,
+                    (BigDecimal) row[3], (String) row[6], (String) row[4]);
+            entityManager.createNativeQuery("UPDATE " + table + " SET fingerprint_v2 = :fingerprint WHERE id = :id")
+                    .setParameter("fingerprint", fingerprint)
+                    .setParameter("id", ((Number) row[0]).longValue())
+                    .executeUpdate();
+            userIds.add(userId);
+        }
+        // Bloom filters built before this commit lack the new fingerprints; a version bump makes imports rebuild them
+        userIds.forEach(transactionVersionRepository::increment);
+        return rows.size();
+    }
+
+    // ddl-auto creates the archive table with the default row format; switch it once to COMPRESSED.
+    // Best effort: needs InnoDB with file-per-table, otherwise the table just stays uncompressed.
+    private void ensureCompressed() {
+        if (compressionChecked) {
+            return;
+        }
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                Object rowFormat = entityManager.createNativeQuery(
+                                "SELECT ROW_FORMAT FROM information_schema.TABLES " +
+                                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transactions_archive'")
+                        .getSingleResult();
+                if (!"Compressed".equalsIgnoreCase(String.valueOf(rowFormat))) {
+                    entityManager.createNativeQuery("ALTER TABLE transactions_archive ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8")
+                            .executeUpdate();
+                    log.info("Switched transactions_archive to ROW_FORMAT=COMPRESSED");
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not compress transactions_archive, leaving it as is: {}", e.getMessage());
+        }
+        compressionChecked = true;
+    }
+}
@@ -1,22 +1,56 @@
 package com.financemanager.webapp.service.impl;
 
+import com.financemanager.webapp.dto.BatchOperationDTO;
+import com.financemanager.webapp.dto.BatchOperationResultDTO;
+import com.financemanager.webapp.dto.BatchRequest;
+import com.financemanager.webapp.dto.BatchResultDTO;
+import com.financemanager.webapp.dto.ImportResultDTO;
 import com.financemanager.webapp.dto.TransactionDTO;
+import com.financemanager.webapp.event.TransactionChangedEvent;
+import com.financemanager.webapp.event.TransactionSnapshot;
+import com.financemanager.webapp.exception.BadRequestException;
+import com.financemanager.webapp.exception.ConflictException;
 import com.financemanager.webapp.exception.ResourceNotFoundException;
+import com.financemanager.webapp.index.DuplicateFingerprintIndex;
+import com.financemanager.webapp.index.FxRateTable;
+import com.financemanager.webapp.index.TransactionFingerprints;
+import com.financemanager.webapp.index.TransactionSearchIndex;
+import com.financemanager.webapp.model.BatchMode;
+import com.financemanager.webapp.model.BatchOperationType;
 import com.financemanager.webapp.model.Category;
 import com.financemanager.webapp.model.Transaction;
 import com.financemanager.webapp.model.User;
+import com.financemanager.webapp.profiling.ServiceCallEvent;
 import com.financemanager.webapp.repository.CategoryRepository;
+import com.financemanager.webapp.repository.TransactionField;
 import com.financemanager.webapp.repository.TransactionRepository;
 import com.financemanager.webapp.repository.UserRepository;
 import com.financemanager.webapp.service.TransactionService;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "service")
 public class TransactionServiceImpl implements TransactionService {
 
     @Autowired
@@ -28,9 +62,30 @@ public class TransactionServiceImpl implements TransactionService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private TransactionSearchIndex transactionSearchIndex;
+
+    @Autowired
+    private DuplicateFingerprintIndex duplicateFingerprintIndex;
+
+    @Autowired
+    private FxRateTable fxRateTable;
+
+    @Autowired
+    private WriteBehindTransactionWriter writeBehindWriter; // Optional group-commit path for creates
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Keeps derived indexes/reports in sync with writes
+
+    @Value("${app.import.batch-size:500}")
+    private int importBatchSize;
+
+    @Value("${app.transactions.batch.max-operations:1000}")
+    private int maxBatchOperations;
+
     // Mapper
     private TransactionDTO mapToTransactionDTO(Transaction transaction) {
-        return new TransactionDTO(
+        TransactionDTO dto = new TransactionDTO(
                 transaction.getId(),
                 transaction.getType(),
                 transaction.getAmount(),
@@ -39,6 +94,9 @@ public class TransactionServiceImpl implements TransactionService {
                 transaction.getCategory().getId(),
                 transaction.getCategory().getName() // Include category name
         );
+        dto.setCurrency(transaction.getCurrency());
+        dto.setArchived(transaction.isArchived());
+        return dto;
     }
 
     @Override
@@ -50,6 +108,14 @@ public class TransactionServiceImpl implements TransactionService {
         Category category = categoryRepository.findByIdAndUserId(transactionDTO.getCategoryId(), userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", transactionDTO.getCategoryId() + " for user " + userId));
 
+        if (writeBehindWriter.isEnabled()) {
+            if (transactionDTO.getType() == null || transactionDTO.getAmount() == null || transactionDTO.getDate() == null) {
+                throw new BadRequestException("type, amount and date are required.");
+            }
+            // Acknowledged once durably queued; stored in MySQL by the background writer
+            return writeBehindWriter.enqueue(userId, category, transactionDTO, currencyOf(transactionDTO, user));
+        }
+
         Transaction transaction = new Transaction();
         transaction.setUser(user);
         transaction.setCategory(category);
@@ -57,8 +123,11 @@ public class TransactionServiceImpl implements TransactionService {
         transaction.setAmount(transactionDTO.getAmount());
         transaction.setDescription(transactionDTO.getDescription());
         transaction.setDate(transactionDTO.getDate());
+        transaction.setCurrency(currencyOf(transactionDTO, user));
+        transaction.setFingerprint(fingerprintOf(userId, transaction));
 
         Transaction savedTransaction = transactionRepository.save(transaction);
+        eventPublisher.publishEvent(TransactionChangedEvent.created(TransactionSnapshot.of(savedTransaction)));
         return mapToTransactionDTO(savedTransaction);
     }
 
@@ -68,16 +137,70 @@ public class TransactionServiceImpl implements TransactionService {
         if (!userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("User", "id", userId);
         }
+        // Queued (write-behind) creates are read before the table, so one that is stored in between
+        // may briefly show up twice but is never missing
+        List<TransactionDTO> pending = writeBehindWriter.pendingFor(userId);
         List<Transaction> transactions = transactionRepository.findByUserIdOrderByDateDesc(userId);
-        return transactions.stream()
+        // Mapping initializes each category proxy, so it is recorded on its own
+        ServiceCallEvent event = ServiceCallEvent.start("TransactionService.mapToTransactionDTO", userId);
+        List<TransactionDTO> result = transactions.stream()
                 .map(this::mapToTransactionDTO)
                 .collect(Collectors.toList());
+        event.finish(transactions.size(), result.size());
+        if (!pending.isEmpty()) {
+            result.addAll(pending);
+            result.sort(Comparator.comparing(TransactionDTO::getDate).reversed());
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getTransactionFieldsByUserId(Long userId, List<String> fields) {
+        List<TransactionField> requested = parseTransactionFields(fields);
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+
+        // Date is always selected because rows are merged and ordered by it; it is only returned if requested
+        List<TransactionField> selected = new ArrayList<>(requested);
+        if (!selected.contains(TransactionField.DATE)) {
+            selected.add(TransactionField.DATE);
+        }
+        int dateIndex = selected.indexOf(TransactionField.DATE);
+
+        ServiceCallEvent event = ServiceCallEvent.start("TransactionService.getTransactionFieldsByUserId", userId);
+        List<TransactionDTO> pending = writeBehindWriter.pendingFor(userId);
+        List<Object[]> rows = transactionRepository.findFieldsByUserIdOrderByDateDesc(userId, selected);
+        int scanned = rows.size();
+        if (!pending.isEmpty()) {
+            rows = new ArrayList<>(rows);
+            for (TransactionDTO dto : pending) {
+                Object[] row = new Object[selected.size()];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = selected.get(i).valueOf(dto);
+                }
+                rows.add(row);
+            }
+            rows.sort(Comparator.comparing((Object[] row) -> (LocalDate) row[dateIndex]).reversed());
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> values = new LinkedHashMap<>(requested.size() * 2);
+            for (int i = 0; i < requested.size(); i++) {
+                values.put(requested.get(i).getFieldName(), row[i]);
+            }
+            result.add(values);
+        }
+        event.finish(scanned, result.size());
+        return result;
     }
 
     @Override
     @Transactional(readOnly = true)
     public TransactionDTO getTransactionByIdAndUserId(Long transactionId, Long userId) {
-        Transaction transaction = transactionRepository.findByIdAndUserId(transactionId, userId)
+        Transaction transaction = transactionRepository.findIncludingArchiveByIdAndUserId(transactionId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + transactionId + " for user id: " + userId));
         return mapToTransactionDTO(transaction);
     }
@@ -89,8 +212,8 @@ public class TransactionServiceImpl implements TransactionService {
         // User user = userRepository.findById(userId)
         //       .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
-        Transaction existingTransaction = transactionRepository.findByIdAndUserId(transactionId, userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + transactionId + " for user id: " + userId));
+        Transaction existingTransaction = findWritable(transactionId, userId);
+        TransactionSnapshot before = TransactionSnapshot.of(existingTransaction);
 
         // If category is being changed, ensure the new category exists and belongs to the user
         if (!existingTransaction.getCategory().getId().equals(transactionDTO.getCategoryId())) {
@@ -104,16 +227,347 @@ public class TransactionServiceImpl implements TransactionService {
         existingTransaction.setAmount(transactionDTO.getAmount());
         existingTransaction.setDescription(transactionDTO.getDescription());
         existingTransaction.setDate(transactionDTO.getDate());
+        existingTransaction.setCurrency(currencyOf(transactionDTO, existingTransaction.getUser()));
+        existingTransaction.setFingerprint(fingerprintOf(userId, existingTransaction));
 
         Transaction updatedTransaction = transactionRepository.save(existingTransaction);
+        eventPublisher.publishEvent(TransactionChangedEvent.updated(before, TransactionSnapshot.of(updatedTransaction)));
         return mapToTransactionDTO(updatedTransaction);
     }
 
     @Override
     @Transactional
     public void deleteTransaction(Long userId, Long transactionId) {
-        Transaction transaction = transactionRepository.findByIdAndUserId(transactionId, userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + transactionId + " for user id: " + userId));
+        Transaction transaction = findWritable(transactionId, userId);
+        TransactionSnapshot before = TransactionSnapshot.of(transaction);
         transactionRepository.delete(transaction);
+        eventPublisher.publishEvent(TransactionChangedEvent.deleted(before));
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED) // Lets the fingerprint filter load on this connection
+    public ImportResultDTO importTransactions(Long userId, List<TransactionDTO> transactionDTOs) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+
+        // Resolve categories once for the whole import
+        Map<Long, Category> categoriesById = categoryRepository.findByUserIdOrderByNameAsc(userId).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        backfillFingerprints(userId);
+        duplicateFingerprintIndex.dropIfStale(userId); // Other instances' rows aren't in this instance's filter
+
+        // Deduplicated by multiplicity: a fingerprint stored n times matches the import's first n rows with it,
+        // and any further rows are new (two identical coffees on one day are both kept)
+        List<TransactionDTO> duplicates = new ArrayList<>();
+        Map<Long, Long> unmatchedStored = new HashMap<>(); // Stored rows per fingerprint not yet matched by an import row
+        int imported = 0;
+
+        for (int batchStart = 0; batchStart < transactionDTOs.size(); batchStart += importBatchSize) {
+            List<TransactionDTO> batch = transactionDTOs.subList(batchStart, Math.min(batchStart + importBatchSize, transactionDTOs.size()));
+
+            List<Transaction> candidates = new ArrayList<>(batch.size());
+            List<TransactionDTO> candidateRows = new ArrayList<>(batch.size());
+            Set<Long> toProbe = new HashSet<>(); // Fingerprints first seen in this batch, so only the stored rows are counted
+            for (int i = 0; i < batch.size(); i++) {
+                TransactionDTO row = batch.get(i);
+                if (row.getType() == null || row.getAmount() == null || row.getDate() == null) {
+                    throw new BadRequestException("Row " + (batchStart + i) + ": type, amount and date are required.");
+                }
+                Category category = categoriesById.get(row.getCategoryId());
+                if (category == null) {
+                    throw new BadRequestException("Row " + (batchStart + i) + ": category " + row.getCategoryId() + " not found for user " + userId);
+                }
+                Transaction transaction = new Transaction(row.getType(), row.getAmount(), row.getDescription(), row.getDate(), user, category);
+                transaction.setCurrency(currencyOf(row, user));
+                long fingerprint = fingerprintOf(userId, transaction);
+                transaction.setFingerprint(fingerprint);
+
+                // Only rows the Bloom filter can't rule out go to the database probe
+                if (!unmatchedStored.containsKey(fingerprint)) {
+                    if (duplicateFingerprintIndex.mightExist(userId, fingerprint)) {
+                        toProbe.add(fingerprint);
+                    } else {
+                        unmatchedStored.put(fingerprint, 0L);
+                    }
+                }
+                candidates.add(transaction);
+                candidateRows.add(row);
+            }
+
+            if (!toProbe.isEmpty()) {
+                Map<Long, Long> stored = transactionRepository.countExistingFingerprints(userId, toProbe);
+                for (Long fingerprint : toProbe) {
+                    unmatchedStored.put(fingerprint, stored.getOrDefault(fingerprint, 0L));
+                }
+            }
+
+            List<Transaction> toSave = new ArrayList<>(candidates.size());
+            for (int i = 0; i < candidates.size(); i++) {
+                long fingerprint = candidates.get(i).getFingerprint();
+                long unmatched = unmatchedStored.get(fingerprint);
+                if (unmatched > 0) {
+                    unmatchedStored.put(fingerprint, unmatched - 1);
+                    duplicates.add(candidateRows.get(i));
+                } else {
+                    toSave.add(candidates.get(i));
+                }
+            }
+
+            transactionRepository.insertAll(toSave); // One multi-row INSERT per chunk
+            for (Transaction saved : toSave) {
+                eventPublisher.publishEvent(TransactionChangedEvent.created(TransactionSnapshot.of(saved)));
+            }
+            imported += toSave.size();
+        }
+
+        return new ImportResultDTO(transactionDTOs.size(), imported, duplicates.size(), duplicates);
+    }
+
+    @Override
+    @Transactional
+    public BatchResultDTO executeBatch(Long userId, BatchRequest batchRequest) {
+        List<BatchOperationDTO> operations = batchRequest.getOperations() != null ? batchRequest.getOperations() : List.of();
+        if (operations.isEmpty()) {
+            throw new BadRequestException("A batch needs at least one operation.");
+        }
+        if (operations.size() > maxBatchOperations) {
+            throw new BadRequestException("A batch can contain at most " + maxBatchOperations + " operations.");
+        }
+        BatchMode mode = batchRequest.getMode() != null ? batchRequest.getMode() : BatchMode.ATOMIC;
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+
+        // Resolve categories, and every transaction the batch touches, once for the whole batch
+        Map<Long, Category> categoriesById = categoryRepository.findByUserIdOrderByNameAsc(userId).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+        Set<Long> ids = operations.stream()
+                .filter(operation -> operation != null && operation.getId() != null)
+                .map(BatchOperationDTO::getId)
+                .collect(Collectors.toSet());
+        Map<Long, Transaction> existingById = ids.isEmpty()
+                ? new HashMap<>()
+                : transactionRepository.findByUserIdAndIdIn(userId, ids).stream()
+                        .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+        Set<Long> missingIds = new HashSet<>(ids);
+        missingIds.removeAll(existingById.keySet());
+        Set<Long> archivedIds = new HashSet<>(transactionRepository.findArchivedIdsByUserIdAndIdIn(userId, missingIds));
+
+        // Validate everything before writing anything, so a rejected ATOMIC batch leaves no trace
+        BatchOperationResultDTO[] results = new BatchOperationResultDTO[operations.size()];
+        Set<Long> deletedIds = new HashSet<>();
+        int failed = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            results[i] = checkBatchOperation(i, operations.get(i), user, categoriesById, existingById, archivedIds, deletedIds);
+            if (results[i] != null) {
+                failed++;
+            }
+        }
+
+        if (mode == BatchMode.ATOMIC && failed > 0) {
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null) {
+                    results[i] = new BatchOperationResultDTO(i, operations.get(i).getOp(), HttpStatus.FAILED_DEPENDENCY.value(),
+                            null, "Not applied: another operation in the batch failed.");
+                }
+            }
+            return new BatchResultDTO(mode, false, 0, failed, Arrays.asList(results));
+        }
+
+        // Updates and deletes are flushed together at commit (JDBC-batched); creates go in one multi-row insertAll
+        List<Transaction> created = new ArrayList<>();
+        List<Integer> createdIndexes = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            BatchOperationDTO operation = operations.get(i);
+            TransactionDTO row = operation.getTransaction();
+            switch (operation.getOp()) {
+                case CREATE -> {
+                    Transaction transaction = new Transaction(row.getType(), row.getAmount(), row.getDescription(), row.getDate(),
+                            user, categoriesById.get(row.getCategoryId()));
+                    transaction.setCurrency(currencyOf(row, user));
+                    transaction.setFingerprint(fingerprintOf(userId, transaction));
+                    created.add(transaction);
+                    createdIndexes.add(i);
+                }
+                case UPDATE -> {
+                    Transaction transaction = existingById.get(operation.getId());
+                    TransactionSnapshot before = TransactionSnapshot.of(transaction);
+                    transaction.setCategory(categoriesById.get(row.getCategoryId()));
+                    transaction.setType(row.getType());
+                    transaction.setAmount(row.getAmount());
+                    transaction.setDescription(row.getDescription());
+                    transaction.setDate(row.getDate());
+                    transaction.setCurrency(currencyOf(row, user));
+                    transaction.setFingerprint(fingerprintOf(userId, transaction));
+                    eventPublisher.publishEvent(TransactionChangedEvent.updated(before, TransactionSnapshot.of(transaction)));
+                    results[i] = new BatchOperationResultDTO(i, BatchOperationType.UPDATE, HttpStatus.OK.value(),
+                            mapToTransactionDTO(transaction), null);
+                }
+                case DELETE -> {
+                    Transaction transaction = existingById.get(operation.getId());
+                    TransactionSnapshot before = TransactionSnapshot.of(transaction);
+                    transactionRepository.delete(transaction);
+                    eventPublisher.publishEvent(TransactionChangedEvent.deleted(before));
+                    results[i] = new BatchOperationResultDTO(i, BatchOperationType.DELETE, HttpStatus.NO_CONTENT.value(), null, null);
+                }
+            }
+        }
+
+        transactionRepository.insertAll(created);
+        for (int j = 0; j < created.size(); j++) {
+            Transaction transaction = created.get(j);
+            eventPublisher.publishEvent(TransactionChangedEvent.created(TransactionSnapshot.of(transaction)));
+            int index = createdIndexes.get(j);
+            results[index] = new BatchOperationResultDTO(index, BatchOperationType.CREATE, HttpStatus.CREATED.value(),
+                    mapToTransactionDTO(transaction), null);
+        }
+
+        return new BatchResultDTO(mode, true, operations.size() - failed, failed, Arrays.asList(results));
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.READ_COMMITTED) // Lets the search index load on this connection
+    public List<TransactionDTO> searchTransactions(Long userId, String query, LocalDate startDate, LocalDate endDate, Long categoryId, int limit) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be empty.");
+        }
+        if (limit <= 0 || limit > 500) {
+            throw new BadRequestException("limit must be between 1 and 500.");
+        }
+
+        // Ranking and filtering happen in the index; only the hits are loaded from the database
+        List<Long> hitIds = transactionSearchIndex.search(userId, query, startDate, endDate, categoryId, limit);
+        if (hitIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Transaction> hitsById = transactionRepository.findWithCategoryByUserIdAndIdIn(userId, hitIds).stream()
+                .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+        return hitIds.stream()
+                .map(hitsById::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToTransactionDTO)
+                .collect(Collectors.toList());
+    }
+
+    // --- Sparse fieldset helper ---
+
+    private static List<TransactionField> parseTransactionFields(List<String> fields) {
+        List<TransactionField> parsed = new ArrayList<>();
+        for (String name : fields) {
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            TransactionField field = TransactionField.fromFieldName(name.trim());
+            if (field == null) {
+                throw new BadRequestException("Unknown field '" + name.trim() + "'. Allowed: " + Arrays.stream(TransactionField.values())
+                        .map(TransactionField::getFieldName).collect(Collectors.joining(", ")));
+            }
+            if (!parsed.contains(field)) {
+                parsed.add(field);
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new BadRequestException("fields must name at least one field.");
+        }
+        return parsed;
+    }
+
+    // --- Batch helper ---
+
+    // Returns the failure result for an operation that can't be applied, or null if it is valid.
+    // Deletes are recorded so later operations in the same batch see the transaction as gone.
+    private BatchOperationResultDTO checkBatchOperation(int index, BatchOperationDTO operation, User user,
+                                                        Map<Long, Category> categoriesById,
+                                                        Map<Long, Transaction> existingById, Set<Long> archivedIds,
+                                                        Set<Long> deletedIds) {
+        if (operation == null || operation.getOp() == null) {
+            return new BatchOperationResultDTO(index, null, HttpStatus.BAD_REQUEST.value(), null, "op is required.");
+        }
+        BatchOperationType op = operation.getOp();
+
+        if (op != BatchOperationType.CREATE) {
+            if (operation.getId() == null) {
+                return new BatchOperationResultDTO(index, op, HttpStatus.BAD_REQUEST.value(), null, "id is required.");
+            }
+            if (archivedIds.contains(operation.getId())) {
+                return new BatchOperationResultDTO(index, op, HttpStatus.CONFLICT.value(), null, archivedMessage(operation.getId()));
+            }
+            if (!existingById.containsKey(operation.getId()) || deletedIds.contains(operation.getId())) {
+                return new BatchOperationResultDTO(index, op, HttpStatus.NOT_FOUND.value(), null,
+                        "Transaction not found with id: " + operation.getId() + " for user id: " + user.getId());
+            }
+            if (op == BatchOperationType.DELETE) {
+                deletedIds.add(operation.getId());
+                return null;
+            }
+        }
+
+        TransactionDTO row = operation.getTransaction();
+        if (row == null || row.getType() == null || row.getAmount() == null || row.getDate() == null) {
+            return new BatchOperationResultDTO(index, op, HttpStatus.BAD_REQUEST.value(), null, "type, amount and date are required.");
+        }
+        if (!categoriesById.containsKey(row.getCategoryId())) {
+            return new BatchOperationResultDTO(index, op, HttpStatus.NOT_FOUND.value(), null,
+                    "Category not found with id: " + row.getCategoryId() + " for user " + user.getId());
+        }
+        try {
+            currencyOf(row, user);
+        } catch (BadRequestException e) {
+            return new BatchOperationResultDTO(index, op, HttpStatus.BAD_REQUEST.value(), null, e.getMessage());
+        }
+        return null;
+    }
+
+    // --- Archive helpers ---
+
+    // Rows of closed years live in the archive table and are read-only; tell them apart from unknown IDs
+    private Transaction findWritable(Long transactionId, Long userId) {
+        return transactionRepository.findByIdAndUserId(transactionId, userId).orElseThrow(() ->
+                transactionRepository.findArchivedIdsByUserIdAndIdIn(userId, List.of(transactionId)).isEmpty()
+                        ? new ResourceNotFoundException("Transaction not found with id: " + transactionId + " for user id: " + userId)
+                        : new ConflictException(archivedMessage(transactionId)));
+    }
+
+    private static String archivedMessage(Long transactionId) {
+        return "Transaction " + transactionId + " belongs to an archived year and is read-only.";
+    }
+
+    // --- Currency helper ---
+
+    // Stores an explicit currency on every new row, so later changes to the user's preference don't re-label old amounts
+    private String currencyOf(TransactionDTO transactionDTO, User user) {
+        String currency = transactionDTO.getCurrency() != null ? transactionDTO.getCurrency() : user.getPreferredCurrency();
+        if (currency == null) {
+            return null;
+        }
+        currency = FxRateTable.normalize(currency);
+        boolean preferred = user.getPreferredCurrency() != null && currency.equals(FxRateTable.normalize(user.getPreferredCurrency()));
+        if (!preferred && !fxRateTable.isSupported(currency)) {
+            throw new BadRequestException("Unsupported currency: " + currency);
+        }
+        return currency;
+    }
+
+    // --- Fingerprint helpers ---
+
+    private long fingerprintOf(Long userId, Transaction transaction) {
+        return TransactionFingerprints.compute(userId, transaction.getType(), transaction.getDate(), transaction.getAmount(),
+                transaction.getCurrency(), transaction.getDescription());
+    }
+
+    // Rows stored before fingerprints existed, or before their current key (see TransactionFingerprints), get theirs on the user's next import
+    private void backfillFingerprints(Long userId) {
+        List<Transaction> missing = transactionRepository.findByUserIdAndFingerprintIsNull(userId);
+        for (Transaction transaction : missing) {
+            transaction.setFingerprint(fingerprintOf(userId, transaction));
+        }
+        transactionRepository.saveAll(missing);
     }
 }
\ No newline at end of file
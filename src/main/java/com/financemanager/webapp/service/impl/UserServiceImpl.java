@@ -2,20 +2,28 @@ package com.financemanager.webapp.service.impl;
 
 import com.financemanager.webapp.dto.RegistrationRequest;
 import com.financemanager.webapp.dto.UserDTO;
+import com.financemanager.webapp.exception.BadRequestException;
 import com.financemanager.webapp.exception.ResourceNotFoundException;
+import com.financemanager.webapp.index.FxRateTable;
 import com.financemanager.webapp.model.User;
 import com.financemanager.webapp.repository.UserRepository;
 import com.financemanager.webapp.service.UserService;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // Important for DB operations
 
+import java.util.regex.Pattern;
+
 @Service
+@Observed(name = "service")
 public class UserServiceImpl implements UserService {
 
     @Autowired
     private UserRepository userRepository;
 
+    private static final Pattern CURRENCY_CODE = Pattern.compile("[A-Z]{3}"); // ISO 4217 alphabetic code
+
     // Simple mapper methods (Could be moved to a dedicated Mapper class)
     private UserDTO mapToUserDTO(User user) {
         return new UserDTO(user.getId(), user.getName(), user.getEmail(), user.getPreferredCurrency());
@@ -34,7 +42,7 @@ public class UserServiceImpl implements UserService {
         newUser.setName(registrationRequest.getName());
         newUser.setEmail(registrationRequest.getEmail());
         newUser.setPassword(registrationRequest.getPassword()); // Store plain text password
-        newUser.setPreferredCurrency(registrationRequest.getPreferredCurrency());
+        newUser.setPreferredCurrency(validCurrency(registrationRequest.getPreferredCurrency()));
 
         // 3. Save user
         User savedUser = userRepository.save(newUser);
@@ -72,10 +80,23 @@ public class UserServiceImpl implements UserService {
 
         // Update allowed fields
         existingUser.setName(userDTO.getName());
-        existingUser.setPreferredCurrency(userDTO.getPreferredCurrency());
+        existingUser.setPreferredCurrency(validCurrency(userDTO.getPreferredCurrency()));
         // Avoid changing email/password here without proper verification flows
 
         User updatedUser = userRepository.save(existingUser);
         return mapToUserDTO(updatedUser);
     }
+
+    // Only the code's format is checked: a currency without exchange rates is still accepted, and reports fall
+    // back to the base currency for it (listing it among the unconverted currencies); null means the base currency
+    private String validCurrency(String currency) {
+        if (currency == null) {
+            return null;
+        }
+        String normalized = FxRateTable.normalize(currency);
+        if (!CURRENCY_CODE.matcher(normalized).matches()) {
+            throw new BadRequestException("Invalid currency code: " + currency + " (expected a 3-letter ISO code such as USD)");
+        }
+        return normalized;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,292 @@
+package com.financemanager.webapp.service.impl;
+
+import com.financemanager.webapp.dto.TransactionDTO;
+import com.financemanager.webapp.event.TransactionChangedEvent;
+import com.financemanager.webapp.event.TransactionSnapshot;
+import com.financemanager.webapp.index.TransactionFingerprints;
+import com.financemanager.webapp.model.Category;
+import com.financemanager.webapp.model.IngestCheckpoint;
+import com.financemanager.webapp.model.Transaction;
+import com.financemanager.webapp.model.User;
+import com.financemanager.webapp.repository.CategoryRepository;
+import com.financemanager.webapp.repository.IngestCheckpointRepository;
+import com.financemanager.webapp.repository.TransactionRepository;
+import com.financemanager.webapp.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Optional write-behind mode for transaction creates ({@code app.ingest.write-behind.enabled}).
+ *
+ * <p>A create is acknowledged as soon as it is durable in the local {@link IngestLog} (concurrent creates
+ * share one fsync). A single writer thread then stores queued creates in MySQL in batches, one DB
+ * transaction per batch, and advances the log's {@link IngestCheckpoint} in that same transaction. After a
+ * crash the log is replayed from the checkpoint; each row also records its (log ID, sequence) under a unique
+ * key and replayed records that already have a row are skipped, so every acknowledged create is stored once.
+ * Until a create is stored it is visible through {@link #pendingFor(Long)}.</p>
+ *
+ * <p>The log (and the {@code .id} file next to it) must live on durable, instance-local storage that
+ * survives restarts and redeploys, e.g. a persistent volume, never a container's ephemeral filesystem:
+ * acknowledged creates that are not stored yet exist nowhere else. Every instance needs its own log.</p>
+ *
+ * <p>A category with queued creates can't be deleted ({@link #hasPending}). Records whose user or category
+ * is gone anyway (deleted through another instance) are not stored: they are logged as errors and appended
+ * to {@code <log>.rejected}, so they can be re-entered by hand.</p>
+ */
+@Component
+public class WriteBehindTransactionWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindTransactionWriter.class);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private IngestCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.ingest.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.ingest.write-behind.log-file:data/ingest/transactions.log}")
+    private String logFile;
+
+    @Value("${app.ingest.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.ingest.write-behind.retry-delay-ms:1000}")
+    private long retryDelayMs;
+
+    private IngestLog ingestLog;
+    private String logId;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private final LinkedBlockingQueue<IngestRecord> queue = new LinkedBlockingQueue<>();
+    private final ConcurrentHashMap<Long, ConcurrentLinkedQueue<IngestRecord>> pendingByUser = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        logId = IngestLog.idOf(Paths.get(logFile));
+        long checkpoint = new TransactionTemplate(transactionManager).execute(status ->
+                checkpointRepository.findById(logId)
+                        .map(IngestCheckpoint::getLastAppliedSequence)
+                        .orElse(0L));
+
+        // Crash recovery: anything logged after the checkpoint was acknowledged but not stored yet
+        List<IngestRecord> recovered = new ArrayList<>();
+        ingestLog = IngestLog.open(Paths.get(logFile), checkpoint, recovered);
+        int replayed = 0;
+        for (IngestRecord record : recovered) {
+            if (record.sequence > checkpoint) {
+                track(record);
+                replayed++;
+            }
+        }
+        if (replayed > 0) {
+            log.info("Replaying {} queued transaction(s) from {}", replayed, logFile);
+        }
+
+        running = true;
+        writerThread = new Thread(this::writeLoop, "ingest-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        ingestLog.close(); // Whatever is still queued is replayed on the next start
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Durably queues a create that the caller has already validated. Returns once it is on local disk.
+     *
+     * @return The queued transaction; it has no ID until it is stored.
+     */
+    public TransactionDTO enqueue(Long userId, Category category, TransactionDTO transactionDTO, String currency) {
+        IngestRecord record = new IngestRecord(0, userId, category.getId(), category.getName(), transactionDTO.getType(),
+                transactionDTO.getAmount(), transactionDTO.getDescription(), transactionDTO.getDate(), currency);
+        try {
+            // Tracked in log order, so the writer always stores (and checkpoints) a contiguous prefix of the log
+            record = ingestLog.append(record, this::track);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not queue transaction", e);
+        }
+        return record.toTransactionDTO();
+    }
+
+    /**
+     * Returns true if creates for this user and category are queued but not stored yet.
+     */
+    public boolean hasPending(Long userId, Long categoryId) {
+        ConcurrentLinkedQueue<IngestRecord> pending = pendingByUser.get(userId);
+        return pending != null && pending.stream().anyMatch(record -> record.categoryId == categoryId);
+    }
+
+    /**
+     * Returns the user's queued creates that are not stored in the database yet.
+     */
+    public List<TransactionDTO> pendingFor(Long userId) {
+        ConcurrentLinkedQueue<IngestRecord> pending = pendingByUser.get(userId);
+        if (pending == null) {
+            return List.of();
+        }
+        return pending.stream().map(IngestRecord::toTransactionDTO).collect(Collectors.toList());
+    }
+
+    // --- Helpers ---
+
+    private void track(IngestRecord record) {
+        pendingByUser.computeIfAbsent(record.userId, id -> new ConcurrentLinkedQueue<>()).add(record);
+        queue.add(record);
+    }
+
+    private void writeLoop() {
+        List<IngestRecord> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    IngestRecord first = queue.poll(1, TimeUnit.SECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1); // Everything that queued up meanwhile goes in the same DB transaction
+                }
+                // Only store what has been acknowledged, i.e. is durable in the log
+                ingestLog.awaitDurable(batch.get(batch.size() - 1).sequence);
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> store(batch));
+                for (IngestRecord record : batch) {
+                    ConcurrentLinkedQueue<IngestRecord> pending = pendingByUser.get(record.userId);
+                    if (pending != null) {
+                        pending.remove(record);
+                    }
+                }
+                ingestLog.truncateIfDrained(batch.get(batch.size() - 1).sequence);
+                batch.clear();
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return;
+                }
+            } catch (IOException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                // Typically the database is unavailable: keep the batch and retry; nothing acknowledged is lost
+                log.warn("Write-behind batch of {} transaction(s) failed, retrying: {}", batch.size(), e.getMessage());
+                try {
+                    Thread.sleep(retryDelayMs);
+                } catch (InterruptedException ie) {
+                    if (!running) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void store(List<IngestRecord> batch) {
+        Set<Long> userIds = batch.stream().map(record -> record.userId).collect(Collectors.toSet());
+        Set<Long> categoryIds = batch.stream().map(record -> record.categoryId).collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Category> categories = categoryRepository.findAllById(categoryIds).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        // Replayed records may have been stored by a run that died before its checkpoint was readable
+        Set<Long> stored = new HashSet<>(transactionRepository.findIngestSequences(logId,
+                batch.stream().map(record -> record.sequence).collect(Collectors.toList())));
+
+        List<Transaction> transactions = new ArrayList<>(batch.size());
+        List<IngestRecord> rejected = new ArrayList<>();
+        for (IngestRecord record : batch) {
+            if (stored.contains(record.sequence)) {
+                continue;
+            }
+            User user = users.get(record.userId);
+            Category category = categories.get(record.categoryId);
+            if (user == null || category == null) {
+                // Deleted elsewhere after the create was acknowledged; there is nothing left to attach it to
+                log.error("Rejecting queued transaction, user {} or category {} no longer exists: {}", record.userId, record.categoryId, record);
+                rejected.add(record);
+                continue;
+            }
+            Transaction transaction = new Transaction(record.type, record.amount, record.description, record.date, user, category);
+            transaction.setCurrency(record.currency);
+            transaction.setFingerprint(TransactionFingerprints.compute(record.userId, record.type, record.date, record.amount,
+                    record.currency, record.description));
+            transaction.setIngestLogId(logId);
+            transaction.setIngestSequence(record.sequence);
+            transactions.add(transaction);
+        }
+        if (!rejected.isEmpty()) {
+            // Written before the checkpoint moves past them; a retried batch may write them twice, never zero times
+            List<String> lines = rejected.stream().map(IngestRecord::toString).collect(Collectors.toList());
+            try {
+                Files.write(Paths.get(logFile + ".rejected"), lines, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not record rejected transactions", e); // The batch is retried
+            }
+        }
+
+        transactionRepository.insertAll(transactions); // One multi-row INSERT per batch
+        for (Transaction saved : transactions) {
+            eventPublisher.publishEvent(TransactionChangedEvent.created(TransactionSnapshot.of(saved)));
+        }
+        IngestCheckpoint checkpoint = checkpointRepository.findById(logId)
+                .orElseGet(() -> new IngestCheckpoint(logId, 0));
+        checkpoint.setLastAppliedSequence(batch.get(batch.size() - 1).sequence);
+        checkpointRepository.save(checkpoint);
+    }
+}
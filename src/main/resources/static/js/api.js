@@ -15,6 +15,7 @@ const API_BASE_URL = 'http://localhost:8080'; // Adjust if your backend runs on
  * @param {string} [options.method='GET'] - The HTTP method (GET, POST, PUT, DELETE, etc.).
  * @param {object|FormData|string} [options.body] - The request body. If an object, it's automatically stringified as JSON unless it's FormData.
  * @param {object} [options.headers] - Custom headers to merge with defaults.
+ * @param {boolean} [options.binary=false] - Ask for CBOR instead of JSON (smaller and faster for large lists); the server may still answer with JSON.
  * @returns {Promise<any>} A promise that resolves with the parsed JSON response body, or null for 204 No Content.
  * @throws {Error} Throws an error for network issues or non-successful HTTP statuses (non-2xx),
  *                 potentially including error details from the response body.
@@ -24,7 +25,7 @@ async function fetchAPI(url, options = {}) {
 
     // Default headers
     const defaultHeaders = {
-        'Accept': 'application/json',
+        'Accept': options.binary ? 'application/cbor, application/json;q=0.9' : 'application/json',
         // 'Content-Type' is set below based on body type
     };
 
@@ -75,7 +76,10 @@ async function fetchAPI(url, options = {}) {
                 return null; // Indicate success with no data to return
             }
             try {
-                 const data = await response.json();
+                 const contentType = response.headers.get('content-type') || '';
+                 const data = contentType.includes('application/cbor')
+                     ? decodeCbor(await response.arrayBuffer())
+                     : await response.json();
                  console.log(`Request successful (Status ${response.status}): ${config.method} ${fullUrl}`, data);
                  return data; // Return parsed JSON data
             } catch (jsonError) {
@@ -122,6 +126,138 @@ async function fetchAPI(url, options = {}) {
     }
 }
 
+// --- CBOR Decoding ---
+
+/**
+ * Decodes a CBOR (RFC 8949) document into plain JavaScript values, covering what the
+ * server's Jackson encoder produces: integers, strings, arrays, maps (definite or
+ * indefinite length), floats, booleans/null, and decimal fractions (tag 4, used for amounts).
+ *
+ * @param {ArrayBuffer} buffer - The response body.
+ * @returns {any} The decoded value.
+ */
+function decodeCbor(buffer) {
+    const view = new DataView(buffer);
+    const bytes = new Uint8Array(buffer);
+    const textDecoder = new TextDecoder();
+    const BREAK = Symbol('break');
+    let offset = 0;
+
+    function readLength(info) {
+        if (info < 24) return info;
+        if (info === 24) { const v = view.getUint8(offset); offset += 1; return v; }
+        if (info === 25) { const v = view.getUint16(offset); offset += 2; return v; }
+        if (info === 26) { const v = view.getUint32(offset); offset += 4; return v; }
+        if (info === 27) { const v = Number(view.getBigUint64(offset)); offset += 8; return v; }
+        if (info === 31) return -1; // Indefinite length
+        throw new Error(`Invalid CBOR length encoding: ${info}`);
+    }
+
+    function readHalfFloat() {
+        const half = view.getUint16(offset);
+        offset += 2;
+        const exponent = (half >> 10) & 0x1f;
+        const fraction = half & 0x3ff;
+        const sign = half & 0x8000 ? -1 : 1;
+        if (exponent === 0) return sign * fraction * 2 ** -24;
+        if (exponent === 31) return fraction ? NaN : sign * Infinity;
+        return sign * (1 + fraction / 1024) * 2 ** (exponent - 15);
+    }
+
+    function readItem() {
+        const initial = view.getUint8(offset++);
+        const major = initial >> 5;
+        const info = initial & 0x1f;
+
+        switch (major) {
+            case 0: return readLength(info);
+            case 1: return -1 - readLength(info);
+            case 2:
+            case 3: {
+                const length = readLength(info);
+                if (length < 0) { // Indefinite: concatenate chunks until break
+                    const chunks = [];
+                    for (let chunk = readItem(); chunk !== BREAK; chunk = readItem()) chunks.push(chunk);
+                    return major === 3 ? chunks.join('') : chunks;
+                }
+                const slice = bytes.subarray(offset, offset + length);
+                offset += length;
+                return major === 3 ? textDecoder.decode(slice) : slice;
+            }
+            case 4: {
+                const length = readLength(info);
+                const array = [];
+                if (length < 0) {
+                    for (let item = readItem(); item !== BREAK; item = readItem()) array.push(item);
+                } else {
+                    for (let i = 0; i < length; i++) array.push(readItem());
+                }
+                return array;
+            }
+            case 5: {
+                const length = readLength(info);
+                const map = {};
+                if (length < 0) {
+                    for (let key = readItem(); key !== BREAK; key = readItem()) map[key] = readItem();
+                } else {
+                    for (let i = 0; i < length; i++) { const key = readItem(); map[key] = readItem(); }
+                }
+                return map;
+            }
+            case 6: {
+                const tag = readLength(info);
+                const value = readItem();
+                if (tag === 2 || tag === 3) { // Bignum
+                    let big = 0n;
+                    for (const b of value) big = (big << 8n) | BigInt(b);
+                    return Number(tag === 2 ? big : -1n - big);
+                }
+                if (tag === 4) { // Decimal fraction [exponent, mantissa]
+                    return Number(`${value[1]}e${value[0]}`);
+                }
+                return value; // Other tags (e.g. dates as strings) pass through
+            }
+            default: // Major type 7: simple values and floats
+                if (info === 20) return false;
+                if (info === 21) return true;
+                if (info === 22 || info === 23) return null;
+                if (info === 25) return readHalfFloat();
+                if (info === 26) { const v = view.getFloat32(offset); offset += 4; return v; }
+                if (info === 27) { const v = view.getFloat64(offset); offset += 8; return v; }
+                if (info === 31) return BREAK;
+                throw new Error(`Unsupported CBOR simple value: ${info}`);
+        }
+    }
+
+    return readItem();
+}
+
+// --- Dashboard Bootstrap ---
+
+let dashboardBootstrapPromise = null;
+
+/**
+ * Fetches everything the dashboard shows on load (profile, categories, transactions,
+ * this month's summary and chart, this year's heatmap) in a single request.
+ * The promise is shared, so transactions.js and reports.js trigger only one call between them.
+ *
+ * @returns {Promise<object>} The DashboardDTO for the current month.
+ */
+function getDashboardBootstrap() {
+    if (!dashboardBootstrapPromise) {
+        const userId = localStorage.getItem('userId');
+        const today = new Date();
+        dashboardBootstrapPromise = fetchAPI(
+            `/api/users/${userId}/dashboard?year=${today.getFullYear()}&month=${today.getMonth() + 1}`, { binary: true });
+        dashboardBootstrapPromise.then(data => {
+            if (data?.user?.preferredCurrency) {
+                localStorage.setItem('userCurrency', data.user.preferredCurrency);
+            }
+        }).catch(() => {}); // Callers handle the error and fall back to individual endpoints
+    }
+    return dashboardBootstrapPromise;
+}
+
 // --- Example Usage (Optional - just for demonstration) ---
 /*
 async function testGet() {
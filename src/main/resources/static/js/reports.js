@@ -25,6 +25,12 @@ document.addEventListener('DOMContentLoaded', () => {
     const chartError = document.getElementById('chart-error');
     const chartNoData = document.getElementById('chart-nodata'); // Info message element
 
+    // Heatmap
+    const heatmapYearInput = document.getElementById('heatmap-year');
+    const viewHeatmapButton = document.getElementById('view-heatmap-button');
+    const heatmapGrid = document.getElementById('spend-heatmap');
+    const heatmapError = document.getElementById('heatmap-error');
+
     // --- Chart.js Instance ---
     let categoryPieChart = null; // Holds the Chart object
 
@@ -94,8 +100,9 @@ document.addEventListener('DOMContentLoaded', () => {
      * Fetches and displays the summary (monthly or yearly).
      * @param {number} year The year for the summary.
      * @param {number|null} month The month (1-12) for monthly summary, or null for yearly.
+     * @param {object|null} preloadedSummary - Summary from the dashboard bootstrap, if already available.
      */
-    async function fetchAndDisplaySummary(year, month = null) {
+    async function fetchAndDisplaySummary(year, month = null, preloadedSummary = null) {
         const userId = getUserId();
         hideMessage(summaryError);
         // Indicate loading state (optional)
@@ -110,7 +117,7 @@ document.addEventListener('DOMContentLoaded', () => {
         }
 
         try {
-            const summaryData = await fetchAPI(`/api/users/${userId}/reports/summary${queryParams}`);
+            const summaryData = preloadedSummary || await fetchAPI(`/api/users/${userId}/reports/summary${queryParams}`);
             displaySummary(summaryData);
         } catch (error) {
             console.error("Error fetching summary:", error);
@@ -136,15 +143,16 @@ document.addEventListener('DOMContentLoaded', () => {
      * Fetches category spending data and renders the pie chart.
      * @param {number} year The year for the chart data.
      * @param {number} month The month (1-12) for the chart data.
+     * @param {object|null} preloadedChart - Chart data from the dashboard bootstrap, if already available.
      */
-    async function fetchAndDisplayChart(year, month) {
+    async function fetchAndDisplayChart(year, month, preloadedChart = null) {
         const userId = getUserId();
         hideMessage(chartError);
         hideMessage(chartNoData);
          // Optional: Show a loading indicator on the canvas area
 
         try {
-            const chartData = await fetchAPI(`/api/users/${userId}/reports/category-chart?year=${year}&month=${month}`);
+            const chartData = preloadedChart || await fetchAPI(`/api/users/${userId}/reports/category-chart?year=${year}&month=${month}`);
             renderPieChart(chartData);
         } catch (error) {
             console.error("Error fetching chart data:", error);
@@ -255,6 +263,58 @@ document.addEventListener('DOMContentLoaded', () => {
     }
 
 
+    // --- Heatmap Functions ---
+
+    /**
+     * Fetches the daily spending for a year and renders the heatmap.
+     * @param {number} year The year to display.
+     * @param {object|null} preloadedHeatmap - Heatmap from the dashboard bootstrap, if already available.
+     */
+    async function fetchAndDisplayHeatmap(year, preloadedHeatmap = null) {
+        if (!heatmapGrid) return;
+        const userId = getUserId();
+        hideMessage(heatmapError);
+
+        try {
+            const heatmap = preloadedHeatmap || await fetchAPI(`/api/users/${userId}/reports/heatmap?year=${year}`);
+            renderHeatmap(heatmap);
+        } catch (error) {
+            console.error("Error fetching heatmap data:", error);
+            heatmapGrid.innerHTML = '';
+            showMessage(heatmapError, `Failed to load daily spending: ${error.message}`);
+        }
+    }
+
+    /**
+     * Renders one cell per day, darker for higher spending.
+     * @param {object} heatmap - Data from the API { year, dailyCents: [], maxDailyCents }.
+     */
+    function renderHeatmap(heatmap) {
+        heatmapGrid.innerHTML = '';
+        const maxCents = heatmap.maxDailyCents || 1;
+
+        // Pad the first column so January 1st lands on its weekday row (Monday first)
+        const leadingBlanks = (new Date(heatmap.year, 0, 1).getDay() + 6) % 7;
+        for (let i = 0; i < leadingBlanks; i++) {
+            const blank = document.createElement('div');
+            blank.style.visibility = 'hidden';
+            heatmapGrid.appendChild(blank);
+        }
+
+        heatmap.dailyCents.forEach((cents, dayIndex) => {
+            const cell = document.createElement('div');
+            cell.className = 'heatmap-cell';
+            if (cents > 0) {
+                const intensity = 0.15 + 0.85 * (cents / maxCents);
+                cell.style.backgroundColor = `rgba(220, 53, 69, ${intensity.toFixed(2)})`;
+            }
+            const day = new Date(heatmap.year, 0, 1 + dayIndex);
+            cell.title = `${day.toLocaleDateString()}: ${formatCurrency(cents / 100)}`;
+            heatmapGrid.appendChild(cell);
+        });
+    }
+
+
     // --- Event Listeners ---
 
     // View Monthly Summary Button
@@ -294,6 +354,18 @@ document.addEventListener('DOMContentLoaded', () => {
         });
     }
 
+    // View Heatmap Button
+    if (viewHeatmapButton) {
+        viewHeatmapButton.addEventListener('click', () => {
+            const year = parseInt(heatmapYearInput.value, 10);
+            if (year) {
+                fetchAndDisplayHeatmap(year);
+            } else {
+                showMessage(heatmapError, "Please enter a valid year for the heatmap.");
+            }
+        });
+    }
+
     // --- Initial Load ---
     function initializeReports() {
         // Set default month input values to the current month
@@ -304,10 +376,21 @@ document.addEventListener('DOMContentLoaded', () => {
 
         if (summaryMonthInput) summaryMonthInput.value = currentYearMonth;
         if (chartMonthInput) chartMonthInput.value = currentYearMonth;
-
-        // Fetch initial data for the current month
-        fetchAndDisplaySummary(currentYear, parseInt(currentMonth, 10));
-        fetchAndDisplayChart(currentYear, parseInt(currentMonth, 10));
+        if (heatmapYearInput) heatmapYearInput.value = currentYear;
+
+        // Initial data for the current month comes from the shared bootstrap request
+        const month = parseInt(currentMonth, 10);
+        getDashboardBootstrap()
+            .then(data => {
+                fetchAndDisplaySummary(currentYear, month, data.monthlySummary);
+                fetchAndDisplayChart(currentYear, month, data.categoryChart);
+                fetchAndDisplayHeatmap(currentYear, data.heatmap);
+            })
+            .catch(() => {
+                fetchAndDisplaySummary(currentYear, month);
+                fetchAndDisplayChart(currentYear, month);
+                fetchAndDisplayHeatmap(currentYear);
+            });
     }
 
     initializeReports();
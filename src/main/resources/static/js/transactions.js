@@ -127,11 +127,12 @@ document.addEventListener('DOMContentLoaded', () => {
 
     /**
      * Fetches categories and populates the dropdown select in the transaction form.
+     * @param {Array|null} preloadedCategories - Categories from the dashboard bootstrap, if already available.
      */
-    async function loadCategoriesDropdown() {
+    async function loadCategoriesDropdown(preloadedCategories = null) {
         const userId = getUserId();
         try {
-            currentCategories = await fetchAPI(`/api/users/${userId}/categories`);
+            currentCategories = preloadedCategories || await fetchAPI(`/api/users/${userId}/categories`);
             transactionCategorySelect.innerHTML = '<option value="">-- Select Category --</option>'; // Clear and add default
 
             if (currentCategories && currentCategories.length > 0) {
@@ -254,14 +255,16 @@ document.addEventListener('DOMContentLoaded', () => {
 
     /**
      * Fetches transactions and populates the table.
+     * @param {Array|null} preloadedTransactions - Transactions from the dashboard bootstrap, if already available.
      */
-    async function loadTransactions() {
+    async function loadTransactions(preloadedTransactions = null) {
         const userId = getUserId();
         hideMessage(transactionsError);
         transactionsTableBody.innerHTML = '<tr><td colspan="6">Loading transactions...</td></tr>';
 
         try {
-            const transactions = await fetchAPI(`/api/users/${userId}/transactions`);
+            const transactions = preloadedTransactions || await fetchAPI(
+                `/api/users/${userId}/transactions?fields=id,date,type,categoryName,amount,description`, { binary: true }); // Only what the table shows
             transactionsTableBody.innerHTML = ''; // Clear loading message
 
             if (transactions && transactions.length > 0) {
@@ -276,6 +279,11 @@ document.addEventListener('DOMContentLoaded', () => {
 
                     // Actions Cell
                     const actionsCell = row.insertCell(5);
+                    if (tx.id == null) {
+                        // Queued by the server (write-behind mode) but not stored yet: nothing to edit
+                        actionsCell.textContent = 'Saving...';
+                        return;
+                    }
                     const editBtn = document.createElement('button');
                     editBtn.textContent = 'Edit';
                     editBtn.classList.add('btn', 'btn-secondary', 'btn-small', 'edit-transaction-btn');
@@ -483,8 +491,17 @@ document.addEventListener('DOMContentLoaded', () => {
      }
 
     // --- Initial Load ---
-    loadCategoriesDropdown();
-    loadTransactions();
+    // One bootstrap request (shared with reports.js); fall back to the individual endpoints if it fails
+    getDashboardBootstrap()
+        .then(data => {
+            loadCategoriesDropdown(data.categories);
+            loadTransactions(data.transactions);
+        })
+        .catch(error => {
+            console.warn("Dashboard bootstrap failed, loading sections individually:", error);
+            loadCategoriesDropdown();
+            loadTransactions();
+        });
     resetTransactionForm(); // Ensure form is in initial state (sets today's date)
 
 }); // End DOMContentLoaded
\ No newline at end of file
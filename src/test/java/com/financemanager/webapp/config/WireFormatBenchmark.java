@@ -0,0 +1,102 @@
+package com.financemanager.webapp.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.financemanager.webapp.dto.TransactionDTO;
+import com.financemanager.webapp.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the JSON and CBOR encodings of a transaction list: payload size (raw and gzipped, as sent
+ * with server compression on) and serialization CPU time. Mappers are built the same way as the
+ * application's message converters.
+ *
+ * <p>Skipped by default. Run with
+ * {@code mvn test -Dtest=WireFormatBenchmark -Dbenchmarks=true [-Dbenchmark.rows=20000]}.</p>
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class WireFormatBenchmark {
+
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+
+    @Test
+    void transactionList() throws IOException {
+        List<TransactionDTO> transactions = sampleTransactions(Integer.getInteger("benchmark.rows", 20_000));
+
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+
+        measure("JSON", json, transactions);
+        byte[] cborBytes = measure("CBOR", cbor, transactions);
+
+        List<TransactionDTO> decoded = cbor.readValue(cborBytes, new TypeReference<List<TransactionDTO>>() { });
+        assertEquals(transactions.size(), decoded.size());
+        assertEquals(0, transactions.get(0).getAmount().compareTo(decoded.get(0).getAmount()));
+        assertEquals(transactions.get(0).getDate(), decoded.get(0).getDate());
+    }
+
+    private static byte[] measure(String label, ObjectMapper mapper, List<TransactionDTO> transactions) throws IOException {
+        byte[] bytes = null;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            bytes = mapper.writeValueAsBytes(transactions);
+        }
+        long[] nanos = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            bytes = mapper.writeValueAsBytes(transactions);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-5s %9d bytes  gzip %8d bytes  serialize median %7.2f ms  (min %7.2f ms)%n",
+                label, bytes.length, gzip(bytes).length, nanos[MEASURED_ROUNDS / 2] / 1e6, nanos[0] / 1e6);
+        return bytes;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<TransactionDTO> sampleTransactions(int rows) {
+        String[] categories = {"Groceries", "Rent", "Transport", "Restaurants", "Utilities", "Salary", "Entertainment", "Health"};
+        Random random = new Random(42);
+        LocalDate date = LocalDate.now();
+        List<TransactionDTO> transactions = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            if (random.nextInt(4) == 0) {
+                date = date.minusDays(1); // Newest first, a few rows per day
+            }
+            int category = random.nextInt(categories.length);
+            TransactionDTO dto = new TransactionDTO(
+                    (long) (rows - i),
+                    category == 5 ? TransactionType.INCOME : TransactionType.EXPENSE,
+                    BigDecimal.valueOf(100 + random.nextInt(100_000), 2),
+                    random.nextInt(3) == 0 ? null : "Merchant " + random.nextInt(500),
+                    date,
+                    (long) category + 1,
+                    categories[category]);
+            dto.setCurrency("USD");
+            transactions.add(dto);
+        }
+        return transactions;
+    }
+}
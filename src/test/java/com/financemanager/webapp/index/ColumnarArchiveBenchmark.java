@@ -0,0 +1,144 @@
+package com.financemanager.webapp.index;
+
+import com.financemanager.webapp.dto.DailyTotalDTO;
+import com.financemanager.webapp.model.Category;
+import com.financemanager.webapp.model.Transaction;
+import com.financemanager.webapp.model.TransactionType;
+import com.financemanager.webapp.model.User;
+import com.financemanager.webapp.repository.CategoryRepository;
+import com.financemanager.webapp.repository.TransactionRepository;
+import com.financemanager.webapp.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares a closed-year summary computed three ways: hydrating entities through JPA, the GROUP BY
+ * projection query, and a scan of the memory-mapped columnar file.
+ *
+ * <p>Needs the configured database and is skipped by default. Run with
+ * {@code mvn test -Dtest=ColumnarArchiveBenchmark -Dbenchmarks=true [-Dbenchmark.rows=200000]}.</p>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ColumnarArchiveBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 10;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ColumnarArchiveStore columnarArchiveStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void summarizeClosedYear() {
+        int rows = Integer.getInteger("benchmark.rows", 100_000);
+        int year = Year.now().getValue() - 2;
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        Long userId = tx.execute(status -> seed(rows, year));
+        try {
+            LocalDate start = LocalDate.of(year, 1, 1);
+            LocalDate end = LocalDate.of(year, 12, 31);
+
+            BigDecimal viaEntities = time("JPA entities", () -> tx.execute(status -> {
+                BigDecimal total = BigDecimal.ZERO;
+                for (Transaction t : transactionRepository.findByUserIdAndTypeAndDateBetween(userId, TransactionType.EXPENSE, start, end)) {
+                    total = total.add(t.getAmount());
+                }
+                return total;
+            }));
+            BigDecimal viaProjection = time("JPQL GROUP BY", () -> tx.execute(status -> {
+                BigDecimal total = BigDecimal.ZERO;
+                for (DailyTotalDTO row : transactionRepository.findDailyTotalsByUserIdAndDateBetween(userId, start, end)) {
+                    if (row.getType() == TransactionType.EXPENSE) {
+                        total = total.add(row.getTotal());
+                    }
+                }
+                return total;
+            }));
+            tx.execute(status -> columnarArchiveStore.getYear(userId, year)); // Export once, outside the timing
+            BigDecimal viaColumnar = time("Columnar mmap", () -> tx.execute(status -> {
+                ColumnarYearFile file = columnarArchiveStore.getYear(userId, year);
+                long[][] income = new long[file.getCurrencies().length][366];
+                long[][] expenses = new long[file.getCurrencies().length][366];
+                file.sumByCurrencyAndDay(0, 365, income, expenses);
+                return ColumnarYearFile.toAmount(Arrays.stream(expenses).flatMapToLong(Arrays::stream).sum());
+            }));
+
+            assertEquals(0, viaEntities.compareTo(viaProjection));
+            assertEquals(0, viaEntities.compareTo(viaColumnar));
+        } finally {
+            tx.executeWithoutResult(status -> userRepository.deleteById(userId)); // Cascades to categories and transactions
+        }
+    }
+
+    private Long seed(int rows, int year) {
+        User user = userRepository.save(new User("Benchmark", "bench-" + UUID.randomUUID() + "@example.com", "x", "USD"));
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            categories.add(categoryRepository.save(new Category("Category " + i, user)));
+        }
+        Random random = new Random(42);
+        List<Transaction> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Transaction transaction = new Transaction(
+                    random.nextInt(5) == 0 ? TransactionType.INCOME : TransactionType.EXPENSE,
+                    BigDecimal.valueOf(100 + random.nextInt(100_000), 2),
+                    "Merchant " + random.nextInt(500),
+                    LocalDate.ofYearDay(year, 1 + random.nextInt(Year.of(year).length())),
+                    user,
+                    categories.get(random.nextInt(categories.size())));
+            transaction.setCurrency("USD");
+            batch.add(transaction);
+            if (batch.size() == 1000) {
+                transactionRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        transactionRepository.saveAll(batch);
+        return user.getId();
+    }
+
+    private static BigDecimal time(String label, Supplier<BigDecimal> run) {
+        BigDecimal result = null;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            result = run.get();
+        }
+        long[] nanos = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            result = run.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-15s median %8.2f ms  (min %8.2f ms)%n", label, nanos[MEASURED_ROUNDS / 2] / 1e6, nanos[0] / 1e6);
+        return result;
+    }
+}
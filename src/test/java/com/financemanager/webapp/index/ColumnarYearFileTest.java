@@ -0,0 +1,164 @@
+package com.financemanager.webapp.index;
+
+import com.financemanager.webapp.model.Category;
+import com.financemanager.webapp.model.Transaction;
+import com.financemanager.webapp.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColumnarYearFileTest {
+
+    private static final int YEAR = 2024; // A leap year, so the last day is day 365
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsEveryRowWithinTheFullYear() throws IOException {
+        ColumnarYearFile file = writeAndOpen(List.of(
+                transaction(TransactionType.EXPENSE, "12.34", "USD", "Coffee", LocalDate.of(YEAR, 3, 1), 1),
+                transaction(TransactionType.INCOME, "1000", "EUR", "Salary", LocalDate.of(YEAR, 1, 1), 2),
+                transaction(TransactionType.EXPENSE, "0.0001", "USD", null, LocalDate.of(YEAR, 12, 31), 1),
+                transaction(TransactionType.EXPENSE, "5.5", null, "Coffee", LocalDate.of(YEAR, 3, 1), 1)));
+
+        assertEquals(YEAR, file.getYear());
+        assertEquals(4, file.getRowCount());
+        String[] currencies = file.getCurrencies();
+        assertEquals(3, currencies.length);
+
+        long[][] income = new long[currencies.length][366];
+        long[][] expenses = new long[currencies.length][366];
+        file.sumByCurrencyAndDay(0, 365, income, expenses);
+
+        int usd = indexOf(currencies, "USD");
+        int eur = indexOf(currencies, "EUR");
+        int none = indexOf(currencies, null);
+        assertEquals(new BigDecimal("1000.0000"), ColumnarYearFile.toAmount(income[eur][0]));
+        assertEquals(new BigDecimal("12.3400"), ColumnarYearFile.toAmount(expenses[usd][60]));
+        assertEquals(new BigDecimal("5.5000"), ColumnarYearFile.toAmount(expenses[none][60]));
+        assertEquals(1, expenses[usd][365]);
+        assertEquals(1000_0000L + 12_3400L + 5_5000L + 1, total(income) + total(expenses));
+    }
+
+    @Test
+    void decodesDateGapsThatNeedMultiByteVarints() throws IOException {
+        // Gaps of 0, 1, 127, 128, 109 and 0 days; 128 needs a second varint byte
+        int[] days = {0, 0, 1, 128, 256, 365, 365};
+        List<Transaction> transactions = Arrays.stream(days)
+                .mapToObj(day -> transaction(TransactionType.EXPENSE, "1", "USD", null, LocalDate.ofYearDay(YEAR, day + 1), 1))
+                .toList();
+        ColumnarYearFile file = writeAndOpen(transactions);
+        ColumnarYearFile wideGap = writeAndOpen(List.of( // One gap of 365 days
+                transaction(TransactionType.EXPENSE, "1", "USD", null, LocalDate.of(YEAR, 1, 1), 1),
+                transaction(TransactionType.EXPENSE, "2", "USD", null, LocalDate.of(YEAR, 12, 31), 1)));
+
+        long[][] expenses = new long[1][366];
+        file.sumByCurrencyAndDay(0, 365, new long[1][366], expenses);
+
+        long[] expected = new long[366];
+        for (int day : days) {
+            expected[day] += 1_0000;
+        }
+        assertArrayEquals(expected, expenses[0]);
+
+        long[][] wideGapExpenses = new long[1][366];
+        wideGap.sumByCurrencyAndDay(0, 365, new long[1][366], wideGapExpenses);
+        assertEquals(1_0000L, wideGapExpenses[0][0]);
+        assertEquals(2_0000L, wideGapExpenses[0][365]);
+    }
+
+    @Test
+    void sumsOnlyRowsInsideTheDayRange() throws IOException {
+        ColumnarYearFile file = writeAndOpen(List.of(
+                transaction(TransactionType.EXPENSE, "1", "USD", null, LocalDate.of(YEAR, 1, 31), 1),
+                transaction(TransactionType.EXPENSE, "2", "USD", null, LocalDate.of(YEAR, 2, 1), 1),
+                transaction(TransactionType.EXPENSE, "3", "USD", null, LocalDate.of(YEAR, 2, 29), 1),
+                transaction(TransactionType.EXPENSE, "4", "USD", null, LocalDate.of(YEAR, 3, 1), 1)));
+        int february1 = LocalDate.of(YEAR, 2, 1).getDayOfYear() - 1;
+        int february29 = LocalDate.of(YEAR, 2, 29).getDayOfYear() - 1;
+
+        long[][] expenses = new long[1][366];
+        file.sumByCurrencyAndDay(february1, february29, new long[1][366], expenses);
+
+        assertEquals(5_0000L, total(expenses));
+        assertEquals(2_0000L, expenses[0][february1]);
+        assertEquals(3_0000L, expenses[0][february29]);
+    }
+
+    @Test
+    void writesAnEmptyYear() throws IOException {
+        ColumnarYearFile file = writeAndOpen(List.of());
+
+        assertEquals(0, file.getRowCount());
+        assertEquals(0, file.getCurrencies().length);
+    }
+
+    @Test
+    void rejectsTransactionsFromAnotherYear() {
+        List<Transaction> transactions = List.of(
+                transaction(TransactionType.EXPENSE, "1", "USD", null, LocalDate.of(YEAR + 1, 1, 1), 1));
+
+        assertThrows(IllegalArgumentException.class, () -> ColumnarYearFile.write(dir.resolve("year.col"), YEAR, transactions));
+    }
+
+    @Test
+    void rejectsTruncatedOrExtendedFiles() throws IOException {
+        Path path = dir.resolve("year.col");
+        ColumnarYearFile.write(path, YEAR, List.of(
+                transaction(TransactionType.EXPENSE, "1", "USD", "Coffee", LocalDate.of(YEAR, 5, 5), 1)));
+        byte[] bytes = Files.readAllBytes(path);
+
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> ColumnarYearFile.open(path));
+
+        Files.write(path, bytes);
+        Files.write(path, new byte[]{0}, StandardOpenOption.APPEND);
+        assertThrows(IOException.class, () -> ColumnarYearFile.open(path));
+
+        bytes[0] ^= 1; // Wrong magic
+        Files.write(path, bytes);
+        assertThrows(IOException.class, () -> ColumnarYearFile.open(path));
+    }
+
+    private ColumnarYearFile writeAndOpen(List<Transaction> transactions) throws IOException {
+        Path path = Files.createTempFile(dir, "year-", ".col"); // A new file each time: rewriting a mapped one breaks the mapping
+        ColumnarYearFile.write(path, YEAR, transactions);
+        return ColumnarYearFile.open(path);
+    }
+
+    private static Transaction transaction(TransactionType type, String amount, String currency, String description,
+                                           LocalDate date, long categoryId) {
+        Category category = new Category("Category " + categoryId, null);
+        category.setId(categoryId);
+        Transaction transaction = new Transaction(type, new BigDecimal(amount), description, date, null, category);
+        transaction.setCurrency(currency);
+        return transaction;
+    }
+
+    private static int indexOf(String[] currencies, String currency) {
+        for (int i = 0; i < currencies.length; i++) {
+            if (Objects.equals(currencies[i], currency)) {
+                return i;
+            }
+        }
+        throw new AssertionError(currency + " not in " + Arrays.toString(currencies));
+    }
+
+    private static long total(long[][] sums) {
+        return Arrays.stream(sums).flatMapToLong(Arrays::stream).sum();
+    }
+}
@@ -0,0 +1,131 @@
+package com.financemanager.webapp.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogBucketHistogramTest {
+
+    @Test
+    void smallValuesGetABucketEach() {
+        for (long value = 0; value < 32; value++) {
+            assertEquals(value, LogBucketHistogram.representativeOf(LogBucketHistogram.bucketOf(value)));
+        }
+    }
+
+    @Test
+    void bucketsRoundTripWithinTheRelativeError() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong(1L << random.nextInt(6, 50));
+            int bucket = LogBucketHistogram.bucketOf(value);
+            long representative = LogBucketHistogram.representativeOf(bucket);
+
+            assertEquals(bucket, LogBucketHistogram.bucketOf(representative), "the representative stays in its bucket");
+            assertTrue(Math.abs(representative - value) <= value / 32, value + " reported as " + representative);
+        }
+    }
+
+    @Test
+    void bucketsAreContiguousAndOrderedLikeTheValues() {
+        int previous = LogBucketHistogram.bucketOf(0);
+        for (long value = 1; value < 1 << 16; value++) {
+            int bucket = LogBucketHistogram.bucketOf(value);
+            assertTrue(bucket == previous || bucket == previous + 1, "no bucket skipped at " + value);
+            previous = bucket;
+        }
+    }
+
+    @Test
+    void reportsPercentilesOfTheRecordedValues() {
+        LogBucketHistogram histogram = histogram(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+        assertEquals(1, histogram.valueAtPercentile(10));
+        assertEquals(5, histogram.valueAtPercentile(50));
+        assertEquals(9, histogram.valueAtPercentile(90));
+        assertEquals(10, histogram.valueAtPercentile(100));
+        assertEquals(0, new LogBucketHistogram().valueAtPercentile(50));
+    }
+
+    @Test
+    void mergeEqualsRecordingEveryValueInOne() {
+        Random random = new Random(7);
+        LogBucketHistogram left = new LogBucketHistogram();
+        LogBucketHistogram right = new LogBucketHistogram();
+        LogBucketHistogram all = new LogBucketHistogram();
+        for (int i = 0; i < 5_000; i++) {
+            long value = random.nextLong(1_000_000);
+            (random.nextBoolean() ? left : right).add(value, 1);
+            all.add(value, 1);
+        }
+
+        left.merge(right);
+
+        assertEquals(all.getTotalCount(), left.getTotalCount());
+        assertEquals(all.getTotalValue(), left.getTotalValue());
+        for (double percentile : new double[]{1, 25, 50, 75, 90, 99, 100}) {
+            assertEquals(all.valueAtPercentile(percentile), left.valueAtPercentile(percentile));
+        }
+    }
+
+    @Test
+    void mergeLeavesTheOtherHistogramUnchanged() {
+        LogBucketHistogram merged = histogram(10, 20);
+        LogBucketHistogram other = histogram(20, 5000);
+
+        merged.merge(other);
+
+        assertEquals(4, merged.getTotalCount());
+        assertEquals(5050, merged.getTotalValue());
+        assertEquals(2, other.getTotalCount());
+        assertEquals(5020, other.getTotalValue());
+    }
+
+    @Test
+    void removalRestoresThePreviousState() {
+        LogBucketHistogram histogram = histogram(100, 200, 300);
+        LogBucketHistogram before = histogram.copy();
+
+        histogram.add(12_345, 1);
+        histogram.add(12_345, -1);
+
+        assertEquals(before.getTotalCount(), histogram.getTotalCount());
+        assertEquals(before.getTotalValue(), histogram.getTotalValue());
+        assertEquals(before.valueAtPercentile(100), histogram.valueAtPercentile(100));
+
+        histogram.add(100, -1);
+        histogram.add(200, -1);
+        histogram.add(300, -1);
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getTotalValue());
+    }
+
+    @Test
+    void removalFromAnEmptyBucketIsIgnored() {
+        LogBucketHistogram histogram = histogram(100);
+
+        histogram.add(5000, -1);
+        histogram.add(100, -1);
+        histogram.add(100, -1);
+
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getTotalValue());
+    }
+
+    @Test
+    void rejectsNegativeValues() {
+        assertThrows(IllegalArgumentException.class, () -> new LogBucketHistogram().add(-1, 1));
+    }
+
+    private static LogBucketHistogram histogram(long... values) {
+        LogBucketHistogram histogram = new LogBucketHistogram();
+        for (long value : values) {
+            histogram.add(value, 1);
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,152 @@
+package com.financemanager.webapp.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpaceSavingSketchTest {
+
+    @Test
+    void countsExactlyWhileBelowCapacity() {
+        SpaceSavingSketch sketch = sketch(3, "a", 5, "b", 3, "c", 1);
+
+        List<SpaceSavingSketch.Entry> top = sketch.top(3);
+
+        assertEquals(List.of("a", "b", "c"), keys(top));
+        assertEquals(List.of(5L, 3L, 1L), top.stream().map(SpaceSavingSketch.Entry::getWeight).toList());
+        assertTrue(top.stream().allMatch(entry -> entry.getError() == 0 && entry.isGuaranteed()));
+        assertEquals(9, sketch.getTotalWeight());
+    }
+
+    @Test
+    void newKeyInheritsTheEvictedWeightAsError() {
+        SpaceSavingSketch sketch = sketch(2, "a", 5, "b", 3, "c", 1);
+
+        List<SpaceSavingSketch.Entry> top = sketch.top(2);
+
+        assertEquals(List.of("a", "c"), keys(top));
+        assertEquals(4, top.get(1).getWeight()); // 3 inherited from "b", plus its own 1
+        assertEquals(3, top.get(1).getError());
+    }
+
+    @Test
+    void guaranteedOnlyWhenTheLowerBoundBeatsTheFirstKeyLeftOut() {
+        SpaceSavingSketch full = sketch(2, "a", 5, "b", 3, "c", 1);
+        List<SpaceSavingSketch.Entry> top = full.top(2);
+        assertTrue(top.get(0).isGuaranteed());   // 5 - 0 >= 4, the lightest counter
+        assertFalse(top.get(1).isGuaranteed());  // 4 - 3 < 4
+
+        SpaceSavingSketch exact = sketch(3, "a", 5, "b", 3, "c", 1);
+        assertTrue(exact.top(1).get(0).isGuaranteed()); // 5 >= 3, the first key left out
+        assertEquals(2, exact.top(2).stream().filter(SpaceSavingSketch.Entry::isGuaranteed).count());
+    }
+
+    @Test
+    void alwaysTracksAKeyHeavierThanTotalOverCapacity() {
+        Random random = new Random(42);
+        SpaceSavingSketch sketch = new SpaceSavingSketch(5);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add(random.nextInt(10) < 4 ? "heavy" : "key-" + random.nextInt(500), 1 + random.nextInt(3));
+        }
+
+        SpaceSavingSketch.Entry first = sketch.top(1).get(0);
+
+        assertEquals("heavy", first.getKey());
+        assertTrue(first.isGuaranteed());
+    }
+
+    @Test
+    void removalsApplyToTrackedKeysOnly() {
+        SpaceSavingSketch sketch = sketch(2, "a", 5, "b", 3);
+
+        sketch.add("a", -2);
+        sketch.add("z", -4); // Not tracked: only the total changes
+
+        List<SpaceSavingSketch.Entry> top = sketch.top(2);
+        assertEquals(List.of("a", "b"), keys(top));
+        assertEquals(List.of(3L, 3L), top.stream().map(SpaceSavingSketch.Entry::getWeight).toList());
+        assertEquals(2, sketch.getTotalWeight());
+    }
+
+    @Test
+    void removalNeverLeavesNegativeWeightOrErrorAboveWeight() {
+        SpaceSavingSketch sketch = sketch(2, "a", 5, "b", 3, "c", 1); // "c" has weight 4, error 3
+
+        sketch.add("c", -4);
+        sketch.add("a", -10);
+
+        assertTrue(sketch.top(2).isEmpty(), "keys at zero weight are not reported");
+        assertEquals(0, sketch.getTotalWeight());
+    }
+
+    @Test
+    void mergesDisjointSketchesExactlyWhileBelowCapacity() {
+        SpaceSavingSketch merged = sketch(3, "a", 10, "b", 5);
+        merged.merge(sketch(3, "a", 4, "c", 7));
+
+        List<SpaceSavingSketch.Entry> top = merged.top(3);
+
+        assertEquals(List.of("a", "c", "b"), keys(top));
+        assertEquals(List.of(14L, 7L, 5L), top.stream().map(SpaceSavingSketch.Entry::getWeight).toList());
+        assertTrue(top.stream().allMatch(entry -> entry.getError() == 0));
+        assertEquals(26, merged.getTotalWeight());
+    }
+
+    @Test
+    void mergeAddsTheOtherSidesMinimumToOneSidedKeys() {
+        SpaceSavingSketch merged = sketch(2, "a", 10, "b", 5);
+        merged.merge(sketch(2, "c", 8, "d", 2));
+
+        List<SpaceSavingSketch.Entry> top = merged.top(2);
+
+        // c: 8 + 5 (first side's minimum), a: 10 + 2 (second side's minimum); b and d fall off
+        assertEquals(List.of("c", "a"), keys(top));
+        assertEquals(13, top.get(0).getWeight());
+        assertEquals(5, top.get(0).getError());
+        assertEquals(12, top.get(1).getWeight());
+        assertEquals(2, top.get(1).getError());
+        // The true weights (8 and 10) are within [weight - error, weight]
+        assertTrue(top.get(0).getWeight() - top.get(0).getError() <= 8);
+        assertTrue(top.get(1).getWeight() - top.get(1).getError() <= 10);
+        assertFalse(top.get(0).isGuaranteed());
+        assertEquals(25, merged.getTotalWeight());
+    }
+
+    @Test
+    void survivesAWriteReadRoundTrip() throws IOException {
+        SpaceSavingSketch sketch = sketch(2, "a", 5, "b", 3, "c", 1);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            sketch.writeTo(out);
+        }
+        SpaceSavingSketch read = SpaceSavingSketch.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(keys(sketch.top(2)), keys(read.top(2)));
+        assertEquals(sketch.top(2).get(1).getError(), read.top(2).get(1).getError());
+        assertEquals(sketch.getTotalWeight(), read.getTotalWeight());
+    }
+
+    // Builds a sketch from alternating key, weight arguments
+    private static SpaceSavingSketch sketch(int capacity, Object... keysAndWeights) {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(capacity);
+        for (int i = 0; i < keysAndWeights.length; i += 2) {
+            sketch.add((String) keysAndWeights[i], ((Integer) keysAndWeights[i + 1]).longValue());
+        }
+        return sketch;
+    }
+
+    private static List<String> keys(List<SpaceSavingSketch.Entry> entries) {
+        return entries.stream().map(SpaceSavingSketch.Entry::getKey).toList();
+    }
+}
@@ -0,0 +1,47 @@
+package com.financemanager.webapp.index;
+
+import com.financemanager.webapp.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class TransactionFingerprintsTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 3, 14);
+
+    @Test
+    void ignoresDescriptionFormattingAndAmountScale() {
+        assertEquals(
+                TransactionFingerprints.compute(1L, TransactionType.EXPENSE, DATE, new BigDecimal("10.50"), "usd", "CARD *Coffee-Shop"),
+                TransactionFingerprints.compute(1L, TransactionType.EXPENSE, DATE, new BigDecimal("10.5000"), "USD", "card coffee shop"));
+    }
+
+    @Test
+    void separatesAnExpenseFromItsRefund() {
+        assertNotEquals(
+                TransactionFingerprints.compute(1L, TransactionType.EXPENSE, DATE, BigDecimal.TEN, "USD", "Coffee shop"),
+                TransactionFingerprints.compute(1L, TransactionType.INCOME, DATE, BigDecimal.TEN, "USD", "Coffee shop"));
+    }
+
+    @Test
+    void separatesCurrencies() {
+        assertNotEquals(
+                TransactionFingerprints.compute(1L, TransactionType.EXPENSE, DATE, BigDecimal.TEN, "USD", "Coffee shop"),
+                TransactionFingerprints.compute(1L, TransactionType.EXPENSE, DATE, BigDecimal.TEN, "EUR", "Coffee shop"));
+        assertNotEquals(
+                TransactionFingerprints.compute(1L, TransactionType.EXPENSE, DATE, BigDecimal.TEN, "USD", "Coffee shop"),
+                TransactionFingerprints.compute(1L, TransactionType.EXPENSE, DATE, BigDecimal.TEN, null, "Coffee shop"));
+    }
+
+    @Test
+    void separatesUsersAndDates() {
+        long fingerprint = TransactionFingerprints.compute(1L, TransactionType.EXPENSE, DATE, BigDecimal.TEN, "USD", null);
+
+        assertNotEquals(fingerprint, TransactionFingerprints.compute(2L, TransactionType.EXPENSE, DATE, BigDecimal.TEN, "USD", null));
+        assertNotEquals(fingerprint, TransactionFingerprints.compute(1L, TransactionType.EXPENSE, DATE.plusDays(1), BigDecimal.TEN, "USD", null));
+    }
+}
@@ -0,0 +1,93 @@
+package com.financemanager.webapp.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserSearchIndexTest {
+
+    private static final Long GROCERIES = 1L;
+    private static final Long TRANSPORT = 2L;
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex();
+        index.put(1, "Uber ride to airport", LocalDate.of(2025, 1, 10), TRANSPORT);
+        index.put(2, "Uber Eats dinner", LocalDate.of(2025, 2, 5), GROCERIES);
+        index.put(3, "Weekly groceries", LocalDate.of(2025, 3, 1), GROCERIES);
+        index.put(4, "Uberlândia hotel", LocalDate.of(2025, 4, 20), TRANSPORT);
+    }
+
+    @Test
+    void matchesQueryTermsAsPrefixes() {
+        assertEquals(Set.of(1L, 2L, 4L), Set.copyOf(search("ub")));
+        assertEquals(List.of(3L), search("GROC"));
+        assertTrue(search("taxi").isEmpty());
+    }
+
+    @Test
+    void requiresEveryQueryTerm() {
+        assertEquals(List.of(2L), search("uber dinner"));
+        assertTrue(search("uber groceries").isEmpty());
+    }
+
+    @Test
+    void ranksExactMatchesAboveLongerTermsThenNewestFirst() {
+        // 1 and 2 match "uber" exactly; 4 only through the prefix "uberlândia", so it ranks last despite being newest
+        assertEquals(List.of(2L, 1L, 4L), search("uber"));
+        assertEquals(List.of(2L), index.search(UserSearchIndex.tokenize("uber"), null, null, null, 1));
+    }
+
+    @Test
+    void appliesDateAndCategoryFilters() {
+        assertEquals(List.of(2L, 1L), index.search(UserSearchIndex.tokenize("uber"), null, LocalDate.of(2025, 3, 31), null, 10));
+        assertEquals(List.of(4L), index.search(UserSearchIndex.tokenize("uber"), LocalDate.of(2025, 3, 1), null, null, 10));
+        assertEquals(List.of(1L, 4L), index.search(UserSearchIndex.tokenize("uber"), null, null, TRANSPORT, 10));
+    }
+
+    @Test
+    void replacesAndRemovesDocuments() {
+        index.put(3, "Uber to the supermarket", LocalDate.of(2025, 3, 1), TRANSPORT);
+        index.remove(1);
+
+        assertTrue(search("groceries").isEmpty());
+        assertEquals(Set.of(2L, 3L, 4L), Set.copyOf(search("uber")));
+    }
+
+    @Test
+    void skipsBlankDescriptions() {
+        index.put(5, "   ", LocalDate.of(2025, 5, 1), GROCERIES);
+        index.put(6, null, LocalDate.of(2025, 5, 1), GROCERIES);
+
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void survivesAWriteReadRoundTrip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            index.writeTo(out);
+        }
+        UserSearchIndex read = UserSearchIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(index.size(), read.size());
+        assertEquals(search("uber"), read.search(UserSearchIndex.tokenize("uber"), null, null, null, 10));
+    }
+
+    private List<Long> search(String query) {
+        return index.search(UserSearchIndex.tokenize(query), null, null, null, 10);
+    }
+}
@@ -0,0 +1,543 @@
+package com.financemanager.webapp.repository;
+
+import com.financemanager.webapp.model.ReportJobStatus;
+import com.financemanager.webapp.model.TransactionType;
+import com.financemanager.webapp.service.impl.AdminAnalyticsServiceImpl;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.DisabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query-plan regression tests: each repository method is called against a seeded MySQL, the SELECTs it
+ * issues are captured from the DataSource and re-run with EXPLAIN using the same bind values. A plan that
+ * scans a whole table or index, or sorts rows that an index could have returned in order, fails the build.
+ *
+ * <p>The schema is generated from the entities (so the {@code @Table} indexes are what is tested). The
+ * admin analytics SQL, which runs over plain JDBC, is EXPLAINed directly. Needs Docker: skipped without it on
+ * a developer machine, but failing when the {@code CI} environment variable (set by CI services) or
+ * {@code -Ddocker.required=true} is set, so a CI build can't pass without checking the plans.</p>
+ */
+@DataJpaTest(properties = {"spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TransactionArchiveBoundary.class, QueryPlanTest.StatementCapture.class})
+@Testcontainers
+@DisabledIf("dockerUnavailableOutsideCi")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.4");
+
+    private static final int USERS = 20;
+    private static final int CATEGORIES_PER_USER = 8;
+    private static final int TRANSACTIONS_PER_USER = 1_000;
+    private static final int ARCHIVED_PER_USER = 200;
+    private static final int BUDGETS_PER_USER = 4;
+    private static final int ALERTS_PER_BUDGET = 12;
+    private static final int REPORT_JOBS_PER_USER = 100;
+    private static final int RECURRING_PER_USER = 30;
+
+    private static final long USER_ID = 7L;
+    private static final long CATEGORY_ID = (USER_ID - 1) * CATEGORIES_PER_USER + 1;
+    private static final long BUDGET_ID = (USER_ID - 1) * BUDGETS_PER_USER + 1;
+    private static final long ANALYTICS_FROM_USER_ID = 5L;
+    private static final long ANALYTICS_TO_USER_ID = 7L;
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate ARCHIVED_YEAR_START = LocalDate.of(TODAY.getYear() - 3, 1, 1);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetAlertRepository budgetAlertRepository;
+
+    @Autowired
+    private ReportJobRepository reportJobRepository;
+
+    @Autowired
+    private StatementCapture statementCapture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        Random random = new Random(42);
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> categories = new ArrayList<>();
+        List<Object[]> transactions = new ArrayList<>();
+        List<Object[]> archived = new ArrayList<>();
+        List<Object[]> budgets = new ArrayList<>();
+        List<Object[]> alerts = new ArrayList<>();
+        List<Object[]> reportJobs = new ArrayList<>();
+        List<Object[]> recurring = new ArrayList<>();
+        long archivedId = 10_000_000L;
+        for (long userId = 1; userId <= USERS; userId++) {
+            users.add(new Object[]{userId, "User " + userId, "user" + userId + "@example.com", "x", "USD"});
+            for (int c = 0; c < CATEGORIES_PER_USER; c++) {
+                categories.add(new Object[]{(userId - 1) * CATEGORIES_PER_USER + c + 1, "Category " + c, userId});
+            }
+            for (int i = 0; i < TRANSACTIONS_PER_USER; i++) {
+                transactions.add(transactionRow(random, userId, TODAY.minusDays(random.nextInt(700))));
+            }
+            for (int i = 0; i < ARCHIVED_PER_USER; i++) {
+                Object[] row = transactionRow(random, userId, ARCHIVED_YEAR_START.plusDays(random.nextInt(365)));
+                Object[] withId = new Object[row.length + 1];
+                withId[0] = archivedId++;
+                System.arraycopy(row, 0, withId, 1, row.length);
+                archived.add(withId);
+            }
+            for (int b = 0; b < BUDGETS_PER_USER; b++) {
+                long budgetId = (userId - 1) * BUDGETS_PER_USER + b + 1;
+                budgets.add(new Object[]{budgetId, BigDecimal.valueOf(500), userId, (userId - 1) * CATEGORIES_PER_USER + b + 1});
+                for (int a = 0; a < ALERTS_PER_BUDGET; a++) {
+                    LocalDate month = TODAY.minusMonths(a);
+                    alerts.add(new Object[]{month.getYear(), month.getMonthValue(), 80, BigDecimal.valueOf(400), BigDecimal.valueOf(500),
+                            Timestamp.valueOf(month.atStartOfDay().plusMinutes(random.nextInt(10_000))), budgetId, userId});
+                }
+            }
+            for (int j = 0; j < REPORT_JOBS_PER_USER; j++) {
+                reportJobs.add(new Object[]{"SUMMARY", j % 25 == 0 ? "QUEUED" : "COMPLETED", Date.valueOf(TODAY.minusYears(1)),
+                        Date.valueOf(TODAY), Timestamp.valueOf(TODAY.atStartOfDay().minusMinutes(random.nextInt(500_000))), userId});
+            }
+            for (int r = 0; r < RECURRING_PER_USER; r++) {
+                LocalDate nextRunDate = TODAY.plusDays(random.nextInt(365) - 30); // About one in twelve due
+                recurring.add(new Object[]{"EXPENSE", BigDecimal.valueOf(1000, 2), "Subscription " + r, "MONTHLY", 1,
+                        Date.valueOf(nextRunDate.minusYears(1)), 12, Date.valueOf(nextRunDate), random.nextInt(5) != 0, 0L,
+                        userId, (userId - 1) * CATEGORIES_PER_USER + r % CATEGORIES_PER_USER + 1});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email, password, preferred_currency) VALUES (?, ?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO categories (id, name, user_id) VALUES (?, ?, ?)", categories);
+        jdbcTemplate.batchUpdate("INSERT INTO transactions (type, amount, description, date, currency, fingerprint_v2, user_id, category_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", transactions);
+        jdbcTemplate.batchUpdate("INSERT INTO transactions_archive (id, type, amount, description, date, currency, fingerprint_v2, user_id, category_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", archived);
+        jdbcTemplate.batchUpdate("INSERT INTO budgets (id, monthly_limit, user_id, category_id) VALUES (?, ?, ?, ?)", budgets);
+        jdbcTemplate.batchUpdate("INSERT INTO budget_alerts (alert_year, alert_month, threshold_percent, spent, monthly_limit, created_at, budget_id, user_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", alerts);
+        jdbcTemplate.batchUpdate("INSERT INTO report_jobs (report_type, status, start_date, end_date, created_at, user_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", reportJobs);
+        jdbcTemplate.batchUpdate("INSERT INTO recurring_transactions (type, amount, description, frequency, interval_count, start_date, " +
+                "occurrences_created, next_run_date, active, version, user_id, category_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", recurring);
+        jdbcTemplate.execute("ANALYZE TABLE users, categories, transactions, transactions_archive, " +
+                "budgets, budget_alerts, report_jobs, recurring_transactions");
+    }
+
+    // Skipped without Docker locally; in CI the container start fails the suite instead
+    static boolean dockerUnavailableOutsideCi() {
+        return System.getenv("CI") == null && !Boolean.getBoolean("docker.required")
+                && !DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    // --- Transactions ---
+
+    @Test
+    void findByUserIdOrderByDateDesc() {
+        assertPlans(explain(() -> transactionRepository.findByUserIdOrderByDateDesc(USER_ID)), true);
+    }
+
+    @Test
+    void findFieldsByUserIdOrderByDateDesc() {
+        List<TransactionField> fields = List.of(TransactionField.ID, TransactionField.DATE, TransactionField.CATEGORY_NAME, TransactionField.AMOUNT);
+        assertPlans(explain(() -> transactionRepository.findFieldsByUserIdOrderByDateDesc(USER_ID, fields)), true);
+    }
+
+    @Test
+    void findByUserIdAndDateBetweenOrderByDateDesc() {
+        assertPlans(explain(() -> transactionRepository.findByUserIdAndDateBetweenOrderByDateDesc(
+                USER_ID, ARCHIVED_YEAR_START, TODAY)), true);
+    }
+
+    @Test
+    void findByUserIdAndTypeAndDateBetween() {
+        assertPlans(explain(() -> transactionRepository.findByUserIdAndTypeAndDateBetween(
+                USER_ID, TransactionType.EXPENSE, ARCHIVED_YEAR_START, TODAY)), true);
+    }
+
+    // Grouped rows are sorted after aggregation (one row per day/type/category/currency), so a sort is allowed here
+    @Test
+    void findDailyTotalsByUserIdAndDateBetween() {
+        assertPlans(explain(() -> transactionRepository.findDailyTotalsByUserIdAndDateBetween(
+                USER_ID, ARCHIVED_YEAR_START, TODAY)), false);
+    }
+
+    @Test
+    void findWithCategoryByUserIdAndIdIn() {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM transactions WHERE user_id = ? LIMIT 20", Long.class, USER_ID);
+        ids.add(10_000_000L + (USER_ID - 1) * ARCHIVED_PER_USER); // An archived one, so the archive query runs too
+        assertPlans(explain(() -> transactionRepository.findWithCategoryByUserIdAndIdIn(USER_ID, ids)), true);
+    }
+
+    @Test
+    void findSearchDocumentsByUserId() {
+        assertPlans(explain(() -> transactionRepository.findSearchDocumentsByUserId(USER_ID)), true);
+    }
+
+    @Test
+    void countByUserIdAndDescriptionIsNotNull() {
+        assertPlans(explain(() -> transactionRepository.countByUserIdAndDescriptionIsNotNull(USER_ID)), true);
+    }
+
+    @Test
+    void countExistingFingerprints() {
+        List<Long> fingerprints = jdbcTemplate.queryForList("SELECT fingerprint_v2 FROM transactions WHERE user_id = ? LIMIT 50", Long.class, USER_ID);
+        assertPlans(explain(() -> transactionRepository.countExistingFingerprints(USER_ID, fingerprints)), true);
+    }
+
+    @Test
+    void findFingerprintsByUserId() {
+        assertPlans(explain(() -> transactionRepository.findFingerprintsByUserId(USER_ID)), true);
+    }
+
+    @Test
+    void sumAmountByUserIdAndCategoryIdAndTypeAndDateBetween() {
+        assertPlans(explain(() -> transactionRepository.sumAmountByUserIdAndCategoryIdAndTypeAndDateBetween(
+                USER_ID, CATEGORY_ID, TransactionType.EXPENSE, TODAY.withDayOfMonth(1), TODAY)), true);
+    }
+
+    @Test
+    void findByIdAndUserId() {
+        Long id = jdbcTemplate.queryForObject("SELECT MIN(id) FROM transactions WHERE user_id = ?", Long.class, USER_ID);
+        assertPlans(explain(() -> transactionRepository.findByIdAndUserId(id, USER_ID)), true);
+    }
+
+    @Test
+    void findByUserIdAndIdIn() {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM transactions WHERE user_id = ? LIMIT 20", Long.class, USER_ID);
+        assertPlans(explain(() -> transactionRepository.findByUserIdAndIdIn(USER_ID, ids)), true);
+    }
+
+    @Test
+    void findByUserIdAndFingerprintIsNull() {
+        assertPlans(explain(() -> transactionRepository.findByUserIdAndFingerprintIsNull(USER_ID)), true);
+    }
+
+    // --- Categories ---
+
+    @Test
+    void findCategoriesByUserIdOrderByNameAsc() {
+        assertPlans(explain(() -> categoryRepository.findByUserIdOrderByNameAsc(USER_ID)), true);
+    }
+
+    @Test
+    void findCategoryFieldsByUserIdOrderByNameAsc() {
+        assertPlans(explain(() -> categoryRepository.findFieldsByUserIdOrderByNameAsc(USER_ID, List.of(CategoryField.ID, CategoryField.NAME))), true);
+    }
+
+    @Test
+    void findCategoryByIdAndUserId() {
+        assertPlans(explain(() -> categoryRepository.findByIdAndUserId(CATEGORY_ID, USER_ID)), true);
+    }
+
+    @Test
+    void existsCategoryByNameAndUserId() {
+        assertPlans(explain(() -> categoryRepository.existsByNameAndUserId("Category 3", USER_ID)), true);
+    }
+
+    // --- Recurring transactions ---
+
+    @Test
+    void findDueRecurringTransactions() {
+        assertPlans(explain(() -> recurringTransactionRepository.findByActiveTrueAndNextRunDateLessThanEqualOrderByNextRunDateAsc(
+                TODAY, PageRequest.of(0, 100))), true);
+    }
+
+    @Test
+    void findRecurringByUserIdOrderByNextRunDateAsc() {
+        assertPlans(explain(() -> recurringTransactionRepository.findByUserIdOrderByNextRunDateAsc(USER_ID)), true);
+    }
+
+    @Test
+    void findRecurringByIdAndUserId() {
+        Long id = jdbcTemplate.queryForObject("SELECT MIN(id) FROM recurring_transactions WHERE user_id = ?", Long.class, USER_ID);
+        assertPlans(explain(() -> recurringTransactionRepository.findByIdAndUserId(id, USER_ID)), true);
+    }
+
+    // --- Budgets and alerts ---
+
+    @Test
+    void findBudgetsByUserId() {
+        assertPlans(explain(() -> budgetRepository.findByUserId(USER_ID)), true);
+    }
+
+    @Test
+    void findBudgetByIdAndUserId() {
+        assertPlans(explain(() -> budgetRepository.findByIdAndUserId(BUDGET_ID, USER_ID)), true);
+    }
+
+    @Test
+    void findBudgetByUserIdAndCategoryId() {
+        assertPlans(explain(() -> budgetRepository.findByUserIdAndCategoryId(USER_ID, CATEGORY_ID)), true);
+    }
+
+    @Test
+    void existsBudgetByUserIdAndCategoryId() {
+        assertPlans(explain(() -> budgetRepository.existsByUserIdAndCategoryId(USER_ID, CATEGORY_ID)), true);
+    }
+
+    @Test
+    void findAlertsByUserIdOrderByCreatedAtDesc() {
+        assertPlans(explain(() -> budgetAlertRepository.findByUserIdOrderByCreatedAtDesc(USER_ID, PageRequest.of(0, 20))), true);
+    }
+
+    @Test
+    void existsAlertByBudgetIdAndPeriodAndThreshold() {
+        assertPlans(explain(() -> budgetAlertRepository.existsByBudgetIdAndYearAndMonthAndThresholdPercent(
+                BUDGET_ID, TODAY.getYear(), TODAY.getMonthValue(), 80)), true);
+    }
+
+    // --- Report jobs ---
+
+    @Test
+    void findReportJobByIdAndUserId() {
+        Long id = jdbcTemplate.queryForObject("SELECT MIN(id) FROM report_jobs WHERE user_id = ?", Long.class, USER_ID);
+        assertPlans(explain(() -> reportJobRepository.findByIdAndUserId(id, USER_ID)), true);
+    }
+
+    @Test
+    void findReportJobsByUserIdOrderByCreatedAtDesc() {
+        assertPlans(explain(() -> reportJobRepository.findByUserIdOrderByCreatedAtDesc(USER_ID)), true);
+    }
+
+    @Test
+    void countReportJobsByUserIdAndStatusIn() {
+        assertPlans(explain(() -> reportJobRepository.countByUserIdAndStatusIn(
+                USER_ID, List.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING))), true);
+    }
+
+    // Two statuses are two index ranges, so the few unfinished jobs are sorted after the lookup
+    @Test
+    void findUnclaimedReportJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        assertPlans(explain(() -> reportJobRepository.findUnclaimed(now, now.minusMinutes(2))), false);
+    }
+
+    // --- Admin analytics (one partition of users, a few months; grouped rows are sorted after aggregation) ---
+
+    @Test
+    void analyticsVolumeQuery() {
+        assertPlans(explainSql(AdminAnalyticsServiceImpl.VOLUME_QUERY, analyticsScanArgs()), false);
+    }
+
+    @Test
+    void analyticsActiveUsersQuery() {
+        assertPlans(explainSql(AdminAnalyticsServiceImpl.ACTIVE_USERS_QUERY, analyticsScanArgs()), false);
+    }
+
+    @Test
+    void analyticsFirstDatesQueries() {
+        for (String table : List.of("transactions", "transactions_archive")) {
+            assertPlans(explainSql(AdminAnalyticsServiceImpl.FIRST_DATES_QUERY.formatted(table),
+                    ANALYTICS_FROM_USER_ID, ANALYTICS_TO_USER_ID), true);
+            assertPlans(explainSql(AdminAnalyticsServiceImpl.FIRST_DATES_IN_RANGE_QUERY.formatted(table),
+                    ANALYTICS_FROM_USER_ID, ANALYTICS_TO_USER_ID, TODAY.minusMonths(3).withDayOfMonth(1), TODAY.plusDays(1)), true);
+            assertPlans(explainSql(AdminAnalyticsServiceImpl.USER_FIRST_DATE_QUERY.formatted(table), USER_ID), true);
+        }
+    }
+
+    @Test
+    void analyticsNewRowMonthsQuery() {
+        Long watermark = jdbcTemplate.queryForObject("SELECT MAX(id) - 500 FROM transactions", Long.class);
+        assertPlans(explainSql(AdminAnalyticsServiceImpl.NEW_ROW_MONTHS_QUERY, watermark), false);
+    }
+
+    // --- Users ---
+
+    @Test
+    void findUserByEmail() {
+        assertPlans(explain(() -> userRepository.findByEmail("user" + USER_ID + "@example.com")), true);
+    }
+
+    @Test
+    void existsUserById() {
+        assertPlans(explain(() -> userRepository.existsById(USER_ID)), true);
+    }
+
+    // --- Helpers ---
+
+    private static Object[] transactionRow(Random random, long userId, LocalDate date) {
+        int category = random.nextInt(CATEGORIES_PER_USER);
+        return new Object[]{
+                random.nextInt(5) == 0 ? "INCOME" : "EXPENSE",
+                BigDecimal.valueOf(100 + random.nextInt(100_000), 2),
+                random.nextInt(3) == 0 ? null : "Merchant " + random.nextInt(200),
+                Date.valueOf(date),
+                "USD",
+                random.nextLong(),
+                userId,
+                (userId - 1) * CATEGORIES_PER_USER + category + 1};
+    }
+
+    // A three-user partition over the last three months, as passed to SCANNED_ROWS twice (hot, then archived rows)
+    private static Object[] analyticsScanArgs() {
+        LocalDate from = TODAY.minusMonths(3).withDayOfMonth(1);
+        LocalDate to = TODAY.plusDays(1);
+        return new Object[]{ANALYTICS_FROM_USER_ID, ANALYTICS_TO_USER_ID, from, to, ANALYTICS_FROM_USER_ID, ANALYTICS_TO_USER_ID, from, to};
+    }
+
+    // EXPLAINs SQL that runs over plain JDBC rather than through a repository
+    private List<List<PlanRow>> explainSql(String sql, Object... args) {
+        return List.of(jdbcTemplate.query("EXPLAIN " + sql, (resultSet, rowNum) -> new PlanRow(sql, resultSet.getString("table"),
+                resultSet.getString("type"), resultSet.getString("key"), resultSet.getString("Extra")), args));
+    }
+
+    // Runs the call, then EXPLAINs every SELECT it issued; each inner list is one statement's plan
+    private List<List<PlanRow>> explain(Runnable repositoryCall) {
+        List<QueryInfo> statements = statementCapture.capture(repositoryCall);
+        List<List<PlanRow>> plans = new ArrayList<>();
+        for (QueryInfo statement : statements) {
+            if (statement.getQuery().stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+                plans.add(jdbcTemplate.execute((ConnectionCallback<List<PlanRow>>) connection -> explain(connection, statement)));
+            }
+        }
+        assertFalse(plans.isEmpty(), "The call issued no SELECT");
+        return plans;
+    }
+
+    private static List<PlanRow> explain(Connection connection, QueryInfo statement) throws SQLException {
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.getQuery())) {
+            if (!statement.getParametersList().isEmpty()) {
+                for (ParameterSetOperation operation : statement.getParametersList().get(0)) {
+                    operation.getMethod().invoke(explain, operation.getArgs()); // Same setter, same value
+                }
+            }
+            List<PlanRow> rows = new ArrayList<>();
+            try (ResultSet resultSet = explain.executeQuery()) {
+                while (resultSet.next()) {
+                    rows.add(new PlanRow(statement.getQuery(), resultSet.getString("table"), resultSet.getString("type"),
+                            resultSet.getString("key"), resultSet.getString("Extra")));
+                }
+            }
+            return rows;
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not bind parameters for EXPLAIN", e);
+        }
+    }
+
+    private static void assertPlans(List<List<PlanRow>> plans, boolean noFilesort) {
+        for (List<PlanRow> plan : plans) {
+            for (PlanRow row : plan) {
+                if (row.table == null || row.table.startsWith("<")) {
+                    continue; // No table access at all (e.g. a const lookup that found nothing), or a materialized
+                              // derived table or union result, whose base tables have rows of their own
+                }
+                assertNotEquals("ALL", row.type, () -> "Full table scan of " + row.table + " in: " + row.query);
+                assertNotEquals("index", row.type, () -> "Full index scan of " + row.table + " in: " + row.query);
+                assertNotNull(row.key, () -> "No index used on " + row.table + " in: " + row.query);
+                if (noFilesort) {
+                    assertTrue(row.extra == null || !row.extra.contains("Using filesort"),
+                            () -> "Filesort on " + row.table + " in: " + row.query);
+                }
+            }
+        }
+    }
+
+    private static final class PlanRow {
+        final String query;
+        final String table;
+        final String type;
+        final String key;
+        final String extra;
+
+        PlanRow(String query, String table, String type, String key, String extra) {
+            this.query = query;
+            this.table = table;
+            this.type = type;
+            this.key = key;
+            this.extra = extra;
+        }
+    }
+
+    // Wraps the test DataSource and records the statements issued while capture(...) runs
+    static class StatementCapture implements BeanPostProcessor {
+
+        private final List<QueryInfo> captured = new CopyOnWriteArrayList<>();
+        private volatile boolean capturing;
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource) {
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .listener(new QueryExecutionListener() {
+                            @Override
+                            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                            }
+
+                            @Override
+                            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                                if (capturing) {
+                                    captured.addAll(queryInfoList);
+                                }
+                            }
+                        })
+                        .build();
+            }
+            return bean;
+        }
+
+        List<QueryInfo> capture(Runnable call) {
+            captured.clear();
+            capturing = true;
+            try {
+                call.run();
+            } finally {
+                capturing = false;
+            }
+            return new ArrayList<>(captured);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.financemanager.webapp.service.impl;
+
+import com.financemanager.webapp.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IngestLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recoversAppendedRecordsAndContinuesTheirSequence() throws IOException {
+        Path file = dir.resolve("ingest.log");
+        try (IngestLog log = IngestLog.open(file, 0, new ArrayList<>())) {
+            append(log, "Coffee");
+            append(log, null);
+            append(log, "Rent");
+        }
+
+        List<IngestRecord> recovered = new ArrayList<>();
+        try (IngestLog log = IngestLog.open(file, 0, recovered)) {
+            assertEquals(List.of(1L, 2L, 3L), sequences(recovered));
+            assertEquals("Coffee", recovered.get(0).description);
+            assertNull(recovered.get(1).description);
+            assertEquals(new BigDecimal("12.50"), recovered.get(2).amount);
+            assertEquals(4, append(log, "Groceries").sequence);
+        }
+    }
+
+    @Test
+    void cutsOffATornTail() throws IOException {
+        Path file = dir.resolve("ingest.log");
+        try (IngestLog log = IngestLog.open(file, 0, new ArrayList<>())) {
+            append(log, "Coffee");
+            append(log, "Rent");
+        }
+        long validLength = Files.size(file);
+        // A crash mid-write: the header promises more payload than made it to disk
+        Files.write(file, ByteBuffer.allocate(12).putInt(100).putInt(0).putInt(42).array(), StandardOpenOption.APPEND);
+
+        List<IngestRecord> recovered = new ArrayList<>();
+        try (IngestLog log = IngestLog.open(file, 0, recovered)) {
+            assertEquals(List.of(1L, 2L), sequences(recovered));
+            assertEquals(validLength, Files.size(file));
+            append(log, "Groceries");
+        }
+
+        List<IngestRecord> reopened = new ArrayList<>();
+        IngestLog.open(file, 0, reopened).close();
+        assertEquals(List.of(1L, 2L, 3L), sequences(reopened));
+    }
+
+    @Test
+    void stopsAtTheFirstRecordFailingItsChecksum() throws IOException {
+        Path file = dir.resolve("ingest.log");
+        try (IngestLog log = IngestLog.open(file, 0, new ArrayList<>())) {
+            append(log, "Coffee");
+            append(log, "Rent");
+            append(log, "Groceries");
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        int firstLength = 8 + ByteBuffer.wrap(bytes).getInt(0);
+        bytes[firstLength + 8 + 20] ^= 1; // A flipped bit inside the second record's payload
+        Files.write(file, bytes);
+
+        List<IngestRecord> recovered = new ArrayList<>();
+        IngestLog.open(file, 0, recovered).close();
+
+        assertEquals(List.of(1L), sequences(recovered));
+        assertEquals(firstLength, Files.size(file));
+    }
+
+    @Test
+    void continuesAfterTheMinimumSequence() throws IOException {
+        Path file = dir.resolve("ingest.log");
+        try (IngestLog log = IngestLog.open(file, 41, new ArrayList<>())) {
+            assertEquals(42, append(log, "Coffee").sequence);
+        }
+
+        // A minimum below the recovered records doesn't reuse their sequences
+        try (IngestLog log = IngestLog.open(file, 10, new ArrayList<>())) {
+            assertEquals(43, append(log, "Rent").sequence);
+        }
+    }
+
+    @Test
+    void truncatesOnlyOnceEveryRecordIsApplied() throws IOException {
+        Path file = dir.resolve("ingest.log");
+        try (IngestLog log = IngestLog.open(file, 0, new ArrayList<>())) {
+            append(log, "Coffee");
+            append(log, "Rent");
+            long size = Files.size(file);
+
+            log.truncateIfDrained(1);
+            assertEquals(size, Files.size(file));
+
+            log.truncateIfDrained(2);
+            assertEquals(0, Files.size(file));
+
+            assertEquals(3, append(log, "Groceries").sequence);
+        }
+
+        List<IngestRecord> recovered = new ArrayList<>();
+        IngestLog.open(file, 0, recovered).close();
+        assertEquals(List.of(3L), sequences(recovered));
+    }
+
+    @Test
+    void groupCommitWakesEveryAppender() throws Exception {
+        Path file = dir.resolve("ingest.log");
+        int appends = 400;
+        List<Long> written = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService appenders = Executors.newFixedThreadPool(16);
+        try (IngestLog log = IngestLog.open(file, 0, new ArrayList<>())) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<IngestRecord>> futures = new ArrayList<>();
+            for (int i = 0; i < appends; i++) {
+                futures.add(appenders.submit(() -> {
+                    start.await();
+                    return log.append(record("Coffee"), r -> written.add(r.sequence));
+                }));
+            }
+            start.countDown();
+
+            List<Long> returned = new ArrayList<>();
+            for (Future<IngestRecord> future : futures) {
+                returned.add(future.get().sequence); // Every append returns once it is durable
+            }
+            Collections.sort(returned);
+
+            List<Long> expected = LongStream.rangeClosed(1, appends).boxed().collect(Collectors.toList());
+            assertEquals(expected, returned);
+            assertEquals(expected, written, "onWritten runs in sequence order");
+        } finally {
+            appenders.shutdown();
+        }
+
+        List<IngestRecord> recovered = new ArrayList<>();
+        IngestLog.open(file, 0, recovered).close();
+        assertEquals(appends, recovered.size());
+    }
+
+    @Test
+    void rejectsAppendsAfterClose() throws IOException {
+        IngestLog log = IngestLog.open(dir.resolve("ingest.log"), 0, new ArrayList<>());
+        log.close();
+
+        assertThrows(IOException.class, () -> append(log, "Coffee"));
+    }
+
+    @Test
+    void keepsTheIdNextToTheLog() throws IOException {
+        Path file = dir.resolve("logs").resolve("ingest.log");
+        String id = IngestLog.idOf(file);
+
+        assertEquals(id, IngestLog.idOf(file));
+
+        // Records without their ID would be replayed under a new one
+        Files.delete(file.resolveSibling("ingest.log.id"));
+        IngestLog.open(file, 0, new ArrayList<>()).close();
+        try (IngestLog log = IngestLog.open(file, 0, new ArrayList<>())) {
+            append(log, "Coffee");
+        }
+        assertThrows(IOException.class, () -> IngestLog.idOf(file));
+    }
+
+    private static IngestRecord append(IngestLog log, String description) throws IOException {
+        return log.append(record(description), r -> { });
+    }
+
+    private static IngestRecord record(String description) {
+        return new IngestRecord(0, 1, 2, "Food", TransactionType.EXPENSE, new BigDecimal("12.50"),
+                description, LocalDate.of(2025, 3, 14), "USD");
+    }
+
+    private static List<Long> sequences(List<IngestRecord> records) {
+        return records.stream().map(r -> r.sequence).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,62 @@
+package com.financemanager.webapp.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LttbDownsamplerTest {
+
+    @Test
+    void keepsFirstAndLastPoint() {
+        int[] selected = LttbDownsampler.selectIndices(randomSeries(1000), 50);
+
+        assertEquals(0, selected[0]);
+        assertEquals(999, selected[selected.length - 1]);
+    }
+
+    @Test
+    void returnsExactlyMaxPointsInAscendingOrder() {
+        for (int maxPoints : new int[]{3, 10, 99, 366}) {
+            int[] selected = LttbDownsampler.selectIndices(randomSeries(1000), maxPoints);
+
+            assertEquals(maxPoints, selected.length);
+            for (int i = 1; i < selected.length; i++) {
+                assertTrue(selected[i] > selected[i - 1], "indices must be strictly ascending");
+            }
+        }
+    }
+
+    @Test
+    void keepsEveryPointWhenAlreadyBelowTheLimit() {
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, LttbDownsampler.selectIndices(randomSeries(5), 10));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, LttbDownsampler.selectIndices(randomSeries(5), 5));
+        assertArrayEquals(new int[0], LttbDownsampler.selectIndices(new double[0], 10));
+    }
+
+    @Test
+    void keepsTheSpike() {
+        double[] values = new double[500];
+        values[250] = 1000; // One spike in an otherwise flat series
+
+        int[] selected = LttbDownsampler.selectIndices(values, 20);
+
+        boolean keptSpike = false;
+        for (int index : selected) {
+            keptSpike |= index == 250;
+        }
+        assertTrue(keptSpike, "the peak must survive downsampling");
+    }
+
+    private static double[] randomSeries(int n) {
+        Random random = new Random(42);
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextGaussian() * 100;
+        }
+        return values;
+    }
+}